@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastadi;
+
+/**
+ * The key to identify Lasta Di container booted for test cases. <br>
+ * Test cases that have the same key can share (recycle) the container.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class LastaDiContainerKey {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _configFile; // not null
+    protected final boolean _webContainer;
+    protected final String _mockContextPath; // null allowed: e.g. library
+    protected final String _mockServletPath; // null allowed: e.g. library, no request mock
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public LastaDiContainerKey(String configFile, boolean webContainer, String mockContextPath, String mockServletPath) {
+        if (configFile == null) {
+            String msg = "The argument 'configFile' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _configFile = configFile;
+        _webContainer = webContainer;
+        _mockContextPath = mockContextPath;
+        _mockServletPath = mockServletPath;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LastaDiContainerKey)) {
+            return false;
+        }
+        final LastaDiContainerKey other = (LastaDiContainerKey) obj;
+        return _configFile.equals(other._configFile) && _webContainer == other._webContainer
+                && isSameNullAllowed(_mockContextPath, other._mockContextPath)
+                && isSameNullAllowed(_mockServletPath, other._mockServletPath);
+    }
+
+    protected boolean isSameNullAllowed(String mine, String yours) {
+        return mine != null ? mine.equals(yours) : yours == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = _configFile.hashCode();
+        hash = 31 * hash + (_webContainer ? 1 : 0);
+        hash = 31 * hash + (_mockContextPath != null ? _mockContextPath.hashCode() : 0);
+        hash = 31 * hash + (_mockServletPath != null ? _mockServletPath.hashCode() : 0);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final String containerExp = _webContainer ? "web-container" : "library";
+        return "{" + _configFile + ", " + containerExp + ", " + _mockContextPath + ", " + _mockServletPath + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getConfigFile() {
+        return _configFile;
+    }
+
+    public boolean isWebContainer() {
+        return _webContainer;
+    }
+
+    public String getMockContextPath() {
+        return _mockContextPath;
+    }
+
+    public String getMockServletPath() {
+        return _mockServletPath;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastadi;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.lastaflute.di.core.ExternalContext;
+import org.lastaflute.di.core.LaContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The pool of living Lasta Di containers that are switched out from the singleton factory. <br>
+ * The containers are managed by least-recently-used order, and the eldest is destroyed when over the size. <br>
+ * The size contains the current container (in singleton factory) so the parked count is (size - 1). <br>
+ * The parked containers are destroyed at JVM shutdown (by shutdown hook registered at first parking),
+ * because they are outside of the singleton factory and no test case destroys them.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class LastaDiContainerPool {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _logger = LoggerFactory.getLogger(LastaDiContainerPool.class);
+    protected static final String DESTROYER_THREAD_NAME = "utflute-container-pool-destroyer";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of parked containers, access-ordered for LRU. (NotNull) */
+    protected final Map<LastaDiContainerKey, PooledContainer> _parkedMap = new LinkedHashMap<>(16, 0.75f, true);
+    protected boolean _shutdownHookRegistered; // only once
+
+    // ===================================================================================
+    //                                                                    Pooled Container
+    //                                                                    ================
+    public static class PooledContainer {
+
+        protected final LaContainer _container; // not null
+        protected final ExternalContext _externalContext; // null allowed: when library
+        protected final Object _resource; // null allowed: e.g. servlet config for web-container
+
+        public PooledContainer(LaContainer container, ExternalContext externalContext, Object resource) {
+            _container = container;
+            _externalContext = externalContext;
+            _resource = resource;
+        }
+
+        @Override
+        public String toString() {
+            return "pooled:{" + _container + ", " + _externalContext + ", " + _resource + "}";
+        }
+
+        public LaContainer getContainer() {
+            return _container;
+        }
+
+        public ExternalContext getExternalContext() {
+            return _externalContext;
+        }
+
+        public Object getResource() {
+            return _resource;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                     Park and Unpark
+    //                                                                     ===============
+    /**
+     * Park the container switched out from the singleton factory. <br>
+     * The least-recently-used containers over the size are destroyed here.
+     * @param key The key of the parked container. (NotNull)
+     * @param pooled The container switched out. (NotNull)
+     * @param poolSize The max count of living containers, containing the current container. (NotMinus)
+     */
+    public synchronized void park(LastaDiContainerKey key, PooledContainer pooled, int poolSize) {
+        if (key == null) {
+            String msg = "The argument 'key' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        if (pooled == null) {
+            String msg = "The argument 'pooled' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        registerShutdownHookIfFirst();
+        final PooledContainer existing = _parkedMap.put(key, pooled);
+        if (existing != null && existing.getContainer() != pooled.getContainer()) { // basically no way, just in case
+            destroyContainerQuietly(key, existing);
+        }
+        evictOverSize(poolSize);
+    }
+
+    /**
+     * Unpark the container for the key, it is removed from the pool.
+     * @param key The key of the parked container. (NotNull)
+     * @return The parked container. (NullAllowed: when not found)
+     */
+    public synchronized PooledContainer unpark(LastaDiContainerKey key) {
+        return _parkedMap.remove(key);
+    }
+
+    public synchronized boolean isParked(LastaDiContainerKey key) {
+        return _parkedMap.containsKey(key);
+    }
+
+    // ===================================================================================
+    //                                                                       Shutdown Hook
+    //                                                                       =============
+    protected void registerShutdownHookIfFirst() {
+        if (_shutdownHookRegistered) {
+            return;
+        }
+        _shutdownHookRegistered = true;
+        try {
+            Runtime.getRuntime().addShutdownHook(createShutdownHook());
+        } catch (IllegalStateException | SecurityException continued) { // e.g. already shutting down
+            _logger.debug("*Cannot register the shutdown hook of container pool: " + continued.getMessage());
+        }
+    }
+
+    protected Thread createShutdownHook() {
+        return new Thread(new Runnable() {
+            public void run() { // parked containers may have e.g. connection pool, scheduler
+                destroyAll();
+            }
+        }, DESTROYER_THREAD_NAME);
+    }
+
+    // ===================================================================================
+    //                                                                            Eviction
+    //                                                                            ========
+    protected void evictOverSize(int poolSize) {
+        final int parkedLimit = Math.max(poolSize - 1, 0); // current container is outside
+        final Iterator<Entry<LastaDiContainerKey, PooledContainer>> ite = _parkedMap.entrySet().iterator();
+        while (_parkedMap.size() > parkedLimit && ite.hasNext()) {
+            final Entry<LastaDiContainerKey, PooledContainer> eldest = ite.next(); // head is eldest
+            ite.remove();
+            destroyContainerQuietly(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /**
+     * Destroy all parked containers. (current container is not destroyed here)
+     */
+    public synchronized void destroyAll() {
+        final Map<LastaDiContainerKey, PooledContainer> parkedMap = new LinkedHashMap<>(_parkedMap);
+        _parkedMap.clear();
+        for (Entry<LastaDiContainerKey, PooledContainer> entry : parkedMap.entrySet()) {
+            destroyContainerQuietly(entry.getKey(), entry.getValue());
+        }
+    }
+
+    protected void destroyContainerQuietly(LastaDiContainerKey key, PooledContainer pooled) {
+        _logger.debug("...Destroying pooled lasta_di container: key={}", key);
+        try {
+            pooled.getContainer().destroy();
+        } catch (RuntimeException continued) { // not to stop tests by other container
+            _logger.debug("*Failed to destroy the pooled container: key=" + key, continued);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public synchronized int getParkedCount() {
+        return _parkedMap.size();
+    }
+
+    public synchronized boolean isShutdownHookRegistered() {
+        return _shutdownHookRegistered;
+    }
+}
@@ -30,7 +30,10 @@ import org.dbflute.utflute.core.InjectionTestCase;
 import org.dbflute.utflute.core.binding.BindingAnnotationRule;
 import org.dbflute.utflute.core.transaction.TransactionFailureException;
 import org.dbflute.utflute.core.transaction.TransactionResource;
+import org.dbflute.utflute.lastadi.LastaDiContainerPool.PooledContainer;
 import org.dbflute.util.Srl;
+import org.lastaflute.di.core.ComponentDef;
+import org.lastaflute.di.core.LaContainer;
 import org.lastaflute.di.core.SingletonLaContainer;
 import org.lastaflute.di.core.exception.ComponentNotFoundException;
 import org.lastaflute.di.core.factory.SingletonLaContainerFactory;
@@ -44,6 +47,15 @@ import org.lastaflute.di.naming.NamingConvention;
  */
 public abstract class LastaDiTestCase extends InjectionTestCase {
 
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The system property key of container pool size, e.g. -Dutflute.lastadi.containerPoolSize=3 */
+    public static final String CONTAINER_POOL_SIZE_PROPERTY = "utflute.lastadi.containerPoolSize";
+
+    /** The system property key of container warm-up, e.g. -Dutflute.lastadi.containerWarmUp=true */
+    public static final String CONTAINER_WARM_UP_PROPERTY = "utflute.lastadi.containerWarmUp";
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -53,6 +65,28 @@ public abstract class LastaDiTestCase extends InjectionTestCase {
     /** The cached configuration file of DI container. (NullAllowed: null means beginning or ending) */
     private static String _xcachedConfigFile;
 
+    /** The cached key of current DI container. (NullAllowed: null means beginning or ending) */
+    private static LastaDiContainerKey _xcachedContainerKey;
+
+    /** The pool of DI containers switched out from singleton factory. (NotNull) */
+    private static final LastaDiContainerPool _xcontainerPool = new LastaDiContainerPool();
+
+    /** The warmer of DI container booting it in background at first test case creation. (NotNull) */
+    private static final LastaDiContainerWarmer _xcontainerWarmer = new LastaDiContainerWarmer();
+
+    /** The mark of reading settings without running e.g. by test order optimizer, no warm-up while reading. (NotNull) */
+    private static final ThreadLocal<Boolean> _xsettingsReadingLocal = new ThreadLocal<Boolean>();
+
+    /** The cache of component lookup for current DI container, kept while recycled, cleared when switched. (NotNull) */
+    private static final LastaDiComponentCache _xcomponentCache = new LastaDiComponentCache();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public LastaDiTestCase() {
+        xstartContainerWarmUpIfFirst(getClass(), _xcontainerWarmer); // static, not to publish this instance
+    }
+
     // ===================================================================================
     //                                                                            Settings
     //                                                                            ========
@@ -61,6 +95,7 @@ public abstract class LastaDiTestCase extends InjectionTestCase {
     //                                      ----------------
     @Override
     protected void xsetupBeforeTestCaseContainer() {
+        xawaitContainerWarmUpIfNeeds(); // before all container settings not to conflict with warming thread
         super.xsetupBeforeTestCaseContainer();
         xprepareUnitTestEnv();
     }
@@ -79,14 +114,26 @@ public abstract class LastaDiTestCase extends InjectionTestCase {
             xdestroyContainer();
         }
         final String configFile = prepareConfigFile();
+        final PooledContainer pooled; // null allowed: when not pooled
         if (xisInitializedContainer()) {
             if (xcanRecycleContainer(configFile)) {
                 log("...Recycling lasta_di as {}: config={}", xisCurrentBootingWebContainer() ? "web-container" : "library", configFile);
                 xrecycleContainerInstance(configFile);
                 return configFile; // no need to initialize
             } else { // changed
-                xdestroyContainer(); // to re-initialize
+                pooled = xunparkPooledContainer(configFile); // before parking current not to be evicted by it
+                if (xcanParkCurrentContainer()) {
+                    xparkCurrentContainer(); // to switch back later without re-initialization
+                } else {
+                    xdestroyContainer(); // to re-initialize
+                }
             }
+        } else {
+            pooled = xunparkPooledContainer(configFile);
+        }
+        if (pooled != null) {
+            xswitchToPooledContainer(configFile, pooled);
+            return configFile; // no need to initialize
         }
         xinitializeContainer(configFile);
         return configFile;
@@ -96,7 +143,10 @@ public abstract class LastaDiTestCase extends InjectionTestCase {
         if (xneedsContainlyReinitializeContainer()) {
             return false; // needs to switch e.g. web-container or library
         }
-        return xconfigCanAcceptContainerRecycle(configFile);
+        if (!xconfigCanAcceptContainerRecycle(configFile)) {
+            return false;
+        }
+        return xkeyCanAcceptContainerRecycle(configFile);
     }
 
     protected boolean xneedsContainlyReinitializeContainer() {
@@ -125,12 +175,28 @@ public abstract class LastaDiTestCase extends InjectionTestCase {
         return configFile.equals(_xcachedConfigFile); // no change
     }
 
+    protected boolean xkeyCanAcceptContainerRecycle(String configFile) {
+        // null when only config file is cached e.g. by xsetCachedConfigFile()
+        return _xcachedContainerKey == null || _xcachedContainerKey.equals(xcreateContainerKey(configFile));
+    }
+
     protected void xrecycleContainerInstance(String configFile) {
         // managed as singleton so caching is unneeded here
+        // and component lookup cache is kept, switched by container instance
     }
 
     protected void xsaveCachedInstance(String configFile) {
         _xcachedConfigFile = configFile;
+        _xcachedContainerKey = xcreateContainerKey(configFile);
+    }
+
+    /**
+     * Create the key of container for the configuration file, used as recycle condition and pool key.
+     * @param configFile The pure file name of root xml. (NotNull)
+     * @return The new-created key of container. (NotNull)
+     */
+    protected LastaDiContainerKey xcreateContainerKey(String configFile) { // may be overridden
+        return new LastaDiContainerKey(configFile, xisTreatedAsWebContainer(), null, null);
     }
 
     @Override
@@ -149,6 +215,181 @@ public abstract class LastaDiTestCase extends InjectionTestCase {
     @Override
     protected void xclearCachedContainer() {
         _xcachedConfigFile = null;
+        _xcachedContainerKey = null;
+        _xcomponentCache.clear();
+    }
+
+    // -----------------------------------------------------
+    //                                        Container Pool
+    //                                        --------------
+    /**
+     * Prepare the size of container pool, which keeps containers switched out by e.g. other configuration. <br>
+     * The size contains the current container, so 1 means no pool (destroyed when switched). <br>
+     * You can also specify it by system property 'utflute.lastadi.containerPoolSize'.
+     * @return The max count of living containers. (NotMinus: 1 means no pool)
+     */
+    protected int prepareContainerPoolSize() { // you can override
+        return Integer.getInteger(CONTAINER_POOL_SIZE_PROPERTY, 1); // as default
+    }
+
+    protected boolean xisUseContainerPool() {
+        return prepareContainerPoolSize() > 1;
+    }
+
+    protected boolean xcanParkCurrentContainer() {
+        return xisUseContainerPool() && _xcachedContainerKey != null; // null if e.g. after one-time
+    }
+
+    protected void xparkCurrentContainer() {
+        final LastaDiContainerKey currentKey = _xcachedContainerKey;
+        log("...Parking lasta_di to container pool: {}", currentKey);
+        final PooledContainer pooled = new PooledContainer(SingletonLaContainerFactory.getContainer(),
+                SingletonLaContainerFactory.getExternalContext(), xsavePooledContainerResource());
+        SingletonLaContainerFactory.setContainer(null); // switched out, not destroyed
+        SingletonLaContainerFactory.setExternalContext(null);
+        xclearCachedContainer();
+        _xcontainerPool.park(currentKey, pooled, prepareContainerPoolSize());
+    }
+
+    protected PooledContainer xunparkPooledContainer(String configFile) { // null allowed: when not pooled
+        if (!xisUseContainerPool()) {
+            return null;
+        }
+        return _xcontainerPool.unpark(xcreateContainerKey(configFile));
+    }
+
+    protected void xswitchToPooledContainer(String configFile, PooledContainer pooled) {
+        log("...Switching lasta_di to pooled container: {}", xcreateContainerKey(configFile));
+        SingletonLaContainerFactory.setConfigPath(configFile);
+        SingletonLaContainerFactory.setContainer(pooled.getContainer());
+        SingletonLaContainerFactory.setExternalContext(pooled.getExternalContext());
+        xrestorePooledContainerResource(pooled.getResource());
+    }
+
+    /**
+     * Save (and clear) the resource bound to the current container before parking it.
+     * @return The resource restored when the container is switched back. (NullAllowed: no resource)
+     */
+    protected Object xsavePooledContainerResource() { // may be overridden
+        return null; // no resource as library
+    }
+
+    /**
+     * Restore the resource saved when the container is parked.
+     * @param resource The saved resource. (NullAllowed: no resource)
+     */
+    protected void xrestorePooledContainerResource(Object resource) { // may be overridden
+    }
+
+    // -----------------------------------------------------
+    //                                     Container Warm-up
+    //                                     -----------------
+    /**
+     * Does it use warm-up of container? (boot the container in background at first test case creation?) <br>
+     * JUnit3 creates the test case instances of a class when building its suite (just before running it),
+     * so the boot is overlapped only with e.g. creating the other instances, not with the whole test discovery. <br>
+     * The first setUp() waits for the boot, and the container is recycled if the key is same. <br>
+     * It is judged only once in the JVM, by the first created test case (read from another instance). <br>
+     * You can also specify it by system property 'utflute.lastadi.containerWarmUp'.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseContainerWarmUp() { // you can override
+        return Boolean.getBoolean(CONTAINER_WARM_UP_PROPERTY); // as default
+    }
+
+    /**
+     * Start the warm-up of container if the first judgement in the JVM. <br>
+     * This is called in constructor, when subclass fields are not initialized yet,
+     * so the settings are read from another (fully-constructed) instance of the test class,
+     * and the instance under construction is not published to the warming thread.
+     * @param testClass The type of test case being constructed. (NotNull)
+     * @param warmer The warmer of container, basically static one. (NotNull)
+     */
+    protected static void xstartContainerWarmUpIfFirst(Class<?> testClass, LastaDiContainerWarmer warmer) {
+        if (xisSettingsReading()) { // e.g. created by test order optimizer or here, no side effect
+            return;
+        }
+        if (!warmer.judgeIfFirst()) { // judged by first test case, not to create reader per test
+            return;
+        }
+        final LastaDiTestCase reader = xnewSettingsReader(testClass);
+        if (reader == null || !reader.xneedsContainerWarmUp()) {
+            return;
+        }
+        final String configFile = reader.prepareConfigFile();
+        final LastaDiContainerKey key = reader.xcreateContainerKey(configFile);
+        warmer.startIfFirst(key, () -> reader.xwarmUpContainer(configFile));
+    }
+
+    protected static LastaDiTestCase xnewSettingsReader(Class<?> testClass) { // null allowed: when cannot create
+        xbeginSettingsReading(); // no warm-up by the constructor
+        try {
+            return (LastaDiTestCase) testClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException ignored) { // e.g. no public no-arg constructor
+            return null; // warm-up is only optimization so no error
+        } finally {
+            xendSettingsReading();
+        }
+    }
+
+    protected boolean xneedsContainerWarmUp() { // called for reader instance
+        if (!isUseContainerWarmUp() || xisInitializedContainer()) {
+            return false;
+        }
+        return !isUseOneTimeContainer(); // destroyed at setUp() anyway if one-time
+    }
+
+    /**
+     * Boot the container for warm-up, called in warming thread for the reader instance.
+     * @param configFile The pure file name of root xml, read from the reader before start. (NotNull)
+     */
+    protected void xwarmUpContainer(String configFile) {
+        xprepareContainerWarmUpEnv();
+        xinitializeContainer(configFile); // e.g. via LastaFilter if web-container
+    }
+
+    protected void xprepareContainerWarmUpEnv() { // called in warming thread, may be overridden
+        xprepareUnitTestEnv();
+    }
+
+    protected void xawaitContainerWarmUpIfNeeds() {
+        xawaitContainerWarmUp(_xcontainerWarmer);
+    }
+
+    protected void xawaitContainerWarmUp(LastaDiContainerWarmer warmer) {
+        if (!warmer.isWarming()) { // basically here after first setUp()
+            return;
+        }
+        final LastaDiContainerKey key = warmer.awaitIfWarming();
+        if (key != null) { // booted, cached here so it is recycled (or parked, destroyed) by normal process
+            _xcachedConfigFile = key.getConfigFile();
+            _xcachedContainerKey = key;
+        } else if (xisInitializedContainer()) { // failed halfway, just in case
+            xdestroyContainer();
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                      Settings Reading
+    //                                      ----------------
+    /**
+     * Begin reading settings of test cases without running them on the current thread. <br>
+     * Test case instances created while reading have no side effect e.g. container warm-up.
+     */
+    protected static void xbeginSettingsReading() {
+        _xsettingsReadingLocal.set(Boolean.TRUE);
+    }
+
+    protected static void xendSettingsReading() {
+        _xsettingsReadingLocal.remove();
+    }
+
+    protected static boolean xisSettingsReading() {
+        return _xsettingsReadingLocal.get() != null;
+    }
+
+    protected boolean xisDestroyContainerAtTearDown() { // for settings reading in this package
+        return isDestroyContainerAtTearDown();
     }
 
     // ===================================================================================
@@ -231,23 +472,34 @@ public abstract class LastaDiTestCase extends InjectionTestCase {
 
     @Override
     protected String xfilterByBindingNamingRule(String propertyName, Class<?> propertyType) {
+        final String componentName = xfindNamingComponentName(propertyType); // cached per container
+        if (componentName == null) {
+            return null;
+        }
+        if (xcanUseComponentNameByBindingNamingRule(componentName, propertyName)) {
+            return componentName;
+        }
+        // not smart deploy component or name wrong e.g. (foo_bar_) quxLogic does not equal quxService
+        return null;
+    }
+
+    protected String xfindNamingComponentName(Class<?> propertyType) { // null allowed: when not naming component
+        final LaContainer container = SingletonLaContainerFactory.getContainer();
+        return _xcomponentCache.findNamingComponentName(container, propertyType, type -> xderiveNamingComponentName(type));
+    }
+
+    protected String xderiveNamingComponentName(Class<?> propertyType) { // null allowed: when not naming component
         if (propertyType.getSimpleName().contains("_")) { // e.g. (org.dbflute.maihama.) Foo_BarLogic
             return null; // simple name that contains '_' is unsupported
         }
         // e.g. [root].logic.foo.bar.QuxLogic
         final NamingConvention convention = getComponent(NamingConvention.class);
-        final String componentName;
         try {
             // e.g. foo_bar_quxLogic -> foo_bar_quxLogic ends with [property name] -> returns foo_bar_quxLogic
-            componentName = convention.fromClassNameToComponentName(propertyType.getName());
+            return convention.fromClassNameToComponentName(propertyType.getName());
         } catch (RuntimeException ignored) { // just in case e.g. org.dbflute.maihama.foo
             return null;
         }
-        if (xcanUseComponentNameByBindingNamingRule(componentName, propertyName)) {
-            return componentName;
-        }
-        // not smart deploy component or name wrong e.g. (foo_bar_) quxLogic does not equal quxService
-        return null;
     }
 
     protected boolean xcanUseComponentNameByBindingNamingRule(String componentName, String propertyName) {
@@ -297,6 +549,7 @@ public abstract class LastaDiTestCase extends InjectionTestCase {
     protected void xdestroyContainer() {
         SingletonLaContainerFactory.destroy();
         SingletonLaContainerFactory.setExternalContext(null); // destroy() does not contain this
+        _xcomponentCache.clear();
     }
 
     // -----------------------------------------------------
@@ -315,24 +568,44 @@ public abstract class LastaDiTestCase extends InjectionTestCase {
 
     /** {@inheritDoc} */
     protected boolean hasComponent(Class<?> type) { // user method
-        try {
-            SingletonLaContainer.getComponent(type);
-            return true;
-        } catch (ComponentNotFoundException ignored) {
-            return false;
-        }
+        return xhasComponentByDef(xfindComponentDef(type));
     }
 
     /** {@inheritDoc} */
     protected boolean hasComponent(String name) { // user method
+        return xhasComponentByDef(xfindComponentDef(name));
+    }
+
+    protected boolean xhasComponentByDef(ComponentDef componentDef) { // same as getComponent() determination
+        if (componentDef == null) {
+            return false;
+        }
         try {
-            SingletonLaContainer.getComponent(name);
+            componentDef.getComponent(); // e.g. too-many registration throws, nested not-found is false
             return true;
         } catch (ComponentNotFoundException ignored) {
             return false;
         }
     }
 
+    /**
+     * Clear the lookup cache of components in the current container. <br>
+     * Components registered to the root container are detected automatically,
+     * so call it after you register components to e.g. included container in your test.
+     */
+    protected void clearComponentLookupCache() { // user method
+        _xcomponentCache.clearLookup();
+    }
+
+    /**
+     * Find the definition of component by the key, cached (also not-found) in the container generation.
+     * @param componentKey The key of component, type or name. (NotNull)
+     * @return The found definition, which provides the instance per its instance type. (NullAllowed: when not found)
+     */
+    protected ComponentDef xfindComponentDef(Object componentKey) {
+        return _xcomponentCache.findComponentDef(SingletonLaContainerFactory.getContainer(), componentKey);
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
@@ -343,4 +616,24 @@ public abstract class LastaDiTestCase extends InjectionTestCase {
     protected static void xsetCachedConfigFile(String xcachedConfigFile) {
         _xcachedConfigFile = xcachedConfigFile;
     }
+
+    protected static LastaDiContainerKey xgetCachedContainerKey() {
+        return _xcachedContainerKey;
+    }
+
+    protected static void xsetCachedContainerKey(LastaDiContainerKey xcachedContainerKey) {
+        _xcachedContainerKey = xcachedContainerKey;
+    }
+
+    protected static LastaDiContainerPool xgetContainerPool() {
+        return _xcontainerPool;
+    }
+
+    protected static LastaDiContainerWarmer xgetContainerWarmer() {
+        return _xcontainerWarmer;
+    }
+
+    protected static LastaDiComponentCache xgetComponentCache() {
+        return _xcomponentCache;
+    }
 }
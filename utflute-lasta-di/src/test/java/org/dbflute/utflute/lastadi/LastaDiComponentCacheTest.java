@@ -0,0 +1,256 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastadi;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.di.core.ComponentDef;
+import org.lastaflute.di.core.LaContainer;
+import org.lastaflute.di.core.exception.ComponentNotFoundException;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class LastaDiComponentCacheTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                              Lookup
+    //                                                                              ======
+    public void test_findComponentDef_found_cached() {
+        // ## Arrange ##
+        LastaDiComponentCache cache = new LastaDiComponentCache();
+        CountingContainer counting = new CountingContainer();
+        ComponentDef seaDef = counting.register("sea");
+        LaContainer container = counting.toContainer();
+
+        // ## Act ##
+        ComponentDef first = cache.findComponentDef(container, "sea");
+        ComponentDef second = cache.findComponentDef(container, "sea");
+
+        // ## Assert ##
+        assertSame(seaDef, first);
+        assertSame(seaDef, second);
+        assertEquals(1, counting.getLookupKeyList().size());
+    }
+
+    public void test_findComponentDef_notFound_cached() {
+        // ## Arrange ##
+        LastaDiComponentCache cache = new LastaDiComponentCache();
+        CountingContainer counting = new CountingContainer();
+        LaContainer container = counting.toContainer();
+
+        // ## Act ##
+        ComponentDef first = cache.findComponentDef(container, "land");
+        ComponentDef second = cache.findComponentDef(container, "land");
+
+        // ## Assert ##
+        assertNull(first);
+        assertNull(second);
+        assertEquals(1, counting.getLookupKeyList().size()); // negative result is also cached
+    }
+
+    public void test_findComponentDef_containerSwitched_cleared() {
+        // ## Arrange ##
+        LastaDiComponentCache cache = new LastaDiComponentCache();
+        CountingContainer firstCounting = new CountingContainer();
+        firstCounting.register("sea");
+        CountingContainer secondCounting = new CountingContainer();
+        ComponentDef secondDef = secondCounting.register("sea");
+        LaContainer firstContainer = firstCounting.toContainer();
+        cache.findComponentDef(firstContainer, "sea");
+
+        // ## Act ##
+        ComponentDef switched = cache.findComponentDef(secondCounting.toContainer(), "sea");
+
+        // ## Assert ##
+        assertSame(secondDef, switched);
+        assertEquals(1, secondCounting.getLookupKeyList().size());
+    }
+
+    // ===================================================================================
+    //                                                                   Late Registration
+    //                                                                   =================
+    public void test_findComponentDef_lateRegistration_detectedBySize() {
+        // ## Arrange ##
+        LastaDiComponentCache cache = new LastaDiComponentCache();
+        CountingContainer counting = new CountingContainer();
+        LaContainer container = counting.toContainer();
+        assertNull(cache.findComponentDef(container, "land"));
+
+        // ## Act ##
+        ComponentDef landDef = counting.register("land"); // e.g. registered in test
+        ComponentDef found = cache.findComponentDef(container, "land");
+
+        // ## Assert ##
+        assertSame(landDef, found);
+        assertEquals(2, counting.getLookupKeyList().size());
+    }
+
+    public void test_clearLookup_sameSize_explicit() {
+        // ## Arrange ##
+        LastaDiComponentCache cache = new LastaDiComponentCache();
+        CountingContainer counting = new CountingContainer();
+        ComponentDef oldDef = counting.register("sea");
+        LaContainer container = counting.toContainer();
+        assertSame(oldDef, cache.findComponentDef(container, "sea"));
+        ComponentDef newDef = counting.register("sea"); // e.g. replaced in included container, same size
+
+        // ## Act ##
+        ComponentDef beforeClear = cache.findComponentDef(container, "sea");
+        cache.clearLookup();
+        ComponentDef afterClear = cache.findComponentDef(container, "sea");
+
+        // ## Assert ##
+        assertSame(oldDef, beforeClear); // cannot be detected
+        assertSame(newDef, afterClear);
+    }
+
+    // ===================================================================================
+    //                                                                              Naming
+    //                                                                              ======
+    public void test_findNamingComponentName_hit() {
+        // ## Arrange ##
+        LastaDiComponentCache cache = new LastaDiComponentCache();
+        LaContainer container = new CountingContainer().toContainer();
+        List<Class<?>> derivedList = new ArrayList<Class<?>>();
+        Function<Class<?>, String> deriver = type -> {
+            derivedList.add(type);
+            return "sea_seaLogic";
+        };
+
+        // ## Act ##
+        String first = cache.findNamingComponentName(container, String.class, deriver);
+        String second = cache.findNamingComponentName(container, String.class, deriver);
+
+        // ## Assert ##
+        assertEquals("sea_seaLogic", first);
+        assertEquals("sea_seaLogic", second);
+        assertEquals(1, derivedList.size()); // derived only once
+    }
+
+    public void test_findNamingComponentName_miss_cachedAsSentinel() {
+        // ## Arrange ##
+        LastaDiComponentCache cache = new LastaDiComponentCache();
+        LaContainer container = new CountingContainer().toContainer();
+        List<Class<?>> derivedList = new ArrayList<Class<?>>();
+        Function<Class<?>, String> deriver = type -> {
+            derivedList.add(type);
+            return null; // not naming component
+        };
+
+        // ## Act ##
+        String first = cache.findNamingComponentName(container, Integer.class, deriver);
+        String second = cache.findNamingComponentName(container, Integer.class, deriver);
+
+        // ## Assert ##
+        assertNull(first);
+        assertNull(second); // sentinel is not returned
+        assertEquals(1, derivedList.size()); // negative result is also cached
+        assertSame(LastaDiComponentCache.NOT_NAMING_COMPONENT, cache._namingComponentNameMap.get(Integer.class));
+    }
+
+    public void test_findNamingComponentName_sameTextAsSentinel_passedThrough() {
+        // ## Arrange ##
+        LastaDiComponentCache cache = new LastaDiComponentCache();
+        LaContainer container = new CountingContainer().toContainer();
+        String sameText = new String(LastaDiComponentCache.NOT_NAMING_COMPONENT); // equal but not identical
+        Function<Class<?>, String> deriver = type -> sameText;
+
+        // ## Act ##
+        String first = cache.findNamingComponentName(container, Long.class, deriver);
+        String second = cache.findNamingComponentName(container, Long.class, deriver);
+
+        // ## Assert ##
+        assertSame(sameText, first);
+        assertSame(sameText, second); // compared by identity so not treated as negative
+    }
+
+    public void test_findNamingComponentName_keptByClearLookup_clearedBySwitch() {
+        // ## Arrange ##
+        LastaDiComponentCache cache = new LastaDiComponentCache();
+        LaContainer container = new CountingContainer().toContainer();
+        List<Class<?>> derivedList = new ArrayList<Class<?>>();
+        Function<Class<?>, String> deriver = type -> {
+            derivedList.add(type);
+            return "sea_seaLogic";
+        };
+        cache.findNamingComponentName(container, String.class, deriver);
+
+        // ## Act ##
+        cache.clearLookup();
+        cache.findNamingComponentName(container, String.class, deriver);
+        cache.findNamingComponentName(new CountingContainer().toContainer(), String.class, deriver);
+
+        // ## Assert ##
+        assertEquals(2, derivedList.size()); // kept by clearLookup(), derived again in new container
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected static class CountingContainer implements InvocationHandler {
+
+        protected final Map<Object, ComponentDef> _defMap = new HashMap<Object, ComponentDef>();
+        protected final List<Object> _lookupKeyList = new ArrayList<Object>();
+
+        public ComponentDef register(String name) {
+            final ComponentDef componentDef = (ComponentDef) Proxy.newProxyInstance(ComponentDef.class.getClassLoader(),
+                    new Class<?>[] { ComponentDef.class }, (proxy, method, args) -> {
+                        return "toString".equals(method.getName()) ? "def:" + name : null;
+                    });
+            _defMap.put(name, componentDef);
+            return componentDef;
+        }
+
+        public LaContainer toContainer() {
+            return (LaContainer) Proxy.newProxyInstance(LaContainer.class.getClassLoader(), new Class<?>[] { LaContainer.class }, this);
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String methodName = method.getName();
+            if ("getComponentDef".equals(methodName)) {
+                _lookupKeyList.add(args[0]);
+                final ComponentDef componentDef = _defMap.get(args[0]);
+                if (componentDef == null) {
+                    throw new ComponentNotFoundException(args[0]);
+                }
+                return componentDef;
+            } else if ("getComponentDefSize".equals(methodName)) {
+                return _defMap.size();
+            } else if ("hashCode".equals(methodName)) {
+                return System.identityHashCode(proxy);
+            } else if ("equals".equals(methodName)) {
+                return proxy == args[0];
+            } else if ("toString".equals(methodName)) {
+                return "countingContainer";
+            }
+            throw new UnsupportedOperationException(methodName);
+        }
+
+        public List<Object> getLookupKeyList() {
+            return _lookupKeyList;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastadi;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.utflute.lastadi.LastaDiContainerPool.PooledContainer;
+import org.lastaflute.di.core.LaContainer;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class LastaDiContainerPoolTest extends PlainTestCase {
+
+    private final List<String> _destroyedList = new ArrayList<String>();
+
+    public void test_park_unpark_basic() {
+        // ## Arrange ##
+        LastaDiContainerPool pool = new LastaDiContainerPool();
+        LastaDiContainerKey key = createKey("app.xml");
+        PooledContainer pooled = createPooled("app");
+
+        // ## Act ##
+        pool.park(key, pooled, 3);
+
+        // ## Assert ##
+        assertTrue(pool.isParked(key));
+        assertEquals(1, pool.getParkedCount());
+        assertTrue(pool.isShutdownHookRegistered()); // destroyed at JVM end
+        assertSame(pooled, pool.unpark(key));
+        assertFalse(pool.isParked(key));
+        assertNull(pool.unpark(key));
+        assertTrue(_destroyedList.isEmpty());
+    }
+
+    public void test_park_eviction_leastRecentlyUsed() {
+        // ## Arrange ##
+        LastaDiContainerPool pool = new LastaDiContainerPool();
+        pool.park(createKey("first.xml"), createPooled("first"), 3); // parked limit is 2
+        pool.park(createKey("second.xml"), createPooled("second"), 3);
+        PooledContainer first = pool.unpark(createKey("first.xml")); // switched back
+        pool.park(createKey("first.xml"), first, 3); // and switched out again so second is eldest
+
+        // ## Act ##
+        pool.park(createKey("third.xml"), createPooled("third"), 3);
+
+        // ## Assert ##
+        assertEquals(2, pool.getParkedCount());
+        assertFalse(pool.isParked(createKey("second.xml")));
+        assertEquals(newArrayList("second"), _destroyedList);
+    }
+
+    public void test_park_noPool_destroyedImmediately() {
+        // ## Arrange ##
+        LastaDiContainerPool pool = new LastaDiContainerPool();
+
+        // ## Act ##
+        pool.park(createKey("app.xml"), createPooled("app"), 1); // no parked container
+
+        // ## Assert ##
+        assertEquals(0, pool.getParkedCount());
+        assertEquals(newArrayList("app"), _destroyedList);
+    }
+
+    public void test_park_sameKey_destroyExisting() {
+        // ## Arrange ##
+        LastaDiContainerPool pool = new LastaDiContainerPool();
+        pool.park(createKey("app.xml"), createPooled("old"), 3);
+
+        // ## Act ##
+        pool.park(createKey("app.xml"), createPooled("new"), 3);
+
+        // ## Assert ##
+        assertEquals(1, pool.getParkedCount());
+        assertEquals(newArrayList("old"), _destroyedList);
+    }
+
+    public void test_destroyAll_basic() {
+        // ## Arrange ##
+        LastaDiContainerPool pool = new LastaDiContainerPool();
+        pool.park(createKey("first.xml"), createPooled("first"), 3);
+        pool.park(createKey("second.xml"), createPooled("second"), 3);
+
+        // ## Act ##
+        pool.destroyAll(); // also called by shutdown hook
+
+        // ## Assert ##
+        assertEquals(0, pool.getParkedCount());
+        assertEquals(newArrayList("first", "second"), _destroyedList);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private LastaDiContainerKey createKey(String configFile) {
+        return new LastaDiContainerKey(configFile, false, null, null);
+    }
+
+    private PooledContainer createPooled(String name) {
+        LaContainer container = (LaContainer) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { LaContainer.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("destroy")) {
+                        _destroyedList.add(name);
+                    } else if (method.getName().equals("toString")) {
+                        return name;
+                    }
+                    return null;
+                });
+        return new PooledContainer(container, null, null);
+    }
+}
@@ -15,6 +15,15 @@
  */
 package org.dbflute.utflute.lastadi;
 
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+import org.dbflute.utflute.lastadi.bean.FooLogic;
+import org.lastaflute.di.core.ComponentDef;
+import org.lastaflute.di.core.LaContainer;
+import org.lastaflute.di.core.exception.ComponentNotFoundException;
+import org.lastaflute.di.core.factory.SingletonLaContainerFactory;
+
 /**
  * @author jflute
  * @since 0.5.1 (2015/03/22 Sunday)
@@ -38,4 +47,58 @@ public class LastaDiTestCaseTest extends LastaDiTestCase {
         assertFalse(xcanUseComponentNameByBindingNamingRule("foo_bar_quxLogic", "oo_bar_quxLogic"));
         assertFalse(xcanUseComponentNameByBindingNamingRule("foo_bar_quxLogic", "_quxLogic"));
     }
+
+    // ===================================================================================
+    //                                                                     Component Cache
+    //                                                                     ===============
+    public void test_hasComponent_lookupCacheKeptOverRecycle() {
+        // ## Arrange ##
+        assertTrue(hasComponent(FooLogic.class));
+        LaContainer container = SingletonLaContainerFactory.getContainer();
+
+        // ## Act ##
+        xprepareTestCaseContainer(); // recycled
+
+        // ## Assert ##
+        assertSame(container, SingletonLaContainerFactory.getContainer());
+        assertTrue(xgetComponentCache()._foundDefMap.containsKey(FooLogic.class)); // not cleared by recycle
+        assertTrue(hasComponent(FooLogic.class));
+    }
+
+    public void test_hasComponent_lateRegistration() {
+        // ## Arrange ##
+        assertFalse(hasComponent(LateRegisteredBean.class)); // cached as not-found
+
+        // ## Act ##
+        SingletonLaContainerFactory.getContainer().register(LateRegisteredBean.class);
+
+        // ## Assert ##
+        assertTrue(hasComponent(LateRegisteredBean.class)); // detected by definition size
+    }
+
+    public void test_xhasComponentByDef_sameAsGetComponent() {
+        assertFalse(xhasComponentByDef(null));
+        assertTrue(xhasComponentByDef(createComponentDef(() -> new FooLogic())));
+        assertFalse(xhasComponentByDef(createComponentDef(() -> {
+            throw new ComponentNotFoundException("nestedLogic"); // e.g. dependency of the component
+        })));
+        try {
+            xhasComponentByDef(createComponentDef(() -> {
+                throw new IllegalStateException("e.g. too many registration");
+            }));
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getMessage());
+        }
+    }
+
+    protected ComponentDef createComponentDef(Supplier<Object> componentSupplier) {
+        return (ComponentDef) Proxy.newProxyInstance(ComponentDef.class.getClassLoader(), new Class<?>[] { ComponentDef.class },
+                (proxy, method, args) -> {
+                    return "getComponent".equals(method.getName()) ? componentSupplier.get() : null;
+                });
+    }
+
+    public static class LateRegisteredBean {
+    }
 }
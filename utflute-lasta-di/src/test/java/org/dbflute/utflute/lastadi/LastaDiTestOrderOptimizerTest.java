@@ -0,0 +1,190 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastadi;
+
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.utflute.lastadi.LastaDiTestOrderOptimizer.OrderingResult;
+import org.dbflute.utflute.lastadi.LastaDiTestOrderOptimizer.OrderingTarget;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class LastaDiTestOrderOptimizerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                            Optimize
+    //                                                                            ========
+    public void test_optimize_groupedByKey_disposableLast() {
+        // ## Arrange ##
+        LastaDiTestOrderOptimizer optimizer = new LastaDiTestOrderOptimizer();
+        List<Class<?>> testClassList = newArrayList(AppFirstCase.class, OneTimeCase.class, UnitCase.class, TearDownCase.class,
+                AppSecondCase.class, PlainCase.class);
+
+        // ## Act ##
+        OrderingResult result = optimizer.optimize(testClassList);
+
+        // ## Assert ##
+        log(result.buildReport());
+        assertEquals(newArrayList(PlainCase.class, AppFirstCase.class, AppSecondCase.class, UnitCase.class, OneTimeCase.class,
+                TearDownCase.class), result.getOrderedClassList());
+        assertEquals(2, result.getContainerKeyCount()); // app and unit
+        assertTrue(result.getOrderedBootCount() < result.getDefaultBootCount());
+    }
+
+    public void test_optimize_noSideEffect_settingsReading() {
+        // ## Arrange ##
+        LastaDiTestOrderOptimizer optimizer = new LastaDiTestOrderOptimizer();
+        ReadingCheckCase._readingInConstructor = null;
+
+        // ## Act ##
+        optimizer.optimize(newArrayList(ReadingCheckCase.class));
+
+        // ## Assert ##
+        assertEquals(Boolean.TRUE, ReadingCheckCase._readingInConstructor); // e.g. no warm-up
+        assertFalse(LastaDiTestCase.xisSettingsReading()); // ended
+    }
+
+    // ===================================================================================
+    //                                                                    Simulate Booting
+    //                                                                    ================
+    public void test_simulateBootCount_recycle_and_pool() {
+        // ## Arrange ##
+        LastaDiTestOrderOptimizer optimizer = new LastaDiTestOrderOptimizer();
+        List<OrderingTarget> targetList = newArrayList(normal("app.xml"), normal("unitbean.xml"), normal("app.xml"), normal("app.xml"),
+                normal("unitbean.xml"));
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(4, optimizer.simulateBootCount(targetList, 1)); // destroyed when switched
+        assertEquals(2, optimizer.simulateBootCount(targetList, 2)); // switched back from pool
+    }
+
+    public void test_simulateBootCount_pool_evictEldest() {
+        // ## Arrange ##
+        LastaDiTestOrderOptimizer optimizer = new LastaDiTestOrderOptimizer();
+        List<OrderingTarget> targetList = newArrayList(normal("a.xml"), normal("b.xml"), normal("c.xml"), normal("a.xml"));
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(4, optimizer.simulateBootCount(targetList, 2)); // a was evicted by parking b
+        assertEquals(3, optimizer.simulateBootCount(targetList, 3)); // a is unparked before parking c
+        assertEquals(3, optimizer.simulateBootCount(targetList, 4));
+    }
+
+    public void test_simulateBootCount_oneTime() {
+        // ## Arrange ##
+        LastaDiTestOrderOptimizer optimizer = new LastaDiTestOrderOptimizer();
+        OrderingTarget oneTime = new OrderingTarget(OneTimeCase.class, key("app.xml"), true, false, 1, 3);
+        List<OrderingTarget> targetList = newArrayList(normal("app.xml"), oneTime, normal("app.xml"));
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(5, optimizer.simulateBootCount(targetList, 1)); // 1 + 3 (per method) + 1 (destroyed)
+    }
+
+    public void test_simulateBootCount_destroyedAtTearDown() {
+        // ## Arrange ##
+        LastaDiTestOrderOptimizer optimizer = new LastaDiTestOrderOptimizer();
+        OrderingTarget tearDown = new OrderingTarget(TearDownCase.class, key("app.xml"), false, true, 1, 3);
+        List<OrderingTarget> targetList = newArrayList(normal("app.xml"), tearDown, normal("app.xml"));
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(4, optimizer.simulateBootCount(targetList, 1)); // 1 + 2 (first method recycles) + 1 (destroyed)
+        assertEquals(4, optimizer.simulateBootCount(newArrayList(tearDown, normal("app.xml")), 1)); // 1 + 2, then booted again
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private OrderingTarget normal(String configFile) {
+        return new OrderingTarget(AppFirstCase.class, key(configFile), false, false, 1, 2);
+    }
+
+    private LastaDiContainerKey key(String configFile) {
+        return new LastaDiContainerKey(configFile, false, null, null);
+    }
+
+    // ===================================================================================
+    //                                                                          Test Cases
+    //                                                                          ==========
+    // not run by themselves because nested classes are out of target
+    public static class AppFirstCase extends LastaDiTestCase {
+
+        public void test_foo() {
+        }
+    }
+
+    public static class AppSecondCase extends LastaDiTestCase {
+
+        public void test_foo() {
+        }
+    }
+
+    public static class UnitCase extends LastaDiTestCase {
+
+        @Override
+        protected String prepareConfigFile() {
+            return "unitbean.xml";
+        }
+
+        public void test_foo() {
+        }
+    }
+
+    public static class OneTimeCase extends LastaDiTestCase {
+
+        @Override
+        protected boolean isUseOneTimeContainer() {
+            return true;
+        }
+
+        public void test_foo() {
+        }
+    }
+
+    public static class TearDownCase extends LastaDiTestCase {
+
+        @Override
+        protected boolean isDestroyContainerAtTearDown() {
+            return true;
+        }
+
+        public void test_foo() {
+        }
+
+        public void test_bar() {
+        }
+    }
+
+    public static class ReadingCheckCase extends LastaDiTestCase {
+
+        private static Boolean _readingInConstructor;
+
+        public ReadingCheckCase() {
+            _readingInConstructor = xisSettingsReading();
+        }
+    }
+
+    public static class PlainCase extends PlainTestCase {
+
+        public void test_foo() {
+        }
+    }
+}
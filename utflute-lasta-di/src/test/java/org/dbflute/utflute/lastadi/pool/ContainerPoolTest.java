@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastadi.pool;
+
+import org.dbflute.utflute.lastadi.LastaDiContainerKey;
+import org.dbflute.utflute.lastadi.LastaDiTestCase;
+import org.lastaflute.di.core.LaContainer;
+import org.lastaflute.di.core.factory.SingletonLaContainerFactory;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class ContainerPoolTest extends LastaDiTestCase {
+
+    private String _configFile; // null means default, switched in test
+    private String _variant; // to make different key of same config file
+    private boolean _oneTime;
+
+    @Override
+    protected String prepareConfigFile() {
+        return _configFile != null ? _configFile : super.prepareConfigFile();
+    }
+
+    @Override
+    protected LastaDiContainerKey xcreateContainerKey(String configFile) {
+        return new LastaDiContainerKey(configFile, xisTreatedAsWebContainer(), null, _variant);
+    }
+
+    @Override
+    protected int prepareContainerPoolSize() {
+        return 2; // one parked container
+    }
+
+    @Override
+    protected boolean isUseOneTimeContainer() {
+        return _oneTime;
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        xgetContainerPool().destroyAll(); // not to leave parked containers to other tests
+    }
+
+    public void test_switchBack_notReinitialized() {
+        // ## Arrange ##
+        LaContainer appContainer = SingletonLaContainerFactory.getContainer();
+        LastaDiContainerKey appKey = xgetCachedContainerKey();
+
+        // ## Act ##
+        _configFile = "unitbean.xml";
+        xprepareTestCaseContainer(); // parks app.xml
+        LaContainer unitContainer = SingletonLaContainerFactory.getContainer();
+        _configFile = null;
+        xprepareTestCaseContainer(); // switches back
+
+        // ## Assert ##
+        assertNotSame(appContainer, unitContainer);
+        assertSame(appContainer, SingletonLaContainerFactory.getContainer());
+        assertEquals(appKey, xgetCachedContainerKey());
+        assertFalse(xgetContainerPool().isParked(appKey));
+        assertTrue(xgetContainerPool().isParked(xcreateContainerKey("unitbean.xml")));
+    }
+
+    public void test_switchOver_evictEldest() {
+        // ## Arrange ##
+        LaContainer appContainer = SingletonLaContainerFactory.getContainer();
+        LastaDiContainerKey appKey = xgetCachedContainerKey();
+
+        // ## Act ##
+        _variant = "first";
+        xprepareTestCaseContainer(); // parks default
+        LastaDiContainerKey firstKey = xgetCachedContainerKey();
+        _variant = "second";
+        xprepareTestCaseContainer(); // parks first, and evicts default (over size)
+
+        // ## Assert ##
+        assertEquals(1, xgetContainerPool().getParkedCount());
+        assertTrue(xgetContainerPool().isParked(firstKey));
+        assertFalse(xgetContainerPool().isParked(appKey));
+        _variant = null;
+        xprepareTestCaseContainer(); // not switched because destroyed
+        assertNotSame(appContainer, SingletonLaContainerFactory.getContainer());
+    }
+
+    public void test_oneTime_destroyedNotParked() {
+        // ## Arrange ##
+        LastaDiContainerKey appKey = xgetCachedContainerKey();
+        int parkedCount = xgetContainerPool().getParkedCount();
+
+        // ## Act ##
+        _oneTime = true; // also destroyed at tearDown()
+        xprepareTestCaseContainer();
+
+        // ## Assert ##
+        assertTrue(xisInitializedContainer());
+        assertEquals(parkedCount, xgetContainerPool().getParkedCount());
+        assertFalse(xgetContainerPool().isParked(appKey));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastadi.warmup;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.dbflute.utflute.lastadi.LastaDiContainerKey;
+import org.dbflute.utflute.lastadi.LastaDiContainerWarmer;
+import org.dbflute.utflute.lastadi.LastaDiTestCase;
+import org.lastaflute.di.core.LaContainer;
+import org.lastaflute.di.core.factory.SingletonLaContainerFactory;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class ContainerWarmUpTest extends LastaDiTestCase {
+
+    // ===================================================================================
+    //                                                                      Warm-up Recycle
+    //                                                                      ===============
+    public void test_warmUp_thenRecycled() {
+        // ## Arrange ##
+        xdestroyContainer(); // as JVM beginning
+        xclearCachedContainer();
+        LastaDiContainerWarmer warmer = new LastaDiContainerWarmer();
+
+        // ## Act ##
+        xstartContainerWarmUpIfFirst(WarmUpCase.class, warmer);
+        xawaitContainerWarmUp(warmer); // as first setUp()
+        LaContainer warmed = SingletonLaContainerFactory.getContainer();
+        xprepareTestCaseContainer();
+
+        // ## Assert ##
+        assertTrue(warmer.isStarted());
+        assertFalse(warmer.isWarming());
+        assertSame(warmed, SingletonLaContainerFactory.getContainer()); // recycled, not re-initialized
+        assertEquals(xcreateContainerKey("app.xml"), xgetCachedContainerKey());
+    }
+
+    public void test_warmUp_judgedOnlyFirst() {
+        // ## Arrange ##
+        LastaDiContainerWarmer warmer = new LastaDiContainerWarmer();
+
+        // ## Act ##
+        xstartContainerWarmUpIfFirst(NoWarmUpCase.class, warmer);
+        xstartContainerWarmUpIfFirst(WarmUpCase.class, warmer);
+
+        // ## Assert ##
+        assertFalse(warmer.isStarted()); // judged by first test case
+    }
+
+    public void test_warmUp_settingsReading_notStarted() {
+        // ## Arrange ##
+        LastaDiContainerWarmer warmer = new LastaDiContainerWarmer();
+
+        // ## Act ##
+        xbeginSettingsReading();
+        try {
+            xstartContainerWarmUpIfFirst(WarmUpCase.class, warmer);
+        } finally {
+            xendSettingsReading();
+        }
+
+        // ## Assert ##
+        assertFalse(warmer.isStarted());
+        assertTrue(warmer.judgeIfFirst()); // not judged yet
+    }
+
+    // ===================================================================================
+    //                                                                      Warm-up Failure
+    //                                                                      ===============
+    public void test_warmUpFailure_thenDestroyed() {
+        // ## Arrange ##
+        xdestroyContainer(); // as JVM beginning
+        xclearCachedContainer();
+        LastaDiContainerWarmer warmer = new LastaDiContainerWarmer();
+
+        // ## Act ##
+        xstartContainerWarmUpIfFirst(FailureCase.class, warmer); // initialized and failed
+        xawaitContainerWarmUp(warmer);
+
+        // ## Assert ##
+        assertTrue(warmer.isStarted());
+        assertFalse(xisInitializedContainer()); // destroyed because of halfway
+        assertNull(xgetCachedContainerKey());
+        xprepareTestCaseContainer(); // initialized on test thread instead
+        assertTrue(xisInitializedContainer());
+    }
+
+    // ===================================================================================
+    //                                                                    Warm-up Interrupt
+    //                                                                    =================
+    public void test_warmUpInterrupted_keepWaiting() {
+        // ## Arrange ##
+        LastaDiContainerWarmer warmer = new LastaDiContainerWarmer();
+        LastaDiContainerKey key = xcreateContainerKey("app.xml");
+        AtomicBoolean booted = new AtomicBoolean();
+        warmer.startIfFirst(key, () -> {
+            sleep(100); // as booting
+            booted.set(true);
+        });
+
+        // ## Act ##
+        Thread.currentThread().interrupt(); // e.g. by test runner timeout
+        LastaDiContainerKey awaited = warmer.awaitIfWarming();
+
+        // ## Assert ##
+        assertTrue(Thread.interrupted()); // restored (and cleared here)
+        assertTrue(booted.get()); // not returned while booting
+        assertEquals(key, awaited);
+        assertFalse(warmer.isWarming());
+    }
+
+    // ===================================================================================
+    //                                                                          Test Cases
+    //                                                                          ==========
+    // not run by themselves because no test method
+    public static class WarmUpCase extends LastaDiTestCase {
+
+        @Override
+        protected boolean isUseContainerWarmUp() {
+            return true;
+        }
+    }
+
+    public static class NoWarmUpCase extends LastaDiTestCase {
+    }
+
+    public static class FailureCase extends WarmUpCase {
+
+        @Override
+        protected void xinitializeContainer(String configFile) {
+            super.xinitializeContainer(configFile);
+            throw new IllegalStateException("Failed after initialization for test");
+        }
+    }
+}
@@ -19,12 +19,18 @@ import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.dbflute.utflute.core.binding.BindingAnnotationRule;
+import org.dbflute.utflute.core.binding.BindingListener;
+import org.dbflute.utflute.core.binding.BindingMetrics;
 import org.dbflute.utflute.core.binding.BindingRuleProvider;
 import org.dbflute.utflute.core.binding.BoundResult;
 import org.dbflute.utflute.core.binding.ComponentBinder;
 import org.dbflute.utflute.core.binding.ComponentProvider;
+import org.dbflute.utflute.core.binding.InjectionSnapshot;
+import org.dbflute.utflute.core.profiler.TestPhaseProfiler;
 import org.dbflute.utflute.core.transaction.TransactionFailureException;
 import org.dbflute.utflute.core.transaction.TransactionResource;
 
@@ -61,6 +67,24 @@ public abstract class InjectionTestCase extends PlainTestCase {
     /** The list of non-binding type NOT injected to component. (NullAllowed: when no mock) */
     private List<Class<?>> _xnonBindingTypeList; // lazy-loaded
 
+    /** The map of snapshot of resolved components for test case injection, per test class. (NotNull) */
+    private static final Map<Class<?>, InjectionSnapshot> _xinjectionSnapshotMap = new ConcurrentHashMap<Class<?>, InjectionSnapshot>();
+
+    // -----------------------------------------------------
+    //                                       Binding Metrics
+    //                                       ---------------
+    /** The metrics of binding aggregated in the test method. (NullAllowed: when no metrics, before binding) */
+    private BindingMetrics _xtestBindingMetrics; // lazy-loaded
+
+    /** The metrics of binding aggregated in the JVM (class loader), never reset nor reported automatically. (NotNull) */
+    private static final BindingMetrics _xsuiteBindingMetrics = new BindingMetrics("suite");
+
+    // -----------------------------------------------------
+    //                                        Phase Profiler
+    //                                        --------------
+    /** Does it profile the setUp/tearDown phases in the test case? (fixed at setUp()) */
+    private boolean _xphaseProfiling;
+
     // ===================================================================================
     //                                                                            Settings
     //                                                                            ========
@@ -69,20 +93,32 @@ public abstract class InjectionTestCase extends PlainTestCase {
     //                                                ------
     @Override
     public void setUp() throws Exception {
+        _xphaseProfiling = isUsePhaseProfiler();
+        long phaseBefore = xbeginProfiledPhase();
         super.setUp();
+        phaseBefore = xendProfiledPhase("plainSetUp", phaseBefore);
 
         xsetupBeforeContainer();
         xsetupBeforeTestCaseContainer();
+        phaseBefore = xendProfiledPhase("xsetupBeforeTestCaseContainer", phaseBefore);
         xprepareTestCaseContainer();
+        phaseBefore = xendProfiledPhase("xprepareTestCaseContainer", phaseBefore);
         xsetupAfterTestCaseContainer();
+        phaseBefore = xendProfiledPhase("xsetupAfterTestCaseContainer", phaseBefore);
 
         xsetupBeforeTestCaseInjection();
+        phaseBefore = xendProfiledPhase("xsetupBeforeTestCaseInjection", phaseBefore);
         xprepareTestCaseInjection();
+        phaseBefore = xendProfiledPhase("xprepareTestCaseInjection", phaseBefore);
         xsetupAfterTestCaseInjection();
+        phaseBefore = xendProfiledPhase("xsetupAfterTestCaseInjection", phaseBefore);
 
         xsetupBeforeTestCaseTransaction();
+        phaseBefore = xendProfiledPhase("xsetupBeforeTestCaseTransaction", phaseBefore);
         xprepareTestCaseTransaction();
+        phaseBefore = xendProfiledPhase("xprepareTestCaseTransaction", phaseBefore);
         xsetupAfterTestCaseTransaction();
+        xendProfiledPhase("xsetupAfterTestCaseTransaction", phaseBefore);
     }
 
     // -----------------------------------------------------
@@ -115,7 +151,40 @@ public abstract class InjectionTestCase extends PlainTestCase {
     }
 
     protected void xprepareTestCaseInjection() {
-        _xtestCaseBoundResult = _xtestCaseComponentBinder.bindComponent(this);
+        final Object generation = isUseTestCaseInjectionSnapshot() ? xgetContainerGeneration() : null;
+        if (generation != null && _xtestCaseComponentBinder.isSnapshotBindable()) {
+            final InjectionSnapshot snapshot = xfindTestCaseInjectionSnapshot(generation);
+            _xtestCaseBoundResult = _xtestCaseComponentBinder.bindComponentBySnapshot(this, snapshot);
+        } else {
+            _xtestCaseBoundResult = _xtestCaseComponentBinder.bindComponent(this);
+        }
+    }
+
+    /**
+     * Does it use snapshot of resolved components for test case injection? <br>
+     * Reusable (e.g. singleton) components are resolved once per test class while the container is the same.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseTestCaseInjectionSnapshot() { // you can override
+        return true;
+    }
+
+    protected InjectionSnapshot xfindTestCaseInjectionSnapshot(Object generation) {
+        final String bindingKey = _xtestCaseComponentBinder.buildSnapshotKey();
+        InjectionSnapshot snapshot = _xinjectionSnapshotMap.get(getClass());
+        if (snapshot == null || !snapshot.isReusable(generation, bindingKey)) {
+            snapshot = _xtestCaseComponentBinder.resolveSnapshot(getClass(), generation);
+            _xinjectionSnapshotMap.put(getClass(), snapshot);
+        }
+        return snapshot;
+    }
+
+    protected void xclearTestCaseInjectionSnapshot() { // for the test class
+        _xinjectionSnapshotMap.remove(getClass());
+    }
+
+    protected static void xclearTestCaseInjectionSnapshotAll() { // e.g. when container is destroyed
+        _xinjectionSnapshotMap.clear();
     }
 
     protected void xsetupAfterTestCaseInjection() {
@@ -153,14 +222,19 @@ public abstract class InjectionTestCase extends PlainTestCase {
     //                                             ---------
     @Override
     public void tearDown() throws Exception {
+        long phaseBefore = xbeginProfiledPhase();
         if (!isSuppressTestCaseTransaction()) {
             xrollbackTestCaseTransaction(); // should be tear-down to close transaction when failure 
         }
+        phaseBefore = xendProfiledPhase("xrollbackTestCaseTransaction", phaseBefore);
         xdestroyTestCaseInjection();
+        phaseBefore = xendProfiledPhase("xdestroyTestCaseInjection", phaseBefore);
         xdestroyTestCaseContainer();
+        phaseBefore = xendProfiledPhase("xdestroyTestCaseContainer", phaseBefore);
         _xmockInstanceList = null;
         _xnonBindingTypeList = null;
         super.tearDown();
+        xendProfiledPhase("plainTearDown", phaseBefore);
     }
 
     // -----------------------------------------------------
@@ -240,6 +314,42 @@ public abstract class InjectionTestCase extends PlainTestCase {
 
     protected abstract void xclearCachedContainer();
 
+    // -----------------------------------------------------
+    //                                        Phase Profiler
+    //                                        --------------
+    @Override
+    protected void runTest() throws Throwable {
+        final long phaseBefore = xbeginProfiledPhase();
+        try {
+            super.runTest();
+        } finally {
+            xendProfiledPhase(TestPhaseProfiler.RUN_TEST_PHASE, phaseBefore);
+        }
+    }
+
+    /**
+     * Does it use the profiler of setUp/tearDown phases? (record nanosecond cost of each phase and runTest()?) <br>
+     * The aggregated report (JSON and CSV) is written at JVM shutdown. <br>
+     * You can also specify it by system property 'utflute.phaseProfiler'.
+     * @return The determination, true or false.
+     */
+    protected boolean isUsePhaseProfiler() { // you can override
+        return TestPhaseProfiler.isEnabledBySystemProperty(); // false as default
+    }
+
+    protected long xbeginProfiledPhase() {
+        return _xphaseProfiling ? System.nanoTime() : 0L;
+    }
+
+    protected long xendProfiledPhase(String phaseName, long phaseBefore) { // returns beginning of next phase
+        if (!_xphaseProfiling) {
+            return 0L;
+        }
+        final long phaseAfter = System.nanoTime();
+        TestPhaseProfiler.getInstance().record(getClass(), phaseName, phaseAfter - phaseBefore);
+        return phaseAfter;
+    }
+
     // ===================================================================================
     //                                                                   Component Binding
     //                                                                   =================
@@ -247,7 +357,11 @@ public abstract class InjectionTestCase extends PlainTestCase {
     //                                                Binder
     //                                                ------
     protected ComponentBinder xcreateBasicComponentBinder() { // customize point
-        return new ComponentBinder(xcreateComponentProvider(), createBindingRuleProvider());
+        final ComponentBinder binder = new ComponentBinder(xcreateComponentProvider(), createBindingRuleProvider());
+        if (isUseBindingMetrics()) { // no listener (no counting) as default
+            binder.registerBindingListener(xcreateBindingMetricsListener());
+        }
+        return binder;
     }
 
     protected ComponentProvider xcreateComponentProvider() {
@@ -269,6 +383,22 @@ public abstract class InjectionTestCase extends PlainTestCase {
             public boolean existsComponent(String name) {
                 return hasComponent(name);
             }
+
+            public <COMPONENT> Optional<COMPONENT> findComponent(Class<COMPONENT> type) {
+                return xfindComponent(type);
+            }
+
+            public <COMPONENT> Optional<COMPONENT> findComponent(String name) {
+                return xfindComponent(name);
+            }
+
+            public boolean isReusableComponent(Class<?> type) {
+                return xisReusableComponent(type);
+            }
+
+            public boolean isReusableComponent(String name) {
+                return xisReusableComponent(name);
+            }
         };
     }
 
@@ -322,6 +452,16 @@ public abstract class InjectionTestCase extends PlainTestCase {
      * FooAction <span style="color: #553000">action</span> = <span style="color: #70226C">new</span> FooAction();
      * inject(<span style="color: #553000">action</span>); <span style="color: #3F7E5E">// refers real assist to mock logic to mock wizard</span>
      * </pre>
+     * Or graph-wide mock binding pushes mocks to any depth without mock relay (reverted after test):
+     * <pre>
+     * <span style="color: #70226C">protected boolean</span> isUseGraphWideMockBinding() { <span style="color: #3F7E5E">// in your test case</span>
+     *     <span style="color: #70226C">return true</span>;
+     * }
+     * 
+     * registerMock(<span style="color: #70226C">new</span> MockFooWizard());
+     * FooAction <span style="color: #553000">action</span> = <span style="color: #70226C">new</span> FooAction();
+     * inject(<span style="color: #553000">action</span>); <span style="color: #3F7E5E">// refers real assist to real logic to mock wizard</span>
+     * </pre>
      * @param mock The mock instance injected to component. (NotNull)
      */
     public void registerMock(Object mock) { // user method
@@ -336,6 +476,7 @@ public abstract class InjectionTestCase extends PlainTestCase {
             filtered = mock;
         }
         _xmockInstanceList.add(filtered);
+        xclearTestCaseInjectionSnapshot(); // registrations are changed
     }
 
     /**
@@ -372,6 +513,7 @@ public abstract class InjectionTestCase extends PlainTestCase {
             _xnonBindingTypeList = new ArrayList<Class<?>>();
         }
         _xnonBindingTypeList.add(nonBindingType);
+        xclearTestCaseInjectionSnapshot(); // registrations are changed
     }
 
     protected BindingRuleProvider createBindingRuleProvider() {
@@ -448,12 +590,69 @@ public abstract class InjectionTestCase extends PlainTestCase {
         for (Class<?> nonBindingType : nonBindingTypeList) {
             binder.addNonBindingType(nonBindingType);
         }
+
+        // adjust mock depth
+        if (isUseGraphWideMockBinding()) {
+            binder.graphWideMockBinding();
+        }
+    }
+
+    /**
+     * Does it use graph-wide mock binding? (push registered mocks to all reachable components) <br>
+     * Components are visited once by identity, so the cost is by reachable graph, not by nest depth.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseGraphWideMockBinding() { // you can override
+        return false;
     }
 
     protected BoundResult xdoInject(Object bean, ComponentBinder binder) {
         return binder.bindComponent(bean);
     }
 
+    // -----------------------------------------------------
+    //                                       Binding Metrics
+    //                                       ---------------
+    /**
+     * Does it use the metrics of component binding? (count lookups, misses, mocks, nested binders and elapsed time) <br>
+     * The metrics are aggregated per test method and per suite, see {@link #getTestBindingMetrics()}.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseBindingMetrics() { // you can override
+        return false;
+    }
+
+    protected BindingListener xcreateBindingMetricsListener() {
+        return metrics -> xaggregateBindingMetrics(metrics);
+    }
+
+    protected void xaggregateBindingMetrics(BindingMetrics metrics) {
+        if (_xtestBindingMetrics == null) {
+            _xtestBindingMetrics = new BindingMetrics(getClass().getSimpleName() + "." + getName() + "()");
+        }
+        _xtestBindingMetrics.aggregate(metrics);
+        _xsuiteBindingMetrics.aggregate(metrics);
+    }
+
+    /**
+     * Get the metrics of component binding aggregated in the current test method.
+     * @return The metrics of the test. (NullAllowed: when no metrics, before binding)
+     */
+    protected BindingMetrics getTestBindingMetrics() {
+        return _xtestBindingMetrics;
+    }
+
+    /**
+     * Get the metrics of component binding aggregated in the suite (all test cases using metrics in the JVM). <br>
+     * It lives as long as the class loader of this class, so it contains all test cases run by the JVM
+     * (e.g. all suites in one Maven fork). It is never reset nor reported automatically,
+     * so read it e.g. at your last test or suite tearDown, and compare differences if you need per-suite values.
+     * @return The metrics of the suite. (NotNull)
+     */
+    protected static BindingMetrics getSuiteBindingMetrics() {
+        return _xsuiteBindingMetrics;
+    }
+
     // ===================================================================================
     //                                                                  Container Handling
     //                                                                  ==================
@@ -489,6 +688,57 @@ public abstract class InjectionTestCase extends PlainTestCase {
      */
     protected abstract boolean hasComponent(String name); // user method
 
+    /**
+     * Find the component on the DI container for the type by single lookup if possible. <br>
+     * It is used by component binding, and the default implementation uses hasComponent() and getComponent().
+     * @param <COMPONENT> The type of component.
+     * @param type The type of component to find. (NotNull)
+     * @return The optional component. (NotNull, EmptyAllowed: when not found)
+     */
+    protected <COMPONENT> Optional<COMPONENT> xfindComponent(Class<COMPONENT> type) { // may be overridden
+        return hasComponent(type) ? Optional.ofNullable(getComponent(type)) : Optional.empty();
+    }
+
+    /**
+     * Find the component on the DI container for the name by single lookup if possible. <br>
+     * It is used by component binding, and the default implementation uses hasComponent() and getComponent().
+     * @param <COMPONENT> The type of component.
+     * @param name The name of component to find. (NotNull)
+     * @return The optional component. (NotNull, EmptyAllowed: when not found)
+     */
+    protected <COMPONENT> Optional<COMPONENT> xfindComponent(String name) { // may be overridden
+        return hasComponent(name) ? Optional.ofNullable(getComponent(name)) : Optional.empty();
+    }
+
+    /**
+     * Can the component for the type be reused while the container generation is the same? (e.g. singleton) <br>
+     * It is used by snapshot of test case injection, and the default implementation returns false.
+     * @param type The type of component. (NotNull)
+     * @return The determination, true or false.
+     */
+    protected boolean xisReusableComponent(Class<?> type) { // may be overridden
+        return false;
+    }
+
+    /**
+     * Can the component for the name be reused while the container generation is the same? (e.g. singleton) <br>
+     * It is used by snapshot of test case injection, and the default implementation returns false.
+     * @param name The name of component. (NotNull)
+     * @return The determination, true or false.
+     */
+    protected boolean xisReusableComponent(String name) { // may be overridden
+        return false;
+    }
+
+    /**
+     * Get the generation of current container, compared by identity to reuse snapshot of injection. <br>
+     * The default implementation returns null, which means snapshot is not used.
+     * @return The object identifying the generation e.g. container instance. (NullAllowed: when not supported)
+     */
+    protected Object xgetContainerGeneration() { // may be overridden
+        return null;
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
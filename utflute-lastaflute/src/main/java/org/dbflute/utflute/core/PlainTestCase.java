@@ -50,6 +50,7 @@ import org.dbflute.utflute.core.beanorder.BeanOrderValidator;
 import org.dbflute.utflute.core.beanorder.ExpectedBeanOrderBy;
 import org.dbflute.utflute.core.cannonball.CannonballDirector;
 import org.dbflute.utflute.core.cannonball.CannonballOption;
+import org.dbflute.utflute.core.cannonball.CannonballResult;
 import org.dbflute.utflute.core.cannonball.CannonballRun;
 import org.dbflute.utflute.core.cannonball.CannonballStaff;
 import org.dbflute.utflute.core.dbflute.GatheredExecutedSqlHolder;
@@ -1072,6 +1073,26 @@ public abstract class PlainTestCase extends TestCase {
         createCannonballDirector().readyGo(run, option);
     }
 
+    /**
+     * Execute the cannon-ball run, returning the result e.g. for measure() option.
+     * <pre>
+     * CannonballResult result = <span style="color: #FD4747">cannonballMeasured</span>(new CannonballRun() {
+     *     public void drive(CannonballCar car) {
+     *         ...
+     *     }
+     * }, new CannonballOption().measure());
+     * assertTrue(result.getOverallMeasurement().getP99Nanos() &lt; 50_000_000L); <span style="color: #3F7E5E">// 50ms</span>
+     * </pre>
+     * @param run The callback for the run. (NotNull)
+     * @param option The option for the run. (NotNull)
+     * @return The result of the run, which has measurements if measure() option. (NotNull)
+     */
+    protected CannonballResult cannonballMeasured(CannonballRun run, CannonballOption option) {
+        assertNotNull(run);
+        assertNotNull(option);
+        return createCannonballDirector().readyGoMeasured(run, option);
+    }
+
     /**
      * Create the instance of cannon-ball director.
      * @return The new-created instance of the director. (NotNull)
@@ -1112,6 +1133,14 @@ public abstract class PlainTestCase extends TestCase {
                 xclearAccessContextOnThread();
             }
 
+            public DataSource help_getDataSource() {
+                return getDataSource();
+            }
+
+            public void help_switchDataSource(DataSource dataSource) {
+                xswitchCannonballDataSource(dataSource);
+            }
+
             public void help_assertEquals(Object expected, Object actual) {
                 assertEquals(expected, actual);
             }
@@ -1137,6 +1166,14 @@ public abstract class PlainTestCase extends TestCase {
         xputTestCaseAccessContextOnThread();
     }
 
+    /**
+     * Switch the data source returned by getDataSource() while cannon-ball, restored after the race.
+     * @param dataSource The data source e.g. tracking wrapper or the original. (NotNull)
+     */
+    protected void xswitchCannonballDataSource(DataSource dataSource) {
+        // should be overridden by DI container's test case
+    }
+
     /**
      * Sleep the current thread.
      * @param millis The millisecond to sleep.
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+/**
+ * The accessor of binding point (field or property), created once per point in injection plan. <br>
+ * It is used for both injection and revert.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public interface BindingAccessor {
+
+    /**
+     * Can the value be read? (setter-only property cannot)
+     * @return The determination, true or false.
+     */
+    boolean isReadable();
+
+    /**
+     * Get the value of the point.
+     * @param target The target instance that has the point. (NotNull)
+     * @return The current value. (NullAllowed: when not readable or null value)
+     */
+    Object getValue(Object target);
+
+    /**
+     * Set the value to the point.
+     * @param target The target instance that has the point. (NotNull)
+     * @param value The value to be set. (NullAllowed: e.g. revert to null)
+     */
+    void setValue(Object target, Object value);
+
+    /**
+     * Revert the value of the point to the value before binding.
+     * @param target The target instance that has the point. (NotNull)
+     * @param previous The value before binding. (NullAllowed)
+     */
+    default void revertValue(Object target, Object previous) {
+        setValue(target, previous);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+/**
+ * The listener of component binding, which receives metrics per bindComponent() call. <br>
+ * The binder does not count anything when the listener is disabled, e.g. the default NONE.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public interface BindingListener {
+
+    /** The no-op listener as default, which keeps binding without metrics allocation. */
+    BindingListener NONE = new BindingListener() {
+        public boolean isEnabled() {
+            return false;
+        }
+
+        public void listen(BindingMetrics metrics) {
+        }
+    };
+
+    /**
+     * Is the listener enabled? (does binder count metrics?)
+     * @return The determination, true or false.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Listen the metrics of one binding, called after bindComponent() (including nested binding).
+     * @param metrics The metrics of the binding, not reused by binder. (NotNull)
+     */
+    void listen(BindingMetrics metrics);
+}
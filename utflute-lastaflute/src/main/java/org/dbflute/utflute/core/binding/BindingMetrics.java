@@ -0,0 +1,167 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+/**
+ * The metrics of component binding, per one bindComponent() call or aggregated. <br>
+ * Counts of nested binders (e.g. nested mock) are included in the root binding.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class BindingMetrics {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _title; // not null, e.g. target class name, aggregate title
+    protected int _bindingCount; // 1 if one binding
+    protected int _fieldScannedCount;
+    protected int _propertyScannedCount;
+    protected int _byNameLookupCount;
+    protected int _byTypeLookupCount;
+    protected int _missCount; // lookups that are not found
+    protected int _mockAppliedCount;
+    protected int _nestedBinderCount;
+    protected long _elapsedNanos;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param title The title of metrics, e.g. target class name, aggregate title. (NotNull)
+     */
+    public BindingMetrics(String title) {
+        _title = title;
+    }
+
+    // ===================================================================================
+    //                                                                               Count
+    //                                                                               =====
+    public void countBinding(long elapsedNanos) {
+        ++_bindingCount;
+        _elapsedNanos += elapsedNanos;
+    }
+
+    public void countFieldScanned(int count) {
+        _fieldScannedCount += count;
+    }
+
+    public void countPropertyScanned(int count) {
+        _propertyScannedCount += count;
+    }
+
+    public void countByNameLookup(boolean found) {
+        ++_byNameLookupCount;
+        if (!found) {
+            ++_missCount;
+        }
+    }
+
+    public void countByTypeLookup(boolean found) {
+        ++_byTypeLookupCount;
+        if (!found) {
+            ++_missCount;
+        }
+    }
+
+    public void countMockApplied() {
+        ++_mockAppliedCount;
+    }
+
+    public void countNestedBinder() {
+        ++_nestedBinderCount;
+    }
+
+    // ===================================================================================
+    //                                                                           Aggregate
+    //                                                                           =========
+    /**
+     * Add the counts of the other metrics to this, for e.g. aggregate per test.
+     * @param other The other metrics, which is not changed. (NotNull)
+     */
+    public synchronized void aggregate(BindingMetrics other) { // may be called from suite aggregate
+        _bindingCount += other._bindingCount;
+        _fieldScannedCount += other._fieldScannedCount;
+        _propertyScannedCount += other._propertyScannedCount;
+        _byNameLookupCount += other._byNameLookupCount;
+        _byTypeLookupCount += other._byTypeLookupCount;
+        _missCount += other._missCount;
+        _mockAppliedCount += other._mockAppliedCount;
+        _nestedBinderCount += other._nestedBinderCount;
+        _elapsedNanos += other._elapsedNanos;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public synchronized String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("bindingMetrics:{").append(_title);
+        sb.append(", binding=").append(_bindingCount);
+        sb.append(", scanned(field=").append(_fieldScannedCount).append(", property=").append(_propertyScannedCount).append(")");
+        sb.append(", lookup(name=").append(_byNameLookupCount).append(", type=").append(_byTypeLookupCount);
+        sb.append(", miss=").append(_missCount).append(")");
+        sb.append(", mock=").append(_mockAppliedCount);
+        sb.append(", nestedBinder=").append(_nestedBinderCount);
+        sb.append(", elapsed=").append(_elapsedNanos / 1000L).append("us");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTitle() {
+        return _title;
+    }
+
+    public int getBindingCount() {
+        return _bindingCount;
+    }
+
+    public int getFieldScannedCount() {
+        return _fieldScannedCount;
+    }
+
+    public int getPropertyScannedCount() {
+        return _propertyScannedCount;
+    }
+
+    public int getByNameLookupCount() {
+        return _byNameLookupCount;
+    }
+
+    public int getByTypeLookupCount() {
+        return _byTypeLookupCount;
+    }
+
+    public int getMissCount() {
+        return _missCount;
+    }
+
+    public int getMockAppliedCount() {
+        return _mockAppliedCount;
+    }
+
+    public int getNestedBinderCount() {
+        return _nestedBinderCount;
+    }
+
+    public long getElapsedNanos() {
+        return _elapsedNanos;
+    }
+}
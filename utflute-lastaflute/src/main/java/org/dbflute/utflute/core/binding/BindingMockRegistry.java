@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The registry of mock instances for binding, indexed by all super types and interfaces of each mock. <br>
+ * The first registered mock wins for the type, as the same as linear search by isInstance(). <br>
+ * It is shared by nested binders (not copied) so it should not be modified during binding.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class BindingMockRegistry {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The cache of assignable types (the class itself, super classes and all interfaces) per mock class. (NotNull) */
+    protected static final ClassValue<List<Class<?>>> _assignableTypeCache = new ClassValue<List<Class<?>>>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> type) {
+            final Set<Class<?>> typeSet = new LinkedHashSet<Class<?>>();
+            collectAssignableType(type, typeSet);
+            return Collections.unmodifiableList(new ArrayList<Class<?>>(typeSet));
+        }
+    };
+
+    protected static void collectAssignableType(Class<?> type, Set<Class<?>> typeSet) {
+        if (type == null || !typeSet.add(type)) {
+            return;
+        }
+        collectAssignableType(type.getSuperclass(), typeSet);
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            collectAssignableType(interfaceType, typeSet);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The list of mock instances in registration order. (NotNull) */
+    protected final List<Object> _mockList = new ArrayList<Object>();
+
+    /** The index of mock instance by assignable type, first registered wins. (NotNull) */
+    protected final Map<Class<?>, Object> _typeIndexMap = new HashMap<Class<?>, Object>();
+
+    // ===================================================================================
+    //                                                                            Register
+    //                                                                            ========
+    /**
+     * Register the mock instance, which is indexed by its assignable types.
+     * @param mock The mock instance. (NotNull)
+     */
+    public void register(Object mock) {
+        if (mock == null) {
+            String msg = "The argument 'mock' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _mockList.add(mock);
+        for (Class<?> assignableType : _assignableTypeCache.get(mock.getClass())) {
+            _typeIndexMap.putIfAbsent(assignableType, mock); // first registered wins
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                Find
+    //                                                                                ====
+    /**
+     * Find the first registered mock that is instance of the type.
+     * @param type The type of binding point. (NotNull)
+     * @return The found mock instance. (NullAllowed: when not found)
+     */
+    public Object findMock(Class<?> type) {
+        return _typeIndexMap.get(type);
+    }
+
+    public boolean isEmpty() {
+        return _mockList.isEmpty();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "mockRegistry:{" + _mockList + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public List<Object> getMockList() {
+        return Collections.unmodifiableList(_mockList);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.util.Arrays;
+
+/**
+ * The append-only undo journal of binding, entries of (owner result, point, accessor, previous value) in flat arrays. <br>
+ * One journal is shared by a root bound result and its nested results, and each result has its own slice of it. <br>
+ * Reverted entries are released (accessor is cleared) so that they are not restored twice,
+ * and released entries at the tail are removed.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class BoundJournal {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int INITIAL_CAPACITY = 8;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected BoundResult[] _owners = new BoundResult[INITIAL_CAPACITY]; // not null, element is not null if appended
+    protected Object[] _points = new Object[INITIAL_CAPACITY]; // not null, element is Field or DfPropertyDesc
+    protected BindingAccessor[] _accessors = new BindingAccessor[INITIAL_CAPACITY]; // not null, element is null if released
+    protected Object[] _previousValues = new Object[INITIAL_CAPACITY]; // not null, element may be null
+    protected int _size;
+
+    // ===================================================================================
+    //                                                                              Append
+    //                                                                              ======
+    /**
+     * Append the entry of binding.
+     * @param owner The bound result that has the entry, whose target bean has the point. (NotNull)
+     * @param point The bound point, Field or DfPropertyDesc, for compatible views. (NotNull)
+     * @param accessor The accessor of bound point, used to revert. (NotNull)
+     * @param previous The value before binding. (NullAllowed)
+     */
+    public void append(BoundResult owner, Object point, BindingAccessor accessor, Object previous) {
+        if (_size == _accessors.length) {
+            final int newCapacity = _size * 2;
+            _owners = Arrays.copyOf(_owners, newCapacity);
+            _points = Arrays.copyOf(_points, newCapacity);
+            _accessors = Arrays.copyOf(_accessors, newCapacity);
+            _previousValues = Arrays.copyOf(_previousValues, newCapacity);
+        }
+        _owners[_size] = owner;
+        _points[_size] = point;
+        _accessors[_size] = accessor;
+        _previousValues[_size] = previous;
+        ++_size;
+    }
+
+    // ===================================================================================
+    //                                                                             Release
+    //                                                                             =======
+    /**
+     * Release the entry after revert, it is skipped by later revert e.g. of the parent result.
+     * @param index The index of the entry. (NotMinus)
+     */
+    public void release(int index) {
+        _accessors[index] = null;
+        _points[index] = null;
+        _previousValues[index] = null;
+    }
+
+    public boolean isReleased(int index) {
+        return _accessors[index] == null;
+    }
+
+    /**
+     * Remove released entries at the tail (references are released), the arrays are kept.
+     */
+    public void trimReleasedTail() {
+        while (_size > 0 && _accessors[_size - 1] == null) {
+            --_size;
+            _owners[_size] = null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Clear
+    //                                                                               =====
+    /**
+     * Clear the entries (references are released), the arrays are kept.
+     */
+    public void clear() {
+        Arrays.fill(_owners, 0, _size, null);
+        Arrays.fill(_points, 0, _size, null);
+        Arrays.fill(_accessors, 0, _size, null);
+        Arrays.fill(_previousValues, 0, _size, null);
+        _size = 0;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "journal:{size=" + _size + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int size() {
+        return _size;
+    }
+
+    public BoundResult getOwner(int index) {
+        return _owners[index];
+    }
+
+    public Object getTarget(int index) {
+        return _owners[index].getTargetBean();
+    }
+
+    public Object getPoint(int index) {
+        return _points[index];
+    }
+
+    public BindingAccessor getAccessor(int index) {
+        return _accessors[index];
+    }
+
+    public Object getPreviousValue(int index) {
+        return _previousValues[index];
+    }
+}
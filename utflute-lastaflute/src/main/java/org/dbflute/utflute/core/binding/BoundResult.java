@@ -16,12 +16,18 @@
 package org.dbflute.utflute.core.binding;
 
 import java.lang.reflect.Field;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.dbflute.helper.beans.DfPropertyDesc;
 
 /**
+ * The result of binding, which has the undo journal of bound fields and properties for revert. <br>
+ * Nested results share the journal of the root result, and each result has its own slice of the journal,
+ * so revert of the root replays all bindings backwards, and revert of a nested result replays only its slice. <br>
+ * The lists of bound fields, properties and nested results are live views:
+ * adding to them is the same as the add methods, and removing from them throws the unsupported exception.
  * @author jflute
  * @since 0.1.0 (2011/07/24 Sunday)
  */
@@ -31,25 +37,44 @@ public class BoundResult {
     //                                                                           Attribute
     //                                                                           =========
     protected final Object _targetBean;
-    protected final List<BoundField> _boundFieldList = new ArrayList<BoundField>();
-    protected final List<BoundProperty> _boundPropertyList = new ArrayList<BoundProperty>();
-    protected final List<BoundResult> _nestedBoundResultList = new ArrayList<BoundResult>();
+    protected final BoundJournal _journal; // not null, shared with nested results
+    protected final int _journalBegin; // inclusive index of own slice
+    protected int _journalEnd = -1; // exclusive index of own slice, -1 means open (until journal end)
+    protected List<BoundResult> _nestedBoundResultList; // lazy-loaded
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public BoundResult(Object targetBean) {
         _targetBean = targetBean;
+        _journal = new BoundJournal();
+        _journalBegin = 0;
+    }
+
+    /**
+     * @param targetBean The bean of binding target. (NotNull)
+     * @param parentResult The parent result whose journal is shared, for nested binding. (NotNull)
+     */
+    public BoundResult(Object targetBean, BoundResult parentResult) {
+        _targetBean = targetBean;
+        _journal = parentResult._journal;
+        _journalBegin = _journal.size(); // slice is closed when added to the parent
     }
 
     public static class BoundField {
 
         protected final Field field;
         protected final Object existing; // null allowed
+        protected final BindingAccessor accessor; // null allowed: when reflection
 
         public BoundField(Field field, Object existing) {
+            this(field, existing, null);
+        }
+
+        public BoundField(Field field, Object existing, BindingAccessor accessor) {
             this.field = field;
             this.existing = existing;
+            this.accessor = accessor;
         }
 
         @Override
@@ -64,16 +89,26 @@ public class BoundResult {
         public Object getExisting() {
             return existing;
         }
+
+        public BindingAccessor getAccessor() {
+            return accessor;
+        }
     }
 
     public static class BoundProperty {
 
         protected final DfPropertyDesc propertyDesc;
         protected final Object existing; // null allowed
+        protected final BindingAccessor accessor; // null allowed: when property description
 
         public BoundProperty(DfPropertyDesc propertyDesc, Object existing) {
+            this(propertyDesc, existing, null);
+        }
+
+        public BoundProperty(DfPropertyDesc propertyDesc, Object existing, BindingAccessor accessor) {
             this.propertyDesc = propertyDesc;
             this.existing = existing;
+            this.accessor = accessor;
         }
 
         @Override
@@ -88,6 +123,117 @@ public class BoundResult {
         public Object getExisting() {
             return existing;
         }
+
+        public BindingAccessor getAccessor() {
+            return accessor;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Journal Slice
+    //                                                                       =============
+    public int getJournalBegin() {
+        return _journalBegin;
+    }
+
+    public int getJournalEnd() {
+        return _journalEnd >= 0 ? _journalEnd : _journal.size();
+    }
+
+    protected void closeJournalSlice() { // when added to the parent result
+        if (_journalEnd < 0) {
+            _journalEnd = _journal.size();
+        }
+    }
+
+    /**
+     * Mark this and nested results as reverted (called after revert), closed slices become empty. <br>
+     * The journal may be trimmed by revert, so the old indexes of closed slices should not be used.
+     */
+    public void markReverted() {
+        if (_journalEnd >= 0) { // open slice (root) is reusable
+            _journalEnd = _journalBegin;
+        }
+        if (_nestedBoundResultList != null) {
+            for (int i = 0; i < _nestedBoundResultList.size(); i++) { // no iterator, called in every revert
+                final BoundResult nested = _nestedBoundResultList.get(i);
+                if (nested._journal == _journal) { // separated one is marked by its own revert
+                    nested.markReverted();
+                }
+            }
+        }
+    }
+
+    /**
+     * Does it have bound (and not reverted) entries of its own? (nested results are not contained)
+     * @return The determination, true or false.
+     */
+    public boolean hasBound() {
+        final int end = getJournalEnd();
+        for (int i = _journalBegin; i < end; i++) {
+            if (_journal.getOwner(i) == this && !_journal.isReleased(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===================================================================================
+    //                                                                          Point View
+    //                                                                          ==========
+    /**
+     * The live view of own entries in the journal slice, filtered by the type of binding point. <br>
+     * It scans the slice in every call, which is small enough (bindings of one component).
+     * @param <ENTRY> The type of entry, bound field or property.
+     */
+    protected abstract class BoundPointView<ENTRY> extends AbstractList<ENTRY> {
+
+        protected final Class<?> _pointType; // not null, Field or DfPropertyDesc
+
+        protected BoundPointView(Class<?> pointType) {
+            _pointType = pointType;
+        }
+
+        @Override
+        public ENTRY get(int index) {
+            int count = 0;
+            final int end = getJournalEnd();
+            for (int i = _journalBegin; i < end; i++) {
+                if (isOwnPoint(i)) {
+                    if (count == index) {
+                        return createEntry(i);
+                    }
+                    ++count;
+                }
+            }
+            throw new IndexOutOfBoundsException("Not found the bound entry: index=" + index + ", size=" + count);
+        }
+
+        @Override
+        public int size() {
+            int count = 0;
+            final int end = getJournalEnd();
+            for (int i = _journalBegin; i < end; i++) {
+                if (isOwnPoint(i)) {
+                    ++count;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public boolean add(ENTRY entry) {
+            appendEntry(entry);
+            return true;
+        }
+
+        protected boolean isOwnPoint(int journalIndex) { // point is null if released
+            return _journal.getOwner(journalIndex) == BoundResult.this && _pointType.isInstance(_journal.getPoint(journalIndex));
+        }
+
+        protected abstract ENTRY createEntry(int journalIndex);
+
+        protected abstract void appendEntry(ENTRY entry);
     }
 
     // ===================================================================================
@@ -95,7 +241,8 @@ public class BoundResult {
     //                                                                      ==============
     @Override
     public String toString() {
-        return "boundResult:{" + _targetBean + ", " + _boundFieldList + ", " + _boundPropertyList + ", " + _nestedBoundResultList + "}";
+        return "boundResult:{" + _targetBean + ", " + getBoundFieldList() + ", " + getBoundPropertyList() + ", " + getNestedBoundResultList()
+                + "}";
     }
 
     // ===================================================================================
@@ -105,39 +252,131 @@ public class BoundResult {
         return _targetBean;
     }
 
+    /**
+     * Get the list of bound fields of its own, the live view of the journal (not reverted entries). <br>
+     * Adding to the list appends to the journal (same as addBoundField()), removing from it is unsupported.
+     * @return The view list of bound fields. (NotNull)
+     */
     public List<BoundField> getBoundFieldList() {
-        return _boundFieldList;
+        return new BoundPointView<BoundField>(Field.class) {
+            @Override
+            protected BoundField createEntry(int journalIndex) {
+                final Field field = (Field) _journal.getPoint(journalIndex);
+                return new BoundField(field, _journal.getPreviousValue(journalIndex), _journal.getAccessor(journalIndex));
+            }
+
+            @Override
+            protected void appendEntry(BoundField entry) {
+                final BindingAccessor accessor = entry.getAccessor();
+                if (accessor != null) {
+                    addBoundField(entry.getField(), entry.getExisting(), accessor);
+                } else {
+                    addBoundField(entry.getField(), entry.getExisting());
+                }
+            }
+        };
     }
 
     public void addBoundField(Field field, Object existing) {
-        _boundFieldList.add(new BoundField(field, existing));
+        field.setAccessible(true); // old style, accessor is needed for journal
+        addBoundField(field, existing, new FieldBindingAccessor(field));
+    }
+
+    public void addBoundField(Field field, Object existing, BindingAccessor accessor) {
+        _journal.append(this, field, accessor, existing);
     }
 
     public void addBoundFieldAll(List<BoundField> boundFieldList) {
-        _boundFieldList.addAll(boundFieldList);
+        getBoundFieldList().addAll(new ArrayList<BoundField>(boundFieldList)); // copy for the view of itself
     }
 
+    /**
+     * Get the list of bound properties of its own, the live view of the journal (not reverted entries). <br>
+     * Adding to the list appends to the journal (same as addBoundProperty()), removing from it is unsupported.
+     * @return The view list of bound properties. (NotNull)
+     */
     public List<BoundProperty> getBoundPropertyList() {
-        return _boundPropertyList;
+        return new BoundPointView<BoundProperty>(DfPropertyDesc.class) {
+            @Override
+            protected BoundProperty createEntry(int journalIndex) {
+                final DfPropertyDesc propertyDesc = (DfPropertyDesc) _journal.getPoint(journalIndex);
+                return new BoundProperty(propertyDesc, _journal.getPreviousValue(journalIndex), _journal.getAccessor(journalIndex));
+            }
+
+            @Override
+            protected void appendEntry(BoundProperty entry) {
+                final BindingAccessor accessor = entry.getAccessor();
+                if (accessor != null) {
+                    addBoundProperty(entry.getPropertyDesc(), entry.getExisting(), accessor);
+                } else {
+                    addBoundProperty(entry.getPropertyDesc(), entry.getExisting());
+                }
+            }
+        };
     }
 
     public void addBoundProperty(DfPropertyDesc boundProperty, Object existing) {
-        _boundPropertyList.add(new BoundProperty(boundProperty, existing));
+        addBoundProperty(boundProperty, existing, new PropertyBindingAccessor(boundProperty)); // old style
+    }
+
+    public void addBoundProperty(DfPropertyDesc boundProperty, Object existing, BindingAccessor accessor) {
+        _journal.append(this, boundProperty, accessor, existing);
     }
 
     public void addBoundPropertyAll(List<BoundProperty> boundPropertyList) {
-        _boundPropertyList.addAll(boundPropertyList);
+        getBoundPropertyList().addAll(new ArrayList<BoundProperty>(boundPropertyList)); // copy for the view of itself
     }
 
+    /**
+     * Get the list of nested results, the live view even if no nested result yet. <br>
+     * Adding to the list is the same as addNestedBoundResult(), removing from it is unsupported.
+     * @return The view list of nested results. (NotNull)
+     */
     public List<BoundResult> getNestedBoundResultList() {
-        return _nestedBoundResultList;
+        return new AbstractList<BoundResult>() {
+            @Override
+            public BoundResult get(int index) {
+                if (_nestedBoundResultList == null) {
+                    throw new IndexOutOfBoundsException("Not found the nested result: index=" + index + ", size=0");
+                }
+                return _nestedBoundResultList.get(index);
+            }
+
+            @Override
+            public int size() {
+                return _nestedBoundResultList != null ? _nestedBoundResultList.size() : 0;
+            }
+
+            @Override
+            public boolean add(BoundResult nestedBoundResult) {
+                addNestedBoundResult(nestedBoundResult);
+                return true;
+            }
+        };
     }
 
+    /**
+     * Add the nested result. If it shares the journal, its slice is closed here. <br>
+     * If it is created separately (e.g. by old style), its journal is not copied and it is reverted with this.
+     * @param nestedBoundResult The result of nested binding. (NotNull)
+     */
     public void addNestedBoundResult(BoundResult nestedBoundResult) {
+        if (_nestedBoundResultList == null) {
+            _nestedBoundResultList = new ArrayList<BoundResult>(2);
+        }
         _nestedBoundResultList.add(nestedBoundResult);
+        if (nestedBoundResult._journal == _journal) {
+            nestedBoundResult.closeJournalSlice();
+        }
     }
 
     public void addNestedBoundResultAll(List<BoundResult> nestedBoundResultList) {
-        _nestedBoundResultList.addAll(nestedBoundResultList);
+        for (BoundResult nestedBoundResult : new ArrayList<BoundResult>(nestedBoundResultList)) { // copy for the view of itself
+            addNestedBoundResult(nestedBoundResult);
+        }
+    }
+
+    public BoundJournal getJournal() {
+        return _journal;
     }
 }
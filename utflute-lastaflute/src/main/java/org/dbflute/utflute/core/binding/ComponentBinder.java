@@ -19,21 +19,24 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Resource;
 
 import org.dbflute.helper.beans.DfBeanDesc;
 import org.dbflute.helper.beans.DfPropertyDesc;
 import org.dbflute.helper.beans.factory.DfBeanDescFactory;
-import org.dbflute.helper.message.ExceptionMessageBuilder;
-import org.dbflute.utflute.core.binding.BoundResult.BoundField;
-import org.dbflute.utflute.core.binding.BoundResult.BoundProperty;
 import org.dbflute.util.DfCollectionUtil;
-import org.dbflute.util.DfReflectionUtil;
 import org.dbflute.util.Srl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +52,38 @@ public class ComponentBinder {
     //                                                                          ==========
     private static final Logger _logger = LoggerFactory.getLogger(ComponentBinder.class);
 
+    /** The cache of injection plan per class, whose value is keyed by binder options. (NotNull) */
+    protected static final ClassValue<Map<String, InjectionPlan>> _injectionPlanCache = new ClassValue<Map<String, InjectionPlan>>() {
+        @Override
+        protected Map<String, InjectionPlan> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<String, InjectionPlan>();
+        }
+    };
+
+    /** The cache of generated injector per declaring class, empty if not generated. (NotNull) */
+    protected static final ClassValue<Optional<GeneratedInjector>> _generatedInjectorCache = new ClassValue<Optional<GeneratedInjector>>() {
+        @Override
+        protected Optional<GeneratedInjector> computeValue(Class<?> type) {
+            return loadGeneratedInjector(type);
+        }
+    };
+
+    protected static Optional<GeneratedInjector> loadGeneratedInjector(Class<?> type) {
+        final String injectorName = type.getName() + GeneratedInjector.INJECTOR_SUFFIX;
+        try {
+            final Class<?> injectorType = Class.forName(injectorName, true, type.getClassLoader());
+            if (!GeneratedInjector.class.isAssignableFrom(injectorType)) { // just in case
+                return Optional.empty();
+            }
+            return Optional.of((GeneratedInjector) injectorType.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException ignored) { // basically here, not generated
+            return Optional.empty();
+        } catch (ReflectiveOperationException | LinkageError e) { // e.g. old injector after class change
+            _logger.debug("Cannot use the generated injector so use reflection: " + injectorName, e);
+            return Optional.empty();
+        }
+    }
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -60,9 +95,14 @@ public class ComponentBinder {
     protected boolean _byTypeInterfaceOnly; // e.g. for Seasar
     protected boolean _looseBinding; // for test-case class
     protected boolean _overridingBinding; // for nested binding
-    protected final List<Object> _mockInstanceList = DfCollectionUtil.newArrayList();
+    protected boolean _graphWideMockBinding; // mocks are pushed to any depth instead of nested mock
+    protected BindingMockRegistry _mockRegistry = new BindingMockRegistry(); // shared with nested binders
     protected final List<Class<?>> _nonBindingTypeList = DfCollectionUtil.newArrayList();
     protected final Map<Class<?>, Object> _nestedBindingMap = DfCollectionUtil.newHashMap();
+    protected String _bindingRuleSignature; // rules when the plan key was built, compared per bind because rules are mutable
+    protected String _injectionPlanKey; // lazy-loaded, cleared when planning options are changed
+    protected BindingListener _bindingListener = BindingListener.NONE; // not null, no metrics as default
+    protected BindingMetrics _metrics; // null allowed: when not measuring, shared with nested binders
 
     // ===================================================================================
     //                                                                         Constructor
@@ -78,30 +118,37 @@ public class ComponentBinder {
     //                                                                              ======
     public void stopBindingAtSuper(Class<?> terminalSuperClass) {
         _terminalSuperClass = terminalSuperClass;
+        _injectionPlanKey = null;
     }
 
     public void annotationOnlyBinding() {
         _annotationOnlyBinding = true;
+        _injectionPlanKey = null;
     }
 
     public void cancelAnnotationOnlyBinding() {
         _annotationOnlyBinding = false;
+        _injectionPlanKey = null;
     }
 
     public void byTypeInterfaceOnly() {
         _byTypeInterfaceOnly = true;
+        _injectionPlanKey = null;
     }
 
     public void cancelByTypeInterfaceOnly() {
         _byTypeInterfaceOnly = false;
+        _injectionPlanKey = null;
     }
 
     public void looseBinding() {
         _looseBinding = true;
+        _injectionPlanKey = null;
     }
 
     public void cancelLooseBinding() {
         _looseBinding = false;
+        _injectionPlanKey = null;
     }
 
     public void overridingBinding() {
@@ -112,12 +159,36 @@ public class ComponentBinder {
         _overridingBinding = false;
     }
 
+    /**
+     * Push registered mocks to all components reachable from the bean (by binding points) in one pass. <br>
+     * Each component is visited once by identity, and replaced fields are recorded in the bound result for revert.
+     */
+    public void graphWideMockBinding() {
+        _graphWideMockBinding = true;
+    }
+
+    public void cancelGraphWideMockBinding() {
+        _graphWideMockBinding = false;
+    }
+
     public void addMockInstance(Object mockInstance) {
         if (mockInstance == null) {
             String msg = "The argument 'mockInstance' should not be null.";
             throw new IllegalArgumentException(msg);
         }
-        _mockInstanceList.add(mockInstance);
+        _mockRegistry.register(mockInstance);
+    }
+
+    /**
+     * Register the listener of binding, which receives metrics per bindComponent() call.
+     * @param bindingListener The listener of binding. (NotNull)
+     */
+    public void registerBindingListener(BindingListener bindingListener) {
+        if (bindingListener == null) {
+            String msg = "The argument 'bindingListener' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _bindingListener = bindingListener;
     }
 
     public void addNonBindingType(Class<?> nonBindingType) {
@@ -143,9 +214,11 @@ public class ComponentBinder {
         binder._byTypeInterfaceOnly = _byTypeInterfaceOnly;
         binder._looseBinding = _looseBinding;
         binder._overridingBinding = _overridingBinding;
-        binder._mockInstanceList.addAll(_mockInstanceList);
+        binder._graphWideMockBinding = _graphWideMockBinding;
+        binder._mockRegistry = _mockRegistry; // shares the index, not modified in binding
         binder._nonBindingTypeList.addAll(_nonBindingTypeList);
         binder._nestedBindingMap.putAll(_nestedBindingMap);
+        binder._metrics = _metrics; // nested binding is counted in parent binding
     }
 
     // ===================================================================================
@@ -155,135 +228,443 @@ public class ComponentBinder {
     //                                                 Entry
     //                                                 -----
     public BoundResult bindComponent(Object bean) {
-        final BoundResult boundResult = new BoundResult(bean);
-        doBindFieldComponent(bean, boundResult);
-        doBindPropertyComponent(bean, boundResult);
+        final long before = beginBindingMetrics(bean);
+        try {
+            return doBindComponent(bean, new BoundResult(bean));
+        } finally {
+            finishBindingMetrics(before);
+        }
+    }
+
+    protected BoundResult doBindComponent(Object bean, BoundResult boundResult) { // result may share parent journal
+        final InjectionPlan plan = findInjectionPlan(bean.getClass()); // reflection is done once per class
+        doBindFieldComponent(bean, plan, boundResult);
+        doBindPropertyComponent(bean, plan, boundResult);
+        if (_graphWideMockBinding && !_mockRegistry.isEmpty()) {
+            bindGraphWideMock(bean, plan, boundResult);
+        }
         return boundResult;
     }
 
     // -----------------------------------------------------
     //                                         Field Binding
     //                                         -------------
-    protected void doBindFieldComponent(Object bean, BoundResult boundResult) {
-        for (Class<?> clazz = bean.getClass(); isBindTargetClass(clazz); clazz = clazz.getSuperclass()) {
-            if (clazz == null) {
-                break;
-            }
-            final Field[] fields = clazz.getDeclaredFields();
-            for (Field field : fields) {
-                fireFieldBinding(bean, field, boundResult);
-            }
+    protected void doBindFieldComponent(Object bean, InjectionPlan plan, BoundResult boundResult) {
+        if (_metrics != null) {
+            _metrics.countFieldScanned(plan.getFieldPointList().size());
+        }
+        for (InjectionPoint point : plan.getFieldPointList()) {
+            fireFieldBinding(bean, point, boundResult);
         }
     }
 
-    protected void fireFieldBinding(Object bean, Field field, BoundResult boundResult) {
-        if (!isModifiersAutoBindable(field)) {
+    protected void fireFieldBinding(Object bean, InjectionPoint point, BoundResult boundResult) {
+        fireFieldBinding(bean, point, boundResult, InjectionSnapshot.VOLATILE); // resolved here
+    }
+
+    protected void fireFieldBinding(Object bean, InjectionPoint point, BoundResult boundResult, Object resolved) {
+        if (isNonBindingType(point.getPropertyType())) { // may be registered per test so not planned
             return;
         }
-        final Annotation bindingAnno = findBindingAnnotation(field); // might be null
-        if (bindingAnno != null || _looseBinding) {
-            field.setAccessible(true);
-            final Class<?> fieldType = field.getType();
-            if (isNonBindingType(fieldType)) {
-                return;
+        final BindingAccessor accessor = point.getAccessor(); // handles built once in plan
+        if (!_overridingBinding && accessor.getValue(bean) != null) {
+            return;
+        }
+        final Object component = resolveBindingComponent(point, boundResult, resolved);
+        if (component != null) {
+            final Object existing = accessor.getValue(bean);
+            accessor.setValue(bean, component);
+            boundResult.addBoundField(point.getField(), existing, accessor);
+        }
+    }
+
+    protected boolean isModifiersAutoBindable(Field field) {
+        final int modifiers = field.getModifiers();
+        return !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.getType().isPrimitive();
+    }
+
+    // -----------------------------------------------------
+    //                                      Property Binding
+    //                                      ----------------
+    protected void doBindPropertyComponent(Object bean, InjectionPlan plan, BoundResult boundResult) {
+        if (_metrics != null) {
+            _metrics.countPropertyScanned(plan.getPropertyPointList().size());
+        }
+        for (InjectionPoint point : plan.getPropertyPointList()) {
+            firePropertyBinding(bean, point, boundResult);
+        }
+    }
+
+    protected void firePropertyBinding(Object bean, InjectionPoint point, BoundResult boundResult) {
+        firePropertyBinding(bean, point, boundResult, InjectionSnapshot.VOLATILE); // resolved here
+    }
+
+    protected void firePropertyBinding(Object bean, InjectionPoint point, BoundResult boundResult, Object resolved) {
+        if (isNonBindingType(point.getPropertyType())) { // may be registered per test so not planned
+            return;
+        }
+        final BindingAccessor accessor = point.getAccessor(); // handles built once in plan
+        if (!_overridingBinding && accessor.isReadable() && accessor.getValue(bean) != null) {
+            return;
+        }
+        final Object component = resolveBindingComponent(point, boundResult, resolved);
+        if (component == null) {
+            // binder does not throw injection failure because it cannot check correctly
+            // (you can test component building getComponent() easily instead, and also use police-story)
+            return;
+        }
+        final Object existing = accessor.isReadable() ? accessor.getValue(bean) : null;
+        accessor.setValue(bean, component);
+        boundResult.addBoundProperty(point.getPropertyDesc(), existing, accessor);
+    }
+
+    protected Object resolveBindingComponent(InjectionPoint point, BoundResult boundResult, Object resolved) { // null allowed
+        return resolved == InjectionSnapshot.VOLATILE ? findInjectedComponent(point, boundResult) : resolved;
+    }
+
+    // ===================================================================================
+    //                                                                    Snapshot Binding
+    //                                                                    ================
+    /**
+     * Can the binder use snapshot of resolved components? <br>
+     * Mocks and nested binding have side effects in resolving, so snapshot cannot be used with them.
+     * @return The determination, true or false.
+     */
+    public boolean isSnapshotBindable() {
+        return _mockRegistry.isEmpty() && _nestedBindingMap.isEmpty() && !_graphWideMockBinding;
+    }
+
+    /**
+     * Build the key of snapshot by binder options and registrations (e.g. non-binding types).
+     * @return The string key to determine snapshot reuse. (NotNull)
+     */
+    public String buildSnapshotKey() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(findInjectionPlanKey()).append("|").append(_overridingBinding);
+        for (Class<?> nonBindingType : _nonBindingTypeList) {
+            sb.append("|").append(nonBindingType.getName());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Resolve components of all binding points of the type as snapshot. <br>
+     * Components that are not reusable in the provider (e.g. prototype) are marked as volatile.
+     * @param targetType The type of bean to be bound. (NotNull)
+     * @param generation The current generation of container, compared by identity. (NotNull)
+     * @return The new-created snapshot. (NotNull)
+     */
+    public InjectionSnapshot resolveSnapshot(Class<?> targetType, Object generation) {
+        final InjectionPlan plan = findInjectionPlan(targetType);
+        final List<InjectionPoint> fieldPointList = plan.getFieldPointList();
+        final Object[] fieldComponents = new Object[fieldPointList.size()];
+        for (int i = 0; i < fieldComponents.length; i++) {
+            fieldComponents[i] = resolveSnapshotComponent(fieldPointList.get(i));
+        }
+        final List<InjectionPoint> propertyPointList = plan.getPropertyPointList();
+        final Object[] propertyComponents = new Object[propertyPointList.size()];
+        for (int i = 0; i < propertyComponents.length; i++) {
+            propertyComponents[i] = resolveSnapshotComponent(propertyPointList.get(i));
+        }
+        return new InjectionSnapshot(plan, generation, buildSnapshotKey(), fieldComponents, propertyComponents);
+    }
+
+    protected Object resolveSnapshotComponent(InjectionPoint point) { // null allowed: not found
+        if (isNonBindingType(point.getPropertyType())) { // non-binding types are in snapshot key
+            return null;
+        }
+        final BindingFindingType findingType = point.getFindingType(); // same order as doFindInjectedComponent()
+        if (!BindingFindingType.BY_TYPE_ONLY.equals(findingType)) {
+            final String realName = resolveComponentName(point);
+            final Object byName = actuallyFindInjectedComponentByName(realName);
+            if (byName != null) {
+                return _componentProvider.isReusableComponent(realName) ? byName : InjectionSnapshot.VOLATILE;
+            }
+        }
+        if (!BindingFindingType.BY_NAME_ONLY.equals(findingType)) {
+            final Class<?> propertyType = point.getPropertyType();
+            final Object byType = doFindInjectedComponentByType(propertyType);
+            if (byType != null) {
+                return _componentProvider.isReusableComponent(propertyType) ? byType : InjectionSnapshot.VOLATILE;
             }
-            if (isNonBindingAnnotation(bindingAnno)) {
-                return;
+        }
+        return null;
+    }
+
+    /**
+     * Bind components by the snapshot, which does not resolve reusable components again.
+     * @param bean The bean to be bound, whose type should be the same as the snapshot. (NotNull)
+     * @param snapshot The snapshot of resolved components for the type. (NotNull)
+     * @return The result of binding, which can be reverted as normal binding. (NotNull)
+     */
+    public BoundResult bindComponentBySnapshot(Object bean, InjectionSnapshot snapshot) {
+        final long before = beginBindingMetrics(bean);
+        try {
+            final BoundResult boundResult = new BoundResult(bean);
+            final InjectionPlan plan = snapshot.getPlan();
+            final List<InjectionPoint> fieldPointList = plan.getFieldPointList();
+            final List<InjectionPoint> propertyPointList = plan.getPropertyPointList();
+            if (_metrics != null) {
+                _metrics.countFieldScanned(fieldPointList.size());
+                _metrics.countPropertyScanned(propertyPointList.size());
             }
-            if (!_overridingBinding && getFieldValue(field, bean) != null) {
-                return;
+            for (int i = 0; i < fieldPointList.size(); i++) {
+                fireFieldBinding(bean, fieldPointList.get(i), boundResult, snapshot.getFieldComponent(i));
             }
-            final Object component = findInjectedComponent(field.getName(), fieldType, bindingAnno, boundResult);
-            if (component != null) {
-                final Object existing = extractExistingFieldValue(bean, field);
-                setFieldValue(field, bean, component);
-                boundResult.addBoundField(field, existing);
+            for (int i = 0; i < propertyPointList.size(); i++) {
+                firePropertyBinding(bean, propertyPointList.get(i), boundResult, snapshot.getPropertyComponent(i));
             }
+            return boundResult;
+        } finally {
+            finishBindingMetrics(before);
         }
     }
 
-    protected boolean isModifiersAutoBindable(Field field) {
-        final int modifiers = field.getModifiers();
-        return !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.getType().isPrimitive();
+    // ===================================================================================
+    //                                                                     Binding Metrics
+    //                                                                     ===============
+    protected long beginBindingMetrics(Object bean) { // returns beginning time, 0 if not measured
+        if (!_bindingListener.isEnabled()) { // no allocation as default
+            return 0L;
+        }
+        _metrics = new BindingMetrics(bean.getClass().getName());
+        return System.nanoTime();
     }
 
-    protected Object extractExistingFieldValue(Object bean, Field field) {
-        return DfReflectionUtil.getValueForcedly(field, bean);
+    protected void finishBindingMetrics(long before) {
+        final BindingMetrics metrics = _metrics;
+        if (metrics == null || !_bindingListener.isEnabled()) { // e.g. nested binder sharing parent metrics
+            return;
+        }
+        _metrics = null; // per one binding
+        metrics.countBinding(System.nanoTime() - before);
+        _bindingListener.listen(metrics);
     }
 
+    // ===================================================================================
+    //                                                                      Injection Plan
+    //                                                                      ==============
     // -----------------------------------------------------
-    //                                      Property Binding
-    //                                      ----------------
-    protected void doBindPropertyComponent(Object bean, BoundResult boundResult) {
-        final DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(bean.getClass());
+    //                                            Plan Cache
+    //                                            ----------
+    protected InjectionPlan findInjectionPlan(Class<?> targetType) {
+        final Map<String, InjectionPlan> planMap = _injectionPlanCache.get(targetType);
+        final String planKey = findInjectionPlanKey(); // cached, no allocation per binding
+        InjectionPlan plan = planMap.get(planKey);
+        if (plan == null) {
+            plan = createInjectionPlan(targetType); // may be created twice by other thread but the same plan
+            final InjectionPlan existing = planMap.putIfAbsent(planKey, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    protected String findInjectionPlanKey() {
+        // rules may be adjusted after construction (e.g. byNameOnly()) without binder, so checked per bind
+        final String ruleSignature = buildBindingRuleSignature();
+        if (_injectionPlanKey == null || !ruleSignature.equals(_bindingRuleSignature)) { // first or changed
+            _bindingRuleSignature = ruleSignature;
+            _injectionPlanKey = buildInjectionPlanKey();
+        }
+        return _injectionPlanKey;
+    }
+
+    /**
+     * Build the key of injection plan by the binder options that affect planning. <br>
+     * If you override planning methods by your own options, you should add them to the key,
+     * and clear the cached key (_injectionPlanKey) when your options are changed. <br>
+     * The binding rules are compared per bind, so the key is rebuilt when they are adjusted.
+     * @return The string key of the plan in the target class. (NotNull)
+     */
+    protected String buildInjectionPlanKey() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getName()); // planning methods may be overridden
+        sb.append("|").append(_terminalSuperClass != null ? _terminalSuperClass.getName() : "-");
+        sb.append("|").append(_annotationOnlyBinding);
+        sb.append("|").append(_byTypeInterfaceOnly);
+        sb.append("|").append(_looseBinding);
+        sb.append("|").append(buildBindingRuleSignature());
+        return sb.toString();
+    }
+
+    protected String buildBindingRuleSignature() {
+        if (_bindingAnnotationRuleMap == null) { // just in case
+            return "-";
+        }
+        final List<String> ruleExpList = new ArrayList<String>();
+        for (Entry<Class<? extends Annotation>, BindingAnnotationRule> entry : _bindingAnnotationRuleMap.entrySet()) {
+            final BindingAnnotationRule rule = entry.getValue();
+            final StringBuilder sb = new StringBuilder();
+            sb.append(entry.getKey().getName());
+            if (rule != null) {
+                sb.append(":").append(rule.isByNameOnly()).append(":").append(rule.isByTypeOnly());
+                final NonBindingDeterminer determiner = rule.getNonBindingDeterminer();
+                sb.append(":").append(determiner != null ? determiner.getClass().getName() : "-");
+            }
+            ruleExpList.add(sb.toString());
+        }
+        Collections.sort(ruleExpList); // map order is not fixed
+        return ruleExpList.toString();
+    }
+
+    // -----------------------------------------------------
+    //                                           Create Plan
+    //                                           -----------
+    protected InjectionPlan createInjectionPlan(Class<?> targetType) {
+        final List<InjectionPoint> fieldPointList = new ArrayList<InjectionPoint>();
+        for (Class<?> clazz = targetType; isBindTargetClass(clazz); clazz = clazz.getSuperclass()) {
+            if (clazz == null) {
+                break;
+            }
+            final Field[] fields = clazz.getDeclaredFields();
+            for (Field field : fields) {
+                final InjectionPoint point = planFieldBinding(field);
+                if (point != null) {
+                    fieldPointList.add(point);
+                }
+            }
+        }
+        final List<InjectionPoint> propertyPointList = new ArrayList<InjectionPoint>();
+        final DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(targetType);
         final List<String> proppertyNameList = beanDesc.getProppertyNameList();
         for (String propertyName : proppertyNameList) {
-            firePropertyBinding(bean, beanDesc, propertyName, boundResult);
+            final InjectionPoint point = planPropertyBinding(beanDesc, propertyName);
+            if (point != null) {
+                propertyPointList.add(point);
+            }
         }
+        return new InjectionPlan(targetType, fieldPointList, propertyPointList);
     }
 
-    protected void firePropertyBinding(Object bean, DfBeanDesc beanDesc, String propertyName, BoundResult boundResult) {
+    protected InjectionPoint planFieldBinding(Field field) { // null allowed: not bindable
+        if (!isModifiersAutoBindable(field)) {
+            return null;
+        }
+        final Annotation bindingAnno = findBindingAnnotation(field); // might be null
+        if (bindingAnno == null && !_looseBinding) {
+            return null;
+        }
+        if (isNonBindingAnnotation(bindingAnno)) {
+            return null;
+        }
+        field.setAccessible(true);
+        final BindingAccessor accessor = createFieldAccessor(field);
+        final String fieldName = field.getName();
+        final Class<?> fieldType = extractFieldLookupType(field, accessor);
+        final String specifiedName = extractFieldSpecifiedName(bindingAnno, accessor);
+        final String componentName = specifiedName != null ? specifiedName : normalizeName(fieldName);
+        final BindingFindingType findingType = decideFindingType(fieldName, fieldType, bindingAnno);
+        return InjectionPoint.ofField(field, fieldType, bindingAnno, findingType, componentName, specifiedName != null, accessor);
+    }
+
+    protected Class<?> extractFieldLookupType(Field field, BindingAccessor accessor) { // by-type key
+        if (accessor instanceof GeneratedFieldAccessor) { // generated at compile time
+            final Class<?> lookupType = ((GeneratedFieldAccessor) accessor).getLookupType();
+            if (lookupType != null) { // null if not visible from injector
+                return lookupType;
+            }
+        }
+        return field.getType();
+    }
+
+    protected String extractFieldSpecifiedName(Annotation bindingAnno, BindingAccessor accessor) { // by-name key
+        if (accessor instanceof GeneratedFieldAccessor && bindingAnno instanceof Resource) { // the same as extractSpecifiedName()
+            return ((GeneratedFieldAccessor) accessor).getSpecifiedName(); // read at compile time
+        }
+        return extractSpecifiedName(bindingAnno);
+    }
+
+    protected InjectionPoint planPropertyBinding(DfBeanDesc beanDesc, String propertyName) { // null allowed: not bindable
         final DfPropertyDesc propertyDesc = beanDesc.getPropertyDesc(propertyName);
         if (!propertyDesc.isWritable()) {
-            return;
-        }
-        final Class<?> propertyType = propertyDesc.getPropertyType();
-        if (isNonBindingType(propertyType)) {
-            return;
+            return null;
         }
         final Method writeMethod = propertyDesc.getWriteMethod();
         if (writeMethod == null) { // public field
-            return; // unsupported fixedly
+            return null; // unsupported fixedly
         }
         final Annotation bindingAnno = findBindingAnnotation(writeMethod); // might be null
         if (_annotationOnlyBinding && bindingAnno == null) {
-            return; // e.g. Guice needs annotation to setter
+            return null; // e.g. Guice needs annotation to setter
         }
         if (isNonBindingAnnotation(bindingAnno)) {
-            return;
+            return null;
         }
         if (!isBindTargetClass(writeMethod.getDeclaringClass())) {
-            return;
-        }
-        if (!_overridingBinding && propertyDesc.isReadable() && propertyDesc.getValue(bean) != null) {
-            return;
+            return null;
         }
-        final Object component = findInjectedComponent(propertyName, propertyType, bindingAnno, boundResult);
-        if (component == null) {
-            // binder does not throw injection failure because it cannot check correctly
-            // (you can test component building getComponent() easily instead, and also use police-story)
-            return;
+        final Class<?> propertyType = propertyDesc.getPropertyType();
+        final String specifiedName = extractSpecifiedName(bindingAnno);
+        final String componentName = specifiedName != null ? specifiedName : normalizeName(propertyName);
+        final BindingFindingType findingType = decideFindingType(propertyName, propertyType, bindingAnno);
+        final BindingAccessor accessor = createPropertyAccessor(propertyDesc);
+        return InjectionPoint.ofProperty(propertyDesc, bindingAnno, findingType, componentName, specifiedName != null, accessor);
+    }
+
+    protected BindingAccessor createFieldAccessor(Field field) { // field is already accessible
+        final BindingAccessor generated = findGeneratedFieldAccessor(field);
+        return generated != null ? generated : new FieldBindingAccessor(field);
+    }
+
+    /**
+     * Find the field accessor of generated injector (by InjectorGenerationProcessor) for the field. <br>
+     * Field access, revert and lookup keys are generated, and binding rules e.g. loose binding, overriding binding
+     * are still decided here, so they are the same as reflection.
+     * @param field The field declared in the bound class. (NotNull)
+     * @return The typed accessor of generated code. (NullAllowed: when not generated e.g. no processor)
+     */
+    protected BindingAccessor findGeneratedFieldAccessor(Field field) {
+        final Class<?> declaringClass = field.getDeclaringClass();
+        if (declaringClass.getClassLoader() == null) { // e.g. JDK class
+            return null;
         }
-        final Object existing = extractExistingPropertyValue(bean, propertyDesc);
-        propertyDesc.setValue(bean, component);
-        boundResult.addBoundProperty(propertyDesc, existing);
+        final Optional<GeneratedInjector> injector = _generatedInjectorCache.get(declaringClass);
+        return injector.map(generated -> generated.findFieldAccessor(field.getName())).orElse(null);
+    }
+
+    protected BindingAccessor createPropertyAccessor(DfPropertyDesc propertyDesc) {
+        return new PropertyBindingAccessor(propertyDesc);
     }
 
-    protected Object extractExistingPropertyValue(Object bean, DfPropertyDesc propertyDesc) {
-        return propertyDesc.isReadable() ? propertyDesc.getValue(bean) : null;
+    protected BindingFindingType decideFindingType(String propertyName, Class<?> propertyType, Annotation bindingAnno) {
+        if (isFindingByNameOnlyProperty(propertyName, propertyType, bindingAnno)) {
+            return BindingFindingType.BY_NAME_ONLY;
+        } else if (isFindingByTypeOnlyProperty(propertyName, propertyType, bindingAnno)) {
+            return BindingFindingType.BY_TYPE_ONLY;
+        }
+        return BindingFindingType.BOTH;
     }
 
     // ===================================================================================
     //                                                                      Find Component
     //                                                                      ==============
-    protected Object findInjectedComponent(String propertyName, Class<?> propertyType, Annotation bindingAnno, BoundResult boundResult) {
-        final InjectedComponentContainer container = doFindInjectedComponent(propertyName, propertyType, bindingAnno);
+    protected Object findInjectedComponent(InjectionPoint point, BoundResult boundResult) {
+        final InjectedComponentContainer container = doFindInjectedComponent(point);
         bindNestedBinding(container, boundResult);
-        bindNestedMock(container, boundResult);
+        if (!_graphWideMockBinding) { // graph-wide mock is pushed after binding
+            bindNestedMock(container, boundResult);
+        }
         return container.getInjected(); // null allowed
     }
 
-    protected InjectedComponentContainer doFindInjectedComponent(String propertyName, Class<?> propertyType, Annotation bindingAnno) {
+    protected InjectedComponentContainer doFindInjectedComponent(InjectionPoint point) {
+        final Class<?> propertyType = point.getPropertyType();
         final Object mock = findMockInstance(propertyType);
         if (mock != null) {
+            if (_metrics != null) {
+                _metrics.countMockApplied();
+            }
             return InjectedComponentContainer.ofMock(mock);
         }
-        if (isFindingByNameOnlyProperty(propertyName, propertyType, bindingAnno)) {
-            return InjectedComponentContainer.of(doFindInjectedComponentByName(propertyName, propertyType, bindingAnno));
-        } else if (isFindingByTypeOnlyProperty(propertyName, propertyType, bindingAnno)) {
+        final BindingFindingType findingType = point.getFindingType(); // already decided in plan
+        if (BindingFindingType.BY_NAME_ONLY.equals(findingType)) {
+            return InjectedComponentContainer.of(doFindInjectedComponentByName(point));
+        } else if (BindingFindingType.BY_TYPE_ONLY.equals(findingType)) {
             return InjectedComponentContainer.of(doFindInjectedComponentByType(propertyType));
         }
-        final Object byName = doFindInjectedComponentByName(propertyName, propertyType, bindingAnno);
+        final Object byName = doFindInjectedComponentByName(point);
         return InjectedComponentContainer.of(byName != null ? byName : doFindInjectedComponentByType(propertyType));
     }
 
@@ -315,13 +696,7 @@ public class ComponentBinder {
     }
 
     protected Object findMockInstance(Class<?> type) {
-        final List<Object> mockInstanceList = _mockInstanceList;
-        for (Object mockInstance : mockInstanceList) {
-            if (type.isInstance(mockInstance)) {
-                return mockInstance;
-            }
-        }
-        return null;
+        return _mockRegistry.findMock(type); // first registered wins
     }
 
     protected boolean isFindingByNameOnlyProperty(String propertyName, Class<?> propertyType, Annotation bindingAnno) {
@@ -348,25 +723,33 @@ public class ComponentBinder {
         return isByTypeOnlyAnnotation(bindingAnno);
     }
 
-    protected Object doFindInjectedComponentByName(String propertyName, Class<?> propertyType, Annotation bindingAnno) {
-        final String specifiedName = extractSpecifiedName(bindingAnno);
-        final String realName;
-        if (specifiedName != null) {
-            realName = specifiedName;
-        } else {
-            final String normalized = normalizeName(propertyName);
-            final String filtered = _bindingAnnotationProvider.filterByBindingNamingRule(normalized, propertyType);
-            realName = filtered != null ? filtered : normalized;
+    protected Object doFindInjectedComponentByName(InjectionPoint point) {
+        return actuallyFindInjectedComponentByName(resolveComponentName(point));
+    }
+
+    protected String resolveComponentName(InjectionPoint point) {
+        if (point.isSpecifiedName()) {
+            return point.getComponentName();
         }
-        return actuallyFindInjectedComponentByName(realName);
+        final String normalized = point.getComponentName(); // normalized in plan
+        final String filtered = _bindingAnnotationProvider.filterByBindingNamingRule(normalized, point.getPropertyType());
+        return filtered != null ? filtered : normalized;
     }
 
     protected Object actuallyFindInjectedComponentByName(String name) {
-        return hasComponent(name) ? getComponent(name) : null;
+        final Object found = findComponent(name).orElse(null); // single lookup
+        if (_metrics != null) {
+            _metrics.countByNameLookup(found != null);
+        }
+        return found;
     }
 
     protected Object doFindInjectedComponentByType(Class<?> propertyType) {
-        return hasComponent(propertyType) ? getComponent(propertyType) : null;
+        final Object found = findComponent(propertyType).orElse(null); // single lookup
+        if (_metrics != null) {
+            _metrics.countByTypeLookup(found != null);
+        }
+        return found;
     }
 
     protected String normalizeName(String name) {
@@ -450,9 +833,11 @@ public class ComponentBinder {
             }
         }, _bindingAnnotationProvider);
         inheritParentBinderOption(binder);
+        countNestedBinder();
         binder._looseBinding = false; // because of container-managed component
         binder._overridingBinding = true; // because cannot remove reference
-        final BoundResult nestedResult = binder.bindComponent(injected); // e.g. HttpServletRequest
+        final BoundResult nestedResult = new BoundResult(injected, boundResult); // writes into parent journal
+        binder.doBindComponent(injected, nestedResult); // e.g. HttpServletRequest
         boundResult.addNestedBoundResult(nestedResult);
     }
 
@@ -461,7 +846,7 @@ public class ComponentBinder {
     //                                                                         ===========
     protected void bindNestedMock(InjectedComponentContainer container, BoundResult boundResult) {
         final Object injected = container.getInjected();
-        if (injected == null || _mockInstanceList.isEmpty()) {
+        if (injected == null || _mockRegistry.isEmpty()) {
             return;
         }
         final ComponentBinder binder = new ComponentBinder(new ComponentProvider() {
@@ -483,12 +868,105 @@ public class ComponentBinder {
             }
         }, _bindingAnnotationProvider);
         inheritParentBinderOption(binder);
+        countNestedBinder();
         binder._looseBinding = false; // because may be container-managed component
         binder._overridingBinding = true; // for container-managed component's field
-        final BoundResult nestedResult = binder.bindComponent(injected);
+        final BoundResult nestedResult = new BoundResult(injected, boundResult); // writes into parent journal
+        binder.doBindComponent(injected, nestedResult);
         boundResult.addNestedBoundResult(nestedResult);
     }
 
+    // ===================================================================================
+    //                                                                     Graph-wide Mock
+    //                                                                     ===============
+    protected void bindGraphWideMock(Object bean, InjectionPlan rootPlan, BoundResult boundResult) {
+        final ComponentBinder planBinder = createGraphWideMockPlanBinder();
+        final Set<Object> visitedSet = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()); // shared singletons
+        final Deque<Object> componentStack = new ArrayDeque<Object>();
+        visitedSet.add(bean);
+        for (Object registered : _mockRegistry.getMockList()) { // mocks themselves are not replaced
+            visitedSet.add(registered);
+        }
+        pushGraphWideReachable(bean, rootPlan, /*replacing*/false, boundResult, visitedSet, componentStack); // already bound
+        for (Object registered : _mockRegistry.getMockList()) { // mock's components may refer other mocks
+            if (registered != bean) {
+                componentStack.push(registered);
+            }
+        }
+        while (!componentStack.isEmpty()) {
+            final Object component = componentStack.pop();
+            final InjectionPlan plan = planBinder.findInjectionPlan(component.getClass());
+            final BoundResult replacedResult = new BoundResult(component, boundResult); // writes into root journal
+            pushGraphWideReachable(component, plan, /*replacing*/true, replacedResult, visitedSet, componentStack);
+            if (replacedResult.hasBound()) {
+                boundResult.addNestedBoundResult(replacedResult); // flat under the root result
+            }
+        }
+    }
+
+    protected ComponentBinder createGraphWideMockPlanBinder() {
+        final ComponentBinder binder = new ComponentBinder(_componentProvider, _bindingAnnotationProvider);
+        inheritParentBinderOption(binder);
+        countNestedBinder();
+        binder._looseBinding = false; // because may be container-managed component
+        return binder;
+    }
+
+    protected void countNestedBinder() {
+        if (_metrics != null) {
+            _metrics.countNestedBinder();
+        }
+    }
+
+    protected void pushGraphWideReachable(Object component, InjectionPlan plan, boolean replacing, BoundResult replacedResult,
+            Set<Object> visitedSet, Deque<Object> componentStack) {
+        for (InjectionPoint point : plan.getFieldPointList()) {
+            final Object next = replaceGraphWideMock(component, point, replacing, replacedResult);
+            pushGraphWideNext(next, visitedSet, componentStack);
+        }
+        for (InjectionPoint point : plan.getPropertyPointList()) {
+            if (point.getBindingAnnotation() == null) { // e.g. setter of library object, not component reference
+                continue;
+            }
+            final Object next = replaceGraphWideMock(component, point, replacing, replacedResult);
+            pushGraphWideNext(next, visitedSet, componentStack);
+        }
+    }
+
+    protected Object replaceGraphWideMock(Object component, InjectionPoint point, boolean replacing, BoundResult replacedResult) {
+        if (isNonBindingType(point.getPropertyType())) {
+            return null;
+        }
+        final BindingAccessor accessor = point.getAccessor();
+        final Object existing = accessor.isReadable() ? accessor.getValue(component) : null;
+        if (!replacing) {
+            return existing;
+        }
+        final Object mock = findMockInstance(point.getPropertyType());
+        if (mock == null || mock == existing || mock == component) {
+            return existing;
+        }
+        accessor.setValue(component, mock);
+        if (_metrics != null) {
+            _metrics.countMockApplied();
+        }
+        if (point.isField()) {
+            replacedResult.addBoundField(point.getField(), existing, accessor);
+        } else {
+            replacedResult.addBoundProperty(point.getPropertyDesc(), existing, accessor);
+        }
+        return mock;
+    }
+
+    protected void pushGraphWideNext(Object next, Set<Object> visitedSet, Deque<Object> componentStack) {
+        if (next == null || next.getClass().getClassLoader() == null) { // e.g. JDK object
+            return;
+        }
+        if (visitedSet.add(next)) {
+            componentStack.push(next);
+        }
+    }
+
     // ===================================================================================
     //                                                                      Revert Binding
     //                                                                      ==============
@@ -497,40 +975,47 @@ public class ComponentBinder {
     }
 
     public void revertBoundComponent(List<BoundResult> boundResultList) {
-        for (BoundResult boundResult : orderRevertedList(boundResultList)) {
-            doRevertBoundComponent(boundResult);
+        for (int i = boundResultList.size() - 1; i >= 0; i--) { // reverse order to avoid real component loss
+            doRevertBoundComponent(boundResultList.get(i));
         }
     }
 
     protected void doRevertBoundComponent(BoundResult boundResult) {
         // needs to revert because it may be container-managed bean
-        final Object bean = boundResult.getTargetBean();
-        final List<BoundField> boundFieldList = boundResult.getBoundFieldList();
-        for (BoundField boundField : orderRevertedList(boundFieldList)) {
-            try {
-                boundField.getField().set(bean, boundField.getExisting());
-            } catch (Exception continued) { // because of not important but may need to debug so logging
-                final String fileExp = buildRevertContinuedExp(continued);
-                _logger.debug("*Cannot release bound field: target=" + bean + ", field=" + boundField + fileExp);
+        // the slice of journal has all bindings of the result and nested results in binding order
+        final BoundJournal journal = boundResult.getJournal();
+        final List<BoundResult> nestedBoundResultList = boundResult.getNestedBoundResultList();
+        for (int i = nestedBoundResultList.size() - 1; i >= 0; i--) {
+            final BoundResult nestedBoundResult = nestedBoundResultList.get(i);
+            if (nestedBoundResult.getJournal() != journal) { // created separately e.g. by old style, not in the slice
+                doRevertBoundComponent(nestedBoundResult);
             }
         }
-        boundFieldList.clear();
-        final List<BoundProperty> boundPropertyList = boundResult.getBoundPropertyList();
-        for (BoundProperty boundProperty : orderRevertedList(boundPropertyList)) {
+        final int begin = boundResult.getJournalBegin();
+        for (int i = boundResult.getJournalEnd() - 1; i >= begin; i--) { // backwards to avoid real component loss
+            final BindingAccessor accessor = journal.getAccessor(i);
+            if (accessor == null) { // already reverted e.g. by nested result
+                continue;
+            }
+            final Object target = journal.getTarget(i);
             try {
-                boundProperty.getPropertyDesc().setValue(bean, boundProperty.getExisting());
+                accessor.revertValue(target, journal.getPreviousValue(i)); // e.g. generated revert code
             } catch (Exception continued) { // because of not important but may need to debug so logging
                 final String fileExp = buildRevertContinuedExp(continued);
-                _logger.debug("*Cannot release bound property: target=" + bean + ", property=" + boundProperty + fileExp);
+                _logger.debug("*Cannot release bound point: target=" + target + ", accessor=" + accessor + fileExp);
             }
+            journal.release(i); // not to be restored twice
         }
-        boundPropertyList.clear();
-        final List<BoundResult> nestedBoundResultList = boundResult.getNestedBoundResultList();
-        for (BoundResult nestedBoundResult : orderRevertedList(nestedBoundResultList)) {
-            doRevertBoundComponent(nestedBoundResult);
-        }
+        journal.trimReleasedTail();
+        boundResult.markReverted();
     }
 
+    /**
+     * @param originalList The list to be reversed. (NotNull)
+     * @return The new-created reversed list. (NotNull)
+     * @deprecated bindings are reverted by journal backwards, so not used in this class, kept for compatibility
+     */
+    @Deprecated
     protected <ELEMENT> List<ELEMENT> orderRevertedList(List<ELEMENT> originalList) {
         final List<ELEMENT> reversedList = new ArrayList<ELEMENT>(originalList);
         Collections.reverse(reversedList); // to avoid real component loss
@@ -583,81 +1068,6 @@ public class ComponentBinder {
         return Srl.is_NotNull_and_NotTrimmedEmpty(specifiedName) ? specifiedName : null;
     }
 
-    // ===================================================================================
-    //                                                                        Field Helper
-    //                                                                        ============
-    protected Object getFieldValue(Field field, Object target) {
-        try {
-            return field.get(target);
-        } catch (IllegalArgumentException e) {
-            throwIllegalArgumentFieldGet(field, target, e);
-            return null; // unreachable
-        } catch (IllegalAccessException e) {
-            throwIllegalAccessFieldGet(field, target, e);
-            return null; // unreachable
-        }
-    }
-
-    protected void throwIllegalArgumentFieldGet(Field field, Object target, IllegalArgumentException e) {
-        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
-        br.addNotice("Illegal argument to get the field.");
-        br.addItem("Field");
-        br.addElement(field);
-        br.addItem("Target");
-        br.addElement(target);
-        final String msg = br.buildExceptionMessage();
-        throw new IllegalArgumentException(msg, e);
-    }
-
-    protected void throwIllegalAccessFieldGet(Field field, Object target, IllegalAccessException e) {
-        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
-        br.addNotice("Illegal access to get the field.");
-        br.addItem("Field");
-        br.addElement(field);
-        br.addItem("Target");
-        br.addElement(target);
-        final String msg = br.buildExceptionMessage();
-        throw new IllegalStateException(msg, e);
-    }
-
-    protected void setFieldValue(Field field, Object target, Object value) {
-        try {
-            field.set(target, value);
-        } catch (IllegalArgumentException e) {
-            throwIllegalArgumentFieldSet(field, target, value, e);
-        } catch (IllegalAccessException e) {
-            throwIllegalAccessFieldSet(field, target, value, e);
-        }
-    }
-
-    protected void throwIllegalArgumentFieldSet(Field field, Object target, Object value, IllegalArgumentException e) {
-        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
-        br.addNotice("Illegal argument to set the field.");
-        br.addItem("Field");
-        br.addElement(field);
-        br.addItem("Target");
-        br.addElement(target);
-        br.addItem("Value");
-        br.addElement(value != null ? value.getClass() : null);
-        br.addElement(value);
-        final String msg = br.buildExceptionMessage();
-        throw new IllegalArgumentException(msg, e);
-    }
-
-    protected void throwIllegalAccessFieldSet(Field field, Object target, Object value, IllegalAccessException e) {
-        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
-        br.addNotice("Illegal access to set the field.");
-        br.addItem("Field");
-        br.addElement(field);
-        br.addItem("Target");
-        br.addElement(target);
-        br.addItem("Value");
-        br.addElement(value != null ? value.getClass() : null);
-        br.addElement(value);
-        final String msg = br.buildExceptionMessage();
-        throw new IllegalStateException(msg, e);
-    }
-
     // ===================================================================================
     //                                                                       Bean Handling
     //                                                                       =============
@@ -677,4 +1087,12 @@ public class ComponentBinder {
     protected boolean hasComponent(String name) {
         return _componentProvider.existsComponent(name);
     }
+
+    protected <COMPONENT> Optional<COMPONENT> findComponent(Class<COMPONENT> type) {
+        return _componentProvider.findComponent(type);
+    }
+
+    protected <COMPONENT> Optional<COMPONENT> findComponent(String name) {
+        return _componentProvider.findComponent(name);
+    }
 }
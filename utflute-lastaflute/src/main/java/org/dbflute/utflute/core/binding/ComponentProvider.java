@@ -15,6 +15,8 @@
  */
 package org.dbflute.utflute.core.binding;
 
+import java.util.Optional;
+
 /**
  * @author jflute
  * @since 0.1.2 (2011/09/16 Friday)
@@ -28,4 +30,48 @@ public interface ComponentProvider {
     boolean existsComponent(Class<?> type);
 
     boolean existsComponent(String name);
+
+    /**
+     * Find the component for the type by single lookup. <br>
+     * The default implementation uses existsComponent() and provideComponent(),
+     * so you should override it if the container can find it at once.
+     * @param <COMPONENT> The type of component.
+     * @param type The type of component to find. (NotNull)
+     * @return The optional component. (NotNull, EmptyAllowed: when not found)
+     */
+    default <COMPONENT> Optional<COMPONENT> findComponent(Class<COMPONENT> type) {
+        return existsComponent(type) ? Optional.ofNullable(provideComponent(type)) : Optional.empty();
+    }
+
+    /**
+     * Find the component for the name by single lookup. <br>
+     * The default implementation uses existsComponent() and provideComponent(),
+     * so you should override it if the container can find it at once.
+     * @param <COMPONENT> The type of component.
+     * @param name The name of component to find. (NotNull)
+     * @return The optional component. (NotNull, EmptyAllowed: when not found)
+     */
+    default <COMPONENT> Optional<COMPONENT> findComponent(String name) {
+        return existsComponent(name) ? Optional.ofNullable(provideComponent(name)) : Optional.empty();
+    }
+
+    /**
+     * Can the component for the type be reused over tests while the container is the same? (e.g. singleton) <br>
+     * The default implementation returns false, so the component is resolved in every binding.
+     * @param type The type of component. (NotNull)
+     * @return The determination, true or false.
+     */
+    default boolean isReusableComponent(Class<?> type) {
+        return false;
+    }
+
+    /**
+     * Can the component for the name be reused over tests while the container is the same? (e.g. singleton) <br>
+     * The default implementation returns false, so the component is resolved in every binding.
+     * @param name The name of component. (NotNull)
+     * @return The determination, true or false.
+     */
+    default boolean isReusableComponent(String name) {
+        return false;
+    }
 }
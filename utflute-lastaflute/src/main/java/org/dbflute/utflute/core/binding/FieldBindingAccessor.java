@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+import org.dbflute.helper.message.ExceptionMessageBuilder;
+
+/**
+ * The accessor of field by method handles, which are built once per field. <br>
+ * The handles are adapted to (Object)Object and (Object, Object)void to be invoked exactly. <br>
+ * They are held in instance fields (one accessor per field), so JIT cannot fold them as constants
+ * and no speedup over reflective Field access is expected. The handles only check access once at creation.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class FieldBindingAccessor implements BindingAccessor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    protected static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Field _field; // not null
+    protected final MethodHandle _getter; // not null
+    protected final MethodHandle _setter; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param field The accessible (and non-final) field. (NotNull)
+     */
+    public FieldBindingAccessor(Field field) {
+        _field = field;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            _getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            _setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            String msg = "Failed to create the method handles of the field (should be accessible): " + field;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Access
+    //                                                                              ======
+    public boolean isReadable() {
+        return true;
+    }
+
+    public Object getValue(Object target) {
+        try {
+            return (Object) _getter.invokeExact(target);
+        } catch (ClassCastException | NullPointerException e) {
+            throwIllegalArgumentFieldAccess("get", target, null, e);
+            return null; // unreachable
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) { // basically no way
+            throw new IllegalStateException("Failed to get the field: " + _field, e);
+        }
+    }
+
+    public void setValue(Object target, Object value) {
+        try {
+            _setter.invokeExact(target, value);
+        } catch (ClassCastException | NullPointerException e) {
+            throwIllegalArgumentFieldAccess("set", target, value, e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) { // basically no way
+            throw new IllegalStateException("Failed to set the field: " + _field, e);
+        }
+    }
+
+    protected void throwIllegalArgumentFieldAccess(String accessExp, Object target, Object value, RuntimeException e) {
+        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+        br.addNotice("Illegal argument to " + accessExp + " the field.");
+        br.addItem("Field");
+        br.addElement(_field);
+        br.addItem("Target");
+        br.addElement(target);
+        if (value != null) {
+            br.addItem("Value");
+            br.addElement(value.getClass());
+            br.addElement(value);
+        }
+        final String msg = br.buildExceptionMessage();
+        throw new IllegalArgumentException(msg, e);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "fieldAccessor:{" + _field + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Field getField() {
+        return _field;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * The base of field accessor in generated injector, which assigns the field by typed code. <br>
+ * Its getValue(), setValue() and revertValue() are implemented in generated source as cast and assignment,
+ * or as invoking method handles held in static final fields of the injector if the field is not assignable
+ * from the package (e.g. private field), which JIT can fold as constants. <br>
+ * The lookup keys (specified name and field type) are also generated, read at compile time.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public abstract class GeneratedFieldAccessor implements BindingAccessor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    protected static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _fieldExp; // not null, e.g. FooLogic.fooBhv
+    protected final String _specifiedName; // null allowed: when no name in binding annotation (by-name key)
+    protected final Class<?> _lookupType; // null allowed: when not visible from injector (by-type key)
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param fieldExp The expression of the field for display, e.g. FooLogic.fooBhv (NotNull)
+     * @param specifiedName The component name specified by binding annotation, e.g. Resource@name. (NullAllowed)
+     * @param lookupType The erased type of the field, as by-type lookup key. (NullAllowed: when not visible)
+     */
+    protected GeneratedFieldAccessor(String fieldExp, String specifiedName, Class<?> lookupType) {
+        _fieldExp = fieldExp;
+        _specifiedName = specifiedName;
+        _lookupType = lookupType;
+    }
+
+    // ===================================================================================
+    //                                                                              Access
+    //                                                                              ======
+    public boolean isReadable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc} <br>
+     * It is implemented in generated source, as typed assignment of the previous value.
+     */
+    public abstract void revertValue(Object target, Object previous);
+
+    // -----------------------------------------------------
+    //                                        Method Handles
+    //                                        --------------
+    /**
+     * Create the getter handle of the field, called in static initializer of generated injector.
+     * @param declaringType The type declaring the field. (NotNull)
+     * @param fieldName The name of the field. (NotNull)
+     * @return The handle adapted to (Object)Object. (NotNull)
+     * @throws IllegalStateException When the field is not found or not accessible.
+     */
+    public static MethodHandle unreflectGetter(Class<?> declaringType, String fieldName) {
+        try {
+            return MethodHandles.lookup().unreflectGetter(findAccessibleField(declaringType, fieldName)).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to create the getter handle: " + declaringType.getName() + "." + fieldName, e);
+        }
+    }
+
+    /**
+     * Create the setter handle of the field, called in static initializer of generated injector.
+     * @param declaringType The type declaring the field. (NotNull)
+     * @param fieldName The name of the field. (NotNull)
+     * @return The handle adapted to (Object, Object)void. (NotNull)
+     * @throws IllegalStateException When the field is not found or not accessible.
+     */
+    public static MethodHandle unreflectSetter(Class<?> declaringType, String fieldName) {
+        try {
+            return MethodHandles.lookup().unreflectSetter(findAccessibleField(declaringType, fieldName)).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to create the setter handle: " + declaringType.getName() + "." + fieldName, e);
+        }
+    }
+
+    protected static Field findAccessibleField(Class<?> declaringType, String fieldName) {
+        try {
+            final Field field = declaringType.getDeclaredField(fieldName);
+            field.setAccessible(true); // once at injector initialization
+            return field;
+        } catch (NoSuchFieldException e) { // e.g. old injector after class change
+            throw new IllegalStateException("Not found the field: " + declaringType.getName() + "." + fieldName, e);
+        }
+    }
+
+    protected Object invokeGetter(MethodHandle getter, Object target) { // inlined so the handle is constant
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) { // basically no way
+            throw new IllegalStateException("Failed to get the field: " + _fieldExp, e);
+        }
+    }
+
+    protected void invokeSetter(MethodHandle setter, Object target, Object value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) { // basically no way
+            throw new IllegalStateException("Failed to set the field: " + _fieldExp, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "generatedAccessor:{" + _fieldExp + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getSpecifiedName() {
+        return _specifiedName;
+    }
+
+    public Class<?> getLookupType() {
+        return _lookupType;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+/**
+ * The injector generated at compile time by InjectorGenerationProcessor, named as [target class]__UTFluteInjector. <br>
+ * It provides typed field accessors for the binding fields declared in the target class,
+ * which have injection and revert code and the lookup keys (specified name and field type). <br>
+ * Binding rules (e.g. finding type, loose binding) are still decided by the binder.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public interface GeneratedInjector {
+
+    /** The suffix of generated injector class name, e.g. FooLogic__UTFluteInjector. */
+    String INJECTOR_SUFFIX = "__UTFluteInjector";
+
+    /**
+     * Find the typed accessor of the field declared in the target class.
+     * @param fieldName The name of the field. (NotNull)
+     * @return The generated accessor. (NullAllowed: when not generated e.g. no binding annotation, then reflection is used)
+     */
+    BindingAccessor findFieldAccessor(String fieldName);
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The plan of injection for one class and one set of binder options, computed once and reused. <br>
+ * It has the ordered bindable fields (sub class first) and setter properties.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class InjectionPlan {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Class<?> _targetType; // not null
+    protected final List<InjectionPoint> _fieldPointList; // not null, read-only
+    protected final List<InjectionPoint> _propertyPointList; // not null, read-only
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public InjectionPlan(Class<?> targetType, List<InjectionPoint> fieldPointList, List<InjectionPoint> propertyPointList) {
+        _targetType = targetType;
+        _fieldPointList = Collections.unmodifiableList(fieldPointList);
+        _propertyPointList = Collections.unmodifiableList(propertyPointList);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "plan:{" + _targetType.getName() + ", fields=" + _fieldPointList + ", properties=" + _propertyPointList + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Class<?> getTargetType() {
+        return _targetType;
+    }
+
+    public List<InjectionPoint> getFieldPointList() {
+        return _fieldPointList;
+    }
+
+    public List<InjectionPoint> getPropertyPointList() {
+        return _propertyPointList;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+
+import org.dbflute.helper.beans.DfPropertyDesc;
+
+/**
+ * The bindable point (field or setter property) in injection plan, resolved once per class. <br>
+ * It does not contain runtime conditions e.g. registered non-binding types, existing values.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class InjectionPoint {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _propertyName; // not null, field name if field
+    protected final Class<?> _propertyType; // not null
+    protected final Annotation _bindingAnnotation; // null allowed: e.g. loose binding, setter without annotation
+    protected final BindingFindingType _findingType; // not null
+    protected final String _componentName; // not null, specified name or normalized property name
+    protected final boolean _specifiedName; // by e.g. @Resource(name)
+    protected final Field _field; // null allowed: when property
+    protected final DfPropertyDesc _propertyDesc; // null allowed: when field
+    protected final BindingAccessor _accessor; // not null, built once with the plan
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected InjectionPoint(String propertyName, Class<?> propertyType, Annotation bindingAnnotation, BindingFindingType findingType,
+            String componentName, boolean specifiedName, Field field, DfPropertyDesc propertyDesc, BindingAccessor accessor) {
+        _propertyName = propertyName;
+        _propertyType = propertyType;
+        _bindingAnnotation = bindingAnnotation;
+        _findingType = findingType;
+        _componentName = componentName;
+        _specifiedName = specifiedName;
+        _field = field;
+        _propertyDesc = propertyDesc;
+        _accessor = accessor;
+    }
+
+    public static InjectionPoint ofField(Field field, Annotation bindingAnnotation, BindingFindingType findingType, String componentName,
+            boolean specifiedName, BindingAccessor accessor) {
+        return ofField(field, field.getType(), bindingAnnotation, findingType, componentName, specifiedName, accessor);
+    }
+
+    /**
+     * @param field The bindable field. (NotNull)
+     * @param lookupType The type to find component by type, e.g. generated at compile time. (NotNull)
+     * @param bindingAnnotation The binding annotation of the field. (NullAllowed: e.g. loose binding)
+     * @param findingType The type of finding component. (NotNull)
+     * @param componentName The name to find component by name. (NotNull)
+     * @param specifiedName Is the component name specified by e.g. @Resource(name)?
+     * @param accessor The accessor of the field. (NotNull)
+     * @return The new-created point of the field. (NotNull)
+     */
+    public static InjectionPoint ofField(Field field, Class<?> lookupType, Annotation bindingAnnotation, BindingFindingType findingType,
+            String componentName, boolean specifiedName, BindingAccessor accessor) {
+        return new InjectionPoint(field.getName(), lookupType, bindingAnnotation, findingType, componentName, specifiedName, field, null,
+                accessor);
+    }
+
+    public static InjectionPoint ofProperty(DfPropertyDesc propertyDesc, Annotation bindingAnnotation, BindingFindingType findingType,
+            String componentName, boolean specifiedName, BindingAccessor accessor) {
+        return new InjectionPoint(propertyDesc.getPropertyName(), propertyDesc.getPropertyType(), bindingAnnotation, findingType,
+                componentName, specifiedName, null, propertyDesc, accessor);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final String memberExp = _field != null ? "field" : "property";
+        return "point:{" + memberExp + " " + _propertyName + ", " + _propertyType.getSimpleName() + ", " + _findingType + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getPropertyName() {
+        return _propertyName;
+    }
+
+    public Class<?> getPropertyType() {
+        return _propertyType;
+    }
+
+    public Annotation getBindingAnnotation() {
+        return _bindingAnnotation;
+    }
+
+    public BindingFindingType getFindingType() {
+        return _findingType;
+    }
+
+    public String getComponentName() {
+        return _componentName;
+    }
+
+    public boolean isSpecifiedName() {
+        return _specifiedName;
+    }
+
+    public boolean isField() {
+        return _field != null;
+    }
+
+    public Field getField() {
+        return _field;
+    }
+
+    public DfPropertyDesc getPropertyDesc() {
+        return _propertyDesc;
+    }
+
+    public BindingAccessor getAccessor() {
+        return _accessor;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+/**
+ * The snapshot of resolved components for the injection plan, reused while the container generation is the same. <br>
+ * Only reusable (e.g. singleton) components are kept, others are marked as volatile and resolved in every binding.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class InjectionSnapshot {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The mark of volatile point, whose component is resolved in every binding e.g. prototype. (NotNull) */
+    public static final Object VOLATILE = new Object();
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final InjectionPlan _plan; // not null
+    protected final Object _generation; // not null, compared by identity e.g. container instance
+    protected final String _bindingKey; // not null, binder options and registrations
+    protected final Object[] _fieldComponents; // not null, same index as field points, element may be null or mark
+    protected final Object[] _propertyComponents; // not null, same index as property points, element may be null or mark
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public InjectionSnapshot(InjectionPlan plan, Object generation, String bindingKey, Object[] fieldComponents,
+            Object[] propertyComponents) {
+        _plan = plan;
+        _generation = generation;
+        _bindingKey = bindingKey;
+        _fieldComponents = fieldComponents;
+        _propertyComponents = propertyComponents;
+    }
+
+    // ===================================================================================
+    //                                                                           Determine
+    //                                                                           =========
+    /**
+     * Can the snapshot be reused for the generation and the binding key?
+     * @param generation The current generation of container. (NotNull)
+     * @param bindingKey The current key of binder. (NotNull)
+     * @return The determination, true or false.
+     */
+    public boolean isReusable(Object generation, String bindingKey) {
+        return _generation == generation && _bindingKey.equals(bindingKey);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "snapshot:{" + _plan.getTargetType().getName() + ", generation=" + _generation + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public InjectionPlan getPlan() {
+        return _plan;
+    }
+
+    public Object getFieldComponent(int index) { // null allowed
+        return _fieldComponents[index];
+    }
+
+    public Object getPropertyComponent(int index) { // null allowed
+        return _propertyComponents[index];
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import org.dbflute.helper.beans.DfPropertyDesc;
+
+/**
+ * The accessor of setter (and getter) property by method handles, which are built once per property. <br>
+ * If the handle cannot be built (e.g. public method in non-public class), it uses the property description. <br>
+ * The handles are held in instance fields, so no constant folding by JIT (see FieldBindingAccessor).
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class PropertyBindingAccessor implements BindingAccessor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    protected static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final DfPropertyDesc _propertyDesc; // not null
+    protected final MethodHandle _getter; // null allowed: when not readable or cannot be built
+    protected final MethodHandle _setter; // null allowed: when cannot be built
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param propertyDesc The description of writable property. (NotNull)
+     */
+    public PropertyBindingAccessor(DfPropertyDesc propertyDesc) {
+        _propertyDesc = propertyDesc;
+        _getter = propertyDesc.isReadable() ? buildHandleQuietly(propertyDesc.getReadMethod(), GETTER_TYPE) : null;
+        _setter = buildHandleQuietly(propertyDesc.getWriteMethod(), SETTER_TYPE);
+    }
+
+    protected MethodHandle buildHandleQuietly(Method method, MethodType type) { // null allowed
+        if (method == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().unreflect(method).asType(type); // e.g. setter returns this is dropped
+        } catch (IllegalAccessException | RuntimeException ignored) { // the description handles it
+            return null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Access
+    //                                                                              ======
+    public boolean isReadable() {
+        return _propertyDesc.isReadable();
+    }
+
+    public Object getValue(Object target) {
+        if (_getter == null) {
+            return _propertyDesc.isReadable() ? _propertyDesc.getValue(target) : null;
+        }
+        try {
+            return (Object) _getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) { // checked exception from getter
+            throw new IllegalStateException("Failed to get the property: " + _propertyDesc, e);
+        }
+    }
+
+    public void setValue(Object target, Object value) {
+        if (_setter == null) {
+            _propertyDesc.setValue(target, value);
+            return;
+        }
+        try {
+            _setter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) { // checked exception from setter
+            throw new IllegalStateException("Failed to set the property: " + _propertyDesc, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "propertyAccessor:{" + _propertyDesc + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public DfPropertyDesc getPropertyDesc() {
+        return _propertyDesc;
+    }
+}
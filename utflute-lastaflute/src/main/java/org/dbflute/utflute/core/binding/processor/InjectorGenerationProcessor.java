@@ -0,0 +1,337 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import org.dbflute.utflute.core.binding.GeneratedInjector;
+
+/**
+ * The annotation processor to generate injector classes for classes that have binding-annotated fields. <br>
+ * It is optional so not registered as service, you can use it by e.g. -processor option at test-compile:
+ * <pre>
+ * &lt;annotationProcessors&gt;
+ *     &lt;annotationProcessor&gt;org.dbflute.utflute.core.binding.processor.InjectorGenerationProcessor&lt;/annotationProcessor&gt;
+ * &lt;/annotationProcessors&gt;
+ * </pre>
+ * The generated injector (e.g. FooLogic__UTFluteInjector) has typed accessors of the binding fields,
+ * which inject and revert the field, and have the lookup keys (specified name and field type) read at compile time. <br>
+ * Fields not assignable from the package (e.g. private field) are accessed by method handles in static final fields,
+ * and the binding rules (e.g. loose binding, overriding binding) are still decided by component binder. <br>
+ * Binding annotations are javax.annotation.Resource as default, you can change it by the option:
+ * <pre>
+ * -Autflute.injector.annotations=javax.annotation.Resource,javax.inject.Inject
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class InjectorGenerationProcessor extends AbstractProcessor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String ANNOTATIONS_OPTION = "utflute.injector.annotations";
+    public static final String DEFAULT_ANNOTATION = "javax.annotation.Resource";
+    protected static final String ACCESSOR_TYPE = "org.dbflute.utflute.core.binding.GeneratedFieldAccessor";
+
+    // ===================================================================================
+    //                                                                      Processor Info
+    //                                                                      ==============
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        final String option = processingEnv != null ? processingEnv.getOptions().get(ANNOTATIONS_OPTION) : null;
+        if (option == null || option.trim().isEmpty()) {
+            return Collections.singleton(DEFAULT_ANNOTATION);
+        }
+        final Set<String> annotationSet = new LinkedHashSet<String>();
+        for (String annotation : option.split(",")) {
+            if (!annotation.trim().isEmpty()) {
+                annotationSet.add(annotation.trim());
+            }
+        }
+        return annotationSet;
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Collections.singleton(ANNOTATIONS_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    // ===================================================================================
+    //                                                                             Process
+    //                                                                             =======
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        final Map<TypeElement, List<VariableElement>> fieldMap = new LinkedHashMap<TypeElement, List<VariableElement>>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.FIELD) { // e.g. setter is handled by reflection
+                    continue;
+                }
+                final VariableElement field = (VariableElement) element;
+                final TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+                if (!isGeneratableType(declaringType) || !isGeneratableField(field)) {
+                    continue;
+                }
+                List<VariableElement> fieldList = fieldMap.get(declaringType);
+                if (fieldList == null) {
+                    fieldList = new ArrayList<VariableElement>();
+                    fieldMap.put(declaringType, fieldList);
+                }
+                if (!fieldList.contains(field)) { // may be annotated by several binding annotations
+                    fieldList.add(field);
+                }
+            }
+        }
+        for (Map.Entry<TypeElement, List<VariableElement>> entry : fieldMap.entrySet()) {
+            generateInjector(entry.getKey(), entry.getValue());
+        }
+        return false; // binding annotations are not claimed, other processors may use them
+    }
+
+    // -----------------------------------------------------
+    //                                           Generatable
+    //                                           -----------
+    protected boolean isGeneratableType(TypeElement type) {
+        // generated injector is in the same package so the class should be visible from there
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            final TypeElement currentType = (TypeElement) current;
+            final NestingKind nestingKind = currentType.getNestingKind();
+            if (nestingKind == NestingKind.LOCAL || nestingKind == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            if (currentType.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean isGeneratableField(VariableElement field) {
+        final Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) {
+            return false; // not bindable as the binder
+        }
+        final TypeKind typeKind = field.asType().getKind();
+        return typeKind == TypeKind.DECLARED || typeKind == TypeKind.ARRAY; // e.g. primitive, type variable are out of target
+    }
+
+    // -----------------------------------------------------
+    //                                            Visibility
+    //                                            ----------
+    protected boolean isAssignableByCode(VariableElement field, PackageElement pkg) {
+        // private field or invisible type cannot be written in the injector, so method handles are used
+        return !field.getModifiers().contains(Modifier.PRIVATE) && isVisibleType(erasure(field.asType()), pkg);
+    }
+
+    protected boolean isVisibleType(TypeMirror type, PackageElement pkg) { // from the package of injector
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isVisibleType(((ArrayType) type).getComponentType(), pkg);
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        for (Element current = ((DeclaredType) type).asElement(); current instanceof TypeElement; current = current.getEnclosingElement()) {
+            final TypeElement currentType = (TypeElement) current;
+            final NestingKind nestingKind = currentType.getNestingKind();
+            if (nestingKind == NestingKind.LOCAL || nestingKind == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            final Set<Modifier> modifiers = currentType.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !pkg.equals(processingEnv.getElementUtils().getPackageOf(currentType))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // -----------------------------------------------------
+    //                                           Lookup Keys
+    //                                           -----------
+    protected String extractSpecifiedName(VariableElement field) { // null allowed, the same as the binder
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!DEFAULT_ANNOTATION.equals(annotationType.getQualifiedName().toString())) { // only standard annotation
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("name")) {
+                    final Object value = entry.getValue().getValue();
+                    if (value instanceof String && !((String) value).trim().isEmpty()) {
+                        return (String) value;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    // -----------------------------------------------------
+    //                                              Generate
+    //                                              --------
+    protected void generateInjector(TypeElement targetType, List<VariableElement> fieldList) {
+        final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(targetType);
+        final String packageName = pkg.isUnnamed() ? null : pkg.getQualifiedName().toString();
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(targetType).toString();
+        final String flatName = packageName != null ? binaryName.substring(packageName.length() + 1) : binaryName;
+        final String injectorName = flatName + GeneratedInjector.INJECTOR_SUFFIX; // e.g. Outer$Inner__UTFluteInjector
+        final String injectorFqcn = packageName != null ? packageName + "." + injectorName : injectorName;
+        final String source = buildInjectorSource(pkg, injectorName, targetType, fieldList);
+        try {
+            final JavaFileObject fileObject = processingEnv.getFiler().createSourceFile(injectorFqcn, targetType);
+            try (Writer writer = fileObject.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException e) {
+            final String msg = "Failed to generate the injector: " + injectorFqcn + ", " + e.getMessage();
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, targetType);
+        }
+    }
+
+    protected String buildInjectorSource(PackageElement pkg, String injectorName, TypeElement targetType,
+            List<VariableElement> fieldList) {
+        final String targetExp = erasure(targetType.asType()).toString(); // e.g. FooLogic<T> to FooLogic
+        final StringBuilder sb = new StringBuilder();
+        if (!pkg.isUnnamed()) {
+            sb.append("package ").append(pkg.getQualifiedName()).append(";").append(ln()).append(ln());
+        }
+        sb.append("/**").append(ln());
+        sb.append(" * The injector of ").append(targetType.getSimpleName()).append(" generated by UTFlute, don't edit.").append(ln());
+        sb.append(" */").append(ln());
+        sb.append("public final class ").append(injectorName);
+        sb.append(" implements ").append(GeneratedInjector.class.getName()).append(" {").append(ln());
+        for (VariableElement field : fieldList) {
+            if (!isAssignableByCode(field, pkg)) { // static final handles can be folded as constants by JIT
+                final String fieldName = field.getSimpleName().toString();
+                sb.append(ln());
+                sb.append("    private static final java.lang.invoke.MethodHandle ").append(buildGetterHandleName(field));
+                sb.append(" = ").append(ACCESSOR_TYPE).append(".unreflectGetter(").append(targetExp).append(".class, \"");
+                sb.append(fieldName).append("\");").append(ln());
+                sb.append("    private static final java.lang.invoke.MethodHandle ").append(buildSetterHandleName(field));
+                sb.append(" = ").append(ACCESSOR_TYPE).append(".unreflectSetter(").append(targetExp).append(".class, \"");
+                sb.append(fieldName).append("\");").append(ln());
+            }
+        }
+        sb.append(ln());
+        sb.append("    public org.dbflute.utflute.core.binding.BindingAccessor findFieldAccessor(String fieldName) {").append(ln());
+        sb.append("        switch (fieldName) {").append(ln());
+        for (VariableElement field : fieldList) {
+            appendFieldAccessor(sb, pkg, targetType, targetExp, field);
+        }
+        sb.append("        default:").append(ln());
+        sb.append("            return null; // e.g. field without binding annotation (loose binding)").append(ln());
+        sb.append("        }").append(ln());
+        sb.append("    }").append(ln());
+        sb.append("}").append(ln());
+        return sb.toString();
+    }
+
+    protected void appendFieldAccessor(StringBuilder sb, PackageElement pkg, TypeElement targetType, String targetExp,
+            VariableElement field) {
+        final String fieldName = field.getSimpleName().toString();
+        final TypeMirror erasedType = erasure(field.asType());
+        final String fieldExp = targetType.getSimpleName() + "." + fieldName;
+        final String specifiedName = extractSpecifiedName(field);
+        final boolean codeAssignable = isAssignableByCode(field, pkg);
+        sb.append("        case \"").append(fieldName).append("\":").append(ln());
+        sb.append("            return new ").append(ACCESSOR_TYPE).append("(\"").append(fieldExp).append("\"");
+        sb.append(", ").append(specifiedName != null ? "\"" + escapeLiteral(specifiedName) + "\"" : "null"); // by-name key
+        sb.append(", ").append(isVisibleType(erasedType, pkg) ? erasedType + ".class" : "null").append(") {"); // by-type key
+        sb.append(ln());
+        sb.append("                public Object getValue(Object target) {").append(ln());
+        if (codeAssignable) {
+            sb.append("                    return ((").append(targetExp).append(") target).").append(fieldName).append(";").append(ln());
+        } else {
+            sb.append("                    return invokeGetter(").append(buildGetterHandleName(field)).append(", target);").append(ln());
+        }
+        sb.append("                }").append(ln());
+        appendFieldAssignment(sb, "setValue", "value", targetExp, field, erasedType, codeAssignable); // injection
+        appendFieldAssignment(sb, "revertValue", "previous", targetExp, field, erasedType, codeAssignable); // revert
+        sb.append("            };").append(ln());
+    }
+
+    protected void appendFieldAssignment(StringBuilder sb, String methodName, String valueName, String targetExp, VariableElement field,
+            TypeMirror erasedType, boolean codeAssignable) {
+        final String fieldName = field.getSimpleName().toString();
+        sb.append(ln());
+        sb.append("                public void ").append(methodName).append("(Object target, Object ").append(valueName).append(") {");
+        sb.append(ln());
+        if (codeAssignable) {
+            sb.append("                    ((").append(targetExp).append(") target).").append(fieldName);
+            sb.append(" = (").append(erasedType).append(") ").append(valueName).append(";").append(ln());
+        } else {
+            sb.append("                    invokeSetter(").append(buildSetterHandleName(field)).append(", target, ").append(valueName);
+            sb.append(");").append(ln());
+        }
+        sb.append("                }").append(ln());
+    }
+
+    protected String buildGetterHandleName(VariableElement field) {
+        return field.getSimpleName() + "__GETTER";
+    }
+
+    protected String buildSetterHandleName(VariableElement field) {
+        return field.getSimpleName() + "__SETTER";
+    }
+
+    protected TypeMirror erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type);
+    }
+
+    protected String escapeLiteral(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    protected String ln() {
+        return "\n";
+    }
+}
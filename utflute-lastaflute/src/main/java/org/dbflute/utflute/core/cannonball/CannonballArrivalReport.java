@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+/**
+ * The report of arrivals in open-model race (arrival rate), which shows over-capacity behavior. <br>
+ * Backlog is the count of arrivals waiting for a worker, and arrivals over max backlog are dropped.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballArrivalReport {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _title; // not null, e.g. repeat1
+    protected final int _targetRate; // per second
+    protected final int _scheduledCount; // planned arrivals
+    protected final int _droppedCount; // over max backlog
+    protected final int _failedCount; // thrown in drive()
+    protected final int _maxBacklog; // observed at arrivals
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public CannonballArrivalReport(String title, int targetRate, int scheduledCount, int droppedCount, int failedCount,
+            int maxBacklog) {
+        _title = title;
+        _targetRate = targetRate;
+        _scheduledCount = scheduledCount;
+        _droppedCount = droppedCount;
+        _failedCount = failedCount;
+        _maxBacklog = maxBacklog;
+    }
+
+    // ===================================================================================
+    //                                                                         Determinant
+    //                                                                         ===========
+    /**
+     * Is the race over capacity? (some arrivals were dropped)
+     * @return The determination, true or false.
+     */
+    public boolean isOverCapacity() {
+        return _droppedCount > 0;
+    }
+
+    public int getSubmittedCount() {
+        return _scheduledCount - _droppedCount;
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    public String toDisplayString() {
+        return _title + ": rate=" + _targetRate + "/s, scheduled=" + _scheduledCount + ", dropped=" + _droppedCount + ", failed="
+                + _failedCount + ", maxBacklog=" + _maxBacklog;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "arrivalReport:{" + toDisplayString() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTitle() {
+        return _title;
+    }
+
+    public int getTargetRate() {
+        return _targetRate;
+    }
+
+    public int getScheduledCount() {
+        return _scheduledCount;
+    }
+
+    public int getDroppedCount() {
+        return _droppedCount;
+    }
+
+    public int getFailedCount() {
+        return _failedCount;
+    }
+
+    public int getMaxBacklog() {
+        return _maxBacklog;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.dbflute.utflute.core.cannonball;
 
+import java.util.concurrent.ScheduledExecutorService;
+
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 
 import junit.framework.AssertionFailedError;
@@ -34,6 +36,8 @@ public class CannonballCar {
     protected final Object _lockObj;
     protected final int _countOfEntry; // to check
     protected final CannonballLogger _logger;
+    protected final ScheduledExecutorService _watcherService; // null allowed: then dragon uses fallback service
+    protected final CannonballExplorer _explorer; // null allowed: when not exploration mode
     protected Object _runResult;
     protected Long _projectATimeLimit;
     protected boolean _suppressDecrementWhenBreakAway;
@@ -43,12 +47,24 @@ public class CannonballCar {
     //                                                                         ===========
     public CannonballCar(long threadId, CannonballLatch ourLatch, int entryNumber, Object lockObj, int countOfEntry,
             CannonballLogger logger) {
+        this(threadId, ourLatch, entryNumber, lockObj, countOfEntry, logger, null);
+    }
+
+    public CannonballCar(long threadId, CannonballLatch ourLatch, int entryNumber, Object lockObj, int countOfEntry,
+            CannonballLogger logger, ScheduledExecutorService watcherService) {
+        this(threadId, ourLatch, entryNumber, lockObj, countOfEntry, logger, watcherService, null);
+    }
+
+    public CannonballCar(long threadId, CannonballLatch ourLatch, int entryNumber, Object lockObj, int countOfEntry,
+            CannonballLogger logger, ScheduledExecutorService watcherService, CannonballExplorer explorer) {
         _threadId = threadId;
         _ourLatch = ourLatch;
         _entryNumber = entryNumber;
         _lockObj = lockObj;
         _countOfEntry = countOfEntry;
         _logger = logger;
+        _watcherService = watcherService;
+        _explorer = explorer;
     }
 
     // ===================================================================================
@@ -80,9 +96,34 @@ public class CannonballCar {
      * </pre>
      */
     public void restart() {
+        if (_explorer != null) { // also scheduling point
+            _explorer.restart(getEntryNumber());
+            return;
+        }
         _ourLatch.await(CannonballLatch.DEFAULT_LATCH_NAME, getEntryNumber());
     }
 
+    /**
+     * The scheduling point for exploration mode, where other car may run. (no wait for other cars) <br>
+     * Put it between e.g. read and write to explore interleaving there. (only hint to yield if not exploration mode)
+     * <pre>
+     * cannonball(new CannonballRun() {
+     *     public void drive(CannonballCar car) {
+     *         Member member = selectMember();
+     *         car.yieldPoint(); // other car may update the member here
+     *         updateMember(member);
+     *     }
+     * }, new CannonballOption().exploreSchedule(100));
+     * </pre>
+     */
+    public void yieldPoint() {
+        if (_explorer != null) {
+            _explorer.yieldPoint(getEntryNumber());
+        } else {
+            Thread.yield();
+        }
+    }
+
     /**
      * Execute project A plan for the entry. (other cars wait for the plan completion) <br>
      * But if the plan costs 3 seconds (as default), other cars go without waiting the plan completion.
@@ -106,6 +147,10 @@ public class CannonballCar {
     public void projectA(CannonballProjectA projectA, final int entryNumber) {
         checkEntryNumber(entryNumber);
         final String projectAKey = generateProjectAKey(projectA, entryNumber);
+        if (_explorer != null) { // no overtime, other cars wait until the plan is done
+            exploreProjectA(projectA, entryNumber, projectAKey);
+            return;
+        }
         _ourLatch.lineUpProjectA(projectAKey, entryNumber, getEntryNumber()); // all cars gathers at first
         final CannonballWatchingStatus watchingStatus = new CannonballWatchingStatus(projectAKey);
         CannonballDragon dragon = null;
@@ -116,33 +161,56 @@ public class CannonballCar {
             executeProjectA(projectA, dragon); // watching thread release waiting cars when exception
             synchronized (watchingStatus) { // with watching thread
                 watchingStatus.markDone(); // to suppress unnecessary forcedly count down
+                dragon.closeAll(); // cancel deadline tasks in watcher service
             }
         }
-        synchronized (watchingStatus) { // with watching thread
-            final boolean forcedly = watchingStatus.containsForcedly();
-            if (!forcedly) { // except forcedly car
-                _ourLatch.waitForProjectA(projectAKey, entryNumber, getEntryNumber());
-            } else { // forcedly car
-                _ourLatch.comeBackFromOvertimeProjectA(projectAKey, entryNumber);
-            }
-            if (isEntryNumber(entryNumber)) {
-                if (dragon.isExpectedNormallyDone()) {
-                    if (forcedly) {
-                        String msg = "expected: normally done, but was: the plan overtime: entryNumber=" + entryNumber;
-                        throw new AssertionFailedError(msg);
-                    }
+        final boolean forcedly;
+        synchronized (watchingStatus) { // with watching thread, only reading status
+            forcedly = watchingStatus.containsForcedly();
+        }
+        // outside monitor not to pin carrier threads of virtual-thread cars while waiting
+        if (!forcedly) { // except forcedly car
+            _ourLatch.waitForProjectA(projectAKey, entryNumber, getEntryNumber());
+        } else { // forcedly car
+            _ourLatch.comeBackFromOvertimeProjectA(projectAKey, entryNumber);
+        }
+        if (isEntryNumber(entryNumber)) {
+            if (dragon.isExpectedNormallyDone()) {
+                if (forcedly) {
+                    String msg = "expected: normally done, but was: the plan overtime: entryNumber=" + entryNumber;
+                    throw new AssertionFailedError(msg);
                 }
-                if (dragon.isExpectedOvertime()) {
-                    if (!forcedly) {
-                        String msg = "expected: overtime, but was: the plan normally done: entryNumber=" + entryNumber;
-                        throw new AssertionFailedError(msg);
-                    }
+            }
+            if (dragon.isExpectedOvertime()) {
+                if (!forcedly) {
+                    String msg = "expected: overtime, but was: the plan normally done: entryNumber=" + entryNumber;
+                    throw new AssertionFailedError(msg);
                 }
             }
         }
         teaBreak(100); // wait for broken car handling when assertion failure (for safety but inexact)
     }
 
+    protected void exploreProjectA(CannonballProjectA projectA, int entryNumber, String projectAKey) {
+        _explorer.restart(getEntryNumber()); // all cars gathers at first
+        if (isEntryNumber(entryNumber)) {
+            _logger.log("...Executing projectA: " + entryNumber);
+            final CannonballDragon dragon = createDragon(new CannonballWatchingStatus(projectAKey));
+            try {
+                executeProjectA(projectA, dragon);
+            } finally {
+                dragon.closeAll(); // overtime is not explored (time is not scheduling decision)
+                _explorer.finishProjectA(projectAKey, getEntryNumber());
+            }
+            if (dragon.isExpectedOvertime()) {
+                String msg = "expected: overtime, but was: the plan normally done (exploration mode): entryNumber=" + entryNumber;
+                throw new AssertionFailedError(msg);
+            }
+        } else {
+            _explorer.waitForProjectA(projectAKey, getEntryNumber());
+        }
+    }
+
     protected int getFallbackOvertimeLimit() {
         return 3000; // as default
     }
@@ -288,4 +356,20 @@ public class CannonballCar {
     public boolean isSuppressDecrementWhenBreakAway() {
         return _suppressDecrementWhenBreakAway;
     }
+
+    /**
+     * Get the shared watcher service of the race for project A. (internal)
+     * @return The scheduled executor service for watchers. (NullAllowed: when created by old constructor)
+     */
+    public ScheduledExecutorService getWatcherService() {
+        return _watcherService;
+    }
+
+    /**
+     * Get the explorer of schedule in exploration mode. (internal)
+     * @return The explorer for the race. (NullAllowed: when not exploration mode)
+     */
+    public CannonballExplorer getExplorer() {
+        return _explorer;
+    }
 }
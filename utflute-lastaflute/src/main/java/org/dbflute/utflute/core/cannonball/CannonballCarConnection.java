@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+/**
+ * The connection usage of one car in the race, recorded by the tracking data source. <br>
+ * Checkout is waiting in getConnection() e.g. for pooled connections, hold is from checkout to close() e.g. SQL in transaction.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballCarConnection {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _entryNumber;
+    protected final String _threadName; // not null
+    protected final int _connectionCount; // succeeded checkouts
+    protected final int _failedCount; // failed checkouts e.g. pool timeout
+    protected final long _checkoutNanos; // total, including failed checkouts
+    protected final long _maxCheckoutNanos;
+    protected final long _holdNanos; // total of closed connections
+    protected final long _maxHoldNanos;
+    protected final int _peakOpenCount; // concurrently open by the car e.g. nested new transaction
+    protected final int _unclosedCount; // still open when the car finished
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public CannonballCarConnection(int entryNumber, String threadName, int connectionCount, int failedCount, long checkoutNanos,
+            long maxCheckoutNanos, long holdNanos, long maxHoldNanos, int peakOpenCount, int unclosedCount) {
+        _entryNumber = entryNumber;
+        _threadName = threadName;
+        _connectionCount = connectionCount;
+        _failedCount = failedCount;
+        _checkoutNanos = checkoutNanos;
+        _maxCheckoutNanos = maxCheckoutNanos;
+        _holdNanos = holdNanos;
+        _maxHoldNanos = maxHoldNanos;
+        _peakOpenCount = peakOpenCount;
+        _unclosedCount = unclosedCount;
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    public String toDisplayString() {
+        return String.format("%5d  %5d  %10.3f / %-9.3f  %10.3f / %-9.3f  %4d  %6d  %8d  %s", _entryNumber, _connectionCount,
+                toMillis(_checkoutNanos), toMillis(_maxCheckoutNanos), toMillis(_holdNanos), toMillis(_maxHoldNanos), _peakOpenCount,
+                _failedCount, _unclosedCount, _threadName);
+    }
+
+    protected double toMillis(long nanos) {
+        return nanos / 1000_000.0;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "carConnection:{" + _entryNumber + ", count=" + _connectionCount + ", checkout=" + _checkoutNanos + "ns, hold=" + _holdNanos
+                + "ns, peak=" + _peakOpenCount + ", failed=" + _failedCount + ", unclosed=" + _unclosedCount + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getEntryNumber() {
+        return _entryNumber;
+    }
+
+    public String getThreadName() {
+        return _threadName;
+    }
+
+    public int getConnectionCount() {
+        return _connectionCount;
+    }
+
+    public int getFailedCount() {
+        return _failedCount;
+    }
+
+    public long getCheckoutNanos() {
+        return _checkoutNanos;
+    }
+
+    public long getMaxCheckoutNanos() {
+        return _maxCheckoutNanos;
+    }
+
+    public long getHoldNanos() {
+        return _holdNanos;
+    }
+
+    public long getMaxHoldNanos() {
+        return _maxHoldNanos;
+    }
+
+    public int getPeakOpenCount() {
+        return _peakOpenCount;
+    }
+
+    public int getUnclosedCount() {
+        return _unclosedCount;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+/**
+ * The profile of blocking and waiting for one car in the race, by ThreadMXBean. <br>
+ * Blocked is waiting to enter monitors (synchronized), waited is e.g. LockSupport.park() (ReentrantLock, latch), wait(), sleep(). <br>
+ * The other time (wall minus CPU, blocked and waited) is basically I/O e.g. waiting for DB locks and responses.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballCarProfile {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _entryNumber;
+    protected final String _threadName; // not null
+    protected final long _blockedCount;
+    protected final long _blockedMillis; // minus one if contention monitoring is unsupported
+    protected final long _waitedCount;
+    protected final long _waitedMillis; // minus one if contention monitoring is unsupported
+    protected final long _cpuNanos; // minus one if CPU time is unsupported
+    protected final long _wallNanos;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public CannonballCarProfile(int entryNumber, String threadName, long blockedCount, long blockedMillis, long waitedCount,
+            long waitedMillis, long cpuNanos, long wallNanos) {
+        _entryNumber = entryNumber;
+        _threadName = threadName;
+        _blockedCount = blockedCount;
+        _blockedMillis = blockedMillis;
+        _waitedCount = waitedCount;
+        _waitedMillis = waitedMillis;
+        _cpuNanos = cpuNanos;
+        _wallNanos = wallNanos;
+    }
+
+    // ===================================================================================
+    //                                                                          Other Time
+    //                                                                          ==========
+    /**
+     * Get the time not on CPU and not blocked/waited in JVM, e.g. I/O (DB locks and responses).
+     * @return The milliseconds of other time. (minus one if unknown)
+     */
+    public long getOtherMillis() {
+        if (_cpuNanos < 0 || _blockedMillis < 0) {
+            return -1L;
+        }
+        final long otherMillis = (_wallNanos - _cpuNanos) / 1000_000L - _blockedMillis - _waitedMillis;
+        return Math.max(otherMillis, 0L); // may be minus by difference of clocks
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    public String toDisplayString() {
+        return String.format("%5d  %8d / %-8d  %8d / %-8d  %8d  %8d  %9d  %s", _entryNumber, _blockedCount, _blockedMillis,
+                _waitedCount, _waitedMillis, _cpuNanos >= 0 ? _cpuNanos / 1000_000L : -1L, _wallNanos / 1000_000L, getOtherMillis(),
+                _threadName);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "carProfile:{" + _entryNumber + ", blocked=" + _blockedCount + "/" + _blockedMillis + "ms, waited=" + _waitedCount + "/"
+                + _waitedMillis + "ms, cpu=" + _cpuNanos + "ns, wall=" + _wallNanos + "ns}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getEntryNumber() {
+        return _entryNumber;
+    }
+
+    public String getThreadName() {
+        return _threadName;
+    }
+
+    public long getBlockedCount() {
+        return _blockedCount;
+    }
+
+    public long getBlockedMillis() {
+        return _blockedMillis;
+    }
+
+    public long getWaitedCount() {
+        return _waitedCount;
+    }
+
+    public long getWaitedMillis() {
+        return _waitedMillis;
+    }
+
+    public long getCpuNanos() {
+        return _cpuNanos;
+    }
+
+    public long getWallNanos() {
+        return _wallNanos;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The report of connection checkout and hold for one repeat of the race. <br>
+ * If cars spent more time waiting for connections than holding them (or checkouts failed), the pool size is the bottleneck,
+ * otherwise SQL (and other work while holding connections) is. The cars are ranked by checkout time.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballConnectionReport {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _title; // not null, e.g. repeat1
+    protected final List<CannonballCarConnection> _carConnectionList; // not null, ranked by checkout time
+    protected final int _peakOpenCount; // concurrently open by all cars
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param title The title of the report e.g. repeat1. (NotNull)
+     * @param carConnectionList The list of connection usage per car, ranked by checkout time. (NotNull)
+     * @param peakOpenCount The high-water mark of connections concurrently open by all cars.
+     */
+    public CannonballConnectionReport(String title, List<CannonballCarConnection> carConnectionList, int peakOpenCount) {
+        _title = title;
+        _carConnectionList = carConnectionList;
+        _peakOpenCount = peakOpenCount;
+    }
+
+    // ===================================================================================
+    //                                                                             Summary
+    //                                                                             =======
+    public int getTotalConnectionCount() {
+        int total = 0;
+        for (CannonballCarConnection carConnection : _carConnectionList) {
+            total += carConnection.getConnectionCount();
+        }
+        return total;
+    }
+
+    public int getTotalFailedCount() {
+        int total = 0;
+        for (CannonballCarConnection carConnection : _carConnectionList) {
+            total += carConnection.getFailedCount();
+        }
+        return total;
+    }
+
+    public long getTotalCheckoutNanos() {
+        long total = 0L;
+        for (CannonballCarConnection carConnection : _carConnectionList) {
+            total += carConnection.getCheckoutNanos();
+        }
+        return total;
+    }
+
+    public long getTotalHoldNanos() {
+        long total = 0L;
+        for (CannonballCarConnection carConnection : _carConnectionList) {
+            total += carConnection.getHoldNanos();
+        }
+        return total;
+    }
+
+    // ===================================================================================
+    //                                                                          Bottleneck
+    //                                                                          ==========
+    /**
+     * Get the ratio of checkout time in connection time (checkout plus hold).
+     * @return The ratio between 0.0 and 1.0. (zero if no connection)
+     */
+    public double getCheckoutRatio() {
+        final long checkoutNanos = getTotalCheckoutNanos();
+        final long connectionNanos = checkoutNanos + getTotalHoldNanos();
+        return connectionNanos > 0 ? (double) checkoutNanos / connectionNanos : 0.0;
+    }
+
+    /**
+     * Is the pool size the bottleneck? (waiting for connections is longer than holding them, or checkouts failed)
+     * @return The determination, true or false. (false if no connection)
+     */
+    public boolean isPoolBound() {
+        return getTotalFailedCount() > 0 || getCheckoutRatio() >= 0.5;
+    }
+
+    /**
+     * Is SQL (and other work while holding connections) the bottleneck rather than the pool size?
+     * @return The determination, true or false. (false if no connection)
+     */
+    public boolean isSqlBound() {
+        return getTotalConnectionCount() > 0 && !isPoolBound();
+    }
+
+    protected String buildBottleneckExp() {
+        final long ratioPercent = Math.round(getCheckoutRatio() * 100);
+        if (isPoolBound()) {
+            return "pool size (checkout " + ratioPercent + "%, failed " + getTotalFailedCount() + ")";
+        } else if (isSqlBound()) {
+            return "SQL (hold " + (100 - ratioPercent) + "%)";
+        } else {
+            return "none (no connection)";
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    /**
+     * Build the display string as table ranked by checkout time.
+     * @param carLimit The max count of cars in the table, the others are omitted.
+     * @return The display string of multiple lines. (NotNull)
+     */
+    public String toDisplayString(int carLimit) {
+        final String ln = "\n";
+        final StringBuilder sb = new StringBuilder();
+        sb.append(_title).append(": connections=").append(getTotalConnectionCount());
+        sb.append(String.format(", checkout=%.3fms, hold=%.3fms", getTotalCheckoutNanos() / 1000_000.0, getTotalHoldNanos() / 1000_000.0));
+        sb.append(", peakOpen=").append(_peakOpenCount).append(" => bottleneck is ").append(buildBottleneckExp());
+        sb.append(ln).append(String.format("%5s  %5s  %22s  %22s  %4s  %6s  %8s  %s", "car", "count", "checkout(total/max ms)",
+                "hold(total/max ms)", "peak", "failed", "unclosed", "thread"));
+        final int carSize = Math.min(_carConnectionList.size(), carLimit);
+        for (int i = 0; i < carSize; i++) {
+            sb.append(ln).append(_carConnectionList.get(i).toDisplayString());
+        }
+        if (_carConnectionList.size() > carSize) {
+            sb.append(ln).append("...(and ").append(_carConnectionList.size() - carSize).append(" more cars)");
+        }
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "connectionReport:{" + _title + ", cars=" + _carConnectionList.size() + ", connections=" + getTotalConnectionCount()
+                + ", peakOpen=" + _peakOpenCount + ", poolBound=" + isPoolBound() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTitle() {
+        return _title;
+    }
+
+    /**
+     * Get the list of connection usage per car ranked by checkout time (descending).
+     * @return The read-only list of car connection. (NotNull)
+     */
+    public List<CannonballCarConnection> getCarConnectionList() {
+        return Collections.unmodifiableList(_carConnectionList);
+    }
+
+    public int getPeakOpenCount() {
+        return _peakOpenCount;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The profiler of lock contention and blocking per car for one repeat of the race, by ThreadMXBean. <br>
+ * Contention monitoring of JVM is enabled while races (restored after the last race),
+ * each car takes the difference of its thread info from beginning to end, and the lock owners of blocked or waiting cars
+ * are sampled by the watcher service. (platform threads only, ThreadMXBean does not support virtual threads)
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballContentionProfiler {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The count of races enabling contention monitoring, to restore it after the last race. (should be used in synchronized scope) */
+    protected static int _monitoringRaceCount;
+
+    /** Was contention monitoring enabled before the first race? (should be used in synchronized scope) */
+    protected static boolean _monitoringOriginallyEnabled;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final ThreadMXBean _threadBean = ManagementFactory.getThreadMXBean();
+    protected final Map<Integer, CarBeginning> _carBeginningMap = new ConcurrentHashMap<Integer, CarBeginning>(); // driving cars
+    protected final List<CannonballCarProfile> _carProfileList = Collections.synchronizedList(new ArrayList<CannonballCarProfile>());
+    protected final Map<String, Integer> _lockOwnerSampleMap = new HashMap<String, Integer>(); // should be used in synchronized scope
+    protected int _samplingCount; // should be used in synchronized scope
+    protected boolean _monitoring; // true if this enabled contention monitoring
+    protected ScheduledFuture<?> _samplingFuture; // null allowed: before begin or sampling unsupported
+
+    protected static class CarBeginning {
+
+        protected final long _threadId;
+        protected final ThreadInfo _threadInfo; // not null
+        protected final long _cpuNanos; // minus one if unsupported
+        protected final long _wallNanos;
+
+        public CarBeginning(long threadId, ThreadInfo threadInfo, long cpuNanos, long wallNanos) {
+            _threadId = threadId;
+            _threadInfo = threadInfo;
+            _cpuNanos = cpuNanos;
+            _wallNanos = wallNanos;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Begin
+    //                                                                               =====
+    /**
+     * Begin the profile, enabling contention monitoring and sampling lock owners.
+     * @param samplingService The scheduled service to sample lock owners e.g. watcher service of garage. (NotNull)
+     */
+    public void begin(ScheduledExecutorService samplingService) {
+        _monitoring = enableContentionMonitoring(_threadBean);
+        final long intervalMillis = getSamplingIntervalMillis();
+        _samplingFuture = samplingService.scheduleAtFixedRate(new Runnable() {
+            public void run() { // watcher thread here
+                sampleLockOwner();
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    protected long getSamplingIntervalMillis() {
+        return 10L; // as default, small cost for cars (only thread info without stack)
+    }
+
+    protected static synchronized boolean enableContentionMonitoring(ThreadMXBean threadBean) {
+        if (!threadBean.isThreadContentionMonitoringSupported()) {
+            return false;
+        }
+        if (_monitoringRaceCount == 0) {
+            _monitoringOriginallyEnabled = threadBean.isThreadContentionMonitoringEnabled();
+            threadBean.setThreadContentionMonitoringEnabled(true);
+        }
+        ++_monitoringRaceCount;
+        return true;
+    }
+
+    protected static synchronized void restoreContentionMonitoring(ThreadMXBean threadBean) {
+        --_monitoringRaceCount;
+        if (_monitoringRaceCount == 0 && !_monitoringOriginallyEnabled) {
+            threadBean.setThreadContentionMonitoringEnabled(false);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                 Car
+    //                                                                                 ===
+    /**
+     * Begin the profile of the car. (called by the car thread)
+     * @param entryNumber The entry number of the car. e.g. 1, 2, 3...
+     */
+    public void beginCar(int entryNumber) {
+        final long threadId = Thread.currentThread().getId();
+        final ThreadInfo threadInfo = _threadBean.getThreadInfo(threadId);
+        if (threadInfo == null) { // e.g. virtual thread
+            return;
+        }
+        _carBeginningMap.put(entryNumber, new CarBeginning(threadId, threadInfo, getCurrentCpuNanos(), System.nanoTime()));
+    }
+
+    /**
+     * End the profile of the car, which is ranked in the report. (called by the car thread)
+     * @param entryNumber The entry number of the car. e.g. 1, 2, 3...
+     */
+    public void endCar(int entryNumber) {
+        final CarBeginning beginning = _carBeginningMap.remove(entryNumber);
+        if (beginning == null) { // not begun
+            return;
+        }
+        final long wallNanos = System.nanoTime() - beginning._wallNanos;
+        final long cpuNanos = beginning._cpuNanos >= 0 ? getCurrentCpuNanos() - beginning._cpuNanos : -1L;
+        final ThreadInfo begin = beginning._threadInfo;
+        final ThreadInfo end = _threadBean.getThreadInfo(beginning._threadId);
+        final long blockedCount = end.getBlockedCount() - begin.getBlockedCount();
+        final long waitedCount = end.getWaitedCount() - begin.getWaitedCount();
+        final long blockedMillis = _monitoring ? end.getBlockedTime() - begin.getBlockedTime() : -1L;
+        final long waitedMillis = _monitoring ? end.getWaitedTime() - begin.getWaitedTime() : -1L;
+        _carProfileList.add(new CannonballCarProfile(entryNumber, end.getThreadName(), blockedCount, blockedMillis, waitedCount,
+                waitedMillis, cpuNanos, wallNanos));
+    }
+
+    protected long getCurrentCpuNanos() {
+        if (_threadBean.isCurrentThreadCpuTimeSupported() && _threadBean.isThreadCpuTimeEnabled()) {
+            return _threadBean.getCurrentThreadCpuTime();
+        }
+        return -1L;
+    }
+
+    // ===================================================================================
+    //                                                                            Sampling
+    //                                                                            ========
+    protected void sampleLockOwner() {
+        final List<Long> threadIdList = new ArrayList<Long>();
+        for (CarBeginning beginning : _carBeginningMap.values()) {
+            threadIdList.add(beginning._threadId);
+        }
+        final long[] threadIds = new long[threadIdList.size()];
+        for (int i = 0; i < threadIds.length; i++) {
+            threadIds[i] = threadIdList.get(i);
+        }
+        final ThreadInfo[] threadInfos = _threadBean.getThreadInfo(threadIds); // without stack
+        synchronized (_lockOwnerSampleMap) {
+            ++_samplingCount;
+            for (ThreadInfo threadInfo : threadInfos) {
+                if (threadInfo == null || threadInfo.getLockOwnerName() == null) { // e.g. finished, running, sleeping
+                    continue;
+                }
+                final String ownerExp = threadInfo.getLockOwnerName() + " on " + threadInfo.getLockName();
+                final Integer count = _lockOwnerSampleMap.get(ownerExp);
+                _lockOwnerSampleMap.put(ownerExp, count != null ? count + 1 : 1);
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                 End
+    //                                                                                 ===
+    /**
+     * End the profile after all cars are finished, and build the report.
+     * @param title The title of the report e.g. repeat1. (NotNull)
+     * @return The report ranked by blocked time. (NotNull)
+     */
+    public CannonballContentionReport end(String title) {
+        if (_samplingFuture != null) {
+            _samplingFuture.cancel(false);
+        }
+        if (_monitoring) {
+            restoreContentionMonitoring(_threadBean);
+            _monitoring = false;
+        }
+        final List<CannonballCarProfile> rankedList;
+        synchronized (_carProfileList) {
+            rankedList = new ArrayList<CannonballCarProfile>(_carProfileList);
+        }
+        Collections.sort(rankedList, new Comparator<CannonballCarProfile>() {
+            public int compare(CannonballCarProfile o1, CannonballCarProfile o2) {
+                final int blockedCompared = Long.compare(o2.getBlockedMillis(), o1.getBlockedMillis()); // descending
+                return blockedCompared != 0 ? blockedCompared : Long.compare(o2.getBlockedCount(), o1.getBlockedCount());
+            }
+        });
+        final Map<String, Integer> rankedOwnerMap = new LinkedHashMap<String, Integer>();
+        final int samplingCount;
+        synchronized (_lockOwnerSampleMap) {
+            final List<Map.Entry<String, Integer>> ownerEntryList = new ArrayList<Map.Entry<String, Integer>>(_lockOwnerSampleMap.entrySet());
+            Collections.sort(ownerEntryList, new Comparator<Map.Entry<String, Integer>>() {
+                public int compare(Map.Entry<String, Integer> o1, Map.Entry<String, Integer> o2) {
+                    return o2.getValue().compareTo(o1.getValue()); // descending
+                }
+            });
+            for (Map.Entry<String, Integer> entry : ownerEntryList) {
+                rankedOwnerMap.put(entry.getKey(), entry.getValue());
+            }
+            samplingCount = _samplingCount;
+        }
+        return new CannonballContentionReport(title, rankedList, rankedOwnerMap, samplingCount);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The report of lock contention and blocking for one repeat of the race. <br>
+ * The cars are ranked by blocked time, and the lock owners are sampled while the race.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballContentionReport {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _title; // not null, e.g. repeat1
+    protected final List<CannonballCarProfile> _carProfileList; // not null, ranked by blocked time
+    protected final Map<String, Integer> _lockOwnerSampleMap; // not null, e.g. owner thread name on lock: samples, ranked
+    protected final int _samplingCount; // times of sampling
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param title The title of the report e.g. repeat1. (NotNull)
+     * @param carProfileList The list of car profiles, ranked by blocked time. (NotNull)
+     * @param lockOwnerSampleMap The map of lock owner expression and sample count, ranked by count. (NotNull)
+     * @param samplingCount The count of sampling times for lock owners.
+     */
+    public CannonballContentionReport(String title, List<CannonballCarProfile> carProfileList, Map<String, Integer> lockOwnerSampleMap,
+            int samplingCount) {
+        _title = title;
+        _carProfileList = carProfileList;
+        _lockOwnerSampleMap = lockOwnerSampleMap;
+        _samplingCount = samplingCount;
+    }
+
+    // ===================================================================================
+    //                                                                             Summary
+    //                                                                             =======
+    public long getTotalBlockedMillis() {
+        long total = 0L;
+        for (CannonballCarProfile carProfile : _carProfileList) {
+            total += Math.max(carProfile.getBlockedMillis(), 0L);
+        }
+        return total;
+    }
+
+    public long getTotalWaitedMillis() {
+        long total = 0L;
+        for (CannonballCarProfile carProfile : _carProfileList) {
+            total += Math.max(carProfile.getWaitedMillis(), 0L);
+        }
+        return total;
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    /**
+     * Build the display string as table ranked by blocked time.
+     * @param carLimit The max count of cars in the table, the others are omitted.
+     * @param ownerLimit The max count of lock owners in the table, the others are omitted.
+     * @return The display string of multiple lines. (NotNull)
+     */
+    public String toDisplayString(int carLimit, int ownerLimit) {
+        final String ln = "\n";
+        final StringBuilder sb = new StringBuilder();
+        sb.append(_title).append(": blocked=").append(getTotalBlockedMillis()).append("ms, waited=").append(getTotalWaitedMillis());
+        sb.append("ms (ranked by blocked time)");
+        sb.append(ln).append(String.format("%5s  %19s  %19s  %8s  %8s  %9s  %s", "car", "blocked(count/ms)", "waited(count/ms)", "cpu(ms)",
+                "wall(ms)", "other(ms)", "thread"));
+        final int carSize = Math.min(_carProfileList.size(), carLimit);
+        for (int i = 0; i < carSize; i++) {
+            sb.append(ln).append(_carProfileList.get(i).toDisplayString());
+        }
+        if (_carProfileList.size() > carSize) {
+            sb.append(ln).append("...(and ").append(_carProfileList.size() - carSize).append(" more cars)");
+        }
+        sb.append(ln).append("top lock owners (samplings=").append(_samplingCount).append("):");
+        if (_lockOwnerSampleMap.isEmpty()) {
+            sb.append(" (none)");
+        }
+        int ownerIndex = 0;
+        for (Map.Entry<String, Integer> entry : _lockOwnerSampleMap.entrySet()) {
+            if (ownerIndex >= ownerLimit) {
+                break;
+            }
+            sb.append(ln).append(String.format("%8d  %s", entry.getValue(), entry.getKey()));
+            ++ownerIndex;
+        }
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "contentionReport:{" + _title + ", cars=" + _carProfileList.size() + ", blocked=" + getTotalBlockedMillis() + "ms}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTitle() {
+        return _title;
+    }
+
+    /**
+     * Get the list of car profiles ranked by blocked time (descending).
+     * @return The read-only list of car profile. (NotNull)
+     */
+    public List<CannonballCarProfile> getCarProfileList() {
+        return Collections.unmodifiableList(_carProfileList);
+    }
+
+    /**
+     * Get the map of lock owners and sample counts, ranked by count (descending).
+     * @return The read-only map, key is e.g. "cannonball-car-1-3 on java.lang.Object@1b6d3586". (NotNull)
+     */
+    public Map<String, Integer> getLockOwnerSampleMap() {
+        return Collections.unmodifiableMap(new LinkedHashMap<String, Integer>(_lockOwnerSampleMap));
+    }
+
+    public int getSamplingCount() {
+        return _samplingCount;
+    }
+}
@@ -17,12 +17,22 @@ package org.dbflute.utflute.core.cannonball;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
 
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.dbflute.utflute.core.transaction.TransactionResource;
@@ -51,7 +61,22 @@ public class CannonballDirector {
     // ===================================================================================
     //                                                                         Thread Fire
     //                                                                         ===========
+    /**
+     * Ready go! the cannon-ball race.
+     * @param execution The callback of run for each car. (NotNull)
+     * @param option The option of race. (NotNull)
+     */
     public void readyGo(CannonballRun execution, CannonballOption option) {
+        readyGoMeasured(execution, option);
+    }
+
+    /**
+     * Ready go! the cannon-ball race, returning the result e.g. for measure() option.
+     * @param execution The callback of run for each car. (NotNull)
+     * @param option The option of race. (NotNull)
+     * @return The result of race, which has measurements if measure() option. (NotNull)
+     */
+    public CannonballResult readyGoMeasured(CannonballRun execution, CannonballOption option) {
         if (execution == null) {
             String msg = "The argument 'execution' should be not null.";
             throw new IllegalArgumentException(msg);
@@ -61,40 +86,65 @@ public class CannonballDirector {
             throw new IllegalArgumentException(msg);
         }
         final List<CannonballRetireException> retireExList = new ArrayList<CannonballRetireException>();
+        final CannonballResult cannonballResult = createResult();
+        final CannonballGarage garage = createGarage(option); // reused across repeats
+        List<Thread> leakedCarList = null;
         try {
             try {
-                for (int i = 0; i < option.getRepeatCount(); i++) {
-                    final List<Object> resultList = doThreadFire(execution, option);
-                    for (Object result : resultList) {
-                        if (result instanceof CannonballRetireException) {
-                            retireExList.add((CannonballRetireException) result);
+                try {
+                    final int repeatCount = option.isExplorationMode() ? 1 : option.getRepeatCount(); // seeds instead of repeat
+                    for (int i = 0; i < repeatCount; i++) {
+                        final List<Object> resultList;
+                        if (option.isExplorationMode()) { // cooperative
+                            resultList = doScheduleExploration(execution, option, garage, cannonballResult);
+                        } else if (option.isArrivalMode()) { // open model
+                            resultList = doArrivalFire(execution, option, garage, cannonballResult);
+                        } else { // closed model
+                            resultList = doThreadFire(execution, option, garage, cannonballResult, null);
+                        }
+                        for (Object result : resultList) {
+                            if (result instanceof CannonballRetireException) {
+                                retireExList.add((CannonballRetireException) result);
+                            }
                         }
                     }
-                }
-            } finally {
-                final CannonballFinalizer finalizer = option.getFinalizer();
-                if (finalizer != null) {
-                    try {
-                        log("...Running finalizer for fired threads");
-                        finalizer.run();
-                    } catch (RuntimeException continued) {
-                        handleFinalizerException(continued);
+                    if (option.isMeasure() || option.isArrivalMode()) { // always measured in open model
+                        reportMeasurement(cannonballResult.measureOverall());
+                    }
+                } finally {
+                    final CannonballFinalizer finalizer = option.getFinalizer();
+                    if (finalizer != null) {
+                        try {
+                            log("...Running finalizer for fired threads");
+                            finalizer.run();
+                        } catch (RuntimeException continued) {
+                            handleFinalizerException(continued);
+                        }
                     }
                 }
+            } catch (CannonballRetireException e) {
+                retireExList.add(e);
             }
-        } catch (CannonballRetireException e) {
-            retireExList.add(e);
+        } finally {
+            leakedCarList = garage.close(getGarageClosingTimeoutMillis()); // after finalizer
         }
+        assertNoLeakedCar(garage, leakedCarList);
         if (option.isCheckExpectedExceptionAny()) {
             handleExpectedExceptionAny(option, retireExList);
         } else {
             handleNormalException(retireExList);
         }
+        return cannonballResult;
+    }
+
+    protected CannonballResult createResult() {
+        return new CannonballResult();
     }
 
-    protected List<Object> doThreadFire(CannonballRun execution, CannonballOption option) {
+    protected List<Object> doThreadFire(CannonballRun execution, CannonballOption option, CannonballGarage garage,
+            CannonballResult cannonballResult, CannonballExplorer explorer) { // explorer is null allowed
         // ## Arrange ##
-        final ExecutorService service = Executors.newCachedThreadPool();
+        final ExecutorService service = garage.getService();
         final int threadCount = option.getThreadCount();
         final CountDownLatch ready = new CountDownLatch(threadCount);
         final CountDownLatch start = new CountDownLatch(1);
@@ -102,10 +152,21 @@ public class CannonballDirector {
         final CannonballLogger logger = createLogger();
         final CannonballLatch ourLatch = new CannonballLatch(threadCount, logger);
         final Object lockObj = new Object();
+        final CannonballPinningRecorder pinningRecorder = isRecordPinnedCar(option, garage) ? createPinningRecorder(garage, logger) : null;
+        final boolean measured = option.isMeasure() && explorer == null; // cooperative cars are not measured
+        final CannonballHistogram repeatHistogram = measured ? new CannonballHistogram() : null; // merged from cars
+        final CannonballLoadPlan loadPlan = option.isLoadMode() ? createLoadPlan(option) : null;
+        final CannonballContentionProfiler contentionProfiler = isProfileContention(option) ? createContentionProfiler() : null;
+        final CannonballWatchdog watchdog = option.isWatchdog() ? createWatchdog(option) : null;
+        final CannonballTrackingDataSource trackingDataSource = isTrackConnection(option, explorer) ? createTrackingDataSource() : null;
+        final CannonballRace race = createRace(garage, explorer); // shared by cars
+        race.repeatHistogram(repeatHistogram).loadPlan(loadPlan).contentionProfiler(contentionProfiler);
+        race.watchdog(watchdog).trackingDataSource(trackingDataSource);
         final List<Future<Object>> futureList = new ArrayList<Future<Object>>();
         for (int i = 0; i < threadCount; i++) { // basically synchronized with parameter size
             final int entryNumber = i + 1;
-            final Callable<Object> callable = createCallable(execution, option, ready, start, goal, ourLatch, entryNumber, lockObj, logger);
+            final Callable<Object> callable = createCallable(execution, option, ready, start, goal, ourLatch, entryNumber, lockObj,
+                    logger, race);
             final Future<Object> future = service.submit(callable);
             futureList.add(future);
         }
@@ -114,15 +175,72 @@ public class CannonballDirector {
         log("/- - - - - - - - - - - - - - - - - - - - - -");
         log("                                 Cannon-ball");
         log("                                 - - - - - -");
-        start.countDown();
+        final long raceBefore = System.nanoTime();
+        if (loadPlan != null) {
+            log("...Loading cars: " + loadPlan);
+            loadPlan.fixStart(raceBefore);
+        }
+        List<String> pinnedList = null;
+        CannonballContentionReport contentionReport = null;
         try {
+            if (pinningRecorder != null) {
+                pinningRecorder.begin(); // cars are waiting for start so before their pinning
+            }
+            if (contentionProfiler != null) {
+                contentionProfiler.begin(garage.getWatcherService()); // sampling lock owners by watcher thread
+            }
+            if (watchdog != null) {
+                watchdog.begin(garage.getWatcherService()); // polling by watcher thread
+            }
+            if (trackingDataSource != null) {
+                switchDataSource(trackingDataSource); // cars are waiting for start so before their transactions
+            }
+            start.countDown();
             // wait until all threads are finished
-            goal.await();
+            awaitGoal(goal, watchdog);
         } catch (InterruptedException e) {
             String msg = "goal.await() was interrupted!";
             throw new IllegalStateException(msg, e);
+        } finally { // end them even if failure, they may be running in watcher thread or switching data source
+            if (trackingDataSource != null) {
+                switchDataSource(trackingDataSource.getOriginalDataSource());
+            }
+            if (pinningRecorder != null) {
+                pinnedList = pinningRecorder.end();
+            }
+            if (contentionProfiler != null) {
+                final String title = "repeat" + (cannonballResult.getContentionReportList().size() + 1);
+                contentionReport = contentionProfiler.end(title);
+            }
+            if (watchdog != null) {
+                watchdog.end();
+            }
         }
+        final long raceElapsed = System.nanoTime() - raceBefore;
         log("- - - - - - - - -/ *All threads were fired");
+        if (repeatHistogram != null) {
+            final String title = "repeat" + (cannonballResult.getRepeatMeasurementList().size() + 1);
+            final long measuredNanos = loadPlan != null ? loadPlan.getSteadyStateNanos() : raceElapsed; // steady state only if load
+            final CannonballMeasurement measurement = new CannonballMeasurement(title, repeatHistogram, measuredNanos);
+            cannonballResult.addRepeatMeasurement(measurement);
+            reportMeasurement(measurement);
+        }
+        if (pinningRecorder != null) {
+            reportPinnedCars(pinnedList);
+        }
+        if (contentionReport != null) {
+            cannonballResult.addContentionReport(contentionReport);
+            reportContention(contentionReport);
+        }
+        if (trackingDataSource != null) {
+            final String title = "repeat" + (cannonballResult.getConnectionReportList().size() + 1);
+            final CannonballConnectionReport connectionReport = trackingDataSource.end(title);
+            cannonballResult.addConnectionReport(connectionReport);
+            reportConnection(connectionReport);
+        }
+        if (watchdog != null && watchdog.isBarked()) { // before futures, which may be stuck forever
+            fail(watchdog.getBarkingDump());
+        }
 
         // ## Assert ##
         final List<Object> resultList = handleFuture(option, futureList);
@@ -130,6 +248,172 @@ public class CannonballDirector {
         return resultList;
     }
 
+    // -----------------------------------------------------
+    //                                                Garage
+    //                                                ------
+    protected CannonballGarage createGarage(CannonballOption option) {
+        return new CannonballGarage(option);
+    }
+
+    protected CannonballRace createRace(CannonballGarage garage, CannonballExplorer explorer) { // explorer is null allowed
+        return new CannonballRace(garage, explorer);
+    }
+
+    protected long getGarageClosingTimeoutMillis() {
+        return 10000L; // as default, cars are basically finished when closing
+    }
+
+    protected void assertNoLeakedCar(CannonballGarage garage, List<Thread> leakedCarList) {
+        if (leakedCarList.isEmpty()) {
+            return;
+        }
+        final StringBuilder sb = new StringBuilder();
+        sb.append("The cannonball cars (threads) leaked after the race: ").append(garage);
+        for (Thread leakedCar : leakedCarList) {
+            sb.append(ln()).append(leakedCar).append(" ").append(leakedCar.getState());
+        }
+        fail(sb.toString());
+    }
+
+    // -----------------------------------------------------
+    //                                         Pinned Report
+    //                                         -------------
+    protected boolean isRecordPinnedCar(CannonballOption option, CannonballGarage garage) {
+        return option.isVirtualThreads() && !garage.isBorrowed(); // borrowed threads are not named
+    }
+
+    protected CannonballPinningRecorder createPinningRecorder(CannonballGarage garage, CannonballLogger logger) {
+        return new CannonballPinningRecorder(garage.getCarNamePrefix(), logger);
+    }
+
+    protected void reportPinnedCars(List<String> pinnedList) {
+        if (pinnedList == null) { // JFR unavailable (already logged)
+            return;
+        }
+        if (pinnedList.isEmpty()) {
+            log("...No cars were pinned on monitors");
+            return;
+        }
+        final StringBuilder sb = new StringBuilder();
+        sb.append("*Cars were pinned on monitors (carrier thread was blocked): count=").append(pinnedList.size());
+        final int limit = Math.min(pinnedList.size(), getPinnedReportLimit());
+        for (int i = 0; i < limit; i++) {
+            sb.append(ln()).append(pinnedList.get(i).trim());
+        }
+        if (pinnedList.size() > limit) {
+            sb.append(ln()).append("...(and ").append(pinnedList.size() - limit).append(" more)");
+        }
+        log(sb.toString());
+    }
+
+    protected int getPinnedReportLimit() {
+        return 10; // as default, thousands of cars may be pinned at the same point
+    }
+
+    // -----------------------------------------------------
+    //                                    Contention Profile
+    //                                    ------------------
+    protected boolean isProfileContention(CannonballOption option) {
+        if (!option.isProfileContention()) {
+            return false;
+        }
+        if (option.isVirtualThreads()) { // ThreadMXBean does not support virtual threads
+            log("*The contention profile is unavailable for virtual threads so skipped it");
+            return false;
+        }
+        return true;
+    }
+
+    protected CannonballContentionProfiler createContentionProfiler() {
+        return new CannonballContentionProfiler();
+    }
+
+    protected void reportContention(CannonballContentionReport contentionReport) {
+        log("...Profiling contention " + contentionReport.toDisplayString(getContentionReportCarLimit(), getContentionReportOwnerLimit()));
+    }
+
+    protected int getContentionReportCarLimit() {
+        return 20; // as default, top cars of blocked time are enough
+    }
+
+    protected int getContentionReportOwnerLimit() {
+        return 5; // as default
+    }
+
+    // -----------------------------------------------------
+    //                                   Connection Tracking
+    //                                   -------------------
+    protected boolean isTrackConnection(CannonballOption option, CannonballExplorer explorer) {
+        if (!option.isTrackConnection() || explorer != null) { // cooperative cars do not wait for connections each other
+            return false;
+        }
+        if (getDataSource() == null) {
+            log("*The connection tracking is unavailable without data source so skipped it");
+            return false;
+        }
+        return true;
+    }
+
+    protected CannonballTrackingDataSource createTrackingDataSource() {
+        return new CannonballTrackingDataSource(getDataSource());
+    }
+
+    protected void reportConnection(CannonballConnectionReport connectionReport) {
+        log("...Tracking connection " + connectionReport.toDisplayString(getConnectionReportCarLimit()));
+    }
+
+    protected int getConnectionReportCarLimit() {
+        return 20; // as default, top cars of checkout time are enough
+    }
+
+    // -----------------------------------------------------
+    //                                              Watchdog
+    //                                              --------
+    protected CannonballWatchdog createWatchdog(CannonballOption option) {
+        return new CannonballWatchdog(option.getWatchdogHangLimitMillis());
+    }
+
+    protected void awaitGoal(CountDownLatch goal, CannonballWatchdog watchdog) throws InterruptedException {
+        if (watchdog == null) {
+            goal.await();
+            return;
+        }
+        while (!goal.await(getWatchdogCheckingMillis(), TimeUnit.MILLISECONDS)) {
+            if (watchdog.isBarked()) { // cars were interrupted
+                log("*The watchdog barked so waiting for interrupted cars a little");
+                goal.await(getWatchdogGraceMillis(), TimeUnit.MILLISECONDS); // cars blocked on monitors cannot be released
+                return;
+            }
+        }
+    }
+
+    protected long getWatchdogCheckingMillis() {
+        return 100L; // as default, only checking the flag
+    }
+
+    protected long getWatchdogGraceMillis() {
+        return 3000L; // as default, interrupted cars basically finish soon
+    }
+
+    // -----------------------------------------------------
+    //                                             Load Mode
+    //                                             ---------
+    protected CannonballLoadPlan createLoadPlan(CannonballOption option) {
+        return new CannonballLoadPlan(option);
+    }
+
+    // -----------------------------------------------------
+    //                                           Measurement
+    //                                           -----------
+    protected void reportMeasurement(CannonballMeasurement measurement) { // null allowed: e.g. no repeat
+        if (measurement != null) {
+            log("...Measuring " + measurement.toDisplayString());
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                          Assist Logic
+    //                                          ------------
     protected CannonballLogger createLogger() {
         return new CannonballLogger() {
             public void log(Object... msgs) {
@@ -180,16 +464,234 @@ public class CannonballDirector {
         log(msg);
     }
 
+    // ===================================================================================
+    //                                                                Schedule Exploration
+    //                                                                ====================
+    protected List<Object> doScheduleExploration(CannonballRun execution, CannonballOption option, CannonballGarage garage,
+            CannonballResult cannonballResult) {
+        assertExplorationOption(option);
+        final long firstSeed = option.getExploredFirstSeed();
+        final int seedCount = option.getExploredSeedCount();
+        final int parallelism = Math.min(option.getExplorationParallelism(), seedCount);
+        log("...Exploring schedules: seeds=" + firstSeed + "-" + (firstSeed + seedCount - 1) + ", parallelism=" + parallelism);
+        final Map<Long, List<Object>> failedResultMap; // key is seed, first (lowest) seed is reported
+        if (parallelism <= 1) {
+            failedResultMap = new TreeMap<Long, List<Object>>();
+            for (int i = 0; i < seedCount; i++) {
+                final long seed = firstSeed + i;
+                final List<Object> resultList = doSeedFire(execution, option, garage, cannonballResult, seed);
+                if (isFailingSeed(resultList)) { // stop at first failing seed
+                    failedResultMap.put(seed, resultList);
+                    break;
+                }
+            }
+        } else {
+            failedResultMap = doParallelSeedFire(execution, option, cannonballResult, firstSeed, seedCount, parallelism);
+        }
+        if (failedResultMap.isEmpty()) {
+            log("...Explored all seeds without failure: count=" + cannonballResult.getExploredSeedList().size());
+            return new ArrayList<Object>();
+        }
+        final Entry<Long, List<Object>> failedEntry = failedResultMap.entrySet().iterator().next();
+        cannonballResult.markFailedSeed(failedEntry.getKey());
+        log("*Failing seed: " + failedEntry.getKey() + " (you can replay it by replaySeed(" + failedEntry.getKey() + "L))");
+        return failedEntry.getValue();
+    }
+
+    protected void assertExplorationOption(CannonballOption option) {
+        if (option.isArrivalMode() || option.isLoadMode()) { // time-based
+            String msg = "The exploration mode cannot be used with arrival rate or load mode: arrivalMode=" + option.isArrivalMode()
+                    + ", loadMode=" + option.isLoadMode();
+            throw new IllegalStateException(msg);
+        }
+    }
+
+    protected Map<Long, List<Object>> doParallelSeedFire(final CannonballRun execution, final CannonballOption option,
+            final CannonballResult cannonballResult, final long firstSeed, final int seedCount, int parallelism) {
+        final Map<Long, List<Object>> failedResultMap = new ConcurrentSkipListMap<Long, List<Object>>(); // sorted by seed
+        final AtomicInteger seedIndex = new AtomicInteger();
+        final ExecutorService explorerService = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+            private final AtomicInteger explorerSequence = new AtomicInteger();
+
+            public Thread newThread(Runnable runnable) {
+                final Thread thread = new Thread(runnable, "cannonball-explorer-" + explorerSequence.incrementAndGet());
+                thread.setDaemon(true); // same as cars
+                return thread;
+            }
+        });
+        try {
+            final List<Future<Void>> futureList = new ArrayList<Future<Void>>();
+            for (int i = 0; i < parallelism; i++) {
+                futureList.add(explorerService.submit(new Callable<Void>() {
+                    public Void call() { // explorer thread here
+                        int index;
+                        while (failedResultMap.isEmpty() && (index = seedIndex.getAndIncrement()) < seedCount) {
+                            final long seed = firstSeed + index;
+                            final CannonballGarage seedGarage = createGarage(option); // cars per seed
+                            List<Thread> leakedCarList = null;
+                            try {
+                                final List<Object> resultList = doSeedFire(execution, option, seedGarage, cannonballResult, seed);
+                                if (isFailingSeed(resultList)) { // others stop after current seed
+                                    failedResultMap.put(seed, resultList);
+                                }
+                            } finally {
+                                leakedCarList = seedGarage.close(getGarageClosingTimeoutMillis());
+                            }
+                            assertNoLeakedCar(seedGarage, leakedCarList);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futureList) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    String msg = "future.get() was interrupted!";
+                    throw new IllegalStateException(msg, e);
+                } catch (ExecutionException e) { // e.g. leaked cars
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    String msg = "Failed to explore the seeds in parallel: " + future;
+                    throw new CannonballRetireException(msg, cause);
+                }
+            }
+        } finally {
+            explorerService.shutdownNow();
+        }
+        return failedResultMap;
+    }
+
+    protected List<Object> doSeedFire(CannonballRun execution, CannonballOption option, CannonballGarage garage,
+            CannonballResult cannonballResult, long seed) {
+        final CannonballExplorer explorer = createExplorer(option, seed);
+        List<Object> resultList;
+        try {
+            resultList = doThreadFire(execution, option, garage, cannonballResult, explorer);
+        } catch (AssertionFailedError e) { // e.g. expectSameResult()
+            resultList = new ArrayList<Object>();
+            resultList.add(new CannonballRetireException("Failed to assert the race: seed=" + seed, e));
+        }
+        cannonballResult.addExploredSeed(seed);
+        if (isFailingSeed(resultList)) {
+            log("...Decisions of the seed " + seed + ": " + explorer.getDecisionList());
+        }
+        return resultList;
+    }
+
+    protected CannonballExplorer createExplorer(CannonballOption option, long seed) {
+        return new CannonballExplorer(seed, option.getThreadCount());
+    }
+
+    protected boolean isFailingSeed(List<Object> resultList) {
+        for (Object result : resultList) {
+            if (result instanceof CannonballRetireException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===================================================================================
+    //                                                                        Arrival Fire
+    //                                                                        ============
+    protected List<Object> doArrivalFire(CannonballRun execution, CannonballOption option, CannonballGarage garage,
+            CannonballResult cannonballResult) {
+        // ## Arrange ##
+        final ExecutorService service = garage.getService();
+        final int arrivalRate = option.getArrivalRate();
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1L) / arrivalRate;
+        final int scheduledCount = (int) (arrivalRate * option.getArrivalDurationMillis() / 1000L);
+        final CountDownLatch released = new CountDownLatch(0); // cars do not wait for each other
+        final CannonballLogger logger = createLogger();
+        final Object lockObj = new Object();
+        final AtomicInteger startedCount = new AtomicInteger();
+        final Map<Thread, CannonballHistogram> workerHistogramMap = new ConcurrentHashMap<Thread, CannonballHistogram>();
+        final CannonballRace race = createRace(garage, null); // no collaborator, arrivals are measured by director
+        final List<Future<Object>> futureList = new ArrayList<Future<Object>>();
+        int droppedCount = 0;
+        int maxBacklog = 0;
+
+        // ## Act ##
+        log("...Arriving cars: rate=" + arrivalRate + "/s, scheduled=" + scheduledCount + ", maxBacklog=" + option.getMaxBacklog());
+        final long raceBefore = System.nanoTime();
+        for (int i = 0; i < scheduledCount; i++) {
+            final long intendedNanos = raceBefore + intervalNanos * i;
+            sleepUntil(intendedNanos); // catch up without sleep if late
+            final int backlog = futureList.size() - startedCount.get(); // waiting for worker
+            maxBacklog = Math.max(maxBacklog, backlog);
+            if (backlog >= option.getMaxBacklog()) { // over capacity
+                ++droppedCount;
+                continue;
+            }
+            final CannonballLatch carLatch = new CannonballLatch(1, logger); // alone
+            final Callable<Object> callable = createCallable(execution, option, new CountDownLatch(1), released, new CountDownLatch(1),
+                    carLatch, i + 1, lockObj, logger, race);
+            futureList.add(service.submit(createArrivalCallable(callable, intendedNanos, startedCount, workerHistogramMap)));
+        }
+        final List<Object> resultList = handleFuture(option, futureList); // waits for all arrivals
+        final long raceElapsed = System.nanoTime() - raceBefore;
+
+        // ## Assert ##
+        final String title = "repeat" + (cannonballResult.getRepeatMeasurementList().size() + 1);
+        final CannonballHistogram repeatHistogram = new CannonballHistogram();
+        for (CannonballHistogram workerHistogram : workerHistogramMap.values()) { // visible by future.get()
+            repeatHistogram.merge(workerHistogram);
+        }
+        final CannonballMeasurement measurement = new CannonballMeasurement(title, repeatHistogram, raceElapsed);
+        cannonballResult.addRepeatMeasurement(measurement);
+        reportMeasurement(measurement);
+        int failedCount = 0;
+        for (Object result : resultList) {
+            if (result instanceof CannonballRetireException) {
+                ++failedCount;
+            }
+        }
+        final CannonballArrivalReport arrivalReport =
+                new CannonballArrivalReport(title, arrivalRate, scheduledCount, droppedCount, failedCount, maxBacklog);
+        cannonballResult.addArrivalReport(arrivalReport);
+        log("...Arrived " + arrivalReport.toDisplayString());
+        assertSameResultIfExpected(option, resultList);
+        return resultList;
+    }
+
+    protected Callable<Object> createArrivalCallable(final Callable<Object> callable, final long intendedNanos,
+            final AtomicInteger startedCount, final Map<Thread, CannonballHistogram> workerHistogramMap) {
+        return new Callable<Object>() {
+            public Object call() throws Exception { // worker thread here
+                startedCount.incrementAndGet();
+                final Object result = callable.call();
+                final long latency = System.nanoTime() - intendedNanos; // from intended, including waiting in backlog
+                CannonballHistogram workerHistogram = workerHistogramMap.get(Thread.currentThread());
+                if (workerHistogram == null) { // only this worker puts it
+                    workerHistogram = new CannonballHistogram();
+                    workerHistogramMap.put(Thread.currentThread(), workerHistogram);
+                }
+                workerHistogram.record(latency); // only succeeded arrival
+                return result;
+            }
+        };
+    }
+
     // ===================================================================================
     //                                                                            Callable
     //                                                                            ========
     protected Callable<Object> createCallable(final CannonballRun run, final CannonballOption option, final CountDownLatch ready,
             final CountDownLatch start, final CountDownLatch goal, final CannonballLatch ourLatch, final int entryNumber,
-            final Object lockObj, final CannonballLogger logger) {
+            final Object lockObj, final CannonballLogger logger, final CannonballRace race) {
+        final CannonballExplorer explorer = race.getExplorer();
+        final CannonballHistogram repeatHistogram = race.getRepeatHistogram();
+        final CannonballLoadPlan loadPlan = race.getLoadPlan();
+        final CannonballContentionProfiler contentionProfiler = race.getContentionProfiler();
+        final CannonballWatchdog watchdog = race.getWatchdog();
+        final CannonballTrackingDataSource trackingDataSource = race.getTrackingDataSource();
         return new Callable<Object>() {
             public Object call() { // each thread here
                 final long threadId = Thread.currentThread().getId();
-                final CannonballCar car = createCar(threadId, ourLatch, entryNumber, lockObj, option, logger);
+                final CannonballCar car = createCar(threadId, ourLatch, entryNumber, lockObj, option, logger, race.getGarage(), explorer);
+                final CannonballHistogram carHistogram = repeatHistogram != null ? new CannonballHistogram() : null; // held per car
                 boolean failure = false;
                 try {
                     ready.countDown();
@@ -199,6 +701,15 @@ public class CannonballDirector {
                         String msg = "start.await() was interrupted: start=" + start;
                         throw new IllegalStateException(msg, e);
                     }
+                    if (watchdog != null) {
+                        watchdog.registerCar(entryNumber);
+                    }
+                    if (contentionProfiler != null) {
+                        contentionProfiler.beginCar(entryNumber); // including transaction
+                    }
+                    if (trackingDataSource != null) {
+                        trackingDataSource.beginCar(entryNumber); // connections in transaction belong to the car
+                    }
                     prepareBeginning();
                     prepareAccessContext();
                     TransactionResource txRes = null;
@@ -207,7 +718,10 @@ public class CannonballDirector {
                     }
                     Object result = null;
                     try {
-                        run.drive(car);
+                        if (explorer != null) {
+                            explorer.enter(entryNumber); // wait for the baton
+                        }
+                        driveCar(run, car, loadPlan, carHistogram);
                         result = car.getRunResult();
                     } catch (RuntimeException e) {
                         failure = true;
@@ -231,6 +745,21 @@ public class CannonballDirector {
                     }
                     return result;
                 } finally {
+                    if (explorer != null) {
+                        explorer.leave(entryNumber); // after commit or roll-back, passing the baton
+                    }
+                    if (trackingDataSource != null) {
+                        trackingDataSource.endCar(); // after commit or roll-back, connections are basically closed
+                    }
+                    if (contentionProfiler != null) {
+                        contentionProfiler.endCar(entryNumber);
+                    }
+                    if (watchdog != null) {
+                        watchdog.unregisterCar(entryNumber);
+                    }
+                    if (carHistogram != null) {
+                        repeatHistogram.merge(carHistogram); // before goal to be visible for director
+                    }
                     goal.countDown();
 
                     // release waiting threads
@@ -245,10 +774,46 @@ public class CannonballDirector {
         };
     }
 
+    protected void driveCar(CannonballRun run, CannonballCar car, CannonballLoadPlan loadPlan, CannonballHistogram carHistogram) {
+        if (loadPlan == null) { // once
+            final long driveBefore = carHistogram != null ? System.nanoTime() : 0L;
+            run.drive(car);
+            if (carHistogram != null) { // only succeeded drive
+                carHistogram.record(System.nanoTime() - driveBefore);
+            }
+            return;
+        }
+        final int entryNumber = car.getEntryNumber();
+        sleepUntil(loadPlan.getCarStartNanos(entryNumber)); // ramp-up
+        final long stopNanos = loadPlan.getCarStopNanos(entryNumber); // ramp-down
+        int lapNumber = 0;
+        long driveBefore;
+        while ((driveBefore = System.nanoTime()) - stopNanos < 0) { // loop until the deadline
+            ++lapNumber;
+            run.drive(car);
+            if (carHistogram != null && loadPlan.isMeasuredDrive(lapNumber, driveBefore)) { // except warm-up
+                carHistogram.record(System.nanoTime() - driveBefore);
+            }
+        }
+    }
+
+    protected void sleepUntil(long untilNanos) { // e.g. ramp-up, arrival
+        final long waitNanos = untilNanos - System.nanoTime();
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            String msg = "The sleeping until the time was interrupted: waitNanos=" + waitNanos;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
     protected CannonballCar createCar(long threadId, CannonballLatch ourLatch, int entryNumber, Object lockObj, CannonballOption option,
-            CannonballLogger logger) {
+            CannonballLogger logger, CannonballGarage garage, CannonballExplorer explorer) {
         final int countOfEntry = option.getThreadCount();
-        return new CannonballCar(threadId, ourLatch, entryNumber, lockObj, countOfEntry, logger);
+        return new CannonballCar(threadId, ourLatch, entryNumber, lockObj, countOfEntry, logger, garage.getWatcherService(), explorer);
     }
 
     // ===================================================================================
@@ -384,6 +949,14 @@ public class CannonballDirector {
         _cannonballHelper.help_prepareBeginning();
     }
 
+    protected DataSource getDataSource() {
+        return _cannonballHelper.help_getDataSource();
+    }
+
+    protected void switchDataSource(DataSource dataSource) {
+        _cannonballHelper.help_switchDataSource(dataSource);
+    }
+
     protected void prepareAccessContext() {
         _cannonballHelper.help_prepareAccessContext();
     }
@@ -17,20 +17,33 @@ package org.dbflute.utflute.core.cannonball;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * The dragon for project A plan, which releases waiting cars if the plan is overtime. <br>
+ * The overtime watch is a deadline task of the shared watcher service of the race (not thread per watch).
  * @author jflute
  * @since 0.3.8 (2014/03/03 Monday)
  */
 public class CannonballDragon {
 
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The watcher service used when the car has no service of race e.g. car created by old constructor. (NullAllowed: until used) */
+    protected static ScheduledExecutorService _fallbackWatcherService; // should be used in synchronized scope
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
     protected final CannonballCar _car; // for the project A
     protected final CannonballWatchingStatus _watchingStatus; // should be used in synchronized scope
     protected final List<CannonballWatcher> _watcherList = new ArrayList<CannonballWatcher>();
-    protected final long _planBeginTime; // to calculate time-span
+    protected final long _planBeginNanos; // to calculate deadline
     protected boolean _expectedNormallyDone;
     protected boolean _expectedOvertime;
 
@@ -40,7 +53,7 @@ public class CannonballDragon {
     public CannonballDragon(CannonballCar car, CannonballWatchingStatus watchingStatus) {
         _car = car;
         _watchingStatus = watchingStatus;
-        _planBeginTime = System.currentTimeMillis(); // almost same as created time
+        _planBeginNanos = System.nanoTime(); // almost same as created time
     }
 
     // ===================================================================================
@@ -70,16 +83,14 @@ public class CannonballDragon {
     /**
      * Release waiting cars if overtime. <br>
      * The default allowed time for the plan is 3000 milliseconds. <br>
-     * you can reset it by this method.
+     * you can reset it by this method. (the limit is from beginning of the plan)
      * @param millis The milliseconds until overtime. (NotMinus)
      */
     public void releaseIfOvertime(final long millis) {
-        // create and start new watching thread and close old threads
+        // schedule new watch and close old watches
         synchronized (_watchingStatus) {
             if (isWaiting()) {
-                for (CannonballWatcher watcher : _watcherList) {
-                    watcher.close();
-                }
+                closeAll();
                 final CannonballWatcher watcher = createWatcher(millis);
                 _watcherList.add(watcher);
                 watcher.watch();
@@ -87,6 +98,19 @@ public class CannonballDragon {
         }
     }
 
+    /**
+     * Close all watches of the plan, e.g. when the plan is normally done. <br>
+     * The scheduled deadline tasks are cancelled so they do not remain in the watcher service.
+     */
+    public void closeAll() {
+        synchronized (_watchingStatus) {
+            for (CannonballWatcher watcher : _watcherList) {
+                watcher.close();
+            }
+            _watcherList.clear();
+        }
+    }
+
     // ===================================================================================
     //                                                                             Watcher
     //                                                                             =======
@@ -98,25 +122,16 @@ public class CannonballDragon {
 
         protected final long _millis;
         protected volatile boolean _closed;
+        protected ScheduledFuture<?> _deadlineFuture; // null allowed: before watch, should be used in synchronized scope
 
         public CannonballWatcher(long millis) {
             _millis = millis;
         }
 
         public void watch() {
-            final Thread watchingThread = new Thread(new Runnable() {
-                public void run() {
-                    final long alreadyPastTime = System.currentTimeMillis() - _planBeginTime;
-                    final int splitCount = 10;
-                    final long tokenMillis = (_millis - alreadyPastTime) / splitCount;
-                    if (tokenMillis > 0) { // just in case
-                        for (int i = 0; i < splitCount; i++) {
-                            sleep(tokenMillis);
-                            if (_closed) {
-                                return;
-                            }
-                        }
-                    }
+            final long delayNanos = _planBeginNanos + TimeUnit.MILLISECONDS.toNanos(_millis) - System.nanoTime();
+            _deadlineFuture = prepareWatcherService().schedule(new Runnable() {
+                public void run() { // watcher thread here, should not block
                     synchronized (_watchingStatus) {
                         if (_closed) {
                             return;
@@ -129,22 +144,35 @@ public class CannonballDragon {
                         }
                     }
                 }
-
-                protected void sleep(long millis) {
-                    try {
-                        Thread.sleep(millis);
-                    } catch (InterruptedException e) {
-                        String msg = "Failed to have a tea break but I want to...";
-                        throw new IllegalStateException(msg, e);
-                    }
-                }
-            });
-            watchingThread.start();
+            }, Math.max(delayNanos, 0L), TimeUnit.NANOSECONDS); // immediately if already past
         }
 
         public void close() {
             _closed = true;
+            if (_deadlineFuture != null) {
+                _deadlineFuture.cancel(false); // not interrupt, the task does not block
+            }
+        }
+    }
+
+    protected ScheduledExecutorService prepareWatcherService() {
+        final ScheduledExecutorService watcherService = _car.getWatcherService();
+        return watcherService != null ? watcherService : prepareFallbackWatcherService();
+    }
+
+    protected static synchronized ScheduledExecutorService prepareFallbackWatcherService() {
+        if (_fallbackWatcherService == null) {
+            final ScheduledThreadPoolExecutor service = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                public Thread newThread(Runnable runnable) {
+                    final Thread thread = new Thread(runnable, CannonballGarage.WATCHER_NAME_PREFIX + "fallback");
+                    thread.setDaemon(true); // not to block JVM exit, lives with the class
+                    return thread;
+                }
+            });
+            service.setRemoveOnCancelPolicy(true);
+            _fallbackWatcherService = service;
         }
+        return _fallbackWatcherService;
     }
 
     protected boolean isWaiting() { // should be used in synchronized scope
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The explorer of schedule for one race, which runs cars cooperatively by the seed. <br>
+ * Only the car that has the baton runs, and it passes the baton to the car chosen by the seeded random
+ * at scheduling points: restart(), projectA boundaries and yieldPoint(). <br>
+ * So the same seed makes the same interleaving if the cars do not depend on e.g. time, blocking outside scheduling points. <br>
+ * The waiting for the baton uses lock and condition (not monitor) not to pin carrier threads of virtual-thread cars.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballExplorer {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int STATE_RUNNABLE = 0;
+    protected static final int STATE_RESTART_WAITING = 1;
+    protected static final int STATE_PROJECT_A_WAITING = 2;
+    protected static final int STATE_FINISHED = 3;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long _seed;
+    protected final ReentrantLock _lock = new ReentrantLock(); // for all states
+    protected final Condition _batonCondition = _lock.newCondition(); // signaled when the baton is passed
+    protected final Random _random; // should be used in locked scope
+    protected final int[] _carStates; // index is entry number minus one, should be used in locked scope
+    protected final String[] _waitingProjectAKeys; // same index, null allowed: when not waiting for project A
+    protected final List<String> _finishedProjectAKeyList = new ArrayList<String>(); // released forever like latch
+    protected final List<String> _decisionList = new ArrayList<String>(); // e.g. 3@restart, for replay trace
+    protected int _batonEntryNumber; // zero if nobody, should be used in locked scope
+    protected String _stuckMessage; // null allowed: not stuck
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param seed The seed of random for scheduling decisions.
+     * @param carCount The count of cars in the race. (NotZero, NotMinus)
+     */
+    public CannonballExplorer(long seed, int carCount) {
+        _seed = seed;
+        _random = new Random(seed); // same sequence in any JVM
+        _carStates = new int[carCount]; // all runnable
+        _waitingProjectAKeys = new String[carCount];
+        _batonEntryNumber = chooseNextEntryNumber("start"); // cars get the baton when they enter
+    }
+
+    // ===================================================================================
+    //                                                                               Enter
+    //                                                                               =====
+    /**
+     * Enter the race, waiting for the baton. (called by the car thread before driving)
+     * @param entryNumber The entry number of the car. e.g. 1, 2, 3...
+     */
+    public void enter(int entryNumber) {
+        _lock.lock();
+        try {
+            awaitBaton(entryNumber);
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Leave the race when the car is finished (normally or not), passing the baton if it has.
+     * @param entryNumber The entry number of the car. e.g. 1, 2, 3...
+     */
+    public void leave(int entryNumber) {
+        _lock.lock();
+        try {
+            _carStates[entryNumber - 1] = STATE_FINISHED;
+            releaseRestartIfAllArrived();
+            if (_batonEntryNumber == entryNumber) { // basically here, or broken by e.g. timeout
+                passBaton("leave");
+            }
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                    Scheduling Point
+    //                                                                    ================
+    /**
+     * The explicit scheduling point, which may pass the baton to other car (or keep it).
+     * @param entryNumber The entry number of the car that has the baton. e.g. 1, 2, 3...
+     */
+    public void yieldPoint(int entryNumber) {
+        _lock.lock();
+        try {
+            passBaton("yield");
+            awaitBaton(entryNumber);
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Wait for all cars arriving here, as the same as restart() by latch.
+     * @param entryNumber The entry number of the car that has the baton. e.g. 1, 2, 3...
+     */
+    public void restart(int entryNumber) {
+        _lock.lock();
+        try {
+            _carStates[entryNumber - 1] = STATE_RESTART_WAITING;
+            releaseRestartIfAllArrived();
+            passBaton("restart");
+            awaitBaton(entryNumber);
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    protected void releaseRestartIfAllArrived() {
+        for (int carState : _carStates) {
+            if (carState == STATE_RUNNABLE || carState == STATE_PROJECT_A_WAITING) { // not arrived yet
+                return;
+            }
+        }
+        for (int i = 0; i < _carStates.length; i++) {
+            if (_carStates[i] == STATE_RESTART_WAITING) {
+                _carStates[i] = STATE_RUNNABLE;
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Project A
+    //                                                                           =========
+    /**
+     * Wait for the project A plan by other car, or go if it has been already finished.
+     * @param projectAKey The key of the project A plan. (NotNull)
+     * @param entryNumber The entry number of the waiting car. e.g. 1, 2, 3...
+     */
+    public void waitForProjectA(String projectAKey, int entryNumber) {
+        _lock.lock();
+        try {
+            if (!_finishedProjectAKeyList.contains(projectAKey)) {
+                _carStates[entryNumber - 1] = STATE_PROJECT_A_WAITING;
+                _waitingProjectAKeys[entryNumber - 1] = projectAKey;
+            }
+            passBaton("waitForProjectA");
+            awaitBaton(entryNumber);
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Finish the project A plan, releasing cars waiting for it. (called by the car executing the plan)
+     * @param projectAKey The key of the project A plan. (NotNull)
+     * @param entryNumber The entry number of the car executing the plan. e.g. 1, 2, 3...
+     */
+    public void finishProjectA(String projectAKey, int entryNumber) {
+        _lock.lock();
+        try {
+            _finishedProjectAKeyList.add(projectAKey);
+            for (int i = 0; i < _carStates.length; i++) {
+                if (_carStates[i] == STATE_PROJECT_A_WAITING && projectAKey.equals(_waitingProjectAKeys[i])) {
+                    _carStates[i] = STATE_RUNNABLE;
+                    _waitingProjectAKeys[i] = null;
+                }
+            }
+            passBaton("finishProjectA");
+            awaitBaton(entryNumber);
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Baton
+    //                                                                               =====
+    protected void passBaton(String pointName) {
+        _batonEntryNumber = chooseNextEntryNumber(pointName);
+        if (_batonEntryNumber == 0 && !isAllFinished()) { // e.g. all cars wait for plan that is never finished
+            _stuckMessage = "No car can run at the point: point=" + pointName + ", states=" + buildStateExp();
+        }
+        _batonCondition.signalAll();
+    }
+
+    protected int chooseNextEntryNumber(String pointName) {
+        final List<Integer> runnableList = new ArrayList<Integer>();
+        for (int i = 0; i < _carStates.length; i++) {
+            if (_carStates[i] == STATE_RUNNABLE) {
+                runnableList.add(i + 1); // ascending order for the same choice
+            }
+        }
+        if (runnableList.isEmpty()) {
+            return 0;
+        }
+        final int chosen = runnableList.get(_random.nextInt(runnableList.size()));
+        _decisionList.add(chosen + "@" + pointName);
+        return chosen;
+    }
+
+    protected void awaitBaton(int entryNumber) {
+        final long deadline = System.currentTimeMillis() + getBatonTimeoutMillis();
+        while (_batonEntryNumber != entryNumber) {
+            if (_stuckMessage != null) {
+                String msg = "The schedule exploration was stuck: seed=" + _seed + ", entryNumber=" + entryNumber + ", " + _stuckMessage;
+                throw new IllegalStateException(msg);
+            }
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) { // e.g. the car having baton is blocked outside scheduling points
+                String msg = "The car waited for the baton too long (blocked outside scheduling points?): seed=" + _seed
+                        + ", entryNumber=" + entryNumber + ", baton=" + _batonEntryNumber + ", states=" + buildStateExp();
+                throw new IllegalStateException(msg);
+            }
+            try {
+                _batonCondition.await(remaining, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                String msg = "The waiting for the baton was interrupted: seed=" + _seed + ", entryNumber=" + entryNumber;
+                throw new IllegalStateException(msg, e);
+            }
+        }
+    }
+
+    protected long getBatonTimeoutMillis() {
+        return 30000L; // as default, basically the baton is passed soon
+    }
+
+    protected boolean isAllFinished() {
+        for (int carState : _carStates) {
+            if (carState != STATE_FINISHED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected String buildStateExp() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < _carStates.length; i++) {
+            sb.append(i > 0 ? ", " : "").append(i + 1).append(":").append(toStateName(_carStates[i]));
+        }
+        return "{" + sb + "}";
+    }
+
+    protected String toStateName(int carState) {
+        switch (carState) {
+        case STATE_RUNNABLE:
+            return "runnable";
+        case STATE_RESTART_WAITING:
+            return "restart";
+        case STATE_PROJECT_A_WAITING:
+            return "projectA";
+        default:
+            return "finished";
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        _lock.lock();
+        try {
+            return "explorer:{seed=" + _seed + ", decisions=" + _decisionList.size() + ", baton=" + _batonEntryNumber + "}";
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getSeed() {
+        return _seed;
+    }
+
+    /**
+     * Get the scheduling decisions so far, which are the same in the replay by the seed.
+     * @return The snapshot list of decision expressions e.g. 3@restart. (NotNull)
+     */
+    public List<String> getDecisionList() {
+        _lock.lock();
+        try {
+            return Collections.unmodifiableList(new ArrayList<String>(_decisionList));
+        } finally {
+            _lock.unlock();
+        }
+    }
+}
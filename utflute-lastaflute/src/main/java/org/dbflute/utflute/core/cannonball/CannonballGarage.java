@@ -0,0 +1,231 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.helper.message.ExceptionMessageBuilder;
+
+/**
+ * The garage of cars (threads) for one readyGo(), which is reused across repeats. <br>
+ * It creates a pool sized by thread count (or per-task virtual threads), or borrows the executor service from option. <br>
+ * The created threads are tracked, so you can find leaked cars after closing. <br>
+ * And it has one shared watcher thread for overtime watch of project A plans (started when first scheduled).
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballGarage {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The prefix of thread name for cars, followed by race number and car number. */
+    public static final String CAR_NAME_PREFIX = "cannonball-car-";
+
+    /** The prefix of thread name for watcher, followed by race number. */
+    public static final String WATCHER_NAME_PREFIX = "cannonball-watcher-";
+
+    /** The sequence of race (garage) to make thread names unique. (NotNull) */
+    protected static final AtomicInteger _raceSequence = new AtomicInteger();
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _raceNumber; // for thread names
+    protected final String _carNamePrefix; // not null, e.g. cannonball-car-3-
+    protected final boolean _borrowed; // true if the service is owned by caller
+    protected final List<Thread> _carThreadList = Collections.synchronizedList(new ArrayList<Thread>()); // created threads
+    protected final ExecutorService _service; // not null
+    protected final ScheduledExecutorService _watcherService; // not null, even if borrowed service
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param option The option of cannon-ball, which has e.g. thread count, virtual threads. (NotNull)
+     */
+    public CannonballGarage(CannonballOption option) {
+        _raceNumber = _raceSequence.incrementAndGet();
+        _carNamePrefix = CAR_NAME_PREFIX + _raceNumber + "-";
+        final ExecutorService borrowedService = option.getBorrowedExecutorService();
+        if (borrowedService != null) {
+            _borrowed = true;
+            _service = borrowedService;
+        } else {
+            _borrowed = false;
+            _service = option.isVirtualThreads() ? createVirtualThreadService() : createPlatformThreadService(option.getThreadCount());
+        }
+        _watcherService = createWatcherService();
+    }
+
+    // -----------------------------------------------------
+    //                                      Platform Threads
+    //                                      ----------------
+    protected ExecutorService createPlatformThreadService(int threadCount) {
+        final AtomicInteger carSequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(threadCount, new ThreadFactory() { // all cars run at the same time
+            public Thread newThread(Runnable runnable) {
+                final Thread thread = new Thread(runnable, _carNamePrefix + carSequence.incrementAndGet());
+                thread.setDaemon(true); // not to block JVM exit even if leaked
+                return trackCarThread(thread);
+            }
+        });
+    }
+
+    // -----------------------------------------------------
+    //                                       Virtual Threads
+    //                                       ---------------
+    protected ExecutorService createVirtualThreadService() { // by reflection for Java8 compatibility
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builderType.getMethod("name", String.class, long.class).invoke(builder, _carNamePrefix, 1L); // mutable builder
+            final ThreadFactory virtualFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            final ThreadFactory trackingFactory = new ThreadFactory() {
+                public Thread newThread(Runnable runnable) {
+                    return trackCarThread(virtualFactory.newThread(runnable));
+                }
+            };
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null,
+                    trackingFactory);
+        } catch (ReflectiveOperationException e) {
+            throwCannonballVirtualThreadsUnsupportedException(e);
+            return null; // unreachable
+        }
+    }
+
+    protected void throwCannonballVirtualThreadsUnsupportedException(ReflectiveOperationException cause) {
+        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+        br.addNotice("Virtual threads are unsupported in the Java runtime.");
+        br.addItem("Advice");
+        br.addElement("The virtualThreads() option needs JDK21 or later.");
+        br.addElement("Run the test by the JDK or remove the option.");
+        br.addItem("Java Version");
+        br.addElement(System.getProperty("java.version"));
+        final String msg = br.buildExceptionMessage();
+        throw new IllegalStateException(msg, cause);
+    }
+
+    protected Thread trackCarThread(Thread thread) {
+        _carThreadList.add(thread);
+        return thread;
+    }
+
+    // ===================================================================================
+    //                                                                             Watcher
+    //                                                                             =======
+    protected ScheduledExecutorService createWatcherService() { // thread is started when first scheduled
+        final String watcherName = WATCHER_NAME_PREFIX + _raceNumber;
+        final ScheduledThreadPoolExecutor service = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                final Thread thread = new Thread(runnable, watcherName);
+                thread.setDaemon(true); // not to block JVM exit
+                return thread;
+            }
+        });
+        service.setRemoveOnCancelPolicy(true); // cancelled watches are not retained until the deadline
+        return service;
+    }
+
+    // ===================================================================================
+    //                                                                               Close
+    //                                                                               =====
+    /**
+     * Close the garage, shutting down the created service and waiting for termination of all cars, and the watcher service. <br>
+     * If the cars are not terminated in the timeout, they are interrupted. (borrowed service is not closed)
+     * @param timeoutMillis The timeout milliseconds to wait for termination of cars.
+     * @return The list of leaked (still alive) car threads. (NotNull, EmptyAllowed: when no leak or borrowed)
+     */
+    public List<Thread> close(long timeoutMillis) {
+        if (_borrowed) { // closed by the owner
+            _watcherService.shutdownNow(); // but the watcher is ours
+            return Collections.emptyList();
+        }
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        _service.shutdown();
+        try {
+            if (!_service.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                _service.shutdownNow(); // e.g. car stuck in latch
+                _service.awaitTermination(remainingMillis(deadline), TimeUnit.MILLISECONDS);
+            }
+            for (Thread carThread : getCarThreadList()) { // pool may be terminated before threads exit
+                carThread.join(remainingMillis(deadline));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // leaked cars are found below
+        } finally {
+            _watcherService.shutdownNow(); // after cars, which may wait for overtime release
+        }
+        final List<Thread> leakedList = new ArrayList<Thread>();
+        for (Thread carThread : getCarThreadList()) {
+            if (carThread.isAlive()) {
+                leakedList.add(carThread);
+            }
+        }
+        return leakedList;
+    }
+
+    protected long remainingMillis(long deadline) {
+        return Math.max(1L, deadline - System.currentTimeMillis()); // not zero, which means forever in join()
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "garage:{" + _carNamePrefix + ", borrowed=" + _borrowed + ", cars=" + _carThreadList.size() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ExecutorService getService() {
+        return _service;
+    }
+
+    /**
+     * Get the shared service for watchers of the race. <br>
+     * All watches are scheduled as deadline tasks by one thread, so they should not block.
+     * @return The scheduled executor service for watchers. (NotNull)
+     */
+    public ScheduledExecutorService getWatcherService() {
+        return _watcherService;
+    }
+
+    public String getCarNamePrefix() {
+        return _carNamePrefix;
+    }
+
+    public boolean isBorrowed() {
+        return _borrowed;
+    }
+
+    public List<Thread> getCarThreadList() { // snapshot, created threads
+        synchronized (_carThreadList) {
+            return new ArrayList<Thread>(_carThreadList);
+        }
+    }
+}
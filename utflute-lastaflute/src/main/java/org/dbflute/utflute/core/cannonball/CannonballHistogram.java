@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.Arrays;
+
+/**
+ * The mergeable histogram of latency (nanoseconds) for cannon-ball, log-linear buckets like HdrHistogram. <br>
+ * Values are recorded in buckets of 64 sub-buckets per power of two, so the relative error is under 1/64. <br>
+ * The counts array grows by the highest recorded value, so it is small enough to be held per car. <br>
+ * Not thread-safe except merge(), so record it in the car thread and merge it at the end of the car.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballHistogram {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int SUB_BUCKET_BITS = 7;
+    protected static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // 128, exact values under it
+    protected static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1; // 64 per power of two
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected long[] _counts = new long[SUB_BUCKET_COUNT]; // grows by highest index
+    protected long _totalCount;
+    protected long _totalValue; // for mean
+    protected long _minValue = Long.MAX_VALUE; // exact
+    protected long _maxValue; // exact
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * Record the value into the histogram.
+     * @param value The value to be recorded, e.g. latency nanoseconds. (NotMinus: minus is treated as zero)
+     */
+    public void record(long value) {
+        final long recorded = Math.max(0L, value); // e.g. nanoTime() skew
+        final int index = indexOf(recorded);
+        if (index >= _counts.length) {
+            _counts = Arrays.copyOf(_counts, index + SUB_BUCKET_HALF_COUNT); // up to end of the bucket
+        }
+        ++_counts[index];
+        ++_totalCount;
+        _totalValue += recorded;
+        _minValue = Math.min(_minValue, recorded);
+        _maxValue = Math.max(_maxValue, recorded);
+    }
+
+    /**
+     * Merge the other histogram (e.g. of car) into this histogram.
+     * @param other The other histogram not recorded during the merge. (NotNull)
+     */
+    public synchronized void merge(CannonballHistogram other) {
+        if (other._counts.length > _counts.length) {
+            _counts = Arrays.copyOf(_counts, other._counts.length);
+        }
+        for (int i = 0; i < other._counts.length; i++) {
+            _counts[i] += other._counts[i];
+        }
+        _totalCount += other._totalCount;
+        _totalValue += other._totalValue;
+        _minValue = Math.min(_minValue, other._minValue);
+        _maxValue = Math.max(_maxValue, other._maxValue);
+    }
+
+    // ===================================================================================
+    //                                                                        Bucket Index
+    //                                                                        ============
+    protected static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int bucket = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS + 1; // 1 or more
+        final int subBucket = (int) (value >>> bucket); // 64 to 127
+        return bucket * SUB_BUCKET_HALF_COUNT + subBucket;
+    }
+
+    protected static long highestValueOf(int index) { // highest equivalent value in the index
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int bucket = index / SUB_BUCKET_HALF_COUNT - 1;
+        final long subBucket = index - bucket * SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << bucket) - 1;
+    }
+
+    // ===================================================================================
+    //                                                                          Percentile
+    //                                                                          ==========
+    /**
+     * Get the value at the percentile, as the highest equivalent value in the bucket (but not over max).
+     * @param percentile The percentile e.g. 50.0, 99.9. (NotMinus, NotOver100)
+     * @return The value at the percentile. (zero if no record)
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        if (_totalCount == 0) {
+            return 0L;
+        }
+        final double limited = Math.min(Math.max(percentile, 0.0), 100.0);
+        final long countAtPercentile = Math.max(1L, (long) Math.ceil((limited / 100.0) * _totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < _counts.length; i++) {
+            cumulative += _counts[i];
+            if (cumulative >= countAtPercentile) {
+                return Math.min(highestValueOf(i), _maxValue);
+            }
+        }
+        return _maxValue; // basically no way
+    }
+
+    public synchronized double getMean() {
+        return _totalCount > 0 ? (double) _totalValue / _totalCount : 0.0;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public synchronized String toString() {
+        return "histogram:{count=" + _totalCount + ", min=" + getMinValue() + ", max=" + _maxValue + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public synchronized long getTotalCount() {
+        return _totalCount;
+    }
+
+    public synchronized long getMinValue() {
+        return _totalCount > 0 ? _minValue : 0L;
+    }
+
+    public synchronized long getMaxValue() {
+        return _maxValue;
+    }
+}
@@ -17,8 +17,11 @@ package org.dbflute.utflute.core.cannonball;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * The coordinator of cars by named latches, without lock to avoid bottleneck of the race. <br>
+ * The active count and latch counts are updated by CAS, and latches are prepared by concurrent map.
  * @author jflute
  * @since 0.3.8 (2014/02/25 Tuesday)
  */
@@ -32,19 +35,21 @@ public class CannonballLatch {
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
-    protected int _activeCount; // might be decremented e.g. when breakaway
+    protected final AtomicInteger _activeCount; // might be decremented e.g. when breakaway
     protected final int _initialCount; // to check too many increment
     protected final CannonballLogger _logger;
 
-    /** The map of latch related to latch name. (NotNull) */
-    // basically synchronized so plain HashMap is allowed but just in case
+    /** The map of latch related to latch name, default latch is removed by identity when released. (NotNull) */
     protected final Map<String, CannonballVaryingLatch> _ourLatchMap = new ConcurrentHashMap<String, CannonballVaryingLatch>();
 
+    /** The map of latch names (lineUp, waitFor) per projectA key, not to build names for every projectA. (NotNull) */
+    protected final Map<String, String[]> _projectALatchNameMap = new ConcurrentHashMap<String, String[]>();
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public CannonballLatch(int threadCount, CannonballLogger logger) {
-        _activeCount = threadCount;
+        _activeCount = new AtomicInteger(threadCount);
         _initialCount = threadCount;
         _logger = logger;
     }
@@ -60,44 +65,55 @@ public class CannonballLatch {
         doAwait(latchName, entryNumber, true);
     }
 
+    /**
+     * Arrive at the latch and wait until all active cars arrive. <br>
+     * A released named latch (e.g. projectA) is released forever, so the car goes without waiting. <br>
+     * But a released default latch (restart) belongs to the previous generation, e.g. the car got it just before
+     * the last car destroyed it, so the car removes it and arrives at the next generation (waits for others again). <br>
+     * The previous synchronized latch returned immediately for a released latch, but the car could not get
+     * a released default latch there because getting and destroying were in the same lock. <br>
+     * (the default latch for no active car is released from the beginning, so the car goes without waiting)
+     * @param latchName The name of latch, e.g. default latch for restart(). (NotNull)
+     * @param entryNumber The entry number of the car. e.g. 1, 2, 3...
+     * @param silently Does it suppress the logging?
+     */
     protected void doAwait(String latchName, int entryNumber, boolean silently) {
-        final CannonballVaryingLatch latch;
-        final boolean last;
-        synchronized (this) {
-            latch = prepareLatch(latchName);
-            if (latch.isReleasedLatch()) { // already released
-                return;
+        while (true) {
+            final CannonballVaryingLatch latch = prepareLatch(latchName);
+            final int remaining = latch.arrive(); // atomic count down
+            if (remaining < 0) { // already released
+                if (isDefaultLatch(latchName) && latch.getInitialCount() > 0) { // released by others just now
+                    _ourLatchMap.remove(latchName, latch);
+                    continue; // arrive at next generation
+                }
+                return; // named latch is released forever
             }
-            last = latch.isLastCountLatch();
-            if (last) {
-                destroyLatchIfNeeds(latchName);
+            if (remaining == 0) { // last, ready go
+                destroyLatchIfNeeds(latchName, latch); // before opening, so released cars arrive at next generation
+                latch.openGate();
                 if (!silently) {
                     _logger.log("Ready...Go! (restart): entryNumber=" + entryNumber);
                 }
+                return;
             }
-            latch.countDown(); // ready go if last
-        }
-        if (!last) {
-            if (isWaitingLatch(latchName)) {
-                // to be exact, possible that threads after restart come here but no problem
-                if (!silently) {
-                    _logger.log("...Awaiting arrivals: entryNumber=" + entryNumber + ", count=" + latch.getCount());
-                }
-                latch.await();
+            // to be exact, possible that threads after restart come here but no problem
+            if (!silently) {
+                _logger.log("...Awaiting arrivals: entryNumber=" + entryNumber + ", count=" + remaining);
             }
+            latch.await();
+            return;
         }
     }
 
-    protected synchronized CannonballVaryingLatch prepareLatch(String latchName) {
+    protected CannonballVaryingLatch prepareLatch(String latchName) {
         CannonballVaryingLatch latch = _ourLatchMap.get(latchName);
-        if (latch == null) {
-            latch = new CannonballVaryingLatch(_activeCount);
-            _ourLatchMap.put(latchName, latch);
+        if (latch == null) { // computeIfAbsent() may lock the bin so get() first
+            latch = _ourLatchMap.computeIfAbsent(latchName, key -> new CannonballVaryingLatch(_activeCount.get()));
         }
         return latch;
     }
 
-    protected synchronized boolean isWaitingLatch(String latchName) {
+    protected boolean isWaitingLatch(String latchName) {
         final CannonballVaryingLatch latch = _ourLatchMap.get(latchName);
         return latch != null && latch.getCount() > 0;
     }
@@ -106,57 +122,65 @@ public class CannonballLatch {
         return DEFAULT_LATCH_NAME.equals(latchName);
     }
 
-    protected synchronized CannonballVaryingLatch getDefaultLatch() {
+    protected CannonballVaryingLatch getDefaultLatch() {
         return _ourLatchMap.get(DEFAULT_LATCH_NAME);
     }
 
-    protected synchronized void destroyLatchIfNeeds(String latchName) {
+    protected void destroyLatchIfNeeds(String latchName, CannonballVaryingLatch latch) {
         if (isDefaultLatch(latchName)) {
-            _ourLatchMap.remove(latchName);
+            _ourLatchMap.remove(latchName, latch); // by identity, not to remove next generation
         }
     }
 
     // ===================================================================================
     //                                                                            ProjectA
     //                                                                            ========
-    public void lineUpProjectA(String projectAKey, int executionNumber, int currenNumber) { // no synchronized here
-        awaitSilently(generateProjectALineUpLatchName(projectAKey), currenNumber);
+    public void lineUpProjectA(String projectAKey, int executionNumber, int currenNumber) {
+        awaitSilently(findProjectALatchNames(projectAKey)[0], currenNumber);
     }
 
-    protected String generateProjectALineUpLatchName(String projectAKey) {
-        return projectAKey + "::lineUp";
+    public void waitForProjectA(String projectAKey, int executionNumber, int currenNumber) {
+        awaitSilently(findProjectALatchNames(projectAKey)[1], currenNumber);
     }
 
-    public void waitForProjectA(String projectAKey, int executionNumber, int currenNumber) { // no synchronized here
-        awaitSilently(generateProjectAWaitForLatchName(projectAKey), currenNumber);
+    protected String[] findProjectALatchNames(String projectAKey) {
+        String[] latchNames = _projectALatchNameMap.get(projectAKey);
+        if (latchNames == null) { // built once per projectA key
+            latchNames = new String[] { generateProjectALineUpLatchName(projectAKey), generateProjectAWaitForLatchName(projectAKey) };
+            _projectALatchNameMap.putIfAbsent(projectAKey, latchNames);
+        }
+        return latchNames;
+    }
+
+    protected String generateProjectALineUpLatchName(String projectAKey) {
+        return projectAKey + "::lineUp";
     }
 
     protected String generateProjectAWaitForLatchName(String projectAKey) {
         return projectAKey + "::waitFor";
     }
 
-    public synchronized void leaveProjectAAlone(String projectAKey, int entryNumber) { // e.g. when projectA overtime
+    public void leaveProjectAAlone(String projectAKey, int entryNumber) { // e.g. when projectA overtime
         _logger.log("*Leaving the projectA car alone as overtime: entryNumber=" + entryNumber);
         decrementThreadCount();
-        reset(generateProjectALineUpLatchName(projectAKey));
-        reset(generateProjectAWaitForLatchName(projectAKey));
+        final String[] latchNames = findProjectALatchNames(projectAKey);
+        reset(latchNames[0]);
+        reset(latchNames[1]);
     }
 
-    public synchronized void comeBackFromOvertimeProjectA(String projectAKey, int entryNumber) { // e.g. when projectA end with overtime
+    public void comeBackFromOvertimeProjectA(String projectAKey, int entryNumber) { // e.g. when projectA end with overtime
         _logger.log("*Coming back from overtime projectA finally: entryNumber=" + entryNumber);
         incrementThreadCount();
-        if (isWaitingLatch(DEFAULT_LATCH_NAME)) {
-            final CannonballVaryingLatch defaultLatch = getDefaultLatch();
-            if (defaultLatch != null) {
-                defaultLatch.incrementBufferCount();
-            }
+        final CannonballVaryingLatch defaultLatch = getDefaultLatch();
+        if (defaultLatch != null) {
+            defaultLatch.incrementBufferCount(); // only if waiting
         }
     }
 
     // ===================================================================================
     //                                                              Break Away or Complete
     //                                                              ======================
-    public synchronized void breakAway(int entryNumber, boolean suppressDecrement) {
+    public void breakAway(int entryNumber, boolean suppressDecrement) {
         final String decrementExp = !suppressDecrement ? "(decrement)" : "";
         _logger.log("*Breaking away from cannonball race " + decrementExp + ": entryNumber=" + entryNumber);
         if (!suppressDecrement) {
@@ -165,57 +189,64 @@ public class CannonballLatch {
         reset(DEFAULT_LATCH_NAME);
     }
 
-    public synchronized void complete(int entryNumber, boolean suppressDecrement) {
+    public void complete(int entryNumber, boolean suppressDecrement) {
         if (!suppressDecrement) {
             decrementThreadCountSilently();
         }
-        reset(DEFAULT_LATCH_NAME); // may be enough to count down only... but just in case 
+        reset(DEFAULT_LATCH_NAME); // may be enough to count down only... but just in case
     }
 
-    public synchronized void reset(String latchName) {
+    public void reset(String latchName) {
         final CannonballVaryingLatch latch = _ourLatchMap.get(latchName);
         if (latch == null) {
             return;
         }
-        final long count = latch.getCount();
+        final int count = latch.releaseAll();
         if (count > 0) {
             _logger.log("...Resetting your latch: count=" + count);
-            for (int i = 0; i < count; i++) {
-                latch.countDown(); // is thread safe and allowed over count down
-            }
-            destroyLatchIfNeeds(latchName);
+            destroyLatchIfNeeds(latchName, latch);
         }
     }
 
     // ===================================================================================
     //                                                                  Adjust ThreadCount
     //                                                                  ==================
-    protected synchronized void incrementThreadCount() {
-        if (_initialCount > _activeCount) {
-            _logger.log("...Incrementing active thread count: " + _activeCount + " to " + (_activeCount + 1));
-            ++_activeCount;
-        } else {
-            _logger.log("*Too many increment of thread count: first=" + _initialCount + ", current=" + _activeCount);
+    protected void incrementThreadCount() {
+        while (true) {
+            final int current = _activeCount.get();
+            if (_initialCount <= current) {
+                _logger.log("*Too many increment of thread count: first=" + _initialCount + ", current=" + current);
+                return;
+            }
+            if (_activeCount.compareAndSet(current, current + 1)) {
+                _logger.log("...Incrementing active thread count: " + current + " to " + (current + 1));
+                return;
+            }
         }
     }
 
-    protected synchronized void decrementThreadCount() {
+    protected void decrementThreadCount() {
         doDecrementThreadCount(false);
     }
 
-    protected synchronized void decrementThreadCountSilently() {
+    protected void decrementThreadCountSilently() {
         doDecrementThreadCount(true);
     }
 
-    protected synchronized void doDecrementThreadCount(boolean silently) {
-        if (_activeCount > 0) {
-            if (!silently) {
-                _logger.log("...Decrementing active thread count: " + _activeCount + " to " + (_activeCount - 1));
+    protected void doDecrementThreadCount(boolean silently) {
+        while (true) {
+            final int current = _activeCount.get();
+            if (current <= 0) {
+                // output if silently because of warning
+                _logger.log("*Too many decrement of thread count: current=" + current);
+                return;
+            }
+            if (_activeCount.compareAndSet(current, current - 1)) {
+                if (!silently) {
+                    _logger.log("...Decrementing active thread count: " + current + " to " + (current - 1));
+                }
+                return;
             }
-            --_activeCount;
-        } else {
-            // output if silently because of warning
-            _logger.log("*Too many decrement of thread count: current=" + _activeCount);
         }
     }
 
@@ -223,7 +254,7 @@ public class CannonballLatch {
     //                                                                            Accessor
     //                                                                            ========
     public int getActiveCount() {
-        return _activeCount;
+        return _activeCount.get();
     }
 
     public int getInitialCount() {
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The plan of load mode for one race: cars start one by one in ramp-up, loop drive() in steady state,
+ * and stop one by one in ramp-down. <br>
+ * The timeline is fixed at the start of the race, and visible to cars by the start latch.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballLoadPlan {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long _rampUpNanos;
+    protected final long _steadyStateNanos;
+    protected final long _rampDownNanos;
+    protected final int _warmUpIterations; // per car, excluded from measurement
+    protected final int _carCount; // to stagger cars
+    protected long _startNanos; // fixed at start of race
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public CannonballLoadPlan(CannonballOption option) {
+        _rampUpNanos = TimeUnit.MILLISECONDS.toNanos(option.getRampUpMillis());
+        _steadyStateNanos = TimeUnit.MILLISECONDS.toNanos(option.getSteadyStateMillis());
+        _rampDownNanos = TimeUnit.MILLISECONDS.toNanos(option.getRampDownMillis());
+        _warmUpIterations = option.getWarmUpIterations();
+        _carCount = option.getThreadCount();
+    }
+
+    // ===================================================================================
+    //                                                                            Timeline
+    //                                                                            ========
+    public void fixStart(long startNanos) { // called before start latch
+        _startNanos = startNanos;
+    }
+
+    /**
+     * Get the start time of the car in ramp-up, first car starts immediately.
+     * @param entryNumber The entry number of the car. e.g. 1, 2, 3...
+     * @return The nano time (System.nanoTime() base) to start the car.
+     */
+    public long getCarStartNanos(int entryNumber) {
+        return _startNanos + _rampUpNanos * (entryNumber - 1) / _carCount;
+    }
+
+    /**
+     * Get the stop time of the car in ramp-down, first car stops at the end of steady state.
+     * @param entryNumber The entry number of the car. e.g. 1, 2, 3...
+     * @return The nano time (System.nanoTime() base) to stop the car, drive() is not called after it.
+     */
+    public long getCarStopNanos(int entryNumber) {
+        return getSteadyEndNanos() + _rampDownNanos * (entryNumber - 1) / _carCount;
+    }
+
+    public long getSteadyBeginNanos() {
+        return _startNanos + _rampUpNanos;
+    }
+
+    public long getSteadyEndNanos() {
+        return getSteadyBeginNanos() + _steadyStateNanos;
+    }
+
+    /**
+     * Is the drive measured? (started in steady state after warm-up iterations)
+     * @param lapNumber The lap number of the car. e.g. 1, 2, 3...
+     * @param driveBefore The nano time when the drive started.
+     * @return The determination, true or false.
+     */
+    public boolean isMeasuredDrive(int lapNumber, long driveBefore) {
+        return lapNumber > _warmUpIterations && driveBefore - getSteadyBeginNanos() >= 0 && driveBefore - getSteadyEndNanos() < 0;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "loadPlan:{rampUp=" + TimeUnit.NANOSECONDS.toMillis(_rampUpNanos) + "ms, steadyState="
+                + TimeUnit.NANOSECONDS.toMillis(_steadyStateNanos) + "ms, rampDown=" + TimeUnit.NANOSECONDS.toMillis(_rampDownNanos)
+                + "ms, warmUp=" + _warmUpIterations + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getSteadyStateNanos() {
+        return _steadyStateNanos;
+    }
+
+    public int getWarmUpIterations() {
+        return _warmUpIterations;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+/**
+ * The measurement of cannon-ball race, latency of each drive() and throughput in the race. <br>
+ * It is per repeat or overall (merged all repeats).
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballMeasurement {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _title; // not null, e.g. repeat1, overall
+    protected final CannonballHistogram _latencyHistogram; // not null, nanoseconds of drive()
+    protected final long _elapsedNanos; // wall time of the race, from start to goal
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param title The title of measurement e.g. repeat1, overall. (NotNull)
+     * @param latencyHistogram The histogram of latency nanoseconds, not recorded after here. (NotNull)
+     * @param elapsedNanos The wall time nanoseconds of the race.
+     */
+    public CannonballMeasurement(String title, CannonballHistogram latencyHistogram, long elapsedNanos) {
+        _title = title;
+        _latencyHistogram = latencyHistogram;
+        _elapsedNanos = elapsedNanos;
+    }
+
+    // ===================================================================================
+    //                                                                          Throughput
+    //                                                                          ==========
+    /**
+     * Get the count of drive() calls per second in the wall time of the race.
+     * @return The operations per second. (zero if no elapsed time)
+     */
+    public double getOpsPerSecond() {
+        return _elapsedNanos > 0 ? getOperationCount() * 1000_000_000.0 / _elapsedNanos : 0.0;
+    }
+
+    public long getOperationCount() {
+        return _latencyHistogram.getTotalCount();
+    }
+
+    // ===================================================================================
+    //                                                                             Latency
+    //                                                                             =======
+    public long getP50Nanos() {
+        return _latencyHistogram.getValueAtPercentile(50.0);
+    }
+
+    public long getP90Nanos() {
+        return _latencyHistogram.getValueAtPercentile(90.0);
+    }
+
+    public long getP99Nanos() {
+        return _latencyHistogram.getValueAtPercentile(99.0);
+    }
+
+    public long getP999Nanos() {
+        return _latencyHistogram.getValueAtPercentile(99.9);
+    }
+
+    public long getMaxNanos() {
+        return _latencyHistogram.getMaxValue();
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    public String toDisplayString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(_title).append(": count=").append(getOperationCount());
+        sb.append(", ops/sec=").append(String.format("%.1f", getOpsPerSecond()));
+        sb.append(", p50=").append(formatMillis(getP50Nanos()));
+        sb.append(", p90=").append(formatMillis(getP90Nanos()));
+        sb.append(", p99=").append(formatMillis(getP99Nanos()));
+        sb.append(", p99.9=").append(formatMillis(getP999Nanos()));
+        sb.append(", max=").append(formatMillis(getMaxNanos()));
+        sb.append(" (elapsed=").append(formatMillis(_elapsedNanos)).append(")");
+        return sb.toString();
+    }
+
+    protected String formatMillis(long nanos) {
+        return String.format("%.3fms", nanos / 1000_000.0);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "measurement:{" + toDisplayString() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTitle() {
+        return _title;
+    }
+
+    public CannonballHistogram getLatencyHistogram() {
+        return _latencyHistogram;
+    }
+
+    public long getElapsedNanos() {
+        return _elapsedNanos;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.dbflute.utflute.core.cannonball;
 
+import java.util.concurrent.ExecutorService;
+
 /**
  * The option of cannon-ball.
  * <pre>
@@ -34,6 +36,8 @@ public class CannonballOption {
     //                                                                          ==========
     public static final int DEFAULT_THREAD_COUNT = 10;
     public static final int DEFAULT_REPEAT_COUNT = 1;
+    public static final int DEFAULT_MAX_BACKLOG = 1000;
+    public static final long DEFAULT_EXPLORED_FIRST_SEED = 1L;
 
     // ===================================================================================
     //                                                                           Attribute
@@ -43,6 +47,22 @@ public class CannonballOption {
     protected boolean _expectedSameResult;
     protected boolean _commitTransaction;
     protected boolean _suppressTransaction;
+    protected boolean _virtualThreads;
+    protected boolean _measure;
+    protected boolean _profileContention;
+    protected boolean _trackConnection;
+    protected long _watchdogHangLimitMillis; // watchdog if positive
+    protected long _rampUpMillis;
+    protected long _steadyStateMillis; // load mode if positive
+    protected long _rampDownMillis;
+    protected int _warmUpIterations;
+    protected int _arrivalRate; // open model if positive, per second
+    protected long _arrivalDurationMillis;
+    protected int _maxBacklog = DEFAULT_MAX_BACKLOG;
+    protected int _exploredSeedCount; // exploration mode if positive
+    protected long _exploredFirstSeed = DEFAULT_EXPLORED_FIRST_SEED;
+    protected int _explorationParallelism = 1;
+    protected ExecutorService _borrowedExecutorService;
     protected String _expectedExceptionMessageAny;
     protected Class<? extends Throwable> _expectedExceptionTypeAny;
     protected CannonballFinalizer _finalizer;
@@ -88,6 +108,266 @@ public class CannonballOption {
         return this;
     }
 
+    /**
+     * Run the cars on virtual threads. (default: platform threads) <br>
+     * You can fire thousands of cars, and transaction and access context are prepared per car as platform threads. <br>
+     * It needs JDK21 or later, and cars pinned on monitors are reported by JFR after the race.
+     * <pre>
+     * cannonball(new CannonballRun() {
+     *     public void drive(CannonballCar car) {
+     *         ...
+     *     }
+     * }, new CannonballOption().threadCount(3000).virtualThreads());
+     * </pre>
+     * @return this. (NotNull)
+     */
+    public CannonballOption virtualThreads() {
+        _virtualThreads = true;
+        return this;
+    }
+
+    /**
+     * Measure the latency of each drive() and throughput of the race. (default: no measure) <br>
+     * The percentiles (p50, p90, p99, p99.9, max) and ops/sec are logged per repeat and overall,
+     * and also returned as the result of cannon-ball.
+     * <pre>
+     * CannonballResult result = cannonballMeasured(new CannonballRun() {
+     *     public void drive(CannonballCar car) {
+     *         ...
+     *     }
+     * }, new CannonballOption().threadCount(50).measure());
+     * CannonballMeasurement overall = result.getOverallMeasurement();
+     * assertTrue(overall.getP99Nanos() &lt; 50_000_000L); // 50ms
+     * </pre>
+     * @return this. (NotNull)
+     */
+    public CannonballOption measure() {
+        _measure = true;
+        return this;
+    }
+
+    /**
+     * Profile lock contention and blocking per car by ThreadMXBean. (default: no profile) <br>
+     * Blocked (monitors) and waited (e.g. park, wait) counts and times, CPU and wall time are logged per repeat
+     * as table ranked by blocked time, with the top lock owners sampled while the race. <br>
+     * It is for platform threads in closed model (ignored for virtual threads and arrival rate).
+     * <pre>
+     * CannonballResult result = cannonballMeasured(new CannonballRun() {
+     *     public void drive(CannonballCar car) {
+     *         ...
+     *     }
+     * }, new CannonballOption().threadCount(20).profileContention());
+     * CannonballContentionReport report = result.getContentionReportList().get(0);
+     * assertTrue(report.getTotalBlockedMillis() &lt; 1000L);
+     * </pre>
+     * @return this. (NotNull)
+     */
+    public CannonballOption profileContention() {
+        _profileContention = true;
+        return this;
+    }
+
+    /**
+     * Track connections per car by the data source wrapper installed in the test case. (default: no tracking) <br>
+     * Checkout (waiting in getConnection()), hold (until close()) and concurrently open connections are logged per repeat
+     * as table ranked by checkout time, with the bottleneck, pool size (waiting for connections) or SQL (holding them). <br>
+     * Only connections from getDataSource() of test case are tracked, and it is for closed model (ignored for arrival rate).
+     * <pre>
+     * CannonballResult result = cannonballMeasured(new CannonballRun() {
+     *     public void drive(CannonballCar car) {
+     *         ...
+     *     }
+     * }, new CannonballOption().threadCount(20).trackConnection());
+     * CannonballConnectionReport report = result.getConnectionReportList().get(0);
+     * assertFalse(report.isPoolBound());
+     * </pre>
+     * @return this. (NotNull)
+     */
+    public CannonballOption trackConnection() {
+        _trackConnection = true;
+        return this;
+    }
+
+    /**
+     * Watch the cars by watchdog, which finds deadlock (monitors, ownable synchronizers) and hang. (default: no watchdog) <br>
+     * A car is hang if its point (state, stack and CPU time) is not changed past the limit e.g. waiting for DB lock. <br>
+     * Then stacks of all cars are dumped with entry numbers, the cars are interrupted, and the race fails with the dump.
+     * <pre>
+     * cannonball(new CannonballRun() {
+     *     public void drive(CannonballCar car) {
+     *         ... // may be deadlock
+     *     }
+     * }, new CannonballOption().threadCount(5).watchdog(30000)); // fails if no progress for 30 seconds
+     * </pre>
+     * @param hangLimitMillis The milliseconds to decide hang of car. (NotZero, NotMinus: should be longer than your slowest step)
+     * @return this. (NotNull)
+     */
+    public CannonballOption watchdog(long hangLimitMillis) {
+        if (hangLimitMillis <= 0) {
+            String msg = "The hang limit should be positive: " + hangLimitMillis;
+            throw new IllegalArgumentException(msg);
+        }
+        _watchdogHangLimitMillis = hangLimitMillis;
+        return this;
+    }
+
+    /**
+     * Run the cars in load mode, instead of once per car. (default: once) <br>
+     * Cars start one by one in ramp-up time, loop drive() continuously until the end of steady state,
+     * and stop one by one in ramp-down time. restart() and projectA() are still available in the loop. <br>
+     * If measure() option, only drives started in steady state (after warm-up iterations) are measured.
+     * <pre>
+     * cannonball(new CannonballRun() {
+     *     public void drive(CannonballCar car) {
+     *         ... // called many times until the deadline
+     *     }
+     * }, new CannonballOption().threadCount(50).loadMode(3000, 10000, 1000).warmUpIterations(10).measure());
+     * </pre>
+     * @param rampUpMillis The milliseconds to start all cars. (NotMinus: zero means all cars start at the same time)
+     * @param steadyStateMillis The milliseconds of steady state that all cars drive. (NotZero, NotMinus)
+     * @param rampDownMillis The milliseconds to stop all cars. (NotMinus: zero means all cars stop at the same time)
+     * @return this. (NotNull)
+     * @throws IllegalStateException When the arrival rate (open model) has been already set.
+     */
+    public CannonballOption loadMode(long rampUpMillis, long steadyStateMillis, long rampDownMillis) {
+        if (rampUpMillis < 0 || steadyStateMillis <= 0 || rampDownMillis < 0) {
+            String msg = "The load mode times should be positive (ramp-up and ramp-down are allowed zero): rampUp=" + rampUpMillis
+                    + ", steadyState=" + steadyStateMillis + ", rampDown=" + rampDownMillis;
+            throw new IllegalArgumentException(msg);
+        }
+        if (isArrivalMode()) { // cars loop in closed model, but arrive once in open model
+            String msg = "The load mode cannot be used with arrival rate (open model): arrivalRate=" + _arrivalRate;
+            throw new IllegalStateException(msg);
+        }
+        _rampUpMillis = rampUpMillis;
+        _steadyStateMillis = steadyStateMillis;
+        _rampDownMillis = rampDownMillis;
+        return this;
+    }
+
+    /**
+     * Set the count of warm-up iterations per car in load mode, which are excluded from measurement. (default: 0)
+     * @param warmUpIterations The count of warm-up iterations per car. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public CannonballOption warmUpIterations(int warmUpIterations) {
+        _warmUpIterations = warmUpIterations;
+        return this;
+    }
+
+    /**
+     * Run the cars in open model, arriving at the constant rate regardless of completion. (default: closed model) <br>
+     * Each arrival is a car driving once on the worker pool (thread count) or virtual threads. <br>
+     * Latency is always measured from the intended arrival time (not actual start) to avoid coordinated omission,
+     * and arrivals are dropped if the backlog (arrivals waiting for worker) reaches the max backlog. <br>
+     * Cars do not run together in open model, so restart() does not wait for other cars. (cannot be used with load mode)
+     * <pre>
+     * CannonballResult result = cannonballMeasured(new CannonballRun() {
+     *     public void drive(CannonballCar car) {
+     *         ... // called 500 times per second for 10 seconds
+     *     }
+     * }, new CannonballOption().threadCount(20).arrivalRate(500, 10000).maxBacklog(200));
+     * assertFalse(result.isOverCapacity());
+     * </pre>
+     * @param arrivalsPerSecond The target count of arrivals per second. (NotZero, NotMinus)
+     * @param durationMillis The milliseconds of arrivals. (NotZero, NotMinus)
+     * @return this. (NotNull)
+     * @throws IllegalStateException When the load mode (closed model) has been already set.
+     */
+    public CannonballOption arrivalRate(int arrivalsPerSecond, long durationMillis) {
+        if (arrivalsPerSecond <= 0 || durationMillis <= 0) {
+            String msg = "The arrival rate and duration should be positive: rate=" + arrivalsPerSecond + ", duration=" + durationMillis;
+            throw new IllegalArgumentException(msg);
+        }
+        if (isLoadMode()) { // same reason as load mode
+            String msg = "The arrival rate (open model) cannot be used with load mode: steadyState=" + _steadyStateMillis;
+            throw new IllegalStateException(msg);
+        }
+        _arrivalRate = arrivalsPerSecond;
+        _arrivalDurationMillis = durationMillis;
+        return this;
+    }
+
+    /**
+     * Set the max count of backlog in open model, arrivals over it are dropped. (default: 1000)
+     * @param maxBacklog The max count of arrivals waiting for worker. (NotZero, NotMinus)
+     * @return this. (NotNull)
+     */
+    public CannonballOption maxBacklog(int maxBacklog) {
+        _maxBacklog = maxBacklog;
+        return this;
+    }
+
+    /**
+     * Explore schedules of the cars by the seeds, running them cooperatively. (default: scheduled by OS) <br>
+     * Only one car runs at a time, and restart(), projectA() boundaries and yieldPoint() are scheduling decisions
+     * by random of the seed. The race is run per seed (repeat count is ignored) until the first failing seed,
+     * which is printed to replay the same interleaving by replaySeed(). <br>
+     * Cars should not block outside scheduling points (e.g. waiting for lock held by other car),
+     * and overtime of projectA() is not explored.
+     * <pre>
+     * cannonball(new CannonballRun() {
+     *     public void drive(CannonballCar car) {
+     *         Member member = selectMember();
+     *         car.yieldPoint(); // other car may update the member here
+     *         updateMember(member);
+     *     }
+     * }, new CannonballOption().threadCount(3).exploreSchedule(200)); // seeds: 1 to 200
+     * </pre>
+     * @param seedCount The count of seeds to explore, from the first seed (default: 1). (NotZero, NotMinus)
+     * @return this. (NotNull)
+     */
+    public CannonballOption exploreSchedule(int seedCount) {
+        if (seedCount <= 0) {
+            String msg = "The seed count should be positive: " + seedCount;
+            throw new IllegalArgumentException(msg);
+        }
+        _exploredSeedCount = seedCount;
+        return this;
+    }
+
+    /**
+     * Replay the schedule by the seed, e.g. printed as failing seed in exploration. (exploration mode by only the seed)
+     * <pre>
+     * cannonball(new CannonballRun() {
+     *     ...
+     * }, new CannonballOption().threadCount(3).replaySeed(137)); // same options as the exploration
+     * </pre>
+     * @param seed The seed to replay.
+     * @return this. (NotNull)
+     */
+    public CannonballOption replaySeed(long seed) {
+        _exploredSeedCount = 1;
+        _exploredFirstSeed = seed;
+        return this;
+    }
+
+    /**
+     * Explore the seeds in parallel, each seed is its own race with its own cars. (default: 1, one by one) <br>
+     * The races run at the same time, so the cars should not conflict with cars of other seeds e.g. same records.
+     * @param parallelism The count of seeds explored at the same time. (NotZero, NotMinus)
+     * @return this. (NotNull)
+     */
+    public CannonballOption exploreParallel(int parallelism) {
+        if (parallelism <= 0) {
+            String msg = "The parallelism should be positive: " + parallelism;
+            throw new IllegalArgumentException(msg);
+        }
+        _explorationParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Borrow the executor service for the cars, which is not shut down by cannon-ball. (default: new pool per race) <br>
+     * The service should run threads more than thread count at the same time, because all cars wait for the start.
+     * @param executorService The executor service owned by you. (NotNull)
+     * @return this. (NotNull)
+     */
+    public CannonballOption borrowExecutorService(ExecutorService executorService) {
+        _borrowedExecutorService = executorService;
+        return this;
+    }
+
     /**
      * Expect the goal results of all cars are same. <br>
      * You can set goal result like this:
@@ -199,6 +479,102 @@ public class CannonballOption {
         this._suppressTransaction = suppressTransaction;
     }
 
+    public boolean isVirtualThreads() {
+        return _virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this._virtualThreads = virtualThreads;
+    }
+
+    public boolean isMeasure() {
+        return _measure;
+    }
+
+    public void setMeasure(boolean measure) {
+        this._measure = measure;
+    }
+
+    public boolean isProfileContention() {
+        return _profileContention;
+    }
+
+    public void setProfileContention(boolean profileContention) {
+        this._profileContention = profileContention;
+    }
+
+    public boolean isTrackConnection() {
+        return _trackConnection;
+    }
+
+    public void setTrackConnection(boolean trackConnection) {
+        this._trackConnection = trackConnection;
+    }
+
+    public boolean isWatchdog() {
+        return _watchdogHangLimitMillis > 0;
+    }
+
+    public long getWatchdogHangLimitMillis() {
+        return _watchdogHangLimitMillis;
+    }
+
+    public boolean isLoadMode() {
+        return _steadyStateMillis > 0;
+    }
+
+    public long getRampUpMillis() {
+        return _rampUpMillis;
+    }
+
+    public long getSteadyStateMillis() {
+        return _steadyStateMillis;
+    }
+
+    public long getRampDownMillis() {
+        return _rampDownMillis;
+    }
+
+    public int getWarmUpIterations() {
+        return _warmUpIterations;
+    }
+
+    public boolean isArrivalMode() {
+        return _arrivalRate > 0;
+    }
+
+    public int getArrivalRate() {
+        return _arrivalRate;
+    }
+
+    public long getArrivalDurationMillis() {
+        return _arrivalDurationMillis;
+    }
+
+    public int getMaxBacklog() {
+        return _maxBacklog;
+    }
+
+    public boolean isExplorationMode() {
+        return _exploredSeedCount > 0;
+    }
+
+    public int getExploredSeedCount() {
+        return _exploredSeedCount;
+    }
+
+    public long getExploredFirstSeed() {
+        return _exploredFirstSeed;
+    }
+
+    public int getExplorationParallelism() {
+        return _explorationParallelism;
+    }
+
+    public ExecutorService getBorrowedExecutorService() {
+        return _borrowedExecutorService;
+    }
+
     public String getExpectedExceptionMessageAny() {
         return _expectedExceptionMessageAny;
     }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The recorder of pinned virtual threads (cars) on monitors, by JFR event 'jdk.VirtualThreadPinned'. <br>
+ * JFR is called by reflection because of Java8 compatibility, so it does nothing if JFR is unavailable. <br>
+ * In that case, you can see pinning by the system property '-Djdk.tracePinnedThreads=short' (before JDK 24).
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballPinningRecorder {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String PINNED_EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _carNamePrefix; // not null, to filter events of other threads
+    protected final CannonballLogger _logger; // not null
+    protected Object _recording; // null allowed: before begin, when JFR unavailable
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param carNamePrefix The prefix of thread name for cars, to filter events. (NotNull)
+     * @param logger The logger for cannon-ball. (NotNull)
+     */
+    public CannonballPinningRecorder(String carNamePrefix, CannonballLogger logger) {
+        _carNamePrefix = carNamePrefix;
+        _logger = logger;
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * Begin the recording of pinned events, quietly ignored if JFR is unavailable.
+     */
+    public void begin() {
+        try {
+            final Class<?> recordingType = Class.forName("jdk.jfr.Recording");
+            final Object recording = recordingType.getConstructor().newInstance();
+            final Object settings = recordingType.getMethod("enable", String.class).invoke(recording, PINNED_EVENT_NAME);
+            final Class<?> settingsType = Class.forName("jdk.jfr.EventSettings");
+            settingsType.getMethod("withThreshold", Duration.class).invoke(settings, Duration.ZERO); // default is 20ms
+            recordingType.getMethod("start").invoke(recording);
+            _recording = recording;
+        } catch (ReflectiveOperationException | RuntimeException e) { // e.g. old JDK, JFR disabled
+            _logger.log("*Cannot record pinned cars by JFR (use -Djdk.tracePinnedThreads=short instead): " + e);
+        }
+    }
+
+    /**
+     * End the recording and read pinned events of cars.
+     * @return The list of pinned event expression. (NullAllowed: when JFR unavailable)
+     */
+    public List<String> end() {
+        final Object recording = _recording;
+        if (recording == null) {
+            return null;
+        }
+        _recording = null;
+        Path dumpFile = null;
+        try {
+            final Class<?> recordingType = recording.getClass();
+            recordingType.getMethod("stop").invoke(recording);
+            dumpFile = Files.createTempFile("utflute-cannonball-pinning", ".jfr");
+            recordingType.getMethod("dump", Path.class).invoke(recording, dumpFile);
+            return readPinnedEvent(dumpFile);
+        } catch (ReflectiveOperationException | IOException | RuntimeException e) {
+            _logger.log("*Failed to read pinned cars by JFR: " + extractCause(e));
+            return null;
+        } finally {
+            closeRecordingQuietly(recording);
+            deleteDumpFileQuietly(dumpFile);
+        }
+    }
+
+    protected List<String> readPinnedEvent(Path dumpFile) throws ReflectiveOperationException {
+        final Class<?> fileType = Class.forName("jdk.jfr.consumer.RecordingFile");
+        final Class<?> eventType = Class.forName("jdk.jfr.consumer.RecordedEvent");
+        final Method getEventTypeMethod = eventType.getMethod("getEventType");
+        final Method getThreadMethod = eventType.getMethod("getThread");
+        final Method getNameMethod = Class.forName("jdk.jfr.EventType").getMethod("getName");
+        final Method getJavaNameMethod = Class.forName("jdk.jfr.consumer.RecordedThread").getMethod("getJavaName");
+        final List<?> eventList = (List<?>) fileType.getMethod("readAllEvents", Path.class).invoke(null, dumpFile);
+        final List<String> pinnedList = new ArrayList<String>();
+        for (Object event : eventList) {
+            if (!PINNED_EVENT_NAME.equals(getNameMethod.invoke(getEventTypeMethod.invoke(event)))) {
+                continue;
+            }
+            final Object thread = getThreadMethod.invoke(event);
+            final Object threadName = thread != null ? getJavaNameMethod.invoke(thread) : null;
+            if (threadName == null || !threadName.toString().startsWith(_carNamePrefix)) { // e.g. other tests
+                continue;
+            }
+            pinnedList.add(event.toString()); // contains thread, duration and stack trace
+        }
+        return pinnedList;
+    }
+
+    protected Throwable extractCause(Exception e) {
+        return e instanceof InvocationTargetException ? ((InvocationTargetException) e).getTargetException() : e;
+    }
+
+    protected void closeRecordingQuietly(Object recording) {
+        try {
+            recording.getClass().getMethod("close").invoke(recording);
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+        }
+    }
+
+    protected void deleteDumpFileQuietly(Path dumpFile) {
+        if (dumpFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(dumpFile);
+        } catch (IOException ignored) {
+        }
+    }
+}
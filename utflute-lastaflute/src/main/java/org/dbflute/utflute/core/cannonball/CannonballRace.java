@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+/**
+ * The context of one race (repeat) shared by all cars, which has the garage and the collaborators of the race. <br>
+ * The collaborators are registered by the director before cars are created, and they are null if not used by option.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballRace {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final CannonballGarage _garage; // not null
+    protected final CannonballExplorer _explorer; // null allowed: when not exploring schedule
+    protected CannonballHistogram _repeatHistogram; // null allowed: when not measured, merged from cars
+    protected CannonballLoadPlan _loadPlan; // null allowed: when not load mode
+    protected CannonballContentionProfiler _contentionProfiler; // null allowed: when not profiling contention
+    protected CannonballWatchdog _watchdog; // null allowed: when no watchdog
+    protected CannonballTrackingDataSource _trackingDataSource; // null allowed: when not tracking connection
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param garage The garage of cars for the race. (NotNull)
+     * @param explorer The explorer of schedule for cooperative cars. (NullAllowed: when not exploring schedule)
+     */
+    public CannonballRace(CannonballGarage garage, CannonballExplorer explorer) {
+        _garage = garage;
+        _explorer = explorer;
+    }
+
+    // ===================================================================================
+    //                                                                        Collaborator
+    //                                                                        ============
+    public CannonballRace repeatHistogram(CannonballHistogram repeatHistogram) {
+        _repeatHistogram = repeatHistogram;
+        return this;
+    }
+
+    public CannonballRace loadPlan(CannonballLoadPlan loadPlan) {
+        _loadPlan = loadPlan;
+        return this;
+    }
+
+    public CannonballRace contentionProfiler(CannonballContentionProfiler contentionProfiler) {
+        _contentionProfiler = contentionProfiler;
+        return this;
+    }
+
+    public CannonballRace watchdog(CannonballWatchdog watchdog) {
+        _watchdog = watchdog;
+        return this;
+    }
+
+    public CannonballRace trackingDataSource(CannonballTrackingDataSource trackingDataSource) {
+        _trackingDataSource = trackingDataSource;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "race:{" + _garage + ", explorer=" + (_explorer != null) + ", measured=" + (_repeatHistogram != null) + ", load="
+                + (_loadPlan != null) + ", contention=" + (_contentionProfiler != null) + ", watchdog=" + (_watchdog != null)
+                + ", tracking=" + (_trackingDataSource != null) + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public CannonballGarage getGarage() {
+        return _garage;
+    }
+
+    public CannonballExplorer getExplorer() {
+        return _explorer;
+    }
+
+    public CannonballHistogram getRepeatHistogram() {
+        return _repeatHistogram;
+    }
+
+    public CannonballLoadPlan getLoadPlan() {
+        return _loadPlan;
+    }
+
+    public CannonballContentionProfiler getContentionProfiler() {
+        return _contentionProfiler;
+    }
+
+    public CannonballWatchdog getWatchdog() {
+        return _watchdog;
+    }
+
+    public CannonballTrackingDataSource getTrackingDataSource() {
+        return _trackingDataSource;
+    }
+}
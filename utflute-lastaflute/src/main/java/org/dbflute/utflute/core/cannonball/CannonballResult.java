@@ -0,0 +1,189 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of cannon-ball, which has measurements if measure() option. <br>
+ * You can assert the numbers of contention like this:
+ * <pre>
+ * CannonballResult result = cannonballMeasured(new CannonballRun() {
+ *     public void drive(CannonballCar car) {
+ *         ...
+ *     }
+ * }, new CannonballOption().threadCount(50).measure());
+ * assertTrue(result.getOverallMeasurement().getP99Nanos() &lt; 50_000_000L); // 50ms
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballResult {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<CannonballMeasurement> _repeatMeasurementList = new ArrayList<CannonballMeasurement>();
+    protected CannonballMeasurement _overallMeasurement; // null allowed: when not measured
+    protected final List<CannonballArrivalReport> _arrivalReportList = new ArrayList<CannonballArrivalReport>();
+    protected final List<CannonballContentionReport> _contentionReportList = new ArrayList<CannonballContentionReport>();
+    protected final List<CannonballConnectionReport> _connectionReportList = new ArrayList<CannonballConnectionReport>();
+    protected final List<Long> _exploredSeedList = new ArrayList<Long>(); // should be used in synchronized scope
+    protected Long _failedSeed; // null allowed: when not exploration or no failure
+
+    // ===================================================================================
+    //                                                                         Measurement
+    //                                                                         ===========
+    public void addRepeatMeasurement(CannonballMeasurement measurement) { // internal
+        _repeatMeasurementList.add(measurement);
+    }
+
+    /**
+     * Measure the overall by merging measurements of all repeats. (internal)
+     * @return The overall measurement. (NullAllowed: when not measured)
+     */
+    public CannonballMeasurement measureOverall() {
+        if (_repeatMeasurementList.isEmpty()) {
+            return null;
+        }
+        final CannonballHistogram overallHistogram = new CannonballHistogram();
+        long elapsedNanos = 0L;
+        for (CannonballMeasurement measurement : _repeatMeasurementList) {
+            overallHistogram.merge(measurement.getLatencyHistogram());
+            elapsedNanos += measurement.getElapsedNanos(); // sum of race times, excluding intervals
+        }
+        _overallMeasurement = new CannonballMeasurement("overall", overallHistogram, elapsedNanos);
+        return _overallMeasurement;
+    }
+
+    public boolean isMeasured() {
+        return _overallMeasurement != null;
+    }
+
+    // ===================================================================================
+    //                                                                             Arrival
+    //                                                                             =======
+    public void addArrivalReport(CannonballArrivalReport arrivalReport) { // internal
+        _arrivalReportList.add(arrivalReport);
+    }
+
+    /**
+     * Is any repeat over capacity in open-model race? (some arrivals were dropped)
+     * @return The determination, true or false.
+     */
+    public boolean isOverCapacity() {
+        for (CannonballArrivalReport arrivalReport : _arrivalReportList) {
+            if (arrivalReport.isOverCapacity()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===================================================================================
+    //                                                                          Contention
+    //                                                                          ==========
+    public synchronized void addContentionReport(CannonballContentionReport contentionReport) { // internal
+        _contentionReportList.add(contentionReport);
+    }
+
+    // ===================================================================================
+    //                                                                          Connection
+    //                                                                          ==========
+    public synchronized void addConnectionReport(CannonballConnectionReport connectionReport) { // internal
+        _connectionReportList.add(connectionReport);
+    }
+
+    // ===================================================================================
+    //                                                                         Exploration
+    //                                                                         ===========
+    public synchronized void addExploredSeed(long seed) { // internal, from explorer threads if parallel
+        _exploredSeedList.add(seed);
+    }
+
+    public synchronized void markFailedSeed(long seed) { // internal
+        _failedSeed = seed;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "cannonballResult:{repeats=" + _repeatMeasurementList.size() + ", overall=" + _overallMeasurement + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * Get the list of measurement per repeat.
+     * @return The read-only list of measurement. (NotNull, EmptyAllowed: when not measured)
+     */
+    public List<CannonballMeasurement> getRepeatMeasurementList() {
+        return Collections.unmodifiableList(_repeatMeasurementList);
+    }
+
+    /**
+     * Get the overall measurement merged from all repeats.
+     * @return The overall measurement. (NullAllowed: when not measured)
+     */
+    public CannonballMeasurement getOverallMeasurement() {
+        return _overallMeasurement;
+    }
+
+    /**
+     * Get the list of arrival report per repeat in open-model race.
+     * @return The read-only list of arrival report. (NotNull, EmptyAllowed: when not arrival rate)
+     */
+    public List<CannonballArrivalReport> getArrivalReportList() {
+        return Collections.unmodifiableList(_arrivalReportList);
+    }
+
+    /**
+     * Get the list of contention report per repeat, ranked by blocked time in each report.
+     * @return The snapshot list of contention report. (NotNull, EmptyAllowed: when not profiled)
+     */
+    public synchronized List<CannonballContentionReport> getContentionReportList() {
+        return Collections.unmodifiableList(new ArrayList<CannonballContentionReport>(_contentionReportList));
+    }
+
+    /**
+     * Get the list of connection report per repeat, ranked by checkout time in each report.
+     * @return The snapshot list of connection report. (NotNull, EmptyAllowed: when not tracked)
+     */
+    public synchronized List<CannonballConnectionReport> getConnectionReportList() {
+        return Collections.unmodifiableList(new ArrayList<CannonballConnectionReport>(_connectionReportList));
+    }
+
+    /**
+     * Get the list of explored seeds in exploration mode, in finished order.
+     * @return The snapshot list of seeds. (NotNull, EmptyAllowed: when not exploration mode)
+     */
+    public synchronized List<Long> getExploredSeedList() {
+        return Collections.unmodifiableList(new ArrayList<Long>(_exploredSeedList));
+    }
+
+    /**
+     * Get the first failing seed in exploration mode, which you can replay by replaySeed().
+     * @return The seed of failure. (NullAllowed: when not exploration mode or no failure)
+     */
+    public synchronized Long getFailedSeed() {
+        return _failedSeed;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.dbflute.utflute.core.cannonball;
 
+import javax.sql.DataSource;
+
 import org.dbflute.utflute.core.transaction.TransactionResource;
 
 /**
@@ -31,6 +33,21 @@ public interface CannonballStaff {
 
     void help_clearAccessContext();
 
+    /**
+     * Get the (main) data source of test case, to be wrapped for connection tracking.
+     * @return The data source. (NullAllowed: when data source unsupported)
+     */
+    default DataSource help_getDataSource() {
+        return null;
+    }
+
+    /**
+     * Switch the data source of test case e.g. to the tracking wrapper, and restore the original after the race.
+     * @param dataSource The data source to be used by the test case. (NotNull)
+     */
+    default void help_switchDataSource(DataSource dataSource) {
+    }
+
     void help_assertEquals(Object expected, Object actual);
 
     void help_fail(String msg);
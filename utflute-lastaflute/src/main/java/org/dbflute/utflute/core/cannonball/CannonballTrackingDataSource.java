@@ -0,0 +1,287 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * The data source wrapper to track connections per car for one repeat of the race. <br>
+ * It is installed in place of the data source of test case while the race, records checkout time (getConnection()),
+ * hold time (until close()) and concurrently open connections per car, and the high-water mark of all cars. <br>
+ * Connections from other threads (not cars) are not tracked, returned as they are.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballTrackingDataSource implements DataSource {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final DataSource _originalDataSource; // not null
+    protected final Map<Thread, CarTracking> _carTrackingMap = new ConcurrentHashMap<Thread, CarTracking>(); // driving cars
+    protected final List<CannonballCarConnection> _carConnectionList = Collections.synchronizedList(new ArrayList<CannonballCarConnection>());
+    protected final AtomicInteger _openCount = new AtomicInteger();
+    protected final AtomicInteger _peakOpenCount = new AtomicInteger();
+
+    protected static class CarTracking { // synchronized because connections may be closed by other threads
+
+        protected final int _entryNumber;
+        protected int _connectionCount;
+        protected int _failedCount;
+        protected long _checkoutNanos;
+        protected long _maxCheckoutNanos;
+        protected long _holdNanos;
+        protected long _maxHoldNanos;
+        protected int _openCount;
+        protected int _peakOpenCount;
+
+        public CarTracking(int entryNumber) {
+            _entryNumber = entryNumber;
+        }
+
+        public synchronized void checkout(long checkoutNanos, boolean succeeded) {
+            _checkoutNanos += checkoutNanos;
+            _maxCheckoutNanos = Math.max(_maxCheckoutNanos, checkoutNanos);
+            if (succeeded) {
+                ++_connectionCount;
+                ++_openCount;
+                _peakOpenCount = Math.max(_peakOpenCount, _openCount);
+            } else {
+                ++_failedCount;
+            }
+        }
+
+        public synchronized void close(long holdNanos) {
+            _holdNanos += holdNanos;
+            _maxHoldNanos = Math.max(_maxHoldNanos, holdNanos);
+            --_openCount;
+        }
+
+        public synchronized CannonballCarConnection toCarConnection(String threadName) {
+            return new CannonballCarConnection(_entryNumber, threadName, _connectionCount, _failedCount, _checkoutNanos, _maxCheckoutNanos,
+                    _holdNanos, _maxHoldNanos, _peakOpenCount, _openCount);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param originalDataSource The original data source of test case e.g. pooled data source. (NotNull)
+     */
+    public CannonballTrackingDataSource(DataSource originalDataSource) {
+        if (originalDataSource == null) {
+            String msg = "The argument 'originalDataSource' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _originalDataSource = originalDataSource;
+    }
+
+    // ===================================================================================
+    //                                                                                 Car
+    //                                                                                 ===
+    /**
+     * Begin the tracking of the car, connections from the current thread belong to the car. (called by the car thread)
+     * @param entryNumber The entry number of the car. e.g. 1, 2, 3...
+     */
+    public void beginCar(int entryNumber) {
+        _carTrackingMap.put(Thread.currentThread(), new CarTracking(entryNumber));
+    }
+
+    /**
+     * End the tracking of the car, which is ranked in the report. (called by the car thread)
+     */
+    public void endCar() {
+        final Thread currentThread = Thread.currentThread();
+        final CarTracking tracking = _carTrackingMap.remove(currentThread);
+        if (tracking == null) { // not begun
+            return;
+        }
+        _carConnectionList.add(tracking.toCarConnection(currentThread.getName()));
+    }
+
+    // ===================================================================================
+    //                                                                          Connection
+    //                                                                          ==========
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackConnection(new ConnectionCall() {
+            public Connection call() throws SQLException {
+                return _originalDataSource.getConnection();
+            }
+        });
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return trackConnection(new ConnectionCall() {
+            public Connection call() throws SQLException {
+                return _originalDataSource.getConnection(username, password);
+            }
+        });
+    }
+
+    protected static interface ConnectionCall {
+
+        Connection call() throws SQLException;
+    }
+
+    protected Connection trackConnection(ConnectionCall connectionCall) throws SQLException {
+        final CarTracking tracking = _carTrackingMap.get(Thread.currentThread());
+        if (tracking == null) { // not car
+            return connectionCall.call();
+        }
+        final long before = System.nanoTime();
+        final Connection connection;
+        try {
+            connection = connectionCall.call(); // may wait for pooled connection here
+        } catch (SQLException | RuntimeException e) { // e.g. pool timeout
+            tracking.checkout(System.nanoTime() - before, false);
+            throw e;
+        }
+        final long checkedOut = System.nanoTime();
+        tracking.checkout(checkedOut - before, true);
+        final int openCount = _openCount.incrementAndGet();
+        int peak;
+        while ((peak = _peakOpenCount.get()) < openCount && !_peakOpenCount.compareAndSet(peak, openCount)) {
+            // retry until the high-water mark is updated by this or larger count
+        }
+        return wrapConnection(connection, tracking, checkedOut);
+    }
+
+    protected Connection wrapConnection(final Connection connection, final CarTracking tracking, final long checkedOut) {
+        final InvocationHandler handler = new InvocationHandler() {
+            private boolean _closed; // guarded by this handler
+
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("close".equals(method.getName()) && method.getParameterTypes().length == 0) {
+                    markClosed();
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            private synchronized void markClosed() {
+                if (_closed) { // close() may be called twice
+                    return;
+                }
+                _closed = true;
+                tracking.close(System.nanoTime() - checkedOut);
+                _openCount.decrementAndGet();
+            }
+        };
+        final ClassLoader loader = Connection.class.getClassLoader();
+        return (Connection) Proxy.newProxyInstance(loader != null ? loader : getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                handler);
+    }
+
+    // ===================================================================================
+    //                                                                                 End
+    //                                                                                 ===
+    /**
+     * End the tracking after all cars are finished, and build the report.
+     * @param title The title of the report e.g. repeat1. (NotNull)
+     * @return The report ranked by checkout time. (NotNull)
+     */
+    public CannonballConnectionReport end(String title) {
+        final List<CannonballCarConnection> rankedList;
+        synchronized (_carConnectionList) {
+            rankedList = new ArrayList<CannonballCarConnection>(_carConnectionList);
+        }
+        Collections.sort(rankedList, new Comparator<CannonballCarConnection>() {
+            public int compare(CannonballCarConnection o1, CannonballCarConnection o2) {
+                return Long.compare(o2.getCheckoutNanos(), o1.getCheckoutNanos()); // descending
+            }
+        });
+        return new CannonballConnectionReport(title, rankedList, _peakOpenCount.get());
+    }
+
+    // ===================================================================================
+    //                                                                            Delegate
+    //                                                                            ========
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return _originalDataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        _originalDataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        _originalDataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return _originalDataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return _originalDataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return _originalDataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || _originalDataSource.isWrapperFor(iface);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "trackingDataSource:{open=" + _openCount.get() + ", peak=" + _peakOpenCount.get() + ", " + _originalDataSource + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public DataSource getOriginalDataSource() {
+        return _originalDataSource;
+    }
+}
@@ -16,8 +16,11 @@
 package org.dbflute.utflute.core.cannonball;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * The latch that can vary its count by buffer (e.g. overtime car comes back). <br>
+ * The count is updated by CAS without lock, and waiting cars are released by one gate.
  * @author jflute
  * @since 0.4.2 (2014/03/30 Sunday)
  */
@@ -27,15 +30,18 @@ public class CannonballVaryingLatch {
     //                                                                           Attribute
     //                                                                           =========
     protected final int _initialCount;
-    protected final CountDownLatch _latch;
-    protected int _bufferCount;
+    protected final AtomicInteger _count; // remaining arrivals including buffer count
+    protected final CountDownLatch _gate = new CountDownLatch(1); // opened when the count becomes zero
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public CannonballVaryingLatch(int initialCount) {
         _initialCount = initialCount;
-        _latch = new CountDownLatch(initialCount);
+        _count = new AtomicInteger(initialCount);
+        if (initialCount <= 0) { // e.g. all cars broke away
+            _gate.countDown();
+        }
     }
 
     // ===================================================================================
@@ -43,37 +49,76 @@ public class CannonballVaryingLatch {
     //                                                                      ==============
     public void await() {
         try {
-            _latch.await();
+            _gate.await();
         } catch (InterruptedException e) {
-            String msg = "Failed to await by your latch: latch=" + _latch;
+            String msg = "Failed to await by your latch: latch=" + this;
             throw new CannonballRetireException(msg, e);
         }
     }
 
     public void countDown() {
-        if (countDownBufferCount()) {
-            return;
+        if (arrive() == 0) {
+            openGate();
+        }
+    }
+
+    /**
+     * Arrive at the latch, counting down atomically. <br>
+     * The last car should open the gate by openGate() after e.g. destroying the latch for next generation.
+     * @return The remaining count after the arrival, zero if last, or minus one if already released.
+     */
+    public int arrive() {
+        while (true) {
+            final int current = _count.get();
+            if (current <= 0) {
+                return -1;
+            }
+            if (_count.compareAndSet(current, current - 1)) {
+                return current - 1;
+            }
         }
-        _latch.countDown();
     }
 
-    public synchronized long getCount() {
-        return _latch.getCount() + _bufferCount;
+    /**
+     * Open the gate to release waiting cars, called by the last car after arrival.
+     */
+    public void openGate() {
+        _gate.countDown();
+    }
+
+    /**
+     * Release all waiting cars regardless of the count.
+     * @return The count before the release. (zero if already released)
+     */
+    public int releaseAll() {
+        final int before = _count.getAndSet(0);
+        if (before > 0) {
+            _gate.countDown();
+        }
+        return Math.max(before, 0);
+    }
+
+    public long getCount() {
+        return Math.max(_count.get(), 0);
     }
 
     // ===================================================================================
     //                                                                        Buffer Count
     //                                                                        ============
-    public synchronized void incrementBufferCount() {
-        ++_bufferCount;
-    }
-
-    protected synchronized boolean countDownBufferCount() {
-        if (_bufferCount > 0) {
-            --_bufferCount;
-            return true;
+    /**
+     * Increment the count as buffer if not released yet (released latch cannot be closed again).
+     * @return true if incremented.
+     */
+    public boolean incrementBufferCount() {
+        while (true) {
+            final int current = _count.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (_count.compareAndSet(current, current + 1)) {
+                return true;
+            }
         }
-        return false;
     }
 
     // ===================================================================================
@@ -87,6 +132,14 @@ public class CannonballVaryingLatch {
         return getCount() == 1;
     }
 
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "varyingLatch:{initial=" + _initialCount + ", count=" + getCount() + "}";
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
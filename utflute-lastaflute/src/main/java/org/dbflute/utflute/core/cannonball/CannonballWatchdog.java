@@ -0,0 +1,279 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The watchdog of cars for one repeat of the race, which finds deadlock and hang (no progress). <br>
+ * It polls ThreadMXBean.findDeadlockedThreads() and the point of each car (state, stack and CPU time),
+ * and if a car is deadlocked or its point is not changed past the limit, it barks: dumps annotated stacks of all cars
+ * (with entry numbers) and interrupts the cars. Then the director fails the race with the dump.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballWatchdog {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final ThreadMXBean _threadBean = ManagementFactory.getThreadMXBean();
+    protected final long _hangLimitNanos;
+    protected final Map<Integer, CarTrack> _carTrackMap = new TreeMap<Integer, CarTrack>(); // should be used in synchronized scope
+    protected ScheduledFuture<?> _pollingFuture; // null allowed: before begin
+    protected volatile String _barkingDump; // null allowed: until barking
+
+    protected static class CarTrack {
+
+        protected final Thread _thread; // not null
+        protected int _pointHash; // of state and stack
+        protected long _cpuNanos; // minus one if unsupported
+        protected long _lastProgressNanos; // when the point is changed
+
+        public CarTrack(Thread thread, long nowNanos) {
+            _thread = thread;
+            _cpuNanos = -1L;
+            _lastProgressNanos = nowNanos;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param hangLimitMillis The milliseconds to decide hang of car, no progress (no change of point) past it. (NotZero, NotMinus)
+     */
+    public CannonballWatchdog(long hangLimitMillis) {
+        _hangLimitNanos = TimeUnit.MILLISECONDS.toNanos(hangLimitMillis);
+    }
+
+    // ===================================================================================
+    //                                                                               Begin
+    //                                                                               =====
+    /**
+     * Begin watching the cars by polling.
+     * @param pollingService The scheduled service to poll e.g. watcher service of garage. (NotNull)
+     */
+    public void begin(ScheduledExecutorService pollingService) {
+        final long intervalNanos = getPollingIntervalNanos();
+        _pollingFuture = pollingService.scheduleWithFixedDelay(new Runnable() {
+            public void run() { // watcher thread here
+                poll();
+            }
+        }, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    protected long getPollingIntervalNanos() {
+        return Math.max(TimeUnit.MILLISECONDS.toNanos(10L), Math.min(_hangLimitNanos / 10L, TimeUnit.SECONDS.toNanos(1L)));
+    }
+
+    // ===================================================================================
+    //                                                                                 Car
+    //                                                                                 ===
+    /**
+     * Register the current thread as the car. (called by the car thread)
+     * @param entryNumber The entry number of the car. e.g. 1, 2, 3...
+     */
+    public synchronized void registerCar(int entryNumber) {
+        _carTrackMap.put(entryNumber, new CarTrack(Thread.currentThread(), System.nanoTime()));
+    }
+
+    /**
+     * Unregister the car when it is finished, which is not watched after here.
+     * @param entryNumber The entry number of the car. e.g. 1, 2, 3...
+     */
+    public synchronized void unregisterCar(int entryNumber) {
+        _carTrackMap.remove(entryNumber);
+    }
+
+    // ===================================================================================
+    //                                                                             Polling
+    //                                                                             =======
+    protected synchronized void poll() {
+        if (_barkingDump != null || _carTrackMap.isEmpty()) {
+            return;
+        }
+        final Set<Long> deadlockedIdSet = findDeadlockedThreadIdSet();
+        final long nowNanos = System.nanoTime();
+        final List<Integer> deadlockedList = new ArrayList<Integer>();
+        final List<Integer> hangList = new ArrayList<Integer>();
+        for (Map.Entry<Integer, CarTrack> entry : _carTrackMap.entrySet()) {
+            final CarTrack track = entry.getValue();
+            final long threadId = track._thread.getId();
+            if (deadlockedIdSet.contains(threadId)) {
+                deadlockedList.add(entry.getKey());
+            }
+            final int pointHash = buildPointHash(track._thread);
+            final long cpuNanos = getThreadCpuNanos(threadId);
+            if (pointHash != track._pointHash || cpuNanos != track._cpuNanos) { // progress
+                track._pointHash = pointHash;
+                track._cpuNanos = cpuNanos;
+                track._lastProgressNanos = nowNanos;
+            } else if (nowNanos - track._lastProgressNanos > _hangLimitNanos) {
+                hangList.add(entry.getKey());
+            }
+        }
+        if (!deadlockedList.isEmpty() || !hangList.isEmpty()) {
+            bark(deadlockedIdSet, deadlockedList, hangList, nowNanos);
+        }
+    }
+
+    protected Set<Long> findDeadlockedThreadIdSet() {
+        final long[] deadlockedIds = _threadBean.isSynchronizerUsageSupported() ? _threadBean.findDeadlockedThreads()
+                : _threadBean.findMonitorDeadlockedThreads(); // with ownable synchronizers if possible
+        final Set<Long> idSet = new HashSet<Long>();
+        if (deadlockedIds != null) {
+            for (long deadlockedId : deadlockedIds) {
+                idSet.add(deadlockedId);
+            }
+        }
+        return idSet;
+    }
+
+    protected int buildPointHash(Thread thread) { // also for virtual threads that ThreadMXBean does not support
+        return 31 * thread.getState().hashCode() + Arrays.hashCode(thread.getStackTrace());
+    }
+
+    protected long getThreadCpuNanos(long threadId) {
+        if (_threadBean.isThreadCpuTimeSupported() && _threadBean.isThreadCpuTimeEnabled()) {
+            return _threadBean.getThreadCpuTime(threadId); // minus one if e.g. virtual thread
+        }
+        return -1L;
+    }
+
+    // ===================================================================================
+    //                                                                                Bark
+    //                                                                                ====
+    protected void bark(Set<Long> deadlockedIdSet, List<Integer> deadlockedList, List<Integer> hangList, long nowNanos) {
+        _barkingDump = buildDump(deadlockedIdSet, deadlockedList, hangList, nowNanos); // before interrupting for the scene
+        for (CarTrack track : _carTrackMap.values()) {
+            track._thread.interrupt(); // e.g. parked, waiting, sleeping cars are released (not blocked on monitors)
+        }
+    }
+
+    protected String buildDump(Set<Long> deadlockedIdSet, List<Integer> deadlockedList, List<Integer> hangList, long nowNanos) {
+        final Map<Long, Integer> entryNumberMap = new HashMap<Long, Integer>(); // to annotate lock owners
+        for (Map.Entry<Integer, CarTrack> entry : _carTrackMap.entrySet()) {
+            entryNumberMap.put(entry.getValue()._thread.getId(), entry.getKey());
+        }
+        final String ln = "\n";
+        final StringBuilder sb = new StringBuilder();
+        sb.append("The cannonball watchdog barked: deadlocked cars=").append(deadlockedList);
+        sb.append(", hang cars=").append(hangList).append(" (no progress over ");
+        sb.append(TimeUnit.NANOSECONDS.toMillis(_hangLimitNanos)).append("ms)");
+        for (Map.Entry<Integer, CarTrack> entry : _carTrackMap.entrySet()) {
+            final Integer entryNumber = entry.getKey();
+            final CarTrack track = entry.getValue();
+            final Thread thread = track._thread;
+            sb.append(ln).append(ln).append("car#").append(entryNumber).append(" \"").append(thread.getName()).append("\"");
+            sb.append(" ").append(thread.getState());
+            if (deadlockedIdSet.contains(thread.getId())) {
+                sb.append(" *DEADLOCKED");
+            } else if (hangList.contains(entryNumber)) {
+                sb.append(" *HANG");
+            }
+            sb.append(" (no progress for ").append(TimeUnit.NANOSECONDS.toMillis(nowNanos - track._lastProgressNanos)).append("ms)");
+            final ThreadInfo threadInfo = findThreadInfo(thread.getId());
+            if (threadInfo != null) {
+                setupLockExp(sb, threadInfo, entryNumberMap, ln);
+                setupStackWithLockedMonitor(sb, threadInfo, ln);
+            } else { // e.g. virtual thread
+                for (StackTraceElement element : thread.getStackTrace()) {
+                    sb.append(ln).append("    at ").append(element);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    protected ThreadInfo findThreadInfo(long threadId) {
+        final boolean monitorSupported = _threadBean.isObjectMonitorUsageSupported();
+        final boolean synchronizerSupported = _threadBean.isSynchronizerUsageSupported();
+        final ThreadInfo[] threadInfos = _threadBean.getThreadInfo(new long[] { threadId }, monitorSupported, synchronizerSupported);
+        return threadInfos.length > 0 ? threadInfos[0] : null;
+    }
+
+    protected void setupLockExp(StringBuilder sb, ThreadInfo threadInfo, Map<Long, Integer> entryNumberMap, String ln) {
+        if (threadInfo.getLockName() == null) {
+            return;
+        }
+        sb.append(ln).append("  waiting for ").append(threadInfo.getLockName());
+        if (threadInfo.getLockOwnerName() != null) {
+            sb.append(" held by \"").append(threadInfo.getLockOwnerName()).append("\"");
+            final Integer ownerEntryNumber = entryNumberMap.get(threadInfo.getLockOwnerId());
+            if (ownerEntryNumber != null) {
+                sb.append(" (car#").append(ownerEntryNumber).append(")");
+            }
+        }
+    }
+
+    protected void setupStackWithLockedMonitor(StringBuilder sb, ThreadInfo threadInfo, String ln) {
+        final StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+        final MonitorInfo[] lockedMonitors = threadInfo.getLockedMonitors();
+        for (int depth = 0; depth < stackTrace.length; depth++) {
+            sb.append(ln).append("    at ").append(stackTrace[depth]);
+            for (MonitorInfo lockedMonitor : lockedMonitors) {
+                if (lockedMonitor.getLockedStackDepth() == depth) {
+                    sb.append(ln).append("    - locked ").append(lockedMonitor);
+                }
+            }
+        }
+        final LockInfo[] lockedSynchronizers = threadInfo.getLockedSynchronizers(); // e.g. ReentrantLock
+        if (lockedSynchronizers.length > 0) {
+            sb.append(ln).append("  locked synchronizers: ").append(Arrays.asList(lockedSynchronizers));
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                 End
+    //                                                                                 ===
+    public void end() {
+        if (_pollingFuture != null) {
+            _pollingFuture.cancel(false);
+        }
+    }
+
+    /**
+     * Did the watchdog bark? (deadlock or hang was found)
+     * @return The determination, true or false.
+     */
+    public boolean isBarked() {
+        return _barkingDump != null;
+    }
+
+    /**
+     * Get the dump of all cars when barking, annotated by entry numbers.
+     * @return The dump string. (NullAllowed: when not barked)
+     */
+    public String getBarkingDump() {
+        return _barkingDump;
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.profiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The profiler of test case phases, e.g. container preparation, injection, transaction. <br>
+ * It aggregates nanosecond cost per test class and phase in the JVM,
+ * and writes JSON, CSV and ranking (slowest phases and classes) report files at JVM shutdown. <br>
+ * The ranking is written to the file, not logged, because the logging backend may be already shut down in the hook.
+ * <pre>
+ * e.g. -Dutflute.phaseProfiler=true -Dutflute.phaseProfiler.outputDir=target/utflute-profiler
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class TestPhaseProfiler {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The system property key to enable the profiler, e.g. -Dutflute.phaseProfiler=true */
+    public static final String ENABLED_PROPERTY = "utflute.phaseProfiler";
+
+    /** The system property key of output directory for report files. */
+    public static final String OUTPUT_DIR_PROPERTY = "utflute.phaseProfiler.outputDir";
+
+    /** The phase name of test method itself, excepted from non-test time. */
+    public static final String RUN_TEST_PHASE = "runTest";
+
+    protected static final String DEFAULT_OUTPUT_DIR = "target/utflute-profiler";
+    protected static final String REPORT_FILE_PREFIX = "utflute-phase-profile";
+    protected static final int RANKING_SIZE = 10;
+
+    /** The singleton instance in the JVM. (NotNull) */
+    protected static final TestPhaseProfiler _instance = new TestPhaseProfiler();
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of statistics keyed by class and phase. (NotNull) */
+    protected final Map<String, TestPhaseStatistics> _statisticsMap = new ConcurrentHashMap<String, TestPhaseStatistics>();
+
+    /** Is the shutdown hook registered? (registered at first record) */
+    protected volatile boolean _shutdownHookRegistered;
+
+    // ===================================================================================
+    //                                                                           Singleton
+    //                                                                           =========
+    public static TestPhaseProfiler getInstance() {
+        return _instance;
+    }
+
+    public static boolean isEnabledBySystemProperty() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * Record the cost of the phase.
+     * @param testClass The type of test class that runs the phase. (NotNull)
+     * @param phaseName The name of the phase, e.g. xprepareTestCaseContainer. (NotNull)
+     * @param nanos The cost of the phase as nanoseconds. (NotMinus)
+     */
+    public void record(Class<?> testClass, String phaseName, long nanos) {
+        final String testClassName = testClass.getName();
+        final String key = testClassName + "@" + phaseName;
+        TestPhaseStatistics statistics = _statisticsMap.get(key);
+        if (statistics == null) {
+            statistics = _statisticsMap.computeIfAbsent(key, k -> new TestPhaseStatistics(testClassName, phaseName));
+        }
+        statistics.record(nanos);
+        if (!_shutdownHookRegistered) {
+            registerShutdownHook();
+        }
+    }
+
+    protected synchronized void registerShutdownHook() {
+        if (_shutdownHookRegistered) {
+            return;
+        }
+        _shutdownHookRegistered = true;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                writeReport(prepareOutputDir());
+            } catch (RuntimeException | IOException continued) { // JVM is ending anyway
+                System.err.println("*Failed to write phase profile report: " + continued); // logging may be shut down
+            }
+        }, "utflute-phase-profiler"));
+    }
+
+    protected File prepareOutputDir() {
+        return new File(System.getProperty(OUTPUT_DIR_PROPERTY, DEFAULT_OUTPUT_DIR));
+    }
+
+    // ===================================================================================
+    //                                                                           Aggregate
+    //                                                                           =========
+    public List<TestPhaseStatistics> getClassPhaseList() {
+        return sortByTotalDesc(new ArrayList<TestPhaseStatistics>(_statisticsMap.values()));
+    }
+
+    public List<TestPhaseStatistics> aggregateByPhase() {
+        final Map<String, TestPhaseStatistics> phaseMap = new LinkedHashMap<String, TestPhaseStatistics>();
+        for (TestPhaseStatistics statistics : _statisticsMap.values()) {
+            final String phaseName = statistics.getPhaseName();
+            phaseMap.computeIfAbsent(phaseName, k -> new TestPhaseStatistics(null, phaseName)).merge(statistics);
+        }
+        return sortByTotalDesc(phaseMap.values());
+    }
+
+    public List<TestPhaseStatistics> aggregateByClass(boolean exceptTest) {
+        final Map<String, TestPhaseStatistics> classMap = new LinkedHashMap<String, TestPhaseStatistics>();
+        for (TestPhaseStatistics statistics : _statisticsMap.values()) {
+            if (exceptTest && RUN_TEST_PHASE.equals(statistics.getPhaseName())) {
+                continue; // to find non-test time
+            }
+            final String testClassName = statistics.getTestClassName();
+            classMap.computeIfAbsent(testClassName, k -> new TestPhaseStatistics(testClassName, null)).merge(statistics);
+        }
+        return sortByTotalDesc(classMap.values());
+    }
+
+    protected List<TestPhaseStatistics> sortByTotalDesc(Collection<TestPhaseStatistics> statisticsList) {
+        final List<TestPhaseStatistics> sortedList = new ArrayList<TestPhaseStatistics>(statisticsList);
+        sortedList.sort(Comparator.comparingLong(TestPhaseStatistics::getTotalNanos).reversed());
+        return sortedList;
+    }
+
+    // ===================================================================================
+    //                                                                        Write Report
+    //                                                                        ============
+    /**
+     * Write the report files (JSON, CSV and ranking text) to the directory.
+     * @param outputDir The directory for report files, created if not found. (NotNull)
+     * @throws IOException When it fails to write the files.
+     */
+    public void writeReport(File outputDir) throws IOException {
+        if (_statisticsMap.isEmpty()) {
+            return;
+        }
+        if (!outputDir.exists()) {
+            outputDir.mkdirs();
+        }
+        final List<TestPhaseStatistics> phaseList = aggregateByPhase();
+        final List<TestPhaseStatistics> classList = aggregateByClass(true);
+        final File jsonFile = new File(outputDir, REPORT_FILE_PREFIX + ".json");
+        final File csvFile = new File(outputDir, REPORT_FILE_PREFIX + ".csv");
+        final File rankingFile = new File(outputDir, REPORT_FILE_PREFIX + ".txt");
+        Files.write(jsonFile.toPath(), buildJson(phaseList, classList).getBytes(StandardCharsets.UTF_8));
+        Files.write(csvFile.toPath(), buildCsv(getClassPhaseList()).getBytes(StandardCharsets.UTF_8));
+        Files.write(rankingFile.toPath(), (buildRankingDisplay(phaseList, classList) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected String buildJson(List<TestPhaseStatistics> phaseList, List<TestPhaseStatistics> classList) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"phases\": [");
+        appendJsonList(sb, phaseList);
+        sb.append("],\n  \"classesExceptTest\": [");
+        appendJsonList(sb, classList);
+        sb.append("],\n  \"classPhases\": [");
+        appendJsonList(sb, getClassPhaseList());
+        sb.append("]\n}\n");
+        return sb.toString();
+    }
+
+    protected void appendJsonList(StringBuilder sb, List<TestPhaseStatistics> statisticsList) {
+        int index = 0;
+        for (TestPhaseStatistics statistics : statisticsList) {
+            sb.append(index > 0 ? "," : "").append("\n    {");
+            if (statistics.getTestClassName() != null) {
+                sb.append("\"testClass\": \"").append(escapeJson(statistics.getTestClassName())).append("\", ");
+            }
+            if (statistics.getPhaseName() != null) {
+                sb.append("\"phase\": \"").append(escapeJson(statistics.getPhaseName())).append("\", ");
+            }
+            sb.append("\"count\": ").append(statistics.getCount());
+            sb.append(", \"totalNanos\": ").append(statistics.getTotalNanos());
+            sb.append(", \"averageNanos\": ").append(statistics.getAverageNanos());
+            sb.append(", \"maxNanos\": ").append(statistics.getMaxNanos()).append("}");
+            ++index;
+        }
+        if (index > 0) {
+            sb.append("\n  ");
+        }
+    }
+
+    protected String escapeJson(String value) { // e.g. quote, backslash, control characters
+        final StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char ch = value.charAt(i);
+            if (ch == '"' || ch == '\\') {
+                sb.append('\\').append(ch);
+            } else if (ch == '\n') {
+                sb.append("\\n");
+            } else if (ch == '\r') {
+                sb.append("\\r");
+            } else if (ch == '\t') {
+                sb.append("\\t");
+            } else if (ch < 0x20) {
+                sb.append(String.format(Locale.ENGLISH, "\\u%04x", (int) ch));
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    protected String buildCsv(List<TestPhaseStatistics> classPhaseList) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("testClass,phase,count,totalMillis,averageMillis,maxMillis\n");
+        for (TestPhaseStatistics statistics : classPhaseList) {
+            sb.append(escapeCsv(statistics.getTestClassName())).append(",").append(escapeCsv(statistics.getPhaseName()));
+            sb.append(",").append(statistics.getCount());
+            sb.append(",").append(formatMillis(statistics.getTotalNanos()));
+            sb.append(",").append(formatMillis(statistics.getAverageNanos()));
+            sb.append(",").append(formatMillis(statistics.getMaxNanos())).append("\n");
+        }
+        return sb.toString();
+    }
+
+    protected String escapeCsv(String value) { // quoted only if needed, as RFC 4180
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    protected String buildRankingDisplay(List<TestPhaseStatistics> phaseList, List<TestPhaseStatistics> classList) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[Phase Profile] slowest phases:");
+        for (TestPhaseStatistics statistics : phaseList.subList(0, Math.min(RANKING_SIZE, phaseList.size()))) {
+            sb.append("\n  ").append(statistics.getPhaseName()).append(": ").append(formatMillis(statistics.getTotalNanos()));
+            sb.append("ms (count=").append(statistics.getCount());
+            sb.append(", max=").append(formatMillis(statistics.getMaxNanos())).append("ms)");
+        }
+        sb.append("\n[Phase Profile] slowest classes (except runTest):");
+        for (TestPhaseStatistics statistics : classList.subList(0, Math.min(RANKING_SIZE, classList.size()))) {
+            sb.append("\n  ").append(statistics.getTestClassName()).append(": ").append(formatMillis(statistics.getTotalNanos()));
+            sb.append("ms");
+        }
+        return sb.toString();
+    }
+
+    protected String formatMillis(long nanos) {
+        return String.format(Locale.ENGLISH, "%.3f", nanos / 1000000.0);
+    }
+
+    // ===================================================================================
+    //                                                                               Clear
+    //                                                                               =====
+    public void clear() {
+        _statisticsMap.clear();
+    }
+}
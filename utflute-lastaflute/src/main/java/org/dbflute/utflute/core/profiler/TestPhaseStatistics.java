@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.profiler;
+
+/**
+ * The statistics of one phase (or one aggregation unit) recorded by the profiler.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class TestPhaseStatistics {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _testClassName; // null allowed: when aggregated over classes
+    protected final String _phaseName; // null allowed: when aggregated over phases
+    protected long _count;
+    protected long _totalNanos;
+    protected long _maxNanos;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public TestPhaseStatistics(String testClassName, String phaseName) {
+        _testClassName = testClassName;
+        _phaseName = phaseName;
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public synchronized void record(long nanos) {
+        ++_count;
+        _totalNanos += nanos;
+        if (nanos > _maxNanos) {
+            _maxNanos = nanos;
+        }
+    }
+
+    public synchronized void merge(TestPhaseStatistics other) {
+        final long otherCount;
+        final long otherTotal;
+        final long otherMax;
+        synchronized (other) {
+            otherCount = other._count;
+            otherTotal = other._totalNanos;
+            otherMax = other._maxNanos;
+        }
+        _count += otherCount;
+        _totalNanos += otherTotal;
+        if (otherMax > _maxNanos) {
+            _maxNanos = otherMax;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "stat:{" + _testClassName + ", " + _phaseName + ", count=" + getCount() + ", total=" + toMillis(getTotalNanos()) + "ms}";
+    }
+
+    protected static double toMillis(long nanos) {
+        return nanos / 1000000.0;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTestClassName() {
+        return _testClassName;
+    }
+
+    public String getPhaseName() {
+        return _phaseName;
+    }
+
+    public synchronized long getCount() {
+        return _count;
+    }
+
+    public synchronized long getTotalNanos() {
+        return _totalNanos;
+    }
+
+    public synchronized long getMaxNanos() {
+        return _maxNanos;
+    }
+
+    public synchronized long getAverageNanos() {
+        return _count > 0 ? _totalNanos / _count : 0L;
+    }
+}
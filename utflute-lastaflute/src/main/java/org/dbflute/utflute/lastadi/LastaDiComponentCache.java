@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastadi;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.lastaflute.di.core.ComponentDef;
+import org.lastaflute.di.core.LaContainer;
+import org.lastaflute.di.core.exception.ComponentNotFoundException;
+
+/**
+ * The cache of component lookup for one generation of Lasta Di container. <br>
+ * The container instance is the generation, so the cache is cleared when the container is switched,
+ * and it is kept while the container is recycled by test cases. <br>
+ * It caches component definitions (not instances, for e.g. prototype) and also not-found keys. <br>
+ * And component names by naming convention (also negative results) are cached while the generation. <br>
+ * Components registered later to the root container are detected by its definition size,
+ * but registration to e.g. included container needs clearLookup() explicitly.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class LastaDiComponentCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The mark of negative result in naming cache, compared by identity. (NotNull) */
+    protected static final String NOT_NAMING_COMPONENT = new String("$$notNamingComponent$$");
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected LaContainer _generationContainer; // null allowed: before lookup or after clear
+    protected int _generationDefSize; // definition size of root container, to detect late registration
+    protected final Map<Object, ComponentDef> _foundDefMap = new HashMap<Object, ComponentDef>(); // key is type or name
+    protected final Set<Object> _notFoundKeySet = new HashSet<Object>();
+    protected final Map<Class<?>, String> _namingComponentNameMap = new HashMap<Class<?>, String>(); // value may be mark
+
+    // ===================================================================================
+    //                                                                              Lookup
+    //                                                                              ======
+    /**
+     * Find the component definition by single lookup, using the cache of the container generation.
+     * @param container The current container. (NotNull)
+     * @param componentKey The key of component, type or name. (NotNull)
+     * @return The found definition. (NullAllowed: when not found)
+     */
+    public synchronized ComponentDef findComponentDef(LaContainer container, Object componentKey) {
+        switchGenerationIfNeeds(container);
+        final ComponentDef cached = _foundDefMap.get(componentKey);
+        if (cached != null) {
+            return cached;
+        }
+        if (_notFoundKeySet.contains(componentKey)) {
+            return null;
+        }
+        try {
+            final ComponentDef componentDef = container.getComponentDef(componentKey);
+            _foundDefMap.put(componentKey, componentDef);
+            return componentDef;
+        } catch (ComponentNotFoundException ignored) { // only once per key in the generation
+            _notFoundKeySet.add(componentKey);
+            return null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Naming
+    //                                                                              ======
+    /**
+     * Find the component name by naming convention for the type, deriving it only once in the container generation.
+     * @param container The current container. (NotNull)
+     * @param componentType The type of component e.g. property type. (NotNull)
+     * @param nameDeriver The callback to derive the name by naming convention, returning null if not naming component. (NotNull)
+     * @return The derived or cached component name. (NullAllowed: when not naming component)
+     */
+    public synchronized String findNamingComponentName(LaContainer container, Class<?> componentType,
+            Function<Class<?>, String> nameDeriver) {
+        switchGenerationIfNeeds(container);
+        final String cached = _namingComponentNameMap.get(componentType);
+        if (cached != null) {
+            return cached != NOT_NAMING_COMPONENT ? cached : null;
+        }
+        final String derived = nameDeriver.apply(componentType);
+        _namingComponentNameMap.put(componentType, derived != null ? derived : NOT_NAMING_COMPONENT);
+        return derived;
+    }
+
+    // ===================================================================================
+    //                                                                          Generation
+    //                                                                          ==========
+    protected void switchGenerationIfNeeds(LaContainer container) {
+        if (container != _generationContainer) { // switched e.g. initialized, swapped from pool
+            clear();
+            _generationContainer = container;
+            _generationDefSize = container.getComponentDefSize();
+        } else if (container.getComponentDefSize() != _generationDefSize) { // registered later e.g. in test
+            clearLookup();
+            _generationDefSize = container.getComponentDefSize();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Clear
+    //                                                                               =====
+    /**
+     * Clear only the lookup cache of component definitions, keeping names by naming convention. <br>
+     * Names are stable in the same container but definitions may be registered later in a test.
+     */
+    public synchronized void clearLookup() {
+        _foundDefMap.clear();
+        _notFoundKeySet.clear();
+    }
+
+    public synchronized void clear() {
+        _generationContainer = null;
+        _generationDefSize = 0;
+        _foundDefMap.clear();
+        _notFoundKeySet.clear();
+        _namingComponentNameMap.clear();
+    }
+}
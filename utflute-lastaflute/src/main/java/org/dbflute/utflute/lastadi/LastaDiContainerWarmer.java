@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastadi;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The warmer of Lasta Di container, which boots the expected container on background thread. <br>
+ * It is started only once per JVM (at first test case creation) and awaited only once (at first setUp()),
+ * so the boot is overlapped with what runs between them, e.g. creating the other test case instances of the suite. <br>
+ * The awaiting is not interrupted, because the container must not be booted by both threads at the same time.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class LastaDiContainerWarmer {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _logger = LoggerFactory.getLogger(LastaDiContainerWarmer.class);
+    protected static final String WARMER_THREAD_NAME = "utflute-container-warmer";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected boolean _judged; // only once
+    protected boolean _started; // only once
+    protected LastaDiContainerKey _warmingKey; // null allowed: before start, after taken
+    protected FutureTask<Void> _warmingTask; // null allowed: before start, after taken
+
+    // ===================================================================================
+    //                                                                               Judge
+    //                                                                               =====
+    /**
+     * Judge whether the warm-up is needed only at first call in the JVM.
+     * @return Is it first call? (false if already judged before)
+     */
+    public synchronized boolean judgeIfFirst() {
+        if (_judged) {
+            return false;
+        }
+        _judged = true;
+        return true;
+    }
+
+    // ===================================================================================
+    //                                                                               Start
+    //                                                                               =====
+    /**
+     * Start warming up the container if first call in the JVM.
+     * @param key The key of the container to be booted. (NotNull)
+     * @param booter The callback to boot the container, called in background thread. (NotNull)
+     * @return Is it actually started? (false if already started before)
+     */
+    public synchronized boolean startIfFirst(LastaDiContainerKey key, Runnable booter) {
+        if (key == null) {
+            String msg = "The argument 'key' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        if (booter == null) {
+            String msg = "The argument 'booter' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        if (_started) {
+            return false;
+        }
+        _started = true;
+        _logger.debug("...Warming up lasta_di in background: {}", key);
+        final FutureTask<Void> task = new FutureTask<Void>(booter, null);
+        final Thread thread = new Thread(task, WARMER_THREAD_NAME);
+        thread.setDaemon(true); // not to block JVM shutdown
+        thread.setContextClassLoader(Thread.currentThread().getContextClassLoader()); // for resources
+        _warmingKey = key;
+        _warmingTask = task;
+        thread.start();
+        return true;
+    }
+
+    // ===================================================================================
+    //                                                                               Await
+    //                                                                               =====
+    /**
+     * Await the warming-up if started and not taken yet. <br>
+     * The result is taken (cleared) here, so the second call returns null immediately. <br>
+     * It keeps waiting even if interrupted (the interrupt flag is restored after the warming-up ends).
+     * @return The key of the booted container. (NullAllowed: when not started, already taken or failed)
+     */
+    public synchronized LastaDiContainerKey awaitIfWarming() {
+        final FutureTask<Void> task = _warmingTask;
+        final LastaDiContainerKey key = _warmingKey;
+        if (task == null) {
+            return null;
+        }
+        _warmingTask = null;
+        _warmingKey = null;
+        final long before = System.currentTimeMillis();
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    task.get(); // also happens-before for static states set by the booter
+                    break;
+                } catch (InterruptedException e) { // keep waiting, the warming thread may be booting the static container
+                    interrupted = true;
+                    _logger.debug("*Interrupted while awaiting the warming-up, so keep waiting: {}", key);
+                }
+            }
+        } catch (ExecutionException continued) { // test thread retries so the same error will be thrown
+            _logger.debug("*Failed to warm up the container, so initialize it on test thread: " + key, continued.getCause());
+            return null;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt(); // restore for caller
+            }
+        }
+        _logger.debug("...Awaited lasta_di warming-up: {} ({}ms)", key, System.currentTimeMillis() - before);
+        return key;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public synchronized boolean isStarted() {
+        return _started;
+    }
+
+    public synchronized boolean isWarming() {
+        return _warmingTask != null;
+    }
+}
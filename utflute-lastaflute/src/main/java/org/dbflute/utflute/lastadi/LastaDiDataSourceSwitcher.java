@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastadi;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.lastaflute.di.core.ComponentDef;
+import org.lastaflute.di.core.LaContainer;
+import org.lastaflute.di.core.meta.InstanceDef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The switcher of data source held by singleton components in Lasta Di container. <br>
+ * Singleton components (e.g. DBFlute's invoker assistant, transaction manager) were injected with the data source
+ * at their creation, so the fields that refer to the current data source are replaced by the switched one. <br>
+ * Prototype components are not switched (they are created with the container's data source for every lookup),
+ * and to restore, switch it again by reversed arguments.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class LastaDiDataSourceSwitcher {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _logger = LoggerFactory.getLogger(LastaDiDataSourceSwitcher.class);
+
+    // ===================================================================================
+    //                                                                              Switch
+    //                                                                              ======
+    /**
+     * Switch the data source held by singleton components in the container tree (containing included containers).
+     * @param container The root container to search singleton components. (NotNull)
+     * @param current The current data source to be replaced, compared by identity. (NotNull)
+     * @param dataSource The data source to be switched to. (NotNull)
+     * @return The count of switched fields. (NotMinus)
+     */
+    public int switchDataSource(LaContainer container, DataSource current, DataSource dataSource) {
+        if (container == null) {
+            String msg = "The argument 'container' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        if (current == null) {
+            String msg = "The argument 'current' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        if (dataSource == null) {
+            String msg = "The argument 'dataSource' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        final Set<Object> visitedSet = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        final int switchedCount = doSwitchDataSource(container, current, dataSource, visitedSet);
+        _logger.debug("...Switching data source in container: switched={}, to={}", switchedCount, dataSource);
+        return switchedCount;
+    }
+
+    protected int doSwitchDataSource(LaContainer container, DataSource current, DataSource dataSource, Set<Object> visitedSet) {
+        if (!visitedSet.add(container)) { // e.g. included by several containers
+            return 0;
+        }
+        int switchedCount = 0;
+        final int defSize = container.getComponentDefSize();
+        for (int i = 0; i < defSize; i++) {
+            final ComponentDef componentDef = container.getComponentDef(i);
+            if (!isSingletonComponentDef(componentDef)) { // not to create prototype instances
+                continue;
+            }
+            final Object component = componentDef.getComponent();
+            if (component == null || component == current || component == dataSource || !visitedSet.add(component)) {
+                continue;
+            }
+            switchedCount += switchComponentField(component, current, dataSource);
+        }
+        final int childSize = container.getChildSize();
+        for (int i = 0; i < childSize; i++) {
+            switchedCount += doSwitchDataSource(container.getChild(i), current, dataSource, visitedSet);
+        }
+        return switchedCount;
+    }
+
+    protected boolean isSingletonComponentDef(ComponentDef componentDef) {
+        final InstanceDef instanceDef = componentDef.getInstanceDef();
+        return instanceDef != null && InstanceDef.SINGLETON_NAME.equals(instanceDef.getName());
+    }
+
+    // ===================================================================================
+    //                                                                     Component Field
+    //                                                                     ===============
+    protected int switchComponentField(Object component, DataSource current, DataSource dataSource) {
+        int switchedCount = 0;
+        for (Class<?> clazz = component.getClass(); clazz != null && !isSystemClass(clazz); clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || !field.getType().isInstance(dataSource)) {
+                    continue; // e.g. field typed as other data source class cannot hold the switched one
+                }
+                if (switchFieldQuietly(component, field, current, dataSource)) {
+                    ++switchedCount;
+                }
+            }
+        }
+        return switchedCount;
+    }
+
+    protected boolean isSystemClass(Class<?> clazz) {
+        final String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    protected boolean switchFieldQuietly(Object component, Field field, DataSource current, DataSource dataSource) {
+        try {
+            field.setAccessible(true);
+            if (field.get(component) != current) { // e.g. other data source, already switched
+                return false;
+            }
+            field.set(component, dataSource);
+            return true;
+        } catch (IllegalAccessException | RuntimeException continued) { // e.g. final field, closed module
+            _logger.debug("*Cannot switch the data source field: " + field, continued);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastadi;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dbflute.helper.message.ExceptionMessageBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * The optimizer of test class order to reduce boots of Lasta Di container. <br>
+ * It reads container key of each test class without running it (no side effect e.g. warm-up), and orders the classes
+ * so that the classes of same key run back to back, and disposable (one-time, destroyed at tear-down) classes run last.
+ * <pre>
+ * public class AllContainerTests {
+ *     public static Test suite() { <span style="color: #3F7E5E">// include only this class in Surefire</span>
+ *         return LastaDiTestOrderOptimizer.<span style="color: #CC4747">buildOrderedSuite</span>(FooActionTest.class, BarLogicTest.class, ...);
+ *     }
+ * }
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class LastaDiTestOrderOptimizer {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _logger = LoggerFactory.getLogger(LastaDiTestOrderOptimizer.class);
+
+    // ===================================================================================
+    //                                                                         Easy-to-Use
+    //                                                                         ===========
+    /**
+     * Build the JUnit suite whose test classes are ordered by container key. <br>
+     * The saved count of container boots is logged as debug.
+     * @param testClasses The array of test classes, which may contain non-container tests. (NotNull)
+     * @return The new-created suite of the ordered test classes. (NotNull)
+     */
+    public static Test buildOrderedSuite(Class<?>... testClasses) {
+        final LastaDiTestOrderOptimizer optimizer = new LastaDiTestOrderOptimizer();
+        final OrderingResult result = optimizer.optimize(Arrays.asList(testClasses));
+        _logger.debug(result.buildReport());
+        return optimizer.toSuite(result);
+    }
+
+    /**
+     * Show the ordered test class names and the report, e.g. for ordering hook of build tool.
+     * @param args The array of FQCN of test classes. (NotNull)
+     * @throws ClassNotFoundException When the test class is not found.
+     */
+    public static void main(String[] args) throws ClassNotFoundException {
+        final List<Class<?>> testClassList = new ArrayList<Class<?>>();
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        for (String className : args) {
+            testClassList.add(Class.forName(className.trim(), false, loader));
+        }
+        final OrderingResult result = new LastaDiTestOrderOptimizer().optimize(testClassList);
+        for (Class<?> testClass : result.getOrderedClassList()) {
+            System.out.println(testClass.getName());
+        }
+        System.err.println(result.buildReport()); // not to mix with class names
+    }
+
+    // ===================================================================================
+    //                                                                            Optimize
+    //                                                                            ========
+    /**
+     * Optimize the order of the test classes by container key. (stable in the same key)
+     * @param testClassList The list of test classes in default order. (NotNull)
+     * @return The result of ordering, containing ordered classes and boot counts. (NotNull)
+     */
+    public OrderingResult optimize(List<Class<?>> testClassList) {
+        if (testClassList == null) {
+            String msg = "The argument 'testClassList' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        final List<OrderingTarget> plainList = new ArrayList<OrderingTarget>(); // no container
+        final Map<LastaDiContainerKey, List<OrderingTarget>> keyGroupMap = new LinkedHashMap<LastaDiContainerKey, List<OrderingTarget>>();
+        final List<OrderingTarget> disposableList = new ArrayList<OrderingTarget>();
+        final List<OrderingTarget> defaultOrderList = new ArrayList<OrderingTarget>();
+        int poolSize = 1;
+        for (Class<?> testClass : new LinkedHashSet<Class<?>>(testClassList)) { // distinct
+            final OrderingTarget target = analyzeTarget(testClass);
+            defaultOrderList.add(target);
+            if (target.getContainerKey() == null) {
+                plainList.add(target);
+            } else if (target.isOneTimeContainer() || target.isDestroyedAtTearDown()) {
+                disposableList.add(target);
+            } else {
+                List<OrderingTarget> groupList = keyGroupMap.get(target.getContainerKey());
+                if (groupList == null) {
+                    groupList = new ArrayList<OrderingTarget>();
+                    keyGroupMap.put(target.getContainerKey(), groupList);
+                }
+                groupList.add(target);
+            }
+            poolSize = Math.max(poolSize, target.getContainerPoolSize());
+        }
+        final List<OrderingTarget> orderedList = new ArrayList<OrderingTarget>(plainList);
+        for (List<OrderingTarget> groupList : keyGroupMap.values()) {
+            orderedList.addAll(groupList);
+        }
+        orderedList.addAll(disposableList); // last, which destroy container per test method
+        final int defaultBootCount = simulateBootCount(defaultOrderList, poolSize);
+        final int orderedBootCount = simulateBootCount(orderedList, poolSize);
+        return new OrderingResult(toClassList(orderedList), keyGroupMap.size(), defaultBootCount, orderedBootCount);
+    }
+
+    protected List<Class<?>> toClassList(List<OrderingTarget> targetList) {
+        final List<Class<?>> classList = new ArrayList<Class<?>>(targetList.size());
+        for (OrderingTarget target : targetList) {
+            classList.add(target.getTestClass());
+        }
+        return classList;
+    }
+
+    // ===================================================================================
+    //                                                                      Analyze Target
+    //                                                                      ==============
+    protected OrderingTarget analyzeTarget(Class<?> testClass) {
+        if (!LastaDiTestCase.class.isAssignableFrom(testClass) || Modifier.isAbstract(testClass.getModifiers())) {
+            return new OrderingTarget(testClass, null, false, false, 1, countTestMethod(testClass));
+        }
+        LastaDiTestCase.xbeginSettingsReading(); // e.g. no warm-up by the constructor
+        try {
+            final LastaDiTestCase testCase = newTestCase(testClass); // not run, only to read settings
+            final String configFile = testCase.prepareConfigFile();
+            final LastaDiContainerKey containerKey = testCase.xcreateContainerKey(configFile); // contains web-or-library
+            final boolean oneTime = testCase.isUseOneTimeContainer();
+            final boolean destroyedAtTearDown = testCase.xisDestroyContainerAtTearDown();
+            final int poolSize = testCase.prepareContainerPoolSize();
+            return new OrderingTarget(testClass, containerKey, oneTime, destroyedAtTearDown, poolSize, countTestMethod(testClass));
+        } finally {
+            LastaDiTestCase.xendSettingsReading();
+        }
+    }
+
+    protected LastaDiTestCase newTestCase(Class<?> testClass) {
+        try {
+            return (LastaDiTestCase) testClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+            br.addNotice("Failed to create the test case to read its container settings.");
+            br.addItem("Advice");
+            br.addElement("The test class should be public and have public no-argument constructor.");
+            br.addItem("Test Class");
+            br.addElement(testClass);
+            final String msg = br.buildExceptionMessage();
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    protected int countTestMethod(Class<?> testClass) { // JUnit3 rule
+        final Set<String> nameSet = new LinkedHashSet<String>();
+        for (Method method : testClass.getMethods()) {
+            if (method.getName().startsWith("test") && method.getParameterTypes().length == 0
+                    && void.class.equals(method.getReturnType())) {
+                nameSet.add(method.getName());
+            }
+        }
+        return nameSet.size();
+    }
+
+    public static class OrderingTarget {
+
+        protected final Class<?> _testClass;
+        protected final LastaDiContainerKey _containerKey; // null allowed: when no container
+        protected final boolean _oneTimeContainer; // destroyed at both setUp() and tearDown()
+        protected final boolean _destroyedAtTearDown; // destroyed only at tearDown()
+        protected final int _containerPoolSize;
+        protected final int _testMethodCount;
+
+        public OrderingTarget(Class<?> testClass, LastaDiContainerKey containerKey, boolean oneTimeContainer, boolean destroyedAtTearDown,
+                int containerPoolSize, int testMethodCount) {
+            _testClass = testClass;
+            _containerKey = containerKey;
+            _oneTimeContainer = oneTimeContainer;
+            _destroyedAtTearDown = destroyedAtTearDown;
+            _containerPoolSize = containerPoolSize;
+            _testMethodCount = testMethodCount;
+        }
+
+        @Override
+        public String toString() {
+            return "target:{" + _testClass.getSimpleName() + ", " + _containerKey + ", oneTime=" + _oneTimeContainer + ", destroyedAtTearDown="
+                    + _destroyedAtTearDown + "}";
+        }
+
+        public Class<?> getTestClass() {
+            return _testClass;
+        }
+
+        public LastaDiContainerKey getContainerKey() {
+            return _containerKey;
+        }
+
+        public boolean isOneTimeContainer() {
+            return _oneTimeContainer;
+        }
+
+        public boolean isDestroyedAtTearDown() {
+            return _destroyedAtTearDown;
+        }
+
+        public int getContainerPoolSize() {
+            return _containerPoolSize;
+        }
+
+        public int getTestMethodCount() {
+            return _testMethodCount;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                    Simulate Booting
+    //                                                                    ================
+    /**
+     * Simulate how many times the container is booted (initialized) in the order. <br>
+     * It follows the life-cycle of LastaDiTestCase: recycle same key, switch pooled key, destroy one-time (at setUp() and tearDown())
+     * and destroy at tear-down (the first test method may recycle the current container).
+     * @param targetList The list of targets in running order. (NotNull)
+     * @param poolSize The size of container pool, containing current container. (NotMinus)
+     * @return The count of container boots.
+     */
+    protected int simulateBootCount(List<OrderingTarget> targetList, int poolSize) {
+        final List<LastaDiContainerKey> parkedList = new ArrayList<LastaDiContainerKey>(); // head is eldest
+        LastaDiContainerKey currentKey = null;
+        int bootCount = 0;
+        for (OrderingTarget target : targetList) {
+            final LastaDiContainerKey key = target.getContainerKey();
+            if (key == null) {
+                continue;
+            }
+            if (target.isOneTimeContainer()) { // destroyed at both setUp() and tearDown()
+                bootCount += target.getTestMethodCount();
+                currentKey = null;
+                continue;
+            }
+            if (!key.equals(currentKey)) { // not recycled
+                final boolean pooled = parkedList.remove(key); // unparked before parking current
+                if (currentKey != null && poolSize > 1) {
+                    parkedList.remove(currentKey); // just in case
+                    parkedList.add(currentKey);
+                    while (parkedList.size() > poolSize - 1) {
+                        parkedList.remove(0); // destroyed as eldest
+                    }
+                }
+                if (!pooled) { // not switched from pool
+                    ++bootCount;
+                }
+                currentKey = key;
+            }
+            if (target.isDestroyedAtTearDown()) { // first method uses the current container, and the others boot it
+                bootCount += Math.max(target.getTestMethodCount() - 1, 0);
+                currentKey = null; // destroyed, not parked
+            }
+        }
+        return bootCount;
+    }
+
+    // ===================================================================================
+    //                                                                         Build Suite
+    //                                                                         ===========
+    /**
+     * Convert the ordering result to JUnit suite.
+     * @param result The result of ordering. (NotNull)
+     * @return The new-created suite. (NotNull)
+     */
+    public TestSuite toSuite(OrderingResult result) {
+        final TestSuite suite = new TestSuite(LastaDiTestOrderOptimizer.class.getSimpleName());
+        for (Class<?> testClass : result.getOrderedClassList()) {
+            if (TestCase.class.isAssignableFrom(testClass)) {
+                suite.addTestSuite(testClass.asSubclass(TestCase.class));
+            } else {
+                suite.addTest(new TestSuite(testClass)); // warning test of JUnit if no test
+            }
+        }
+        return suite;
+    }
+
+    // ===================================================================================
+    //                                                                     Ordering Result
+    //                                                                     ===============
+    public static class OrderingResult {
+
+        protected final List<Class<?>> _orderedClassList;
+        protected final int _containerKeyCount;
+        protected final int _defaultBootCount;
+        protected final int _orderedBootCount;
+
+        public OrderingResult(List<Class<?>> orderedClassList, int containerKeyCount, int defaultBootCount, int orderedBootCount) {
+            _orderedClassList = Collections.unmodifiableList(orderedClassList);
+            _containerKeyCount = containerKeyCount;
+            _defaultBootCount = defaultBootCount;
+            _orderedBootCount = orderedBootCount;
+        }
+
+        public String buildReport() {
+            final StringBuilder sb = new StringBuilder();
+            sb.append("[Container Ordering] classes=").append(_orderedClassList.size());
+            sb.append(", keys=").append(_containerKeyCount);
+            sb.append(", boots: default=").append(_defaultBootCount);
+            sb.append(", ordered=").append(_orderedBootCount);
+            sb.append(" (saved ").append(getSavedBootCount()).append(")");
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return buildReport();
+        }
+
+        public List<Class<?>> getOrderedClassList() {
+            return _orderedClassList;
+        }
+
+        public int getContainerKeyCount() {
+            return _containerKeyCount;
+        }
+
+        public int getDefaultBootCount() {
+            return _defaultBootCount;
+        }
+
+        public int getOrderedBootCount() {
+            return _orderedBootCount;
+        }
+
+        public int getSavedBootCount() {
+            return _defaultBootCount - _orderedBootCount;
+        }
+    }
+}
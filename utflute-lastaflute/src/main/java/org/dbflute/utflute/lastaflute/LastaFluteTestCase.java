@@ -29,6 +29,7 @@ import javax.servlet.ServletException;
 import javax.sql.DataSource;
 
 import org.dbflute.hook.AccessContext;
+import org.dbflute.utflute.lastadi.LastaDiContainerKey;
 import org.dbflute.utflute.lastadi.LastaDiTestCase;
 import org.dbflute.utflute.lastaflute.mail.MailMessageAssertion;
 import org.dbflute.utflute.lastaflute.mail.TestingMailData;
@@ -88,8 +89,8 @@ public abstract class LastaFluteTestCase extends LastaDiTestCase {
 
     @Override
     protected void xsetupBeforeTestCaseContainer() {
-        xsuppressJobSchedulingIfNeeds();
-        super.xsetupBeforeTestCaseContainer();
+        super.xsetupBeforeTestCaseContainer(); // first, may wait for warming thread
+        xsuppressJobSchedulingIfNeeds(); // before container preparation
     }
 
     @Override
@@ -150,6 +151,9 @@ public abstract class LastaFluteTestCase extends LastaDiTestCase {
     //                                     -----------------
     @Override
     protected boolean isUseOneTimeContainer() { // may be overridden
+        if (xisUseContainerPool()) { // resources are contained in container key
+            return false; // pooled per the resources instead of one-time
+        }
         return maybeContainerResourceOverridden(); // to destroy cache but #hope separate life-cycle
     }
 
@@ -171,6 +175,11 @@ public abstract class LastaFluteTestCase extends LastaDiTestCase {
         return true; // fixedly (not related to request mock)
     }
 
+    @Override
+    protected LastaDiContainerKey xcreateContainerKey(String configFile) {
+        return new LastaDiContainerKey(configFile, xisTreatedAsWebContainer(), prepareMockContextPath(), null);
+    }
+
     // -----------------------------------------------------
     //                                  Initialize Container
     //                                  --------------------
@@ -208,6 +217,12 @@ public abstract class LastaFluteTestCase extends LastaDiTestCase {
         }
     }
 
+    @Override
+    protected void xprepareContainerWarmUpEnv() {
+        xsuppressJobSchedulingIfNeeds(); // before booting as same as setUp()
+        super.xprepareContainerWarmUpEnv();
+    }
+
     // -----------------------------------------------------
     //                                     Destroy Container
     //                                     -----------------
@@ -246,6 +261,26 @@ public abstract class LastaFluteTestCase extends LastaDiTestCase {
         _xcachedServletConfig = null;
     }
 
+    /**
+     * {@inheritDoc} <br>
+     * The web-container state restored by the pool is the mock servlet config (here) and the external context
+     * (by the pool itself), which holds the servlet context of the container. <br>
+     * Job scheduling is destroyed at every tearDown() and rebooted at setUp() so it is not parked. <br>
+     * Other static state initialized by LastaFilter e.g. application-level caches is not saved,
+     * so use one-time container (or no pool) for the test case whose static state conflicts with other containers.
+     */
+    @Override
+    protected Object xsavePooledContainerResource() {
+        final MockletServletConfig servletConfig = _xcachedServletConfig;
+        xclearServletConfig();
+        return servletConfig;
+    }
+
+    @Override
+    protected void xrestorePooledContainerResource(Object resource) {
+        _xcachedServletConfig = (MockletServletConfig) resource; // null allowed just in case
+    }
+
     // ===================================================================================
     //                                                                         Cannon-ball
     //                                                                         ===========
@@ -499,6 +534,16 @@ public abstract class LastaFluteTestCase extends LastaDiTestCase {
         return _xdataSource;
     }
 
+    /**
+     * {@inheritDoc} <br>
+     * The data source of this test case is switched after the container's singleton components.
+     */
+    @Override
+    protected void xswitchCannonballDataSource(DataSource dataSource) { // e.g. connection tracking
+        super.xswitchCannonballDataSource(dataSource); // uses current data source of this test case
+        _xdataSource = dataSource;
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
@@ -25,6 +25,7 @@ import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 
 import org.dbflute.helper.function.IndependentProcessor;
+import org.dbflute.utflute.lastadi.LastaDiContainerKey;
 import org.dbflute.utflute.lastaflute.mock.MockResopnseBeanValidator;
 import org.dbflute.utflute.lastaflute.mock.MockRuntimeFactory;
 import org.dbflute.utflute.lastaflute.mock.TestingHtmlData;
@@ -174,6 +175,11 @@ public abstract class WebContainerTestCase extends LastaFluteTestCase {
         return super.maybeContainerResourceOverridden() || xisMethodOverridden("prepareMockServletPath");
     }
 
+    @Override
+    protected LastaDiContainerKey xcreateContainerKey(String configFile) {
+        return new LastaDiContainerKey(configFile, xisTreatedAsWebContainer(), prepareMockContextPath(), prepareMockServletPath());
+    }
+
     // -----------------------------------------------------
     //                                     Destroy Container
     //                                     -----------------
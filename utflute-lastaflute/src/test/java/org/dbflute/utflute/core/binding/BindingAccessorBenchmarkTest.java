@@ -0,0 +1,283 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Resource;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.utflute.lastaflute.bean.FooLogic;
+
+/**
+ * The comparison of binding accessor (method handles) with reflective Field.set/get. <br>
+ * JMH is not in dependencies so it is simple loop measurement after warm-up, and it does not assert speed. <br>
+ * The measurement runs only when enabled by system property, e.g. -Dutflute.benchmark=true
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class BindingAccessorBenchmarkTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final String BENCHMARK_PROPERTY = "utflute.benchmark";
+    private static final int WARM_UP_COUNT = 20000;
+    private static final int MEASURE_COUNT = 100000;
+
+    // ===================================================================================
+    //                                                                             Binding
+    //                                                                             =======
+    public void test_bindComponent_injectAndRevert() {
+        // ## Arrange ##
+        FooLogic logic = new FooLogic();
+        ComponentBinder binder = createBinder(logic);
+        ThirtyResourceBean bean = new ThirtyResourceBean();
+
+        // ## Act ##
+        BoundResult result = binder.bindComponent(bean);
+
+        // ## Assert ##
+        assertEquals(30, result.getBoundFieldList().size());
+        for (Field field : xfindResourceFieldList()) {
+            assertEquals(logic, xgetForcedly(field, bean));
+        }
+        binder.revertBoundComponent(result);
+        for (Field field : xfindResourceFieldList()) {
+            assertNull(xgetForcedly(field, bean));
+        }
+    }
+
+    // ===================================================================================
+    //                                                                          Comparison
+    //                                                                          ==========
+    public void test_compare_reflection_and_accessor() throws Exception {
+        if (!Boolean.getBoolean(BENCHMARK_PROPERTY)) { // not to slow every build
+            log("...Skipping the benchmark, enable it by -D{}=true", BENCHMARK_PROPERTY);
+            return;
+        }
+        // ## Arrange ##
+        List<Field> fieldList = xfindResourceFieldList();
+        List<BindingAccessor> accessorList = new ArrayList<BindingAccessor>();
+        for (Field field : fieldList) {
+            accessorList.add(new FieldBindingAccessor(field));
+        }
+        ThirtyResourceBean bean = new ThirtyResourceBean();
+        FooLogic logic = new FooLogic();
+
+        // ## Act ##
+        long reflectionSum = 0;
+        long accessorSum = 0;
+        for (int i = 0; i < WARM_UP_COUNT; i++) { // both paths are JIT-compiled here
+            reflectionSum += injectAndRevertByReflection(fieldList, bean, logic);
+            accessorSum += injectAndRevertByAccessor(accessorList, bean, logic);
+        }
+        long reflectionBefore = System.nanoTime();
+        for (int i = 0; i < MEASURE_COUNT; i++) {
+            reflectionSum += injectAndRevertByReflection(fieldList, bean, logic);
+        }
+        long reflectionCost = System.nanoTime() - reflectionBefore;
+        long accessorBefore = System.nanoTime();
+        for (int i = 0; i < MEASURE_COUNT; i++) {
+            accessorSum += injectAndRevertByAccessor(accessorList, bean, logic);
+        }
+        long accessorCost = System.nanoTime() - accessorBefore;
+
+        // ## Assert ##
+        assertEquals(reflectionSum, accessorSum); // also to avoid dead code elimination
+        log("reflection: {} ns/op, accessor: {} ns/op (30 fields, inject and revert)", reflectionCost / MEASURE_COUNT,
+                accessorCost / MEASURE_COUNT);
+        for (Field field : fieldList) {
+            assertNull(field.get(bean));
+        }
+    }
+
+    protected int injectAndRevertByReflection(List<Field> fieldList, Object bean, Object component) throws IllegalAccessException {
+        int count = 0;
+        for (Field field : fieldList) {
+            final Object existing = field.get(bean);
+            field.set(bean, component);
+            count += existing == null ? 1 : 0;
+        }
+        for (int i = fieldList.size() - 1; i >= 0; i--) {
+            fieldList.get(i).set(bean, null);
+        }
+        return count;
+    }
+
+    protected int injectAndRevertByAccessor(List<BindingAccessor> accessorList, Object bean, Object component) {
+        int count = 0;
+        for (BindingAccessor accessor : accessorList) {
+            final Object existing = accessor.getValue(bean);
+            accessor.setValue(bean, component);
+            count += existing == null ? 1 : 0;
+        }
+        for (int i = accessorList.size() - 1; i >= 0; i--) {
+            accessorList.get(i).setValue(bean, null);
+        }
+        return count;
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected ComponentBinder createBinder(FooLogic logic) {
+        return new ComponentBinder(new ComponentProvider() {
+            @SuppressWarnings("unchecked")
+            public <COMPONENT> COMPONENT provideComponent(Class<COMPONENT> type) {
+                return FooLogic.class.equals(type) ? (COMPONENT) logic : null;
+            }
+
+            public <COMPONENT> COMPONENT provideComponent(String name) {
+                return null;
+            }
+
+            public boolean existsComponent(Class<?> type) {
+                return FooLogic.class.equals(type);
+            }
+
+            public boolean existsComponent(String name) {
+                return false;
+            }
+        }, new BindingRuleProvider() {
+            public Map<Class<? extends Annotation>, BindingAnnotationRule> provideBindingAnnotationRuleMap() {
+                final Map<Class<? extends Annotation>, BindingAnnotationRule> ruleMap = newHashMap();
+                ruleMap.put(Resource.class, new BindingAnnotationRule());
+                return ruleMap;
+            }
+
+            public String filterByBindingNamingRule(String propertyName, Class<?> propertyType) {
+                return null;
+            }
+        });
+    }
+
+    protected List<Field> xfindResourceFieldList() {
+        final List<Field> fieldList = new ArrayList<Field>();
+        for (Field field : ThirtyResourceBean.class.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Resource.class)) {
+                field.setAccessible(true);
+                fieldList.add(field);
+            }
+        }
+        return fieldList;
+    }
+
+    protected Object xgetForcedly(Field field, Object bean) {
+        try {
+            return field.get(bean);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class ThirtyResourceBean {
+
+        @Resource
+        private FooLogic logic01;
+
+        @Resource
+        private FooLogic logic02;
+
+        @Resource
+        private FooLogic logic03;
+
+        @Resource
+        private FooLogic logic04;
+
+        @Resource
+        private FooLogic logic05;
+
+        @Resource
+        private FooLogic logic06;
+
+        @Resource
+        private FooLogic logic07;
+
+        @Resource
+        private FooLogic logic08;
+
+        @Resource
+        private FooLogic logic09;
+
+        @Resource
+        private FooLogic logic10;
+
+        @Resource
+        private FooLogic logic11;
+
+        @Resource
+        private FooLogic logic12;
+
+        @Resource
+        private FooLogic logic13;
+
+        @Resource
+        private FooLogic logic14;
+
+        @Resource
+        private FooLogic logic15;
+
+        @Resource
+        private FooLogic logic16;
+
+        @Resource
+        private FooLogic logic17;
+
+        @Resource
+        private FooLogic logic18;
+
+        @Resource
+        private FooLogic logic19;
+
+        @Resource
+        private FooLogic logic20;
+
+        @Resource
+        private FooLogic logic21;
+
+        @Resource
+        private FooLogic logic22;
+
+        @Resource
+        private FooLogic logic23;
+
+        @Resource
+        private FooLogic logic24;
+
+        @Resource
+        private FooLogic logic25;
+
+        @Resource
+        private FooLogic logic26;
+
+        @Resource
+        private FooLogic logic27;
+
+        @Resource
+        private FooLogic logic28;
+
+        @Resource
+        private FooLogic logic29;
+
+        @Resource
+        private FooLogic logic30;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Resource;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class BindingMetricsTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                            Listener
+    //                                                                            ========
+    public void test_registerBindingListener_countLookup() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+        List<BindingMetrics> metricsList = new ArrayList<BindingMetrics>();
+        binder.registerBindingListener(metrics -> metricsList.add(metrics));
+        binder.addMockInstance(new SeaWizard());
+
+        // ## Act ##
+        binder.bindComponent(new SeaTestCase());
+
+        // ## Assert ##
+        assertEquals(1, metricsList.size());
+        BindingMetrics metrics = metricsList.get(0);
+        log(metrics);
+        assertEquals(SeaTestCase.class.getName(), metrics.getTitle());
+        assertEquals(1, metrics.getBindingCount());
+        assertEquals(3, metrics.getFieldScannedCount());
+        assertEquals(2, metrics.getByNameLookupCount()); // except mock
+        assertEquals(2, metrics.getByTypeLookupCount()); // after name lookup misses
+        assertEquals(3, metrics.getMissCount()); // logic by name, land by name and type
+        assertEquals(1, metrics.getMockAppliedCount());
+        assertTrue(metrics.getElapsedNanos() >= 0L);
+    }
+
+    public void test_registerBindingListener_default_noMetrics() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+
+        // ## Act ##
+        binder.bindComponent(new SeaTestCase());
+
+        // ## Assert ##
+        assertNull(binder._metrics); // no allocation as default
+    }
+
+    public void test_registerBindingListener_default_planKeyNotRebuilt() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+        binder.bindComponent(new SeaTestCase());
+        String planKey = binder.findInjectionPlanKey();
+
+        // ## Act ##
+        binder.bindComponent(new SeaTestCase());
+
+        // ## Assert ##
+        assertNull(binder._metrics);
+        assertSame(planKey, binder.findInjectionPlanKey()); // no key building per binding
+    }
+
+    // ===================================================================================
+    //                                                                           Aggregate
+    //                                                                           =========
+    public void test_aggregate_basic() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+        BindingMetrics suite = new BindingMetrics("suite");
+        binder.registerBindingListener(metrics -> suite.aggregate(metrics));
+
+        // ## Act ##
+        binder.bindComponent(new SeaTestCase());
+        binder.bindComponent(new SeaTestCase());
+
+        // ## Assert ##
+        log(suite);
+        assertEquals(2, suite.getBindingCount());
+        assertEquals(6, suite.getFieldScannedCount());
+        assertEquals(6, suite.getByNameLookupCount());
+        assertEquals(6, suite.getByTypeLookupCount());
+        assertEquals(8, suite.getMissCount());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected ComponentBinder createBinder() {
+        return new ComponentBinder(new ComponentProvider() {
+            @SuppressWarnings("unchecked")
+            public <COMPONENT> COMPONENT provideComponent(Class<COMPONENT> type) {
+                if (SeaLogic.class.equals(type)) {
+                    return (COMPONENT) new SeaLogic();
+                } else if (SeaWizard.class.equals(type)) {
+                    return (COMPONENT) new SeaWizard();
+                }
+                return null;
+            }
+
+            public <COMPONENT> COMPONENT provideComponent(String name) {
+                return null;
+            }
+
+            public boolean existsComponent(Class<?> type) {
+                return SeaLogic.class.equals(type) || SeaWizard.class.equals(type);
+            }
+
+            public boolean existsComponent(String name) {
+                return false;
+            }
+        }, new BindingRuleProvider() {
+            public Map<Class<? extends Annotation>, BindingAnnotationRule> provideBindingAnnotationRuleMap() {
+                final Map<Class<? extends Annotation>, BindingAnnotationRule> ruleMap = newHashMap();
+                ruleMap.put(Resource.class, new BindingAnnotationRule());
+                return ruleMap;
+            }
+
+            public String filterByBindingNamingRule(String propertyName, Class<?> propertyType) {
+                return null;
+            }
+        });
+    }
+
+    public static class SeaTestCase {
+
+        @Resource
+        private SeaLogic logic;
+
+        @Resource
+        private SeaWizard wizard;
+
+        @Resource
+        private SeaLand land;
+    }
+
+    public static class SeaLogic {
+    }
+
+    public static class SeaWizard {
+    }
+
+    public static class SeaLand {
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.io.Serializable;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.utflute.lastaflute.bean.FooBhv;
+import org.dbflute.utflute.lastaflute.bean.FooLogic;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class BindingMockRegistryTest extends PlainTestCase {
+
+    public void test_findMock_byAssignableType() {
+        // ## Arrange ##
+        BindingMockRegistry registry = new BindingMockRegistry();
+        SeaLogic sea = new SeaLogic();
+        registry.register(sea);
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(sea, registry.findMock(SeaLogic.class));
+        assertEquals(sea, registry.findMock(FooLogic.class)); // super class
+        assertEquals(sea, registry.findMock(Serializable.class)); // interface
+        assertNull(registry.findMock(FooBhv.class));
+    }
+
+    public void test_findMock_firstMatchWins() {
+        // ## Arrange ##
+        BindingMockRegistry registry = new BindingMockRegistry();
+        FooLogic first = new FooLogic() {
+        };
+        SeaLogic second = new SeaLogic();
+        registry.register(first);
+        registry.register(second);
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(first, registry.findMock(FooLogic.class)); // as registration order
+        assertEquals(second, registry.findMock(SeaLogic.class));
+        assertEquals(second, registry.findMock(Serializable.class));
+        assertEquals(2, registry.getMockList().size());
+    }
+
+    public static class SeaLogic extends FooLogic implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.utflute.core.binding.BoundResult.BoundField;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class BoundResultTest extends PlainTestCase {
+
+    public void test_journal_nestedShared() throws Exception {
+        // ## Arrange ##
+        SeaBean root = new SeaBean();
+        SeaBean nested = new SeaBean();
+        BoundResult rootResult = new BoundResult(root);
+        BoundResult nestedResult = new BoundResult(nested, rootResult);
+        BindingAccessor accessor = new FieldBindingAccessor(xfindField());
+
+        // ## Act ##
+        nestedResult.addBoundField(xfindField(), "nestedExisting", accessor);
+        rootResult.addNestedBoundResult(nestedResult);
+        rootResult.addBoundField(xfindField(), "rootExisting", accessor);
+
+        // ## Assert ##
+        BoundJournal journal = rootResult.getJournal();
+        assertSame(journal, nestedResult.getJournal());
+        assertEquals(2, journal.size()); // not duplicated by adding nested result
+        assertSame(nested, journal.getTarget(0));
+        assertEquals("nestedExisting", journal.getPreviousValue(0));
+        assertSame(root, journal.getTarget(1));
+        assertEquals("rootExisting", journal.getPreviousValue(1));
+    }
+
+    public void test_journal_separatedNested_notCopied() throws Exception {
+        // ## Arrange ##
+        BoundResult rootResult = new BoundResult(new SeaBean());
+        BoundResult separated = new BoundResult(new SeaBean()); // e.g. old style
+        separated.addBoundField(xfindField(), null); // accessor is created
+
+        // ## Act ##
+        rootResult.addNestedBoundResult(separated);
+
+        // ## Assert ##
+        assertEquals(0, rootResult.getJournal().size()); // not copied
+        assertEquals(1, separated.getJournal().size());
+        assertNotNull(separated.getJournal().getAccessor(0));
+        assertEquals(1, rootResult.getNestedBoundResultList().size());
+    }
+
+    public void test_journal_slice_viewsOwnEntries() throws Exception {
+        // ## Arrange ##
+        SeaBean root = new SeaBean();
+        SeaBean nested = new SeaBean();
+        BoundResult rootResult = new BoundResult(root);
+        BindingAccessor accessor = new FieldBindingAccessor(xfindField());
+        rootResult.addBoundField(xfindField(), "rootFirst", accessor);
+
+        // ## Act ##
+        BoundResult nestedResult = new BoundResult(nested, rootResult);
+        nestedResult.addBoundField(xfindField(), "nestedExisting", accessor);
+        rootResult.addNestedBoundResult(nestedResult);
+        rootResult.addBoundField(xfindField(), "rootSecond", accessor);
+
+        // ## Assert ##
+        assertEquals(1, nestedResult.getJournalBegin());
+        assertEquals(2, nestedResult.getJournalEnd()); // closed when added
+        assertEquals(0, rootResult.getJournalBegin());
+        assertEquals(3, rootResult.getJournalEnd()); // open
+        assertEquals(2, rootResult.getBoundFieldList().size()); // own entries only
+        assertEquals("rootFirst", rootResult.getBoundFieldList().get(0).getExisting());
+        assertEquals("rootSecond", rootResult.getBoundFieldList().get(1).getExisting());
+        assertEquals(1, nestedResult.getBoundFieldList().size());
+        assertEquals("nestedExisting", nestedResult.getBoundFieldList().get(0).getExisting());
+        assertTrue(nestedResult.hasBound());
+    }
+
+    public void test_boundList_liveView() throws Exception {
+        // ## Arrange ##
+        SeaBean bean = new SeaBean();
+        BindingAccessor accessor = new FieldBindingAccessor(xfindField());
+        BoundResult result = new BoundResult(bean);
+        List<BoundField> boundFieldList = result.getBoundFieldList();
+        List<BoundResult> nestedBoundResultList = result.getNestedBoundResultList();
+        BoundResult nestedResult = new BoundResult(new SeaBean(), result);
+
+        // ## Act ##
+        boundFieldList.add(new BoundField(xfindField(), "addedByList", accessor));
+        nestedBoundResultList.add(nestedResult);
+        result.addBoundField(xfindField(), "addedByMethod", accessor);
+
+        // ## Assert ##
+        assertEquals(2, boundFieldList.size()); // live view of the journal
+        assertEquals("addedByList", boundFieldList.get(0).getExisting());
+        assertEquals("addedByMethod", boundFieldList.get(1).getExisting());
+        assertEquals(2, result.getJournal().size());
+        assertEquals(1, nestedBoundResultList.size());
+        assertEquals(1, nestedResult.getJournalEnd()); // closed as nested result
+        assertException(UnsupportedOperationException.class, () -> boundFieldList.remove(0));
+        assertException(UnsupportedOperationException.class, () -> nestedBoundResultList.remove(0));
+    }
+
+    public void test_revert_backwards() throws Exception {
+        // ## Arrange ##
+        SeaBean bean = new SeaBean();
+        BindingAccessor accessor = new FieldBindingAccessor(xfindField());
+        BoundResult result = new BoundResult(bean);
+        bean.sea = "first";
+        result.addBoundField(xfindField(), null, accessor); // null to first
+        accessor.setValue(bean, "second");
+        result.addBoundField(xfindField(), "first", accessor); // first to second
+
+        ComponentBinder binder = createRevertBinder();
+
+        // ## Act ##
+        binder.revertBoundComponent(result);
+
+        // ## Assert ##
+        assertNull(bean.sea); // replayed backwards: second to first, first to null
+        assertEquals(0, result.getJournal().size());
+        assertTrue(result.getBoundFieldList().isEmpty());
+    }
+
+    public void test_revert_nested_onlyOwnSlice() throws Exception {
+        // ## Arrange ##
+        SeaBean root = new SeaBean();
+        SeaBean nested = new SeaBean();
+        BindingAccessor accessor = new FieldBindingAccessor(xfindField());
+        BoundResult rootResult = new BoundResult(root);
+        rootResult.addBoundField(xfindField(), "rootExisting", accessor);
+        root.sea = "rootInjected";
+        BoundResult nestedResult = new BoundResult(nested, rootResult);
+        nestedResult.addBoundField(xfindField(), "nestedExisting", accessor);
+        nested.sea = "nestedInjected";
+        rootResult.addNestedBoundResult(nestedResult);
+
+        // ## Act ##
+        createRevertBinder().revertBoundComponent(nestedResult);
+
+        // ## Assert ##
+        assertEquals("nestedExisting", nested.sea);
+        assertEquals("rootInjected", root.sea); // root is not reverted
+        assertFalse(nestedResult.hasBound());
+        assertTrue(nestedResult.getBoundFieldList().isEmpty());
+        assertEquals(1, rootResult.getBoundFieldList().size());
+    }
+
+    public void test_revert_nestedThenParent_notRestoredTwice() throws Exception {
+        // ## Arrange ##
+        SeaBean root = new SeaBean();
+        SeaBean nested = new SeaBean();
+        BindingAccessor accessor = new FieldBindingAccessor(xfindField());
+        BoundResult rootResult = new BoundResult(root);
+        BoundResult nestedResult = new BoundResult(nested, rootResult);
+        nestedResult.addBoundField(xfindField(), "nestedExisting", accessor);
+        nested.sea = "nestedInjected";
+        rootResult.addNestedBoundResult(nestedResult);
+        rootResult.addBoundField(xfindField(), "rootExisting", accessor);
+        root.sea = "rootInjected";
+        ComponentBinder binder = createRevertBinder();
+        binder.revertBoundComponent(nestedResult);
+        nested.sea = "changedAfterRevert";
+
+        // ## Act ##
+        binder.revertBoundComponent(rootResult);
+
+        // ## Assert ##
+        assertEquals("changedAfterRevert", nested.sea); // already reverted
+        assertEquals("rootExisting", root.sea);
+        assertEquals(0, rootResult.getJournal().size()); // released entries are trimmed
+    }
+
+    public void test_revert_separatedNestedThenParent_notRestoredTwice() throws Exception {
+        // ## Arrange ##
+        SeaBean root = new SeaBean();
+        SeaBean separatedBean = new SeaBean();
+        BoundResult rootResult = new BoundResult(root);
+        BoundResult separated = new BoundResult(separatedBean); // e.g. old style
+        separated.addBoundField(xfindField(), "separatedExisting");
+        separatedBean.sea = "separatedInjected";
+        rootResult.addNestedBoundResult(separated);
+        ComponentBinder binder = createRevertBinder();
+
+        // ## Act ##
+        binder.revertBoundComponent(separated);
+        separatedBean.sea = "changedAfterRevert";
+        binder.revertBoundComponent(rootResult);
+
+        // ## Assert ##
+        assertEquals("changedAfterRevert", separatedBean.sea);
+    }
+
+    public void test_revert_parent_separatedNestedReverted() throws Exception {
+        // ## Arrange ##
+        SeaBean root = new SeaBean();
+        SeaBean separatedBean = new SeaBean();
+        BoundResult rootResult = new BoundResult(root);
+        BoundResult separated = new BoundResult(separatedBean); // e.g. old style
+        separated.addBoundField(xfindField(), "separatedExisting");
+        separatedBean.sea = "separatedInjected";
+        rootResult.addNestedBoundResult(separated);
+
+        // ## Act ##
+        createRevertBinder().revertBoundComponent(rootResult);
+
+        // ## Assert ##
+        assertEquals("separatedExisting", separatedBean.sea); // reverted with parent
+    }
+
+    @SuppressWarnings("deprecation")
+    public void test_orderRevertedList_deprecatedButKept() {
+        assertEquals(newArrayList("c", "b", "a"), createRevertBinder().orderRevertedList(newArrayList("a", "b", "c")));
+    }
+
+    protected ComponentBinder createRevertBinder() {
+        return new ComponentBinder(null, new BindingRuleProvider() { // revert only
+            public Map<Class<? extends Annotation>, BindingAnnotationRule> provideBindingAnnotationRuleMap() {
+                return newHashMap();
+            }
+
+            public String filterByBindingNamingRule(String propertyName, Class<?> propertyType) {
+                return null;
+            }
+        });
+    }
+
+    protected Field xfindField() throws NoSuchFieldException {
+        Field field = SeaBean.class.getDeclaredField("sea");
+        field.setAccessible(true);
+        return field;
+    }
+
+    public static class SeaBean {
+
+        private Object sea;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+import javax.annotation.Resource;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.utflute.core.binding.BoundResult.BoundField;
+import org.dbflute.utflute.lastaflute.bean.FooBhv;
+import org.dbflute.utflute.lastaflute.bean.FooLogic;
+
+/**
+ * The test of injector generated by InjectorGenerationProcessor at test-compile (configured in pom.xml).
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class GeneratedInjectorTest extends PlainTestCase {
+
+    public void test_bindComponent_generatedAccessor() {
+        // ## Arrange ##
+        FooLogic logic = new FooLogic();
+        FooBhv bhv = new FooBhv();
+        ComponentBinder binder = createBinder(logic, bhv);
+        GeneratedBean bean = new GeneratedBean();
+
+        // ## Act ##
+        BoundResult result = binder.bindComponent(bean);
+
+        // ## Assert ##
+        assertEquals(logic, bean.fooLogic);
+        assertEquals(bhv, bean.fooBhv);
+        assertEquals(2, result.getBoundFieldList().size());
+        for (BoundField boundField : result.getBoundFieldList()) {
+            String fieldName = boundField.getField().getName();
+            BindingAccessor accessor = boundField.getAccessor();
+            log("{}: {}", fieldName, accessor);
+            assertTrue(accessor instanceof GeneratedFieldAccessor); // also private field
+        }
+        binder.revertBoundComponent(result);
+        assertNull(bean.fooLogic);
+        assertNull(bean.fooBhv);
+    }
+
+    public void test_bindComponent_notOverriding() {
+        // ## Arrange ##
+        FooLogic logic = new FooLogic();
+        ComponentBinder binder = createBinder(logic, new FooBhv());
+        GeneratedBean bean = new GeneratedBean();
+        FooLogic existing = new FooLogic();
+        bean.fooLogic = existing;
+
+        // ## Act ##
+        binder.bindComponent(bean);
+
+        // ## Assert ##
+        assertEquals(existing, bean.fooLogic); // the same as reflection
+    }
+
+    public void test_bindComponent_revertByGenerated() {
+        // ## Arrange ##
+        FooLogic logic = new FooLogic();
+        FooBhv bhv = new FooBhv();
+        ComponentBinder binder = createBinder(logic, bhv);
+        binder.overridingBinding();
+        GeneratedBean bean = new GeneratedBean();
+        FooLogic existingLogic = new FooLogic();
+        FooBhv existingBhv = new FooBhv();
+        bean.fooLogic = existingLogic;
+        bean.fooBhv = existingBhv;
+
+        // ## Act ##
+        BoundResult result = binder.bindComponent(bean);
+
+        // ## Assert ##
+        assertEquals(logic, bean.fooLogic);
+        assertEquals(bhv, bean.fooBhv);
+        binder.revertBoundComponent(result);
+        assertEquals(existingLogic, bean.fooLogic); // by generated revert code
+        assertEquals(existingBhv, bean.fooBhv);
+    }
+
+    public void test_findInjectionPlan_generatedLookupKeys() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder(new FooLogic(), new FooBhv());
+
+        // ## Act ##
+        InjectionPlan plan = binder.findInjectionPlan(NamedBean.class);
+
+        // ## Assert ##
+        assertEquals(2, plan.getFieldPointList().size());
+        for (InjectionPoint point : plan.getFieldPointList()) {
+            log(point);
+            GeneratedFieldAccessor accessor = (GeneratedFieldAccessor) point.getAccessor();
+            if (point.getPropertyName().equals("seaLogic")) {
+                assertEquals("fooLogic", accessor.getSpecifiedName()); // read at compile time
+                assertEquals("fooLogic", point.getComponentName());
+                assertTrue(point.isSpecifiedName());
+                assertEquals(FooLogic.class, accessor.getLookupType());
+            } else {
+                assertNull(accessor.getSpecifiedName());
+                assertFalse(point.isSpecifiedName());
+                assertEquals(FooBhv.class, accessor.getLookupType());
+            }
+            assertEquals(accessor.getLookupType(), point.getPropertyType());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected ComponentBinder createBinder(FooLogic logic, FooBhv bhv) {
+        return new ComponentBinder(new ComponentProvider() {
+            @SuppressWarnings("unchecked")
+            public <COMPONENT> COMPONENT provideComponent(Class<COMPONENT> type) {
+                return FooLogic.class.equals(type) ? (COMPONENT) logic : FooBhv.class.equals(type) ? (COMPONENT) bhv : null;
+            }
+
+            public <COMPONENT> COMPONENT provideComponent(String name) {
+                return null;
+            }
+
+            public boolean existsComponent(Class<?> type) {
+                return FooLogic.class.equals(type) || FooBhv.class.equals(type);
+            }
+
+            public boolean existsComponent(String name) {
+                return false;
+            }
+        }, new BindingRuleProvider() {
+            public Map<Class<? extends Annotation>, BindingAnnotationRule> provideBindingAnnotationRuleMap() {
+                final Map<Class<? extends Annotation>, BindingAnnotationRule> ruleMap = newHashMap();
+                ruleMap.put(Resource.class, new BindingAnnotationRule());
+                return ruleMap;
+            }
+
+            public String filterByBindingNamingRule(String propertyName, Class<?> propertyType) {
+                return null;
+            }
+        });
+    }
+
+    public static class GeneratedBean {
+
+        @Resource
+        protected FooLogic fooLogic; // generated
+
+        @Resource
+        private FooBhv fooBhv; // generated method handles
+    }
+
+    public static class NamedBean {
+
+        @Resource(name = "fooLogic")
+        private FooLogic seaLogic;
+
+        @Resource
+        protected FooBhv fooBhv;
+    }
+}
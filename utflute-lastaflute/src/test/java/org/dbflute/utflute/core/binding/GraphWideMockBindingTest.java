@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+import javax.annotation.Resource;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class GraphWideMockBindingTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    // container-managed singletons: assist to logic to wizard (to assist again)
+    private final SeaAssist assist = new SeaAssist();
+    private final SeaLogic logic = new SeaLogic();
+    private final SeaWizard wizard = new SeaWizard();
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        assist.logic = logic;
+        logic.wizard = wizard;
+        wizard.assist = assist; // cycle
+    }
+
+    // ===================================================================================
+    //                                                                          Graph-wide
+    //                                                                          ==========
+    public void test_graphWide_deepMock_and_revert() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+        MockSeaWizard mockWizard = new MockSeaWizard();
+        binder.addMockInstance(mockWizard);
+        binder.graphWideMockBinding();
+        SeaAction action = new SeaAction();
+
+        // ## Act ##
+        BoundResult result = binder.bindComponent(action);
+
+        // ## Assert ##
+        assertEquals(assist, action.assist); // real
+        assertEquals(logic, assist.logic); // real
+        assertEquals(mockWizard, logic.wizard); // third level
+        assertEquals(1, result.getNestedBoundResultList().size()); // only logic is replaced
+        binder.revertBoundComponent(result);
+        assertEquals(wizard, logic.wizard);
+        assertEquals(assist, wizard.assist);
+    }
+
+    public void test_graphWide_cancel_asNestedMock() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+        binder.addMockInstance(new MockSeaWizard());
+        SeaAction action = new SeaAction();
+
+        // ## Act ##
+        BoundResult result = binder.bindComponent(action);
+
+        // ## Assert ##
+        assertEquals(wizard, logic.wizard); // not reached by nested mock
+        binder.revertBoundComponent(result);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected ComponentBinder createBinder() {
+        return new ComponentBinder(new ComponentProvider() {
+            @SuppressWarnings("unchecked")
+            public <COMPONENT> COMPONENT provideComponent(Class<COMPONENT> type) {
+                if (SeaAssist.class.equals(type)) {
+                    return (COMPONENT) assist;
+                } else if (SeaLogic.class.equals(type)) {
+                    return (COMPONENT) logic;
+                } else if (SeaWizard.class.equals(type)) {
+                    return (COMPONENT) wizard;
+                }
+                return null;
+            }
+
+            public <COMPONENT> COMPONENT provideComponent(String name) {
+                return null;
+            }
+
+            public boolean existsComponent(Class<?> type) {
+                return provideComponent(type) != null;
+            }
+
+            public boolean existsComponent(String name) {
+                return false;
+            }
+        }, new BindingRuleProvider() {
+            public Map<Class<? extends Annotation>, BindingAnnotationRule> provideBindingAnnotationRuleMap() {
+                final Map<Class<? extends Annotation>, BindingAnnotationRule> ruleMap = newHashMap();
+                ruleMap.put(Resource.class, new BindingAnnotationRule());
+                return ruleMap;
+            }
+
+            public String filterByBindingNamingRule(String propertyName, Class<?> propertyType) {
+                return null;
+            }
+        });
+    }
+
+    public static class SeaAction {
+
+        @Resource
+        private SeaAssist assist;
+    }
+
+    public static class SeaAssist {
+
+        @Resource
+        private SeaLogic logic;
+    }
+
+    public static class SeaLogic {
+
+        @Resource
+        private SeaWizard wizard;
+    }
+
+    public static class SeaWizard {
+
+        @Resource
+        private SeaAssist assist;
+    }
+
+    public static class MockSeaWizard extends SeaWizard {
+    }
+}
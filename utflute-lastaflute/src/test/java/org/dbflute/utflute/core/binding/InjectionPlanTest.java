@@ -0,0 +1,214 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+import javax.annotation.Resource;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class InjectionPlanTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                            Plan Key
+    //                                                                            ========
+    public void test_findInjectionPlanKey_cachedAcrossBinding() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+        String firstKey = binder.findInjectionPlanKey();
+
+        // ## Act ##
+        binder.bindComponent(new SeaTestCase());
+        binder.bindComponent(new SeaTestCase());
+
+        // ## Assert ##
+        assertSame(firstKey, binder.findInjectionPlanKey()); // no rebuilding per binding
+        assertEquals(binder.buildInjectionPlanKey(), firstKey);
+    }
+
+    public void test_findInjectionPlanKey_clearedByOption() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+        String plainKey = binder.findInjectionPlanKey();
+
+        // ## Act ##
+        binder.looseBinding();
+        String looseKey = binder.findInjectionPlanKey();
+        binder.cancelLooseBinding();
+        String canceledKey = binder.findInjectionPlanKey();
+
+        // ## Assert ##
+        assertFalse(plainKey.equals(looseKey));
+        assertNotSame(plainKey, canceledKey); // rebuilt
+        assertEquals(plainKey, canceledKey);
+    }
+
+    public void test_findInjectionPlanKey_clearedByAllPlanningOptions() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+
+        // ## Act ##
+        // ## Assert ##
+        assertKeyChanged(binder, () -> binder.annotationOnlyBinding());
+        assertKeyChanged(binder, () -> binder.cancelAnnotationOnlyBinding());
+        assertKeyChanged(binder, () -> binder.byTypeInterfaceOnly());
+        assertKeyChanged(binder, () -> binder.cancelByTypeInterfaceOnly());
+        assertKeyChanged(binder, () -> binder.looseBinding());
+        assertKeyChanged(binder, () -> binder.cancelLooseBinding());
+        assertKeyChanged(binder, () -> binder.stopBindingAtSuper(SeaTestCase.class));
+    }
+
+    public void test_findInjectionPlanKey_rebuiltByRuleAdjustment() {
+        // ## Arrange ##
+        BindingAnnotationRule rule = new BindingAnnotationRule();
+        ComponentBinder binder = createBinder(rule);
+        binder.bindComponent(new SeaTestCase());
+        String plainKey = binder.findInjectionPlanKey();
+        InjectionPlan plainPlan = binder.findInjectionPlan(SeaTestCase.class);
+
+        // ## Act ##
+        rule.byTypeOnly(); // adjusted after the first binding
+        String adjustedKey = binder.findInjectionPlanKey();
+        InjectionPlan adjustedPlan = binder.findInjectionPlan(SeaTestCase.class);
+
+        // ## Assert ##
+        assertFalse(plainKey.equals(adjustedKey));
+        assertSame(adjustedKey, binder.findInjectionPlanKey()); // cached while rules are not changed
+        assertNotSame(plainPlan, adjustedPlan); // not stale plan
+    }
+
+    protected void assertKeyChanged(ComponentBinder binder, Runnable option) {
+        String before = binder.findInjectionPlanKey();
+        option.run();
+        assertFalse(before.equals(binder.findInjectionPlanKey()));
+    }
+
+    // ===================================================================================
+    //                                                                          Plan Cache
+    //                                                                          ==========
+    public void test_findInjectionPlan_sharedBySameOption() {
+        // ## Arrange ##
+        ComponentBinder first = createBinder();
+        ComponentBinder second = createBinder();
+
+        // ## Act ##
+        InjectionPlan firstPlan = first.findInjectionPlan(SeaTestCase.class);
+        InjectionPlan secondPlan = second.findInjectionPlan(SeaTestCase.class);
+
+        // ## Assert ##
+        assertSame(firstPlan, secondPlan); // cached per class and plan key
+        assertEquals(2, firstPlan.getFieldPointList().size());
+    }
+
+    public void test_findInjectionPlan_separatedByOption() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+        InjectionPlan plainPlan = binder.findInjectionPlan(SeaTestCase.class);
+
+        // ## Act ##
+        binder.stopBindingAtSuper(SeaBaseTestCase.class); // super class fields are out of target
+        InjectionPlan stoppedPlan = binder.findInjectionPlan(SeaTestCase.class);
+
+        // ## Assert ##
+        assertNotSame(plainPlan, stoppedPlan);
+        assertEquals(2, plainPlan.getFieldPointList().size());
+        assertEquals(1, stoppedPlan.getFieldPointList().size());
+    }
+
+    public void test_bindComponent_byPlan() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+        SeaTestCase bean = new SeaTestCase();
+
+        // ## Act ##
+        BoundResult result = binder.bindComponent(bean);
+
+        // ## Assert ##
+        assertNotNull(bean.logic);
+        assertNotNull(bean.wizard);
+        assertEquals(2, result.getBoundFieldList().size());
+        binder.revertBoundComponent(result);
+        assertNull(bean.logic);
+        assertNull(bean.wizard);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected ComponentBinder createBinder() {
+        return createBinder(new BindingAnnotationRule());
+    }
+
+    protected ComponentBinder createBinder(BindingAnnotationRule rule) {
+        return new ComponentBinder(new ComponentProvider() {
+            @SuppressWarnings("unchecked")
+            public <COMPONENT> COMPONENT provideComponent(Class<COMPONENT> type) {
+                if (SeaLogic.class.equals(type)) {
+                    return (COMPONENT) new SeaLogic();
+                } else if (SeaWizard.class.equals(type)) {
+                    return (COMPONENT) new SeaWizard();
+                }
+                return null;
+            }
+
+            public <COMPONENT> COMPONENT provideComponent(String name) {
+                return null;
+            }
+
+            public boolean existsComponent(Class<?> type) {
+                return SeaLogic.class.equals(type) || SeaWizard.class.equals(type);
+            }
+
+            public boolean existsComponent(String name) {
+                return false;
+            }
+        }, new BindingRuleProvider() {
+            public Map<Class<? extends Annotation>, BindingAnnotationRule> provideBindingAnnotationRuleMap() {
+                final Map<Class<? extends Annotation>, BindingAnnotationRule> ruleMap = newHashMap();
+                ruleMap.put(Resource.class, rule);
+                return ruleMap;
+            }
+
+            public String filterByBindingNamingRule(String propertyName, Class<?> propertyType) {
+                return null;
+            }
+        });
+    }
+
+    public static class SeaBaseTestCase {
+
+        @Resource
+        protected SeaLogic logic;
+    }
+
+    public static class SeaTestCase extends SeaBaseTestCase {
+
+        @Resource
+        private SeaWizard wizard;
+    }
+
+    public static class SeaLogic {
+    }
+
+    public static class SeaWizard {
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+import javax.annotation.Resource;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class InjectionSnapshotTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    private final SeaLogic singletonLogic = new SeaLogic();
+    private int lookupCount;
+
+    // ===================================================================================
+    //                                                                            Snapshot
+    //                                                                            ========
+    public void test_bindComponentBySnapshot_reuseSingleton_resolvePrototype() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+        Object generation = new Object();
+        InjectionSnapshot snapshot = binder.resolveSnapshot(SeaTestCase.class, generation);
+        int resolvedCount = lookupCount;
+
+        // ## Act ##
+        SeaTestCase first = new SeaTestCase();
+        BoundResult firstResult = binder.bindComponentBySnapshot(first, snapshot);
+        SeaTestCase second = new SeaTestCase();
+        binder.bindComponentBySnapshot(second, snapshot);
+
+        // ## Assert ##
+        assertSame(singletonLogic, first.logic);
+        assertSame(singletonLogic, second.logic);
+        assertNotNull(first.wizard);
+        assertNotNull(second.wizard);
+        assertNotSame(first.wizard, second.wizard); // prototype is resolved in every binding
+        assertEquals(resolvedCount + 2, lookupCount); // only prototype lookups
+        assertTrue(snapshot.isReusable(generation, binder.buildSnapshotKey()));
+        assertFalse(snapshot.isReusable(new Object(), binder.buildSnapshotKey())); // e.g. container switched
+        binder.revertBoundComponent(firstResult);
+        assertNull(first.logic);
+        assertNull(first.wizard);
+    }
+
+    public void test_buildSnapshotKey_nonBindingType() {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder();
+        InjectionSnapshot snapshot = binder.resolveSnapshot(SeaTestCase.class, "generation");
+
+        // ## Act ##
+        binder.addNonBindingType(SeaWizard.class);
+
+        // ## Assert ##
+        assertFalse(snapshot.isReusable("generation", binder.buildSnapshotKey()));
+        assertTrue(binder.isSnapshotBindable());
+        binder.addMockInstance(new SeaLogic());
+        assertFalse(binder.isSnapshotBindable()); // mock has side effect
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected ComponentBinder createBinder() {
+        return new ComponentBinder(new ComponentProvider() {
+            @SuppressWarnings("unchecked")
+            public <COMPONENT> COMPONENT provideComponent(Class<COMPONENT> type) {
+                ++lookupCount;
+                if (SeaLogic.class.equals(type)) {
+                    return (COMPONENT) singletonLogic;
+                } else if (SeaWizard.class.equals(type)) {
+                    return (COMPONENT) new SeaWizard(); // prototype
+                }
+                return null;
+            }
+
+            public <COMPONENT> COMPONENT provideComponent(String name) {
+                return null;
+            }
+
+            public boolean existsComponent(Class<?> type) {
+                return SeaLogic.class.equals(type) || SeaWizard.class.equals(type);
+            }
+
+            public boolean existsComponent(String name) {
+                return false;
+            }
+
+            public boolean isReusableComponent(Class<?> type) {
+                return SeaLogic.class.equals(type);
+            }
+        }, new BindingRuleProvider() {
+            public Map<Class<? extends Annotation>, BindingAnnotationRule> provideBindingAnnotationRuleMap() {
+                final Map<Class<? extends Annotation>, BindingAnnotationRule> ruleMap = newHashMap();
+                ruleMap.put(Resource.class, new BindingAnnotationRule());
+                return ruleMap;
+            }
+
+            public String filterByBindingNamingRule(String propertyName, Class<?> propertyType) {
+                return null;
+            }
+        });
+    }
+
+    public static class SeaTestCase {
+
+        @Resource
+        private SeaLogic logic;
+
+        @Resource
+        private SeaWizard wizard;
+    }
+
+    public static class SeaLogic {
+    }
+
+    public static class SeaWizard {
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballArrivalTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                       Over Capacity
+    //                                                                       =============
+    public void test_arrivalRate_overCapacity() {
+        // ## Arrange ##
+        CannonballDirector director = new CannonballDirector(new TestingCannonballStaff());
+
+        // ## Act ##
+        CannonballResult result = director.readyGoMeasured(car -> {
+            car.teaBreak(50L); // one worker handles 20 per second
+        }, new CannonballOption().threadCount(1).suppressTx().arrivalRate(200, 500L).maxBacklog(5));
+
+        // ## Assert ##
+        assertTrue(result.isOverCapacity());
+        CannonballArrivalReport report = result.getArrivalReportList().get(0);
+        log(report.toDisplayString());
+        assertEquals(100, report.getScheduledCount());
+        assertTrue(report.getDroppedCount() > 0);
+        assertEquals(5, report.getMaxBacklog()); // reached
+        assertEquals(0, report.getFailedCount());
+        CannonballMeasurement measurement = result.getRepeatMeasurementList().get(0);
+        assertEquals(report.getSubmittedCount(), measurement.getOperationCount());
+        assertTrue(measurement.getMaxNanos() > TimeUnit.MILLISECONDS.toNanos(100L)); // from intended time, waiting in backlog
+    }
+
+    public void test_arrivalRate_underCapacity() {
+        // ## Arrange ##
+        CannonballDirector director = new CannonballDirector(new TestingCannonballStaff());
+
+        // ## Act ##
+        CannonballResult result = director.readyGoMeasured(car -> {
+            car.teaBreak(1L);
+        }, new CannonballOption().threadCount(4).suppressTx().arrivalRate(20, 500L));
+
+        // ## Assert ##
+        assertFalse(result.isOverCapacity());
+        CannonballArrivalReport report = result.getArrivalReportList().get(0);
+        log(report.toDisplayString());
+        assertEquals(10, report.getScheduledCount());
+        assertEquals(0, report.getDroppedCount());
+        assertEquals(10, result.getRepeatMeasurementList().get(0).getOperationCount());
+    }
+
+    // ===================================================================================
+    //                                                                           Load Mode
+    //                                                                           =========
+    public void test_arrivalRate_withLoadMode_rejected() {
+        try {
+            new CannonballOption().loadMode(100L, 1000L, 100L).arrivalRate(100, 1000L);
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getMessage());
+        }
+        try {
+            new CannonballOption().arrivalRate(100, 1000L).loadMode(100L, 1000L, 100L);
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getMessage());
+        }
+    }
+}
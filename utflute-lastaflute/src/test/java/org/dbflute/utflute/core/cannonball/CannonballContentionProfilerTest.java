@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballContentionProfilerTest extends PlainTestCase {
+
+    public void test_profileContention_rankedByBlockedTime() {
+        // ## Arrange ##
+        CannonballDirector director = new CannonballDirector(new TestingCannonballStaff());
+        Object monitor = new Object();
+
+        // ## Act ##
+        CannonballResult result = director.readyGoMeasured(car -> {
+            synchronized (monitor) { // other cars are blocked here
+                car.teaBreak(50L);
+            }
+        }, new CannonballOption().threadCount(4).suppressTx().profileContention());
+
+        // ## Assert ##
+        List<CannonballContentionReport> reportList = result.getContentionReportList();
+        assertEquals(1, reportList.size());
+        CannonballContentionReport report = reportList.get(0);
+        log(report.toDisplayString(10, 3));
+        List<CannonballCarProfile> profileList = report.getCarProfileList();
+        assertEquals(4, profileList.size());
+        assertTrue(report.getTotalBlockedMillis() >= 100L); // at least 50 + 100 + 150 ideally
+        for (int i = 1; i < profileList.size(); i++) {
+            assertTrue(profileList.get(i - 1).getBlockedMillis() >= profileList.get(i).getBlockedMillis());
+        }
+        assertTrue(profileList.get(0).getBlockedCount() > 0);
+        assertTrue(profileList.get(0).getWallNanos() > 0);
+        assertTrue(report.getSamplingCount() > 0);
+        String topOwner = report.getLockOwnerSampleMap().keySet().iterator().next();
+        assertTrue(topOwner, topOwner.startsWith(CannonballGarage.CAR_NAME_PREFIX));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballDragonTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                            Overtime
+    //                                                                            ========
+    public void test_releaseIfOvertime_firedAtDeadline() throws Exception {
+        // ## Arrange ##
+        CannonballGarage garage = new CannonballGarage(new CannonballOption().threadCount(2));
+        LeavingLatch ourLatch = new LeavingLatch();
+        CannonballDragon dragon = createDragon(garage, ourLatch, "sea");
+        long beginNanos = System.nanoTime();
+
+        // ## Act ##
+        dragon.releaseIfOvertime(100L);
+
+        // ## Assert ##
+        assertTrue(ourLatch.awaitLeaving());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(ourLatch.getLeftNanos() - beginNanos);
+        log("overtime release: elapsed={}ms, limit=100ms", elapsedMillis);
+        assertTrue(elapsedMillis >= 99); // not before the limit (nanos may be truncated)
+        assertTrue(elapsedMillis < 150); // about a millisecond without load, loose for slow environment
+        assertEquals(0, garage.close(1000L).size());
+    }
+
+    public void test_releaseIfOvertime_reset_closeOldWatch() throws Exception {
+        // ## Arrange ##
+        CannonballGarage garage = new CannonballGarage(new CannonballOption().threadCount(2));
+        LeavingLatch ourLatch = new LeavingLatch();
+        CannonballDragon dragon = createDragon(garage, ourLatch, "sea");
+        dragon.releaseIfOvertime(50L);
+
+        // ## Act ##
+        dragon.releaseIfOvertime(300L); // reset
+
+        // ## Assert ##
+        assertFalse(ourLatch.awaitLeaving(150L)); // old watch was closed
+        assertTrue(ourLatch.awaitLeaving());
+        assertEquals(1, ourLatch.getLeftCount());
+        assertEquals(0, getWatcherQueueSize(garage)); // fired or cancelled
+        garage.close(1000L);
+    }
+
+    public void test_closeAll_cancelled() throws Exception {
+        // ## Arrange ##
+        CannonballGarage garage = new CannonballGarage(new CannonballOption().threadCount(2));
+        LeavingLatch ourLatch = new LeavingLatch();
+        CannonballDragon dragon = createDragon(garage, ourLatch, "sea");
+        dragon.releaseIfOvertime(100L);
+        dragon.releaseIfOvertime(200L);
+
+        // ## Act ##
+        dragon.closeAll(); // e.g. plan is normally done
+
+        // ## Assert ##
+        assertEquals(0, getWatcherQueueSize(garage)); // removed on cancel, not retained until the deadline
+        assertFalse(ourLatch.awaitLeaving(300L));
+        garage.close(1000L);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private CannonballDragon createDragon(CannonballGarage garage, CannonballLatch ourLatch, String projectAKey) {
+        CannonballCar car = new CannonballCar(Thread.currentThread().getId(), ourLatch, 1, new Object(), 2, msgs -> {},
+                garage.getWatcherService());
+        return new CannonballDragon(car, new CannonballWatchingStatus(projectAKey));
+    }
+
+    private int getWatcherQueueSize(CannonballGarage garage) {
+        return ((ScheduledThreadPoolExecutor) garage.getWatcherService()).getQueue().size();
+    }
+
+    private static class LeavingLatch extends CannonballLatch {
+
+        private final CountDownLatch _left = new CountDownLatch(1);
+        private volatile long _leftNanos;
+        private volatile int _leftCount;
+
+        public LeavingLatch() {
+            super(2, msgs -> {});
+        }
+
+        @Override
+        public void leaveProjectAAlone(String projectAKey, int entryNumber) {
+            _leftNanos = System.nanoTime();
+            ++_leftCount; // only watcher thread
+            _left.countDown();
+        }
+
+        public boolean awaitLeaving() throws InterruptedException {
+            return awaitLeaving(3000L);
+        }
+
+        public boolean awaitLeaving(long millis) throws InterruptedException {
+            return _left.await(millis, TimeUnit.MILLISECONDS);
+        }
+
+        public long getLeftNanos() {
+            return _leftNanos;
+        }
+
+        public int getLeftCount() {
+            return _leftCount;
+        }
+    }
+}
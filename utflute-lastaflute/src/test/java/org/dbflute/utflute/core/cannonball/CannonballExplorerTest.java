@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballExplorerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                             Explore
+    //                                                                             =======
+    public void test_exploreSchedule_findLostUpdate() {
+        // ## Arrange ##
+        CannonballDirector director = new CannonballDirector(new TestingCannonballStaff());
+        LostUpdateRun run = new LostUpdateRun();
+
+        // ## Act ##
+        CannonballResult result = director.readyGoMeasured(run, createLostUpdateOption().exploreSchedule(50));
+
+        // ## Assert ##
+        Long failedSeed = result.getFailedSeed();
+        log("failed seed: {}, explored={}", failedSeed, result.getExploredSeedList());
+        assertNotNull(failedSeed);
+        assertEquals(failedSeed, result.getExploredSeedList().get(result.getExploredSeedList().size() - 1)); // stopped
+    }
+
+    public void test_replaySeed_sameInterleaving() {
+        // ## Arrange ##
+        CannonballDirector explorationDirector = new CannonballDirector(new TestingCannonballStaff());
+        CannonballOption explorationOption = createLostUpdateOption().exploreSchedule(50);
+        Long failedSeed = explorationDirector.readyGoMeasured(new LostUpdateRun(), explorationOption).getFailedSeed();
+        assertNotNull(failedSeed);
+
+        // ## Act ##
+        List<List<String>> decisionsList = new ArrayList<List<String>>();
+        for (int i = 0; i < 3; i++) {
+            RecordingDirector replayDirector = new RecordingDirector();
+            CannonballResult result = replayDirector.readyGoMeasured(new LostUpdateRun(), createLostUpdateOption().replaySeed(failedSeed));
+            assertEquals(failedSeed, result.getFailedSeed()); // fails again
+            decisionsList.add(replayDirector.getExplorer().getDecisionList());
+        }
+
+        // ## Assert ##
+        log("decisions of seed {}: {}", failedSeed, decisionsList.get(0));
+        assertEquals(decisionsList.get(0), decisionsList.get(1));
+        assertEquals(decisionsList.get(0), decisionsList.get(2));
+    }
+
+    public void test_exploreSchedule_noFailure_restartAndProjectA() {
+        // ## Arrange ##
+        CannonballDirector director = new CannonballDirector(new TestingCannonballStaff());
+        AtomicInteger planCount = new AtomicInteger();
+        AtomicInteger counter = new AtomicInteger();
+
+        // ## Act ##
+        CannonballResult result = director.readyGoMeasured(car -> {
+            car.projectA(dragon -> {
+                car.yieldPoint(); // waiting cars cannot run
+                planCount.incrementAndGet();
+            }, 1);
+            if (planCount.get() != 1) {
+                throw new IllegalStateException("the car went before the plan: " + car);
+            }
+            counter.incrementAndGet();
+            car.restart();
+            if (counter.get() % 3 != 0) {
+                throw new IllegalStateException("the car went before restart of others: " + car);
+            }
+            planCount.set(0); // next seed, only one car runs at a time
+        }, new CannonballOption().threadCount(3).suppressTx().exploreSchedule(20));
+
+        // ## Assert ##
+        assertNull(result.getFailedSeed());
+        assertEquals(20, result.getExploredSeedList().size());
+    }
+
+    public void test_exploreParallel_findLostUpdate() {
+        // ## Arrange ##
+        CannonballDirector director = new CannonballDirector(new TestingCannonballStaff());
+
+        // ## Act ##
+        CannonballOption option = createLostUpdateOption().exploreSchedule(50).exploreParallel(4);
+        CannonballResult result = director.readyGoMeasured(new LostUpdateRun(), option);
+
+        // ## Assert ##
+        log("failed seed (parallel): {}, explored={}", result.getFailedSeed(), result.getExploredSeedList().size());
+        assertNotNull(result.getFailedSeed());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private CannonballOption createLostUpdateOption() {
+        return new CannonballOption().threadCount(2).suppressTx().expectExceptionAny("lost update");
+    }
+
+    private static class LostUpdateRun implements CannonballRun {
+
+        private final Map<Object, AtomicInteger> _counterMap = new ConcurrentHashMap<Object, AtomicInteger>(); // key is race
+
+        public void drive(CannonballCar car) {
+            AtomicInteger counter = _counterMap.computeIfAbsent(car.getLockObj(), key -> new AtomicInteger()); // lock object per race
+            int read = counter.get();
+            car.yieldPoint(); // other car may update the counter here
+            counter.set(read + 1);
+            car.restart();
+            if (counter.get() != 2) {
+                throw new IllegalStateException("lost update: " + counter.get());
+            }
+        }
+    }
+
+    private class RecordingDirector extends CannonballDirector {
+
+        private CannonballExplorer _explorer; // only one seed
+
+        public RecordingDirector() {
+            super(new TestingCannonballStaff());
+        }
+
+        @Override
+        protected CannonballExplorer createExplorer(CannonballOption option, long seed) {
+            _explorer = super.createExplorer(option, seed);
+            return _explorer;
+        }
+
+        public CannonballExplorer getExplorer() {
+            return _explorer;
+        }
+    }
+}
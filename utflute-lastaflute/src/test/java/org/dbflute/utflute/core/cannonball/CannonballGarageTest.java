@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballGarageTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                          Car Thread
+    //                                                                          ==========
+    public void test_readyGo_repeat_onePoolPerRace() {
+        // ## Arrange ##
+        GarageRecordingDirector director = new GarageRecordingDirector();
+
+        // ## Act ##
+        director.readyGo(car -> {
+            car.restart();
+        }, new CannonballOption().threadCount(3).repeatCount(4).suppressTx());
+
+        // ## Assert ##
+        List<CannonballGarage> garageList = director.getGarageList();
+        assertEquals(1, garageList.size()); // not per repeat
+        List<Thread> carThreadList = garageList.get(0).getCarThreadList();
+        assertEquals(3, carThreadList.size()); // reused in repeats
+        for (Thread carThread : carThreadList) {
+            assertFalse(carThread.toString(), carThread.isAlive()); // closed deterministically
+        }
+    }
+
+    public void test_readyGo_leakedCar_fails() throws Exception {
+        // ## Arrange ##
+        GarageRecordingDirector director = new GarageRecordingDirector() { // gives up the cars
+            @Override
+            protected void awaitGoal(CountDownLatch goal, CannonballWatchdog watchdog) throws InterruptedException {
+                goal.await(100L, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            protected List<Object> handleFuture(CannonballOption option, List<Future<Object>> futureList) {
+                return new ArrayList<Object>(); // leaves the cars running
+            }
+        };
+        long before = System.currentTimeMillis();
+        StuckCarRun run = new StuckCarRun();
+
+        // ## Act ##
+        try {
+            director.readyGo(run, new CannonballOption().threadCount(2).suppressTx());
+            fail();
+        } catch (AssertionError e) {
+            // ## Assert ##
+            String msg = e.getMessage();
+            log(msg);
+            assertTrue(msg, msg.contains("leaked after the race"));
+            assertTrue(msg, msg.contains(CannonballGarage.CAR_NAME_PREFIX));
+            assertTrue(System.currentTimeMillis() - before < 10000L); // by closing timeout
+        } finally {
+            run.release(); // not to leak them to other tests
+            for (CannonballGarage garage : director.getGarageList()) {
+                for (Thread carThread : garage.getCarThreadList()) {
+                    carThread.join(3000L);
+                }
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private static class GarageRecordingDirector extends CannonballDirector {
+
+        private final List<CannonballGarage> _garageList = new ArrayList<CannonballGarage>();
+
+        public GarageRecordingDirector() {
+            super(new TestingCannonballStaff());
+        }
+
+        @Override
+        protected CannonballGarage createGarage(CannonballOption option) {
+            CannonballGarage garage = super.createGarage(option);
+            _garageList.add(garage);
+            return garage;
+        }
+
+        @Override
+        protected long getGarageClosingTimeoutMillis() {
+            return 300L;
+        }
+
+        public List<CannonballGarage> getGarageList() {
+            return _garageList;
+        }
+    }
+
+    private static class StuckCarRun implements CannonballRun {
+
+        private volatile boolean _released;
+
+        public void drive(CannonballCar car) {
+            while (!_released) { // ignores interruption by closing garage
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10L));
+            }
+        }
+
+        public void release() {
+            _released = true;
+        }
+    }
+}
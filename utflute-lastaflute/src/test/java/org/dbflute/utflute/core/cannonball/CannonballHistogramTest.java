@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballHistogramTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                        Bucket Index
+    //                                                                        ============
+    public void test_indexOf_boundary() {
+        // exact under sub-bucket count
+        assertEquals(127, CannonballHistogram.indexOf(127L));
+        assertEquals(127L, CannonballHistogram.highestValueOf(127));
+
+        // first log-linear bucket (width 2)
+        assertEquals(128, CannonballHistogram.indexOf(128L));
+        assertEquals(128, CannonballHistogram.indexOf(129L));
+        assertEquals(129L, CannonballHistogram.highestValueOf(128));
+        assertEquals(191, CannonballHistogram.indexOf(255L));
+        assertEquals(255L, CannonballHistogram.highestValueOf(191));
+
+        // second log-linear bucket (width 4)
+        assertEquals(192, CannonballHistogram.indexOf(256L));
+        assertEquals(192, CannonballHistogram.indexOf(259L));
+        assertEquals(193, CannonballHistogram.indexOf(260L));
+        assertEquals(259L, CannonballHistogram.highestValueOf(192));
+    }
+
+    public void test_indexOf_relativeError() {
+        for (long value = 1L; value < 1_000_000L; value = value * 3 + 1) {
+            long highest = CannonballHistogram.highestValueOf(CannonballHistogram.indexOf(value));
+            assertTrue(value + " -> " + highest, highest >= value);
+            assertTrue(value + " -> " + highest, (highest - value) * 64 <= value); // under 1/64
+        }
+    }
+
+    public void test_record_boundary_percentile() {
+        // ## Arrange ##
+        CannonballHistogram histogram = new CannonballHistogram();
+
+        // ## Act ##
+        histogram.record(127L);
+        histogram.record(128L);
+        histogram.record(255L);
+        histogram.record(256L);
+
+        // ## Assert ##
+        assertEquals(4L, histogram.getTotalCount());
+        assertEquals(127L, histogram.getValueAtPercentile(25.0));
+        assertEquals(129L, histogram.getValueAtPercentile(50.0)); // highest equivalent value
+        assertEquals(255L, histogram.getValueAtPercentile(75.0));
+        assertEquals(256L, histogram.getValueAtPercentile(100.0)); // not over max
+        assertEquals(127L, histogram.getMinValue());
+        assertEquals(256L, histogram.getMaxValue());
+    }
+
+    // ===================================================================================
+    //                                                                          Percentile
+    //                                                                          ==========
+    public void test_getValueAtPercentile_knownDistribution() {
+        // ## Arrange ##
+        CannonballHistogram histogram = new CannonballHistogram();
+
+        // ## Act ##
+        for (long value = 1L; value <= 10000L; value++) { // uniform
+            histogram.record(value);
+        }
+
+        // ## Assert ##
+        assertEquals(10000L, histogram.getTotalCount());
+        assertWithinRelativeError(5000L, histogram.getValueAtPercentile(50.0));
+        assertWithinRelativeError(9900L, histogram.getValueAtPercentile(99.0));
+        assertEquals(10000L, histogram.getValueAtPercentile(100.0));
+        assertEquals(1L, histogram.getMinValue());
+        assertEquals(10000L, histogram.getMaxValue()); // exact
+        assertEquals(5000.5, histogram.getMean(), 0.0001);
+    }
+
+    public void test_getValueAtPercentile_noRecord() {
+        CannonballHistogram histogram = new CannonballHistogram();
+        assertEquals(0L, histogram.getValueAtPercentile(99.0));
+        assertEquals(0L, histogram.getMinValue());
+        assertEquals(0L, histogram.getMaxValue());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+    }
+
+    // ===================================================================================
+    //                                                                               Merge
+    //                                                                               =====
+    public void test_merge_sameAsRecordedInOne() {
+        // ## Arrange ##
+        CannonballHistogram small = new CannonballHistogram(); // short counts array
+        CannonballHistogram large = new CannonballHistogram();
+        CannonballHistogram expected = new CannonballHistogram();
+        for (long value = 1L; value <= 100L; value++) {
+            small.record(value);
+            expected.record(value);
+        }
+        for (long value = 1_000_000L; value <= 1_000_900L; value += 100L) {
+            large.record(value);
+            expected.record(value);
+        }
+        CannonballHistogram merged = new CannonballHistogram();
+
+        // ## Act ##
+        merged.merge(small);
+        merged.merge(large); // grows the counts array
+
+        // ## Assert ##
+        assertEquals(110L, merged.getTotalCount());
+        assertEquals(1L, merged.getMinValue());
+        assertEquals(1_000_900L, merged.getMaxValue());
+        assertEquals(expected.getMean(), merged.getMean(), 0.0001);
+        for (double percentile : new double[] { 1.0, 50.0, 90.0, 91.0, 99.0, 100.0 }) {
+            assertEquals(expected.getValueAtPercentile(percentile), merged.getValueAtPercentile(percentile));
+        }
+        assertEquals(99L, merged.getValueAtPercentile(90.0)); // 99th of 110 records, in small
+        assertWithinRelativeError(1_000_000L, merged.getValueAtPercentile(91.0)); // 101st of 110 records, in large
+        assertEquals(10L, large.getTotalCount()); // not changed
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private void assertWithinRelativeError(long expected, long actual) {
+        assertTrue("expected=" + expected + ", actual=" + actual, actual >= expected);
+        assertTrue("expected=" + expected + ", actual=" + actual, (actual - expected) * 64 <= expected);
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballLatchTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final int CAR_COUNT = 200;
+    private static final int ROUND_COUNT = 30;
+
+    // ===================================================================================
+    //                                                                              Stress
+    //                                                                              ======
+    public void test_await_stress_releasedAfterAllArrived() throws Exception {
+        // ## Arrange ##
+        CannonballLatch ourLatch = new CannonballLatch(CAR_COUNT, createSilentLogger());
+        long[][] arrivedTimes = new long[ROUND_COUNT][CAR_COUNT];
+        long[][] releasedTimes = new long[ROUND_COUNT][CAR_COUNT];
+
+        // ## Act ##
+        runCars(entryNumber -> {
+            for (int round = 0; round < ROUND_COUNT; round++) {
+                arrivedTimes[round][entryNumber - 1] = System.nanoTime();
+                ourLatch.await(CannonballLatch.DEFAULT_LATCH_NAME, entryNumber);
+                releasedTimes[round][entryNumber - 1] = System.nanoTime();
+            }
+        });
+
+        // ## Assert ##
+        for (int round = 0; round < ROUND_COUNT; round++) { // no car goes to next round before others arrive
+            long lastArrived = Arrays.stream(arrivedTimes[round]).max().getAsLong();
+            long firstReleased = Arrays.stream(releasedTimes[round]).min().getAsLong();
+            assertTrue("round=" + round, firstReleased - lastArrived >= 0);
+        }
+        assertEquals(CAR_COUNT, ourLatch.getActiveCount()); // no breakaway
+        assertNull(ourLatch.getDefaultLatch()); // destroyed by last car
+    }
+
+    // ===================================================================================
+    //                                                                           Semantics
+    //                                                                           =========
+    public void test_await_releasedDefaultLatch_nextGeneration() throws Exception {
+        // ## Arrange ##
+        CannonballLatch ourLatch = new CannonballLatch(2, createSilentLogger());
+        CannonballVaryingLatch previous = new CannonballVaryingLatch(2);
+        previous.releaseAll(); // e.g. got by the car just before the last car destroyed it
+        ourLatch._ourLatchMap.put(CannonballLatch.DEFAULT_LATCH_NAME, previous);
+        CountDownLatch released = new CountDownLatch(1);
+        Thread waiting = new Thread(() -> {
+            ourLatch.await(CannonballLatch.DEFAULT_LATCH_NAME, 1);
+            released.countDown();
+        });
+
+        // ## Act ##
+        waiting.start();
+
+        // ## Assert ##
+        awaitWaitingCount(ourLatch, 1); // arrived at next generation
+        assertNotSame(previous, ourLatch.getDefaultLatch());
+        assertFalse(released.await(100, TimeUnit.MILLISECONDS)); // not go by the released latch
+        ourLatch.await(CannonballLatch.DEFAULT_LATCH_NAME, 2); // last
+        assertTrue(released.await(3, TimeUnit.SECONDS));
+    }
+
+    public void test_await_releasedNamedLatch_goForever() throws Exception {
+        // ## Arrange ##
+        CannonballLatch ourLatch = new CannonballLatch(2, createSilentLogger());
+        String latchName = "sea::waitFor";
+        Thread waiting = new Thread(() -> ourLatch.awaitSilently(latchName, 1));
+        waiting.start();
+        ourLatch.awaitSilently(latchName, 2); // released
+
+        // ## Act ##
+        ourLatch.awaitSilently(latchName, 1); // e.g. same projectA again
+
+        // ## Assert ##
+        waiting.join(3000L);
+        assertFalse(waiting.isAlive());
+        assertTrue(ourLatch._ourLatchMap.get(latchName).isReleasedLatch()); // not destroyed
+    }
+
+    public void test_await_noActiveCar_go() {
+        // ## Arrange ##
+        CannonballLatch ourLatch = new CannonballLatch(1, createSilentLogger());
+        ourLatch.breakAway(1, false); // active count is zero
+
+        // ## Act ##
+        ourLatch.await(CannonballLatch.DEFAULT_LATCH_NAME, 1); // not waiting forever
+
+        // ## Assert ##
+        assertEquals(0, ourLatch.getActiveCount());
+        assertTrue(ourLatch.getDefaultLatch().isReleasedLatch()); // released from the beginning
+    }
+
+    public void test_breakAway_releaseWaiting_and_decrement() throws Exception {
+        // ## Arrange ##
+        CannonballLatch ourLatch = new CannonballLatch(3, createSilentLogger());
+        CountDownLatch released = new CountDownLatch(1);
+        Thread waiting = new Thread(() -> {
+            ourLatch.await(CannonballLatch.DEFAULT_LATCH_NAME, 1);
+            released.countDown();
+        });
+        waiting.start();
+        awaitWaitingCount(ourLatch, 2);
+
+        // ## Act ##
+        ourLatch.breakAway(2, false);
+
+        // ## Assert ##
+        assertTrue(released.await(3, TimeUnit.SECONDS));
+        assertEquals(2, ourLatch.getActiveCount());
+        assertNull(ourLatch.getDefaultLatch());
+    }
+
+    public void test_comeBackFromOvertimeProjectA_bufferCount() throws Exception {
+        // ## Arrange ##
+        CannonballLatch ourLatch = new CannonballLatch(3, createSilentLogger());
+        ourLatch.leaveProjectAAlone("sea", 1); // active count is 2
+        CountDownLatch released = new CountDownLatch(1);
+        Thread waiting = new Thread(() -> {
+            ourLatch.await(CannonballLatch.DEFAULT_LATCH_NAME, 2);
+            released.countDown();
+        });
+        waiting.start();
+        awaitWaitingCount(ourLatch, 1);
+
+        // ## Act ##
+        ourLatch.comeBackFromOvertimeProjectA("sea", 1); // buffer: the overtime car should also arrive
+
+        // ## Assert ##
+        assertEquals(3, ourLatch.getActiveCount());
+        assertEquals(2, ourLatch.getDefaultLatch().getCount());
+        new Thread(() -> ourLatch.await(CannonballLatch.DEFAULT_LATCH_NAME, 3)).start();
+        awaitWaitingCount(ourLatch, 1);
+        assertFalse(released.await(100, TimeUnit.MILLISECONDS)); // waiting for the overtime car
+        ourLatch.await(CannonballLatch.DEFAULT_LATCH_NAME, 1); // last
+        assertTrue(released.await(3, TimeUnit.SECONDS));
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private void runCars(CarCall carCall) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threadList = new ArrayList<Thread>();
+        for (int i = 0; i < CAR_COUNT; i++) {
+            int entryNumber = i + 1;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                carCall.drive(entryNumber);
+            });
+            thread.start();
+            threadList.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threadList) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+            assertFalse("the car was not released: " + thread, thread.isAlive());
+        }
+    }
+
+    private void awaitWaitingCount(CannonballLatch ourLatch, long count) throws InterruptedException {
+        for (int i = 0; i < 300; i++) {
+            CannonballVaryingLatch defaultLatch = ourLatch.getDefaultLatch();
+            if (defaultLatch != null && defaultLatch.getCount() == count) {
+                Thread.sleep(10); // to be waiting
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("the waiting car did not come: expected count=" + count);
+    }
+
+    private CannonballLogger createSilentLogger() {
+        return msgs -> {};
+    }
+
+    private static interface CarCall {
+
+        void drive(int entryNumber);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballLoadModeTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                        Steady State
+    //                                                                        ============
+    public void test_loadMode_measureSteadyStateOnly() {
+        // ## Arrange ##
+        PlanRecordingDirector director = new PlanRecordingDirector();
+        List<Long> driveNanosList = Collections.synchronizedList(new ArrayList<Long>());
+
+        // ## Act ##
+        CannonballResult result = director.readyGoMeasured(car -> {
+            driveNanosList.add(System.nanoTime()); // a little after the director's drive time
+            car.teaBreak(5L);
+        }, new CannonballOption().threadCount(2).suppressTx().loadMode(300L, 300L, 300L).measure());
+
+        // ## Assert ##
+        CannonballLoadPlan plan = director.getLoadPlan();
+        CannonballMeasurement measurement = result.getRepeatMeasurementList().get(0);
+        log(measurement.toDisplayString());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300L), measurement.getElapsedNanos()); // steady state, not whole race
+        long measuredCount = measurement.getOperationCount();
+        long margin = TimeUnit.MILLISECONDS.toNanos(5L); // between director's drive time and the car's
+        int certainCount = 0; // surely started in steady state
+        int possibleCount = 0; // may be started in steady state
+        for (Long driveNanos : driveNanosList) {
+            if (driveNanos - (plan.getSteadyBeginNanos() + margin) >= 0 && driveNanos - plan.getSteadyEndNanos() < 0) {
+                ++certainCount;
+            }
+            if (driveNanos - plan.getSteadyBeginNanos() >= 0 && driveNanos - (plan.getSteadyEndNanos() + margin) < 0) {
+                ++possibleCount;
+            }
+        }
+        log("drives={}, measured={}, certain={}, possible={}", driveNanosList.size(), measuredCount, certainCount, possibleCount);
+        assertTrue(measuredCount > 0);
+        assertTrue(measuredCount < driveNanosList.size()); // ramp-up and ramp-down are excluded
+        assertTrue(certainCount <= measuredCount);
+        assertTrue(measuredCount <= possibleCount);
+    }
+
+    // ===================================================================================
+    //                                                                             Warm-up
+    //                                                                             =======
+    public void test_loadMode_excludeWarmUp() {
+        // ## Arrange ##
+        CannonballDirector director = new PlanRecordingDirector();
+        Map<Integer, AtomicInteger> lapMap = new ConcurrentHashMap<Integer, AtomicInteger>(); // key is entry number
+        int warmUpIterations = 3;
+
+        // ## Act ##
+        CannonballResult result = director.readyGoMeasured(car -> {
+            int lapNumber = lapMap.computeIfAbsent(car.getEntryNumber(), key -> new AtomicInteger()).incrementAndGet();
+            car.teaBreak(lapNumber <= warmUpIterations ? 60L : 1L); // e.g. cold cache
+        }, new CannonballOption().threadCount(2).suppressTx().loadMode(0L, 500L, 0L).warmUpIterations(warmUpIterations).measure());
+
+        // ## Assert ##
+        CannonballMeasurement measurement = result.getRepeatMeasurementList().get(0);
+        log(measurement.toDisplayString());
+        int totalLapCount = 0;
+        for (AtomicInteger lap : lapMap.values()) {
+            assertTrue(lap.get() > warmUpIterations);
+            totalLapCount += lap.get();
+        }
+        assertEquals(totalLapCount - warmUpIterations * 2, measurement.getOperationCount()); // all in steady state
+        assertTrue(measurement.getMaxNanos() < TimeUnit.MILLISECONDS.toNanos(60L)); // slow warm-up laps are excluded
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private static class PlanRecordingDirector extends CannonballDirector {
+
+        private CannonballLoadPlan _loadPlan; // only one repeat
+
+        public PlanRecordingDirector() {
+            super(new TestingCannonballStaff());
+        }
+
+        @Override
+        protected CannonballLoadPlan createLoadPlan(CannonballOption option) {
+            _loadPlan = super.createLoadPlan(option);
+            return _loadPlan;
+        }
+
+        public CannonballLoadPlan getLoadPlan() {
+            return _loadPlan;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import javax.sql.DataSource;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballTrackingDataSourceTest extends PlainTestCase {
+
+    public void test_trackConnection_poolBound() {
+        // ## Arrange ##
+        DataSource pooled = createPooledDataSource(1); // smaller than cars
+        TestingCannonballStaff staff = new TestingCannonballStaff(pooled);
+        CannonballDirector director = new CannonballDirector(staff);
+
+        // ## Act ##
+        CannonballResult result = director.readyGoMeasured(car -> {
+            executeSql(staff, car, 30L);
+        }, new CannonballOption().threadCount(4).suppressTx().trackConnection());
+
+        // ## Assert ##
+        assertTrue(staff.getDataSource() == pooled); // restored
+        List<CannonballConnectionReport> reportList = result.getConnectionReportList();
+        assertEquals(1, reportList.size());
+        CannonballConnectionReport report = reportList.get(0);
+        log(report.toDisplayString(10));
+        assertEquals(4, report.getCarConnectionList().size());
+        assertEquals(4, report.getTotalConnectionCount());
+        assertEquals(1, report.getPeakOpenCount());
+        assertTrue(report.isPoolBound()); // waiting 0 + 30 + 60 + 90 ideally, holding 30 * 4
+        assertFalse(report.isSqlBound());
+        List<CannonballCarConnection> carConnectionList = report.getCarConnectionList();
+        for (int i = 1; i < carConnectionList.size(); i++) {
+            assertTrue(carConnectionList.get(i - 1).getCheckoutNanos() >= carConnectionList.get(i).getCheckoutNanos());
+        }
+        for (CannonballCarConnection carConnection : carConnectionList) {
+            assertEquals(1, carConnection.getPeakOpenCount());
+            assertEquals(0, carConnection.getUnclosedCount());
+            assertTrue(carConnection.getHoldNanos() >= 30_000_000L);
+        }
+    }
+
+    public void test_trackConnection_sqlBound() {
+        // ## Arrange ##
+        DataSource pooled = createPooledDataSource(4); // enough for cars
+        TestingCannonballStaff staff = new TestingCannonballStaff(pooled);
+        CannonballDirector director = new CannonballDirector(staff);
+
+        // ## Act ##
+        CannonballResult result = director.readyGoMeasured(car -> {
+            executeSql(staff, car, 30L);
+            executeSql(staff, car, 10L);
+        }, new CannonballOption().threadCount(4).suppressTx().trackConnection());
+
+        // ## Assert ##
+        assertTrue(staff.getDataSource() == pooled); // restored
+        CannonballConnectionReport report = result.getConnectionReportList().get(0);
+        log(report.toDisplayString(10));
+        assertEquals(8, report.getTotalConnectionCount());
+        assertEquals(0, report.getTotalFailedCount());
+        assertTrue(report.getPeakOpenCount() <= 4);
+        assertTrue(report.isSqlBound());
+        for (CannonballCarConnection carConnection : report.getCarConnectionList()) {
+            assertEquals(2, carConnection.getConnectionCount());
+            assertTrue(carConnection.getMaxHoldNanos() >= 30_000_000L);
+        }
+    }
+
+    public void test_trackConnection_notCarThread() throws SQLException {
+        // ## Arrange ##
+        DataSource pooled = createPooledDataSource(1);
+        CannonballTrackingDataSource tracking = new CannonballTrackingDataSource(pooled);
+
+        // ## Act ##
+        Connection connection = tracking.getConnection();
+        connection.close();
+
+        // ## Assert ##
+        CannonballConnectionReport report = tracking.end("repeat1"); // not tracked
+        assertEquals(0, report.getTotalConnectionCount());
+        assertEquals(0, report.getPeakOpenCount());
+        assertFalse(report.isPoolBound());
+        assertFalse(report.isSqlBound());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private void executeSql(TestingCannonballStaff staff, CannonballCar car, long sqlMillis) {
+        try (Connection connection = staff.getDataSource().getConnection()) { // switched by director
+            car.teaBreak(sqlMillis); // as SQL
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to get connection.", e);
+        }
+    }
+
+    private DataSource createPooledDataSource(int poolSize) {
+        Semaphore pool = new Semaphore(poolSize, true);
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+            if (!method.getName().equals("getConnection")) {
+                return null;
+            }
+            pool.acquireUninterruptibly(); // waiting for pooled connection
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class }, (conn, connMethod, connArgs) -> {
+                if (connMethod.getName().equals("close")) {
+                    pool.release();
+                }
+                return null;
+            });
+        });
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * The tests of cannonball on virtual threads, skipped if the Java runtime does not support them.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballVirtualThreadTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                        Closed Model
+    //                                                                        ============
+    public void test_virtualThreads_restartAndProjectA_withTransaction() throws Exception {
+        if (!isVirtualThreadsSupported()) {
+            log("...Skipping the test because virtual threads are unsupported: java.version={}", System.getProperty("java.version"));
+            return;
+        }
+        // ## Arrange ##
+        TestingCannonballStaff staff = new TestingCannonballStaff();
+        PinnedRecordingDirector director = new PinnedRecordingDirector(staff);
+        AtomicInteger planCount = new AtomicInteger();
+        AtomicInteger arrivedCount = new AtomicInteger();
+        int threadCount = 50;
+
+        // ## Act ##
+        director.readyGo(car -> {
+            car.projectA(dragon -> {
+                car.teaBreak(50L); // other cars wait for the plan
+                planCount.incrementAndGet();
+            }, 1);
+            if (planCount.get() != 1) {
+                throw new IllegalStateException("the car went before the plan: " + car);
+            }
+            arrivedCount.incrementAndGet();
+            car.restart();
+            if (arrivedCount.get() != threadCount) {
+                throw new IllegalStateException("the car went before restart of others: " + car);
+            }
+        }, new CannonballOption().threadCount(threadCount).virtualThreads());
+
+        // ## Assert ##
+        List<Thread> transactionThreadList = staff.getTransactionThreadList();
+        assertEquals(threadCount, transactionThreadList.size()); // per car
+        for (Thread carThread : transactionThreadList) {
+            assertTrue(carThread.toString(), isVirtual(carThread));
+        }
+        assertEquals(threadCount, staff.getRollbackCount()); // as default
+        assertEquals(0, staff.getCommitCount());
+        assertNoPinnedCar(director);
+    }
+
+    // ===================================================================================
+    //                                                                         Exploration
+    //                                                                         ===========
+    public void test_virtualThreads_exploreSchedule() throws Exception {
+        if (!isVirtualThreadsSupported()) {
+            log("...Skipping the test because virtual threads are unsupported: java.version={}", System.getProperty("java.version"));
+            return;
+        }
+        // ## Arrange ##
+        TestingCannonballStaff staff = new TestingCannonballStaff();
+        PinnedRecordingDirector director = new PinnedRecordingDirector(staff);
+        AtomicInteger planCount = new AtomicInteger();
+
+        // ## Act ##
+        CannonballResult result = director.readyGoMeasured(car -> {
+            car.projectA(dragon -> {
+                car.yieldPoint(); // waiting cars cannot run
+                planCount.incrementAndGet();
+            }, 1);
+            if (planCount.get() != 1) {
+                throw new IllegalStateException("the car went before the plan: " + car);
+            }
+            car.restart();
+            planCount.set(0); // next seed, only one car runs at a time
+        }, new CannonballOption().threadCount(3).commitTx().virtualThreads().exploreSchedule(10));
+
+        // ## Assert ##
+        assertNull(result.getFailedSeed());
+        assertEquals(10, result.getExploredSeedList().size());
+        assertEquals(3 * 10, staff.getCommitCount());
+        for (Thread carThread : staff.getTransactionThreadList()) {
+            assertTrue(carThread.toString(), isVirtual(carThread));
+        }
+        assertNoPinnedCar(director);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private boolean isVirtualThreadsSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) { // before JDK21
+            return false;
+        }
+    }
+
+    private boolean isVirtual(Thread thread) throws Exception {
+        Method isVirtualMethod = Thread.class.getMethod("isVirtual");
+        return (Boolean) isVirtualMethod.invoke(thread);
+    }
+
+    private void assertNoPinnedCar(PinnedRecordingDirector director) {
+        List<List<String>> pinnedListList = director.getPinnedListList();
+        for (List<String> pinnedList : pinnedListList) {
+            if (pinnedList != null) { // null if JFR unavailable
+                assertTrue(pinnedList.toString(), pinnedList.isEmpty()); // cars wait outside monitors
+            }
+        }
+    }
+
+    private static class PinnedRecordingDirector extends CannonballDirector {
+
+        private final List<List<String>> _pinnedListList = new ArrayList<List<String>>(); // per race
+
+        public PinnedRecordingDirector(CannonballStaff staff) {
+            super(staff);
+        }
+
+        @Override
+        protected void reportPinnedCars(List<String> pinnedList) {
+            synchronized (_pinnedListList) {
+                _pinnedListList.add(pinnedList);
+            }
+            super.reportPinnedCars(pinnedList);
+        }
+
+        public List<List<String>> getPinnedListList() {
+            synchronized (_pinnedListList) {
+                return new ArrayList<List<String>>(_pinnedListList);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballWatchdogTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                            Deadlock
+    //                                                                            ========
+    public void test_watchdog_deadlock() {
+        // ## Arrange ##
+        CannonballDirector director = new QuickClosingDirector();
+        ReentrantLock sea = new ReentrantLock(); // interruptible, not to leak cars after the test
+        ReentrantLock land = new ReentrantLock();
+        CountDownLatch bothLocked = new CountDownLatch(2);
+        long before = System.currentTimeMillis();
+
+        // ## Act ##
+        try {
+            director.readyGo(car -> {
+                ReentrantLock first = car.isEntryNumber(1) ? sea : land;
+                ReentrantLock second = car.isEntryNumber(1) ? land : sea;
+                try {
+                    first.lockInterruptibly();
+                    try {
+                        bothLocked.countDown();
+                        bothLocked.await();
+                        second.lockInterruptibly(); // deadlock
+                        second.unlock();
+                    } finally {
+                        first.unlock();
+                    }
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException("interrupted by watchdog", e);
+                }
+            }, new CannonballOption().threadCount(2).suppressTx().watchdog(60000)); // deadlock is found before hang
+            fail();
+        } catch (AssertionError e) {
+            // ## Assert ##
+            String dump = e.getMessage();
+            log(dump);
+            assertTrue(dump, dump.contains("deadlocked cars=[1, 2]"));
+            assertTrue(dump, dump.contains("car#1 \"" + CannonballGarage.CAR_NAME_PREFIX));
+            assertTrue(dump, dump.contains("*DEADLOCKED"));
+            assertTrue(dump, dump.contains("(car#2)")); // lock owner is annotated
+            assertTrue(dump, dump.contains("locked synchronizers"));
+            assertTrue(System.currentTimeMillis() - before < 10000L);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                Hang
+    //                                                                                ====
+    public void test_watchdog_hang() {
+        // ## Arrange ##
+        CannonballDirector director = new QuickClosingDirector();
+        CountDownLatch never = new CountDownLatch(1);
+
+        // ## Act ##
+        try {
+            director.readyGo(car -> {
+                if (car.isEntryNumber(2)) {
+                    try {
+                        never.await(); // e.g. waiting for DB lock
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException("interrupted by watchdog", e);
+                    }
+                }
+            }, new CannonballOption().threadCount(3).suppressTx().watchdog(300));
+            fail();
+        } catch (AssertionError e) {
+            // ## Assert ##
+            String dump = e.getMessage();
+            log(dump);
+            assertTrue(dump, dump.contains("hang cars=[2]"));
+            assertTrue(dump, dump.contains("*HANG"));
+            assertTrue(dump, dump.contains("CannonballWatchdogTest"));
+        }
+    }
+
+    public void test_watchdog_noBark() {
+        // ## Arrange ##
+        CannonballDirector director = new QuickClosingDirector();
+
+        // ## Act ##
+        director.readyGo(car -> {
+            car.teaBreak(50L);
+            car.restart();
+            try {
+                TimeUnit.MILLISECONDS.sleep(50L);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }, new CannonballOption().threadCount(3).suppressTx().watchdog(1000));
+
+        // ## Assert ##
+        // no exception
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private class QuickClosingDirector extends CannonballDirector {
+
+        public QuickClosingDirector() {
+            super(new TestingCannonballStaff());
+        }
+
+        @Override
+        protected long getGarageClosingTimeoutMillis() {
+            return 1000L;
+        }
+    }
+}
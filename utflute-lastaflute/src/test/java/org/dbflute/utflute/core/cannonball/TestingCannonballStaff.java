@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.dbflute.utflute.core.transaction.TransactionResource;
+
+import junit.framework.Assert;
+
+/**
+ * The staff of cannonball for tests without DI container. <br>
+ * The transactions are recorded (not real), and the data source is switched in the staff.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class TestingCannonballStaff implements CannonballStaff {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected volatile DataSource _dataSource; // null allowed: when no data source, switched by director
+    protected final List<Thread> _transactionThreadList = Collections.synchronizedList(new ArrayList<Thread>());
+    protected final AtomicInteger _commitCount = new AtomicInteger();
+    protected final AtomicInteger _rollbackCount = new AtomicInteger();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public TestingCannonballStaff() {
+    }
+
+    /**
+     * @param dataSource The data source of test case, to be wrapped for connection tracking. (NullAllowed)
+     */
+    public TestingCannonballStaff(DataSource dataSource) {
+        _dataSource = dataSource;
+    }
+
+    // ===================================================================================
+    //                                                                      Implementation
+    //                                                                      ==============
+    public void help_prepareBeginning() {
+    }
+
+    public void help_prepareAccessContext() {
+    }
+
+    public TransactionResource help_beginTransaction() { // not called if suppressed
+        _transactionThreadList.add(Thread.currentThread());
+        return new TransactionResource() {
+            public void commit() {
+                _commitCount.incrementAndGet();
+            }
+
+            public void rollback() {
+                _rollbackCount.incrementAndGet();
+            }
+        };
+    }
+
+    public void help_clearAccessContext() {
+    }
+
+    public DataSource help_getDataSource() {
+        return _dataSource;
+    }
+
+    public void help_switchDataSource(DataSource dataSource) {
+        _dataSource = dataSource;
+    }
+
+    public void help_assertEquals(Object expected, Object actual) {
+        Assert.assertEquals(expected, actual);
+    }
+
+    public void help_fail(String msg) {
+        Assert.fail(msg);
+    }
+
+    public void help_log(Object... msges) {
+    }
+
+    public String help_ln() {
+        return "\n";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public DataSource getDataSource() {
+        return _dataSource;
+    }
+
+    /**
+     * @return The snapshot list of car threads that began transaction. (NotNull)
+     */
+    public List<Thread> getTransactionThreadList() {
+        synchronized (_transactionThreadList) {
+            return new ArrayList<Thread>(_transactionThreadList);
+        }
+    }
+
+    public int getCommitCount() {
+        return _commitCount.get();
+    }
+
+    public int getRollbackCount() {
+        return _rollbackCount.get();
+    }
+}
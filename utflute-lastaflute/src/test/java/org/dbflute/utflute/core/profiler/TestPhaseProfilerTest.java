@@ -0,0 +1,218 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.profiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class TestPhaseProfilerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                           Aggregate
+    //                                                                           =========
+    public void test_aggregateByPhase_mergedOverClasses() {
+        // ## Arrange ##
+        TestPhaseProfiler profiler = createProfiler();
+        profiler.record(SeaTest.class, "xprepareTestCaseContainer", 300L);
+        profiler.record(SeaTest.class, "xprepareTestCaseContainer", 100L);
+        profiler.record(LandTest.class, "xprepareTestCaseContainer", 500L);
+        profiler.record(LandTest.class, "xinjectDependencies", 50L);
+
+        // ## Act ##
+        List<TestPhaseStatistics> phaseList = profiler.aggregateByPhase();
+
+        // ## Assert ##
+        log(phaseList);
+        assertEquals(2, phaseList.size());
+        TestPhaseStatistics container = phaseList.get(0); // slowest first
+        assertEquals("xprepareTestCaseContainer", container.getPhaseName());
+        assertNull(container.getTestClassName());
+        assertEquals(3L, container.getCount());
+        assertEquals(900L, container.getTotalNanos());
+        assertEquals(500L, container.getMaxNanos());
+        assertEquals(300L, container.getAverageNanos());
+        TestPhaseStatistics injection = phaseList.get(1);
+        assertEquals("xinjectDependencies", injection.getPhaseName());
+        assertEquals(1L, injection.getCount());
+        assertEquals(50L, injection.getTotalNanos());
+    }
+
+    public void test_aggregateByClass_exceptTest() {
+        // ## Arrange ##
+        TestPhaseProfiler profiler = createProfiler();
+        profiler.record(SeaTest.class, "xprepareTestCaseContainer", 100L);
+        profiler.record(SeaTest.class, TestPhaseProfiler.RUN_TEST_PHASE, 9000L);
+        profiler.record(LandTest.class, "xprepareTestCaseContainer", 200L);
+        profiler.record(LandTest.class, "xinjectDependencies", 30L);
+
+        // ## Act ##
+        List<TestPhaseStatistics> exceptList = profiler.aggregateByClass(true);
+        List<TestPhaseStatistics> allList = profiler.aggregateByClass(false);
+
+        // ## Assert ##
+        assertEquals(2, exceptList.size());
+        assertEquals(LandTest.class.getName(), exceptList.get(0).getTestClassName()); // slowest except runTest
+        assertEquals(230L, exceptList.get(0).getTotalNanos());
+        assertEquals(2L, exceptList.get(0).getCount());
+        assertEquals(SeaTest.class.getName(), exceptList.get(1).getTestClassName());
+        assertEquals(100L, exceptList.get(1).getTotalNanos());
+        assertEquals(SeaTest.class.getName(), allList.get(0).getTestClassName()); // with runTest
+        assertEquals(9100L, allList.get(0).getTotalNanos());
+    }
+
+    public void test_getClassPhaseList_keyedByClassAndPhase() {
+        // ## Arrange ##
+        TestPhaseProfiler profiler = createProfiler();
+        profiler.record(SeaTest.class, "xprepareTestCaseContainer", 100L);
+        profiler.record(LandTest.class, "xprepareTestCaseContainer", 200L);
+        profiler.record(SeaTest.class, "xprepareTestCaseContainer", 150L);
+
+        // ## Act ##
+        List<TestPhaseStatistics> classPhaseList = profiler.getClassPhaseList();
+
+        // ## Assert ##
+        assertEquals(2, classPhaseList.size());
+        assertEquals(SeaTest.class.getName(), classPhaseList.get(0).getTestClassName());
+        assertEquals(250L, classPhaseList.get(0).getTotalNanos());
+        assertEquals(150L, classPhaseList.get(0).getMaxNanos());
+        assertEquals(LandTest.class.getName(), classPhaseList.get(1).getTestClassName());
+    }
+
+    public void test_statistics_merge() {
+        // ## Arrange ##
+        TestPhaseStatistics first = new TestPhaseStatistics("Sea", "phase");
+        first.record(10L);
+        first.record(40L);
+        TestPhaseStatistics second = new TestPhaseStatistics("Land", "phase");
+        second.record(30L);
+        TestPhaseStatistics merged = new TestPhaseStatistics(null, "phase");
+
+        // ## Act ##
+        merged.merge(first);
+        merged.merge(second);
+
+        // ## Assert ##
+        assertEquals(3L, merged.getCount());
+        assertEquals(80L, merged.getTotalNanos());
+        assertEquals(40L, merged.getMaxNanos());
+        assertEquals(26L, merged.getAverageNanos());
+        assertEquals(2L, first.getCount()); // not changed
+    }
+
+    // ===================================================================================
+    //                                                                        Write Report
+    //                                                                        ============
+    public void test_writeReport_jsonAndCsv() throws IOException {
+        // ## Arrange ##
+        TestPhaseProfiler profiler = createProfiler();
+        profiler.record(SeaTest.class, "xprepareTestCaseContainer", 2000000L);
+        profiler.record(SeaTest.class, TestPhaseProfiler.RUN_TEST_PHASE, 1000000L);
+        File outputDir = Files.createTempDirectory("utflute-profiler-test").toFile();
+        try {
+            // ## Act ##
+            profiler.writeReport(outputDir);
+
+            // ## Assert ##
+            String json = read(new File(outputDir, "utflute-phase-profile.json"));
+            log(json);
+            assertContains(json, "\"phase\": \"xprepareTestCaseContainer\", \"count\": 1, \"totalNanos\": 2000000");
+            assertContains(json, "\"classesExceptTest\": [\n    {\"testClass\": \"" + SeaTest.class.getName() + "\", \"count\": 1");
+            String csv = read(new File(outputDir, "utflute-phase-profile.csv"));
+            log(csv);
+            assertTrue(csv.startsWith("testClass,phase,count,totalMillis,averageMillis,maxMillis\n"));
+            assertContains(csv, SeaTest.class.getName() + ",xprepareTestCaseContainer,1,2.000,2.000,2.000\n");
+            assertContains(csv, SeaTest.class.getName() + ",runTest,1,1.000,1.000,1.000\n");
+            String ranking = read(new File(outputDir, "utflute-phase-profile.txt"));
+            log(ranking);
+            assertTrue(ranking.startsWith("[Phase Profile] slowest phases:\n  xprepareTestCaseContainer: 2.000ms"));
+        } finally {
+            for (File file : outputDir.listFiles()) {
+                file.delete();
+            }
+            outputDir.delete();
+        }
+    }
+
+    public void test_writeReport_escaped() throws IOException {
+        // ## Arrange ##
+        TestPhaseProfiler profiler = createProfiler();
+        profiler.record(SeaTest.class, "sea\"land\\piari,\n\u0001", 1000000L);
+        File outputDir = Files.createTempDirectory("utflute-profiler-test").toFile();
+        try {
+            // ## Act ##
+            profiler.writeReport(outputDir);
+
+            // ## Assert ##
+            String json = read(new File(outputDir, "utflute-phase-profile.json"));
+            log(json);
+            assertContains(json, "\"phase\": \"sea\\\"land\\\\piari,\\n\\u0001\", \"count\": 1");
+            String csv = read(new File(outputDir, "utflute-phase-profile.csv"));
+            log(csv);
+            assertContains(csv, SeaTest.class.getName() + ",\"sea\"\"land\\piari,\n\u0001\",1,1.000,1.000,1.000\n");
+        } finally {
+            for (File file : outputDir.listFiles()) {
+                file.delete();
+            }
+            outputDir.delete();
+        }
+    }
+
+    public void test_writeReport_empty_noFile() throws IOException {
+        // ## Arrange ##
+        TestPhaseProfiler profiler = createProfiler();
+        File outputDir = new File(Files.createTempDirectory("utflute-profiler-test").toFile(), "report");
+        try {
+            // ## Act ##
+            profiler.writeReport(outputDir);
+
+            // ## Assert ##
+            assertFalse(outputDir.exists());
+        } finally {
+            outputDir.getParentFile().delete();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected TestPhaseProfiler createProfiler() {
+        return new TestPhaseProfiler() {
+            @Override
+            protected synchronized void registerShutdownHook() {
+                _shutdownHookRegistered = true; // no report at JVM shutdown in test
+            }
+        };
+    }
+
+    protected String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    protected static class SeaTest {
+    }
+
+    protected static class LandTest {
+    }
+}
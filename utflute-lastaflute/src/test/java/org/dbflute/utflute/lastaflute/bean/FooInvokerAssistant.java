@@ -0,0 +1,17 @@
+package org.dbflute.utflute.lastaflute.bean;
+
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+
+/**
+ * @author jflute
+ */
+public class FooInvokerAssistant { // singleton holding data source like DBFlute's invoker assistant
+
+    @Resource
+    protected DataSource _dataSource;
+
+    public DataSource assistDataSource() {
+        return _dataSource;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.lastaflute.cannonball;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+
+import org.dbflute.utflute.core.cannonball.CannonballConnectionReport;
+import org.dbflute.utflute.core.cannonball.CannonballOption;
+import org.dbflute.utflute.core.cannonball.CannonballResult;
+import org.dbflute.utflute.core.cannonball.CannonballTrackingDataSource;
+import org.dbflute.utflute.lastadi.LastaDiTestCase;
+import org.dbflute.utflute.lastaflute.bean.FooDataSource;
+import org.dbflute.utflute.lastaflute.bean.FooInvokerAssistant;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballContainerDataSourceTest extends LastaDiTestCase {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    @Resource
+    private DataSource _dataSource; // same as ContainerTestCase
+
+    @Resource
+    private FooInvokerAssistant _invokerAssistant; // singleton, injected before the race
+
+    // ===================================================================================
+    //                                                                    Track Connection
+    //                                                                    ================
+    public void test_trackConnection_singletonComponent() {
+        // ## Arrange ##
+        DataSource original = _dataSource;
+        assertTrue(original instanceof FooDataSource);
+        assertTrue(_invokerAssistant.assistDataSource() == original);
+
+        // ## Act ##
+        CannonballResult result = cannonballMeasured(car -> {
+            assertTrue(_invokerAssistant.assistDataSource() instanceof CannonballTrackingDataSource);
+            executeSql(_invokerAssistant.assistDataSource()); // as behavior
+        }, new CannonballOption().threadCount(3).trackConnection());
+
+        // ## Assert ##
+        CannonballConnectionReport report = result.getConnectionReportList().get(0);
+        log(report.toDisplayString(10));
+        assertEquals(3, report.getTotalConnectionCount());
+        assertEquals(3, report.getCarConnectionList().size());
+        assertEquals(3, ((FooDataSource) original).getConnectionCount());
+        assertTrue(getDataSource() == original); // restored
+        assertTrue(_invokerAssistant.assistDataSource() == original);
+        assertTrue(getComponent(FooInvokerAssistant.class) == _invokerAssistant); // singleton
+    }
+
+    public void test_trackConnection_noTracking() {
+        // ## Arrange ##
+        DataSource original = _dataSource;
+
+        // ## Act ##
+        cannonball(car -> {
+            assertTrue(_invokerAssistant.assistDataSource() == original);
+        }, new CannonballOption().threadCount(3));
+
+        // ## Assert ##
+        assertTrue(_invokerAssistant.assistDataSource() == original);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    @Override
+    protected DataSource getDataSource() {
+        return _dataSource;
+    }
+
+    @Override
+    protected void xswitchCannonballDataSource(DataSource dataSource) {
+        super.xswitchCannonballDataSource(dataSource); // container's singleton components
+        _dataSource = dataSource;
+    }
+
+    private void executeSql(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            // as SQL
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to get connection.", e);
+        }
+    }
+}